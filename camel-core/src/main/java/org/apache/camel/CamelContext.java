@@ -992,4 +992,23 @@ public interface CamelContext extends SuspendableService, RuntimeConfiguration {
      */
     void setUseMDCLogging(Boolean useMDCLogging);
 
+    /**
+     * Whether or not routes are started in parallel.
+     *
+     * @return <tt>true</tt> if routes are started in parallel
+     */
+    Boolean isParallelRouteStartup();
+
+    /**
+     * Sets whether routes should be started in parallel.
+     * <p/>
+     * Routes without a startup order configured are warmed up and have their consumers started at the same time,
+     * using a thread pool bounded by the maximum pool size of the default thread pool profile.
+     * Routes with a startup order configured are still started one by one in that order.
+     * This can speedup starting many routes which connect to remote systems on startup.
+     *
+     * @param parallelRouteStartup <tt>true</tt> to start routes in parallel, <tt>false</tt> to start them one by one
+     */
+    void setParallelRouteStartup(Boolean parallelRouteStartup);
+
 }
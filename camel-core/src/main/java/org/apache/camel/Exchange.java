@@ -93,6 +93,7 @@ public interface Exchange {
     String CORRELATION_ID    = "CamelCorrelationId";
 
     String DATASET_INDEX             = "CamelDataSetIndex";
+    String DATASET_SCHEDULED_TIME    = "CamelDataSetScheduledTime";
     String DEFAULT_CHARSET_PROPERTY  = "org.apache.camel.default.charset";
     String DESTINATION_OVERRIDE_URL = "CamelDestinationOverrideUrl";
     String DISABLE_HTTP_STREAM_CACHE = "CamelDisableHttpStreamCache";
@@ -0,0 +1,41 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel;
+
+import javax.xml.bind.annotation.XmlEnum;
+import javax.xml.bind.annotation.XmlType;
+
+/**
+ * Represent the kinds of thread pools Camel can create from a {@link org.apache.camel.spi.ThreadPoolProfile}.
+ * <ul>
+ *   <li>Standard - a regular thread pool with a fixed core and maximum pool size</li>
+ *   <li>Adaptive - a thread pool which resizes itself between the core and maximum pool size,
+ *   based on the observed queue wait time, task service time and throughput</li>
+ *   <li>WorkStealing - a thread pool with a fixed number of threads where each thread has its own task deque
+ *   and steal tasks from the other threads when idle, which suits many small tasks such as from the Splitter</li>
+ * </ul>
+ * Camel will by default use <tt>Standard</tt>.
+ *
+ * @version 
+ */
+@XmlType
+@XmlEnum(String.class)
+public enum ThreadPoolType {
+
+    Standard, Adaptive, WorkStealing
+
+}
@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.builder;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.ExpressionAdapter;
+
+/**
+ * An expression which always returns the same constant value.
+ * <p/>
+ * As the value is known up front, processors can inspect it when the route is created,
+ * for example the Content Based Router uses it to index the <tt>when</tt> clauses.
+ *
+ * @see ExpressionBuilder#constantExpression(Object)
+ * @version 
+ */
+public class ConstantExpression extends ExpressionAdapter {
+    private final Object value;
+
+    public ConstantExpression(Object value) {
+        this.value = value;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public Object evaluate(Exchange exchange) {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "" + value;
+    }
+}
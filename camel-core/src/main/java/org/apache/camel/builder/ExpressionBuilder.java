@@ -625,16 +625,7 @@ public final class ExpressionBuilder {
      * @return an expression object which will return the constant value
      */
     public static Expression constantExpression(final Object value) {
-        return new ExpressionAdapter() {
-            public Object evaluate(Exchange exchange) {
-                return value;
-            }
-
-            @Override
-            public String toString() {
-                return "" + value;
-            }
-        };
+        return new ConstantExpression(value);
     }
 
     /**
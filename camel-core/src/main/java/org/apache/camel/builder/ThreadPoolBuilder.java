@@ -21,6 +21,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
 import org.apache.camel.model.ThreadPoolProfileDefinition;
 
 /**
@@ -69,6 +70,16 @@ public final class ThreadPoolBuilder {
         return this;
     }
 
+    public ThreadPoolBuilder poolType(ThreadPoolType poolType) {
+        threadPoolDefinition.poolType(poolType);
+        return this;
+    }
+
+    public ThreadPoolBuilder daemon(boolean daemon) {
+        threadPoolDefinition.daemon(daemon);
+        return this;
+    }
+
     /**
      * Builds the new thread pool
      *
@@ -87,10 +98,7 @@ public final class ThreadPoolBuilder {
      * @return the created thread pool
      */
     public ExecutorService build(Object source, String name) {
-        ExecutorService answer = camelContext.getExecutorServiceStrategy().newThreadPool(source, name,
-                threadPoolDefinition.getPoolSize(), threadPoolDefinition.getMaxPoolSize(),
-                threadPoolDefinition.getKeepAliveTime(), threadPoolDefinition.getTimeUnit(),
-                threadPoolDefinition.getMaxQueueSize(), threadPoolDefinition.getRejectedExecutionHandler(), false);
+        ExecutorService answer = camelContext.getExecutorServiceStrategy().newThreadPool(source, name, threadPoolDefinition);
 
         return answer;
     }
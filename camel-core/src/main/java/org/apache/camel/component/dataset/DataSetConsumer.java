@@ -17,6 +17,7 @@
 package org.apache.camel.component.dataset;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
@@ -67,7 +68,11 @@ public class DataSetConsumer extends DefaultConsumer {
                     }
                 }
 
-                sendMessages(preloadSize, dataSet.getSize());
+                if (endpoint.getRate() > 0) {
+                    sendMessagesAtRate(preloadSize, dataSet.getSize());
+                } else {
+                    sendMessages(preloadSize, dataSet.getSize());
+                }
             }
         });
     }
@@ -106,6 +111,44 @@ public class DataSetConsumer extends DefaultConsumer {
         }
     }
 
+    /**
+     * Sends the messages at the rate of the endpoint.
+     * <p/>
+     * The time each message should be sent is scheduled from the time the first message was sent, so if routing
+     * a message takes longer than the rate allows, the next messages is sent right away to catch up.
+     * The scheduled time is set as a header so the latency can be measured from when the message should have been sent.
+     */
+    protected void sendMessagesAtRate(long startIndex, long endIndex) {
+        long start = System.nanoTime();
+        long scheduled = start;
+        try {
+            for (long i = startIndex; i < endIndex; i++) {
+                long delay = scheduled - System.nanoTime();
+                if (delay > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(delay);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+
+                Exchange exchange = endpoint.createExchange(i);
+                exchange.getIn().setHeader(Exchange.DATASET_SCHEDULED_TIME, scheduled);
+                getProcessor().process(exchange);
+
+                if (reporter != null) {
+                    reporter.process(exchange);
+                }
+
+                double rate = endpoint.getRate(TimeUnit.NANOSECONDS.toMillis(scheduled - start));
+                scheduled += (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+            }
+        } catch (Exception e) {
+            handleException(e);
+        }
+    }
+
     protected ThroughputLogger createReporter() {
         ThroughputLogger answer = new ThroughputLogger(endpoint.getEndpointUri(), (int) endpoint.getDataSet().getReportCount());
         answer.setAction("Sent");
@@ -46,6 +46,10 @@ public class DataSetEndpoint extends MockEndpoint implements Service {
     private long preloadSize;
     private long initialDelay = 1000;
     private Processor reporter;
+    private double rate;
+    private double rateStep;
+    private long rateStepPeriod;
+    private final LatencyHistogram latency = new LatencyHistogram();
 
     public DataSetEndpoint() {
         this.log = LoggerFactory.getLogger(DataSetEndpoint.class);
@@ -78,6 +82,7 @@ public class DataSetEndpoint extends MockEndpoint implements Service {
     public void reset() {
         super.reset();
         receivedCounter.set(0);
+        latency.reset();
     }
 
     @Override
@@ -171,6 +176,66 @@ public class DataSetEndpoint extends MockEndpoint implements Service {
         this.reporter = reporter;
     }
 
+    public double getRate() {
+        return rate;
+    }
+
+    /**
+     * Sets the rate in messages per second at which the consumer should send the messages, which enables the
+     * load generator mode.
+     * <p/>
+     * The messages is scheduled by the rate regardless how long it takes to route the previous messages,
+     * and the latency is measured from the scheduled time, so a slow route does not hide the latency
+     * of the messages which should have been sent while it was busy. Will use the <tt>produceDelay</tt> if
+     * no rate has been set.
+     */
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    public double getRateStep() {
+        return rateStep;
+    }
+
+    /**
+     * Sets how many messages per second to add to the rate for every <tt>rateStepPeriod</tt>,
+     * to ramp up the rate in steps.
+     */
+    public void setRateStep(double rateStep) {
+        this.rateStep = rateStep;
+    }
+
+    public long getRateStepPeriod() {
+        return rateStepPeriod;
+    }
+
+    /**
+     * Sets the period in millis of each step when ramping up the rate.
+     */
+    public void setRateStepPeriod(long rateStepPeriod) {
+        this.rateStepPeriod = rateStepPeriod;
+    }
+
+    /**
+     * Gets the rate in messages per second the consumer should send the messages at, when the given time
+     * has elapsed since it started sending.
+     *
+     * @param elapsed the elapsed time in millis
+     */
+    public double getRate(long elapsed) {
+        if (rateStep > 0 && rateStepPeriod > 0) {
+            return rate + rateStep * (elapsed / rateStepPeriod);
+        }
+        return rate;
+    }
+
+    /**
+     * Gets the latencies of the messages received which was sent by a consumer in the load generator mode
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
     public long getInitialDelay() {
         return initialDelay;
     }
@@ -184,6 +249,11 @@ public class DataSetEndpoint extends MockEndpoint implements Service {
 
     @Override
     protected void performAssertions(Exchange actual) throws Exception {
+        Long scheduled = actual.getIn().getHeader(Exchange.DATASET_SCHEDULED_TIME, Long.class);
+        if (scheduled != null) {
+            latency.record(System.nanoTime() - scheduled);
+        }
+
         int receivedCount = receivedCounter.incrementAndGet();
         long index = receivedCount - 1;
         Exchange expected = createExchange(index);
@@ -200,6 +270,10 @@ public class DataSetEndpoint extends MockEndpoint implements Service {
             reporter.process(actual);
         }
 
+        if (scheduled != null && receivedCount == getDataSet().getSize()) {
+            log.info("Latency of " + getEndpointUri() + ": " + latency.getSummary());
+        }
+
         if (consumeDelay > 0) {
             Thread.sleep(consumeDelay);
         }
@@ -0,0 +1,153 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.dataset;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A histogram of latencies recorded in microseconds, used to calculate the latency percentiles.
+ * <p/>
+ * The latencies is counted in buckets with a precision of about 1.5%, so the memory used does not
+ * grow with the number of latencies recorded.
+ *
+ * @version 
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    // enough for latencies up to 2^40 micros which is about 12 days
+    private static final int MAX_MAGNITUDE = 40 - SUB_BUCKET_BITS + 1;
+
+    private final long[] counts = new long[SUB_BUCKETS + MAX_MAGNITUDE * HALF_SUB_BUCKETS];
+    private long count;
+    private long total;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    /**
+     * Records the given latency
+     *
+     * @param latency the latency in nanos
+     */
+    public synchronized void record(long latency) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(latency));
+        counts[indexOf(micros)]++;
+        count++;
+        total += micros;
+        min = Math.min(min, micros);
+        max = Math.max(max, micros);
+    }
+
+    public synchronized void reset() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 0;
+        }
+        count = 0;
+        total = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the minimum latency in micros
+     */
+    public synchronized long getMin() {
+        return count > 0 ? min : 0;
+    }
+
+    /**
+     * Gets the maximum latency in micros
+     */
+    public synchronized long getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the mean latency in micros
+     */
+    public synchronized long getMean() {
+        return count > 0 ? total / count : 0;
+    }
+
+    /**
+     * Gets the latency in micros which the given percentage of the latencies is lower than or equal to
+     *
+     * @param percentile the percentile such as <tt>99.9</tt>
+     */
+    public synchronized long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                // the highest value in the bucket but not higher than the max recorded
+                return Math.min(max, highestValueOf(i));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Gets a summary of the latencies in millis
+     */
+    public synchronized String getSummary() {
+        return String.format("count=%d, min=%.3f, mean=%.3f, 50%%=%.3f, 90%%=%.3f, 99%%=%.3f, 99.9%%=%.3f, max=%.3f (millis)",
+                count, millis(getMin()), millis(getMean()), millis(getPercentile(50)), millis(getPercentile(90)),
+                millis(getPercentile(99)), millis(getPercentile(99.9)), millis(getMax()));
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram[" + getSummary() + "]";
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static int magnitudeOf(long value) {
+        // the number of low bits to drop so the value fits in the sub buckets
+        return Math.max(0, 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+    }
+
+    private int indexOf(long value) {
+        int magnitude = magnitudeOf(value);
+        if (magnitude == 0) {
+            return (int) value;
+        }
+        // the upper half of the sub buckets is used as the lower half overlaps the previous magnitude
+        int index = SUB_BUCKETS + (magnitude - 1) * HALF_SUB_BUCKETS + (int) (value >> magnitude) - HALF_SUB_BUCKETS;
+        return Math.min(index, counts.length - 1);
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int magnitude = (index - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+        long subBucket = (index - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return ((subBucket + 1) << magnitude) - 1;
+    }
+}
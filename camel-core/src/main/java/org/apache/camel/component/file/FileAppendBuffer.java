@@ -0,0 +1,304 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.impl.ServiceSupport;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.LRUCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Buffers the data appended to files, so the files is kept open and the data is written in larger chunks,
+ * instead of opening and closing the file for each exchange.
+ * <p/>
+ * At most <tt>appendMaxOpenFiles</tt> files is kept open, where the least recently used file is flushed
+ * and closed when a new file is opened, which happens when writing to rolling files. Each open file has
+ * a direct buffer of <tt>appendBufferSize</tt> bytes which is flushed when its full, every
+ * <tt>appendFlushInterval</tt> millis, and when the file is closed. The <tt>appendSync</tt> option
+ * controls when the data is forced to the storage device.
+ * <p/>
+ * The buffered data is not visible to readers of the files until its flushed.
+ *
+ * @version 
+ */
+public class FileAppendBuffer extends ServiceSupport {
+    private static final transient Logger LOG = LoggerFactory.getLogger(FileAppendBuffer.class);
+
+    private final FileEndpoint endpoint;
+    private final Map<String, AppendChannel> channels;
+    private ScheduledExecutorService flusher;
+
+    public FileAppendBuffer(FileEndpoint endpoint) {
+        this.endpoint = endpoint;
+        this.channels = new LRUCache<String, AppendChannel>(endpoint.getAppendMaxOpenFiles()) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, AppendChannel> entry) {
+                boolean evict = super.removeEldestEntry(entry);
+                if (evict) {
+                    closeChannel(entry.getValue());
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Appends the data from the stream to the file
+     *
+     * @param file the file
+     * @param in   the data
+     * @throws IOException is thrown if error writing to the file
+     */
+    public void append(File file, InputStream in) throws IOException {
+        try {
+            ReadableByteChannel source = Channels.newChannel(in);
+            while (true) {
+                AppendChannel channel = getChannel(file);
+                synchronized (channel) {
+                    // the channel may have been closed in the mean time due rollover
+                    if (!channel.closed) {
+                        channel.append(source);
+                        return;
+                    }
+                }
+            }
+        } finally {
+            IOHelper.close(in, file.getName(), LOG);
+        }
+    }
+
+    /**
+     * Flushes the buffered data of all the open files
+     */
+    public void flush() {
+        for (AppendChannel channel : getChannels()) {
+            synchronized (channel) {
+                try {
+                    channel.flush();
+                } catch (IOException e) {
+                    LOG.warn("Error flushing buffered data to file: " + channel.file + ". This exception is ignored.", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Flushes the buffered data of the file, if the file is open
+     *
+     * @param file the file
+     * @throws IOException is thrown if error writing to the file
+     */
+    public void flush(File file) throws IOException {
+        AppendChannel channel;
+        synchronized (channels) {
+            channel = channels.get(file.getAbsolutePath());
+        }
+        if (channel != null) {
+            synchronized (channel) {
+                channel.flush();
+            }
+        }
+    }
+
+    /**
+     * Flushes and closes the file, if the file is open
+     *
+     * @param file the file
+     * @throws IOException is thrown if error writing to the file
+     */
+    public void close(File file) throws IOException {
+        AppendChannel channel;
+        synchronized (channels) {
+            channel = channels.remove(file.getAbsolutePath());
+        }
+        if (channel != null) {
+            synchronized (channel) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Flushes and closes all the open files
+     */
+    public void close() {
+        List<AppendChannel> list;
+        synchronized (channels) {
+            list = new ArrayList<AppendChannel>(channels.values());
+            channels.clear();
+        }
+        for (AppendChannel channel : list) {
+            closeChannel(channel);
+        }
+    }
+
+    /**
+     * Gets the number of open files
+     */
+    public int getOpenFiles() {
+        synchronized (channels) {
+            return channels.size();
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        long interval = endpoint.getAppendFlushInterval();
+        if (interval > 0 && flusher == null) {
+            flusher = endpoint.getCamelContext().getExecutorServiceStrategy().newScheduledThreadPool(this, "FileAppendFlusher", 1);
+            flusher.scheduleWithFixedDelay(new Runnable() {
+                public void run() {
+                    flushExpired();
+                }
+            }, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (flusher != null) {
+            endpoint.getCamelContext().getExecutorServiceStrategy().shutdownNow(flusher);
+            flusher = null;
+        }
+        close();
+    }
+
+    private AppendChannel getChannel(File file) throws IOException {
+        String key = file.getAbsolutePath();
+        synchronized (channels) {
+            AppendChannel answer = channels.get(key);
+            if (answer == null) {
+                answer = new AppendChannel(file);
+                channels.put(key, answer);
+            }
+            return answer;
+        }
+    }
+
+    private List<AppendChannel> getChannels() {
+        synchronized (channels) {
+            return new ArrayList<AppendChannel>(channels.values());
+        }
+    }
+
+    private void flushExpired() {
+        long now = System.currentTimeMillis();
+        for (AppendChannel channel : getChannels()) {
+            synchronized (channel) {
+                if (now - channel.lastFlush >= endpoint.getAppendFlushInterval()) {
+                    try {
+                        channel.flush();
+                    } catch (IOException e) {
+                        LOG.warn("Error flushing buffered data to file: " + channel.file + ". This exception is ignored.", e);
+                    }
+                }
+            }
+        }
+    }
+
+    private void closeChannel(AppendChannel channel) {
+        synchronized (channel) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOG.warn("Error closing file: " + channel.file + ". This exception is ignored.", e);
+            }
+        }
+    }
+
+    /**
+     * An open file with its buffer
+     */
+    private final class AppendChannel {
+        private final File file;
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private long lastFlush = System.currentTimeMillis();
+        private boolean closed;
+
+        private AppendChannel(File file) throws IOException {
+            this.file = file;
+            this.channel = new RandomAccessFile(file, "rw").getChannel();
+            this.channel.position(channel.size());
+            this.buffer = ByteBuffer.allocateDirect(endpoint.getAppendBufferSize());
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Opened file: " + file + " for buffered append");
+            }
+        }
+
+        private void append(ReadableByteChannel source) throws IOException {
+            while (true) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                if (source.read(buffer) < 0) {
+                    break;
+                }
+            }
+        }
+
+        private void flush() throws IOException {
+            lastFlush = System.currentTimeMillis();
+            if (closed || buffer.position() == 0) {
+                return;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+            if (endpoint.getAppendSync() == FileAppendSync.Flush) {
+                channel.force(false);
+            }
+        }
+
+        private void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            try {
+                flush();
+                if (endpoint.getAppendSync() == FileAppendSync.Close) {
+                    channel.force(false);
+                }
+            } finally {
+                closed = true;
+                IOHelper.close(channel, file.getName(), LOG);
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Closed file: " + file + " for buffered append");
+                }
+            }
+        }
+    }
+}
@@ -17,25 +17,178 @@
 package org.apache.camel.component.file;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.apache.camel.impl.SynchronizationAdapter;
 import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.StopWatch;
+import org.apache.camel.util.TimeUtils;
 
 /**
  * File consumer.
+ * <p/>
+ * When the endpoint is configured with <tt>watch=true</tt> the consumer keeps the state of the directories
+ * it has polled, so it only lists the directories which have changed since the last poll, and only considers
+ * the files which was created or modified since then. A full rescan is done periodically to recover from
+ * changes which cannot be detected from the directory timestamps, such as files modified in place.
+ * <p/>
+ * When the endpoint is configured with a <tt>scanPoolSize</tt> the directories is scanned in parallel
+ * using a thread pool of that size, and the files is processed as they are found, unless sorting is
+ * configured which requires all the files to be found before processing can begin.
  */
 public class FileConsumer extends GenericFileConsumer<File> {
 
+    /**
+     * Directories modified within this period may still change within the timestamp granularity
+     * of the file system, so they must be listed again at the next poll
+     */
+    private static final long TIMESTAMP_GRANULARITY = 2000;
+
     private String endpointPath;
+    private final Map<String, DirectoryState> directories = new ConcurrentHashMap<String, DirectoryState>();
+    private long lastRescan;
+    private ExecutorService scanExecutor;
 
     public FileConsumer(GenericFileEndpoint<File> endpoint, Processor processor, GenericFileOperations<File> operations) {
         super(endpoint, processor, operations);
         this.endpointPath = endpoint.getConfiguration().getDirectory();
     }
 
+    @Override
+    protected boolean prePollCheck() throws Exception {
+        if (getEndpoint().isWatch()) {
+            long now = System.currentTimeMillis();
+            if (now - lastRescan >= getEndpoint().getWatchRescanInterval()) {
+                // forget the state so all the directories and files is scanned again
+                if (log.isDebugEnabled()) {
+                    log.debug("Doing a full rescan of " + directories.size() + " watched directories");
+                }
+                directories.clear();
+                lastRescan = now;
+            }
+        }
+        return super.prePollCheck();
+    }
+
+    @Override
+    protected int poll() throws Exception {
+        if (scanExecutor == null || endpoint.getSorter() != null || endpoint.getSortBy() != null) {
+            // sorting requires all the files before we can begin processing
+            return super.poll();
+        }
+
+        // must reset for each poll
+        fileExpressionResult = null;
+        shutdownRunningTask = null;
+        pendingExchanges = 0;
+
+        if (!prePollCheck()) {
+            if (log.isDebugEnabled()) {
+                log.debug("Skipping poll as pre poll check returned false");
+            }
+            return 0;
+        }
+
+        // the scan tasks share the state of this consumer, so the file expression is evaluated once
+        // up front as the tasks would otherwise race to evaluate it, and could get different results
+        // if the expression is dynamic. The other state used by the tasks is either thread safe
+        // (the directory states and the in progress repository) or not changed while scanning
+        if (endpoint.getFileName() != null) {
+            evaluateFileExpression();
+        }
+
+        String name = endpoint.getConfiguration().getDirectory();
+        ParallelScan scan = new ParallelScan();
+        scan.submit(name);
+
+        // process the files as they are found, but keep the latest file back until we know
+        // if there is more files so we can tell the last file in the batch
+        int index = 0;
+        Exchange pending = null;
+        try {
+            GenericFile<File> file;
+            while (isBatchAllowed() && (file = scan.take()) != null) {
+                if (pending != null) {
+                    processStreamedExchange(pending, index++, scan, false);
+                }
+                pending = createExchange(file);
+            }
+            if (pending != null && isBatchAllowed()) {
+                processStreamedExchange(pending, index++, scan, true);
+                pending = null;
+            }
+        } finally {
+            // stop scanning and remove the files from the in progress list which we did not get to process
+            scan.cancel();
+            if (pending != null) {
+                releaseFile(getExchangeFile(pending));
+            }
+            GenericFile<File> file;
+            while ((file = scan.take()) != null) {
+                releaseFile(file);
+            }
+        }
+
+        lastScanTime = scan.getScanTime();
+        if (log.isDebugEnabled()) {
+            log.debug("Took " + TimeUtils.printDuration(lastScanTime) + " to scan: " + name + " and found " + index + " files to consume");
+        }
+        if (scan.isLimitHit() && log.isDebugEnabled()) {
+            log.debug("Limiting maximum messages to poll at " + maxMessagesPerPoll + " files as there was more messages in this poll.");
+        }
+        scan.rethrowException();
+
+        postPollCheck();
+
+        return index;
+    }
+
+    private void processStreamedExchange(Exchange exchange, int index, ParallelScan scan, boolean last) {
+        // the total is not known until the scan is done, so the size is the number of files found so far
+        exchange.setProperty(Exchange.BATCH_INDEX, index);
+        exchange.setProperty(Exchange.BATCH_SIZE, last ? index + 1 : Math.max(index + 2, scan.getFound()));
+        exchange.setProperty(Exchange.BATCH_COMPLETE, last);
+
+        pendingExchanges = scan.getQueued() + (last ? 0 : 1);
+
+        processExchange(exchange);
+    }
+
+    private void releaseFile(GenericFile<File> file) {
+        endpoint.getInProgressRepository().remove(file.getAbsoluteFilePath());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static GenericFile<File> getExchangeFile(Exchange exchange) {
+        return (GenericFile<File>) exchange.getProperty(FileComponent.FILE_EXCHANGE_FILE);
+    }
+
     protected boolean pollDirectory(String fileName, List<GenericFile<File>> fileList) {
+        return scanDirectory(fileName, new ListScanSink(fileList));
+    }
+
+    /**
+     * Scans the given directory and adds the files found to the sink
+     *
+     * @param fileName the directory
+     * @param sink     the sink which receives the files and sub directories found
+     * @return whether or not to continue polling, <tt>false</tt> means the maxMessagesPerPoll limit has been hit
+     */
+    private boolean scanDirectory(String fileName, ScanSink sink) {
         if (log.isTraceEnabled()) {
             log.trace("pollDirectory from fileName: " + fileName);
         }
@@ -51,6 +204,29 @@ public class FileConsumer extends GenericFileConsumer<File> {
             return true;
         }
 
+        // the state is keyed by the path of the directory, which is the parent path of its files
+        String key = directory.getPath();
+        DirectoryState previous = null;
+        DirectoryState state = null;
+        if (getEndpoint().isWatch()) {
+            previous = directories.get(key);
+            long lastModified = directory.lastModified();
+            if (previous != null && !previous.dirty && previous.pending.isEmpty() && previous.lastModified == lastModified) {
+                // the directory is unchanged so only the sub directories can have new files
+                // and all the files polled from the directory has been committed
+                if (log.isTraceEnabled()) {
+                    log.trace("Skipping unchanged directory: " + directory.getPath());
+                }
+                for (String subDirectory : previous.subDirectories) {
+                    if (!sink.pollSubDirectory(subDirectory)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            state = new DirectoryState(lastModified);
+        }
+
         if (log.isTraceEnabled()) {
             log.trace("Polling directory: " + directory.getPath());
         }
@@ -60,6 +236,9 @@ public class FileConsumer extends GenericFileConsumer<File> {
             if (log.isTraceEnabled()) {
                 log.trace("No files found in directory: " + directory.getPath());
             }
+            if (files != null) {
+                rememberDirectory(key, state, previous, true);
+            }
             return true;
         } else {
             // we found some files
@@ -68,9 +247,11 @@ public class FileConsumer extends GenericFileConsumer<File> {
             }
         }
 
+        boolean complete = true;
         for (File file : files) {
             // check if we can continue polling in files
-            if (!canPollMoreFiles(fileList)) {
+            if (!sink.canPollMore()) {
+                rememberDirectory(key, state, previous, false);
                 return false;
             }
 
@@ -80,15 +261,31 @@ public class FileConsumer extends GenericFileConsumer<File> {
                         + file.isDirectory() + ", isFile: " + file.isFile() + ", isHidden: " + file.isHidden() + "]");
             }
 
+            boolean isDirectory = file.isDirectory();
+            long lastModified = 0;
+            if (state != null && !isDirectory) {
+                lastModified = file.lastModified();
+                Long seen = previous != null ? previous.files.get(file.getName()) : null;
+                if (seen != null && seen == lastModified) {
+                    // the file is not created or modified since the last poll
+                    state.files.put(file.getName(), lastModified);
+                    continue;
+                }
+            }
+
             // creates a generic file
             GenericFile<File> gf = asGenericFile(endpointPath, file);
 
-            if (file.isDirectory()) {
+            if (isDirectory) {
                 if (endpoint.isRecursive() && isValidFile(gf, true)) {
                     // recursive scan and add the sub files and folders
                     String subDirectory = fileName + File.separator + file.getName();
-                    boolean canPollMore = pollDirectory(subDirectory, fileList);
+                    if (state != null) {
+                        state.subDirectories.add(subDirectory);
+                    }
+                    boolean canPollMore = sink.pollSubDirectory(subDirectory);
                     if (!canPollMore) {
+                        rememberDirectory(key, state, previous, false);
                         return false;
                     }
                 }
@@ -99,20 +296,81 @@ public class FileConsumer extends GenericFileConsumer<File> {
                         if (log.isTraceEnabled()) {
                             log.trace("Skipping as file is already in progress: " + gf.getFileName());
                         }
+                        // the directory must be polled again to pickup the file
+                        complete = false;
                     } else {
                         if (log.isTraceEnabled()) {
                             log.trace("Adding valid file: " + file);
                         }
                         // matched file so add
-                        fileList.add(gf);
+                        if (!sink.add(gf)) {
+                            rememberDirectory(key, state, previous, false);
+                            return false;
+                        }
+                        if (state != null) {
+                            // the file is first remembered when it has been committed
+                            state.pending.add(file.getName());
+                        }
                     }
                 }
             }
         }
 
+        rememberDirectory(key, state, previous, complete);
         return true;
     }
 
+    private void rememberDirectory(String key, DirectoryState state, DirectoryState previous, boolean complete) {
+        if (state == null) {
+            return;
+        }
+        if (!complete && previous != null) {
+            // keep the files from the previous poll we did not get to list this time
+            for (Map.Entry<String, Long> entry : previous.files.entrySet()) {
+                if (!state.files.containsKey(entry.getKey())) {
+                    state.files.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        // the directory may still change without its timestamp being updated, so it must be listed again,
+        // but we keep the files so only the created or modified files is considered
+        state.dirty = !complete || System.currentTimeMillis() - state.lastModified < TIMESTAMP_GRANULARITY;
+        directories.put(key, state);
+    }
+
+    @Override
+    protected void processExchange(Exchange exchange) {
+        if (getEndpoint().isWatch()) {
+            // the on completion is added before the file on completion so its invoked after the file has been committed
+            final File file = getExchangeFile(exchange).getFile();
+            final long lastModified = getExchangeFile(exchange).getLastModified();
+            exchange.addOnCompletion(new SynchronizationAdapter() {
+                @Override
+                public void onComplete(Exchange exchange) {
+                    rememberFile(file, lastModified);
+                }
+            });
+        }
+        super.processExchange(exchange);
+    }
+
+    /**
+     * Remembers the file has been committed so it is not considered at the next poll unless it is modified.
+     * <p/>
+     * Files which is rolled back, cannot be read locked or is not processed at all, such as when hitting
+     * the maxMessagesPerPoll limit or when shutting down, is not remembered, and their directory is listed
+     * again at the next poll so the files can be picked up.
+     */
+    private void rememberFile(File file, long lastModified) {
+        // the directory may have been listed again while the file was in progress, which does not matter
+        // as its state is then marked dirty as the file was in progress
+        DirectoryState state = directories.get(file.getParent());
+        if (state != null) {
+            state.files.put(file.getName(), lastModified);
+            state.pending.remove(file.getName());
+        }
+    }
+
     /**
      * Creates a new GenericFile<File> based on the given file.
      *
@@ -166,4 +424,213 @@ public class FileConsumer extends GenericFileConsumer<File> {
     public FileEndpoint getEndpoint() {
         return (FileEndpoint) super.getEndpoint();
     }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        if (getEndpoint().getScanPoolSize() > 0 && scanExecutor == null) {
+            scanExecutor = getEndpoint().getCamelContext().getExecutorServiceStrategy()
+                    .newFixedThreadPool(this, "FileScanner", getEndpoint().getScanPoolSize());
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        if (scanExecutor != null) {
+            getEndpoint().getCamelContext().getExecutorServiceStrategy().shutdown(scanExecutor);
+            scanExecutor = null;
+        }
+    }
+
+    /**
+     * Gets the number of directories which is currently watched
+     */
+    public int getWatchedDirectories() {
+        return directories.size();
+    }
+
+    /**
+     * Receives the files and sub directories found when scanning a directory
+     */
+    private interface ScanSink {
+
+        /**
+         * Whether more files can be added, or the maxMessagesPerPoll limit has been hit
+         */
+        boolean canPollMore();
+
+        /**
+         * Adds the file which has been marked as in progress
+         *
+         * @return <tt>false</tt> if the file could not be added due the maxMessagesPerPoll limit
+         */
+        boolean add(GenericFile<File> file);
+
+        /**
+         * Polls the sub directory
+         *
+         * @return <tt>false</tt> if the maxMessagesPerPoll limit has been hit
+         */
+        boolean pollSubDirectory(String subDirectory);
+    }
+
+    /**
+     * Scans the directories recursively in the current thread and adds the files to a list
+     */
+    private final class ListScanSink implements ScanSink {
+        private final List<GenericFile<File>> fileList;
+
+        private ListScanSink(List<GenericFile<File>> fileList) {
+            this.fileList = fileList;
+        }
+
+        public boolean canPollMore() {
+            return canPollMoreFiles(fileList);
+        }
+
+        public boolean add(GenericFile<File> file) {
+            fileList.add(file);
+            return true;
+        }
+
+        public boolean pollSubDirectory(String subDirectory) {
+            return scanDirectory(subDirectory, this);
+        }
+    }
+
+    /**
+     * Scans the directories in parallel using the scan thread pool, where each directory is scanned by a task,
+     * and queues the files so they can be processed while the scan is still in progress.
+     */
+    private final class ParallelScan implements ScanSink {
+        private final GenericFile<File> done = new GenericFile<File>();
+        private final BlockingQueue<GenericFile<File>> queue = new LinkedBlockingQueue<GenericFile<File>>();
+        private final AtomicInteger tasks = new AtomicInteger();
+        private final AtomicInteger found = new AtomicInteger();
+        private final AtomicReference<RuntimeException> exception = new AtomicReference<RuntimeException>();
+        private final StopWatch watch = new StopWatch();
+        private volatile boolean cancelled;
+        private volatile boolean limitHit;
+        private volatile long scanTime;
+        private boolean finished;
+
+        public boolean canPollMore() {
+            return !cancelled && !limitHit;
+        }
+
+        public boolean add(GenericFile<File> file) {
+            int count = found.incrementAndGet();
+            if (maxMessagesPerPoll > 0 && count > maxMessagesPerPoll) {
+                // another scan task took the last spot
+                limitHit = true;
+                releaseFile(file);
+                return false;
+            }
+            queue.add(file);
+            if (maxMessagesPerPoll > 0 && count >= maxMessagesPerPoll) {
+                limitHit = true;
+            }
+            return true;
+        }
+
+        public boolean pollSubDirectory(String subDirectory) {
+            if (!canPollMore()) {
+                return false;
+            }
+            submit(subDirectory);
+            return true;
+        }
+
+        public void submit(final String directory) {
+            tasks.incrementAndGet();
+            try {
+                scanExecutor.submit(new Runnable() {
+                    public void run() {
+                        try {
+                            if (canPollMore()) {
+                                scanDirectory(directory, ParallelScan.this);
+                            }
+                        } catch (RuntimeException e) {
+                            exception.compareAndSet(null, e);
+                            cancelled = true;
+                        } finally {
+                            taskDone();
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                exception.compareAndSet(null, e);
+                cancelled = true;
+                taskDone();
+            }
+        }
+
+        private void taskDone() {
+            if (tasks.decrementAndGet() == 0) {
+                scanTime = watch.stop();
+                queue.add(done);
+            }
+        }
+
+        /**
+         * Takes the next file found, waiting for the scan if needed
+         *
+         * @return the file, or <tt>null</tt> if the scan is done and all the files has been taken
+         */
+        public GenericFile<File> take() throws InterruptedException {
+            if (finished) {
+                return null;
+            }
+            GenericFile<File> answer = queue.take();
+            if (answer == done) {
+                finished = true;
+                return null;
+            }
+            return answer;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public int getFound() {
+            return Math.min(found.get(), maxMessagesPerPoll > 0 ? maxMessagesPerPoll : Integer.MAX_VALUE);
+        }
+
+        public int getQueued() {
+            return queue.size();
+        }
+
+        public boolean isLimitHit() {
+            return limitHit;
+        }
+
+        public long getScanTime() {
+            return scanTime;
+        }
+
+        public void rethrowException() {
+            RuntimeException e = exception.get();
+            if (e != null) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * The state of a polled directory, which is the timestamp of the directory, its sub directories,
+     * the timestamps of the files which was committed and the names of the files which is pending
+     */
+    private static final class DirectoryState {
+        private final long lastModified;
+        private final List<String> subDirectories = new ArrayList<String>();
+        private final Map<String, Long> files = new ConcurrentHashMap<String, Long>();
+        private final Set<String> pending = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        private boolean dirty;
+
+        private DirectoryState(long lastModified) {
+            this.lastModified = lastModified;
+        }
+    }
 }
@@ -27,6 +27,7 @@ import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.processor.idempotent.MemoryIdempotentRepository;
 import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.ServiceHelper;
 
 /**
  * File endpoint.
@@ -35,6 +36,15 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
 
     private FileOperations operations = new FileOperations(this);
     private File file;
+    private boolean watch;
+    private long watchRescanInterval = 60000;
+    private int scanPoolSize;
+    private boolean bufferedAppend;
+    private int appendBufferSize = 64 * 1024;
+    private long appendFlushInterval = 1000;
+    private int appendMaxOpenFiles = 100;
+    private FileAppendSync appendSync = FileAppendSync.None;
+    private FileAppendBuffer appendBuffer;
 
     public FileEndpoint() {
         // use marker file as default exclusive read locks
@@ -103,7 +113,12 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
             throw new IllegalArgumentException("You cannot set both fileExist=Append and tempPrefix options");
         }
 
-        return new GenericFileProducer<File>(this, operations);
+        // buffering is only for appending
+        if (isBufferedAppend() && getFileExist() != GenericFileExist.Append) {
+            throw new IllegalArgumentException("You must set fileExist=Append when using bufferedAppend=true");
+        }
+
+        return new FileProducer(this, operations);
     }
 
     public Exchange createExchange(GenericFile<File> file) {
@@ -124,6 +139,136 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
         getConfiguration().setDirectory(file.getPath());
     }
 
+    public boolean isWatch() {
+        return watch;
+    }
+
+    /**
+     * Whether the consumer should only poll the directories which has changed and only the files which
+     * has been created or modified since the last poll, instead of scanning all the files on each poll.
+     */
+    public void setWatch(boolean watch) {
+        this.watch = watch;
+    }
+
+    public long getWatchRescanInterval() {
+        return watchRescanInterval;
+    }
+
+    /**
+     * The interval in millis between full rescans when using <tt>watch=true</tt>.
+     * <p/>
+     * A full rescan picks up the changes which cannot be detected from the directory timestamps, such as files
+     * modified in place or files left in the directory after failed processing. Is default <tt>60000</tt>.
+     */
+    public void setWatchRescanInterval(long watchRescanInterval) {
+        this.watchRescanInterval = watchRescanInterval;
+    }
+
+    public int getScanPoolSize() {
+        return scanPoolSize;
+    }
+
+    /**
+     * Sets the number of threads used to scan the directories in parallel, which allows the consumer to begin
+     * processing the files as they are found, unless sorting is configured.
+     * <p/>
+     * Is default <tt>0</tt> which means the directories is scanned by the polling thread before processing begins.
+     */
+    public void setScanPoolSize(int scanPoolSize) {
+        this.scanPoolSize = scanPoolSize;
+    }
+
+    public boolean isBufferedAppend() {
+        return bufferedAppend;
+    }
+
+    /**
+     * Whether to keep the files open and buffer the appended data when using <tt>fileExist=Append</tt>,
+     * instead of opening and closing the file for each exchange.
+     *
+     * @see FileAppendBuffer
+     */
+    public void setBufferedAppend(boolean bufferedAppend) {
+        this.bufferedAppend = bufferedAppend;
+    }
+
+    public int getAppendBufferSize() {
+        return appendBufferSize;
+    }
+
+    /**
+     * The size in bytes of the buffer per open file when using <tt>bufferedAppend=true</tt>. Is default 64kb.
+     */
+    public void setAppendBufferSize(int appendBufferSize) {
+        this.appendBufferSize = appendBufferSize;
+    }
+
+    public long getAppendFlushInterval() {
+        return appendFlushInterval;
+    }
+
+    /**
+     * The interval in millis to flush the buffered data when using <tt>bufferedAppend=true</tt>.
+     * Is default <tt>1000</tt>, use <tt>0</tt> to only flush when the buffer is full or the file is closed.
+     */
+    public void setAppendFlushInterval(long appendFlushInterval) {
+        this.appendFlushInterval = appendFlushInterval;
+    }
+
+    public int getAppendMaxOpenFiles() {
+        return appendMaxOpenFiles;
+    }
+
+    /**
+     * The maximum number of files to keep open when using <tt>bufferedAppend=true</tt>. Is default <tt>100</tt>.
+     */
+    public void setAppendMaxOpenFiles(int appendMaxOpenFiles) {
+        this.appendMaxOpenFiles = appendMaxOpenFiles;
+    }
+
+    public FileAppendSync getAppendSync() {
+        return appendSync;
+    }
+
+    /**
+     * When to force the buffered data to the storage device when using <tt>bufferedAppend=true</tt>.
+     * Is default {@link FileAppendSync#None}.
+     */
+    public void setAppendSync(FileAppendSync appendSync) {
+        this.appendSync = appendSync;
+    }
+
+    /**
+     * Gets the buffer for appending to files
+     *
+     * @param create whether to create and start the buffer if not already created
+     * @return the buffer, or <tt>null</tt> if not created
+     */
+    public synchronized FileAppendBuffer getAppendBuffer(boolean create) {
+        if (appendBuffer == null && create) {
+            FileAppendBuffer buffer = new FileAppendBuffer(this);
+            try {
+                ServiceHelper.startService(buffer);
+            } catch (Exception e) {
+                throw ObjectHelper.wrapRuntimeCamelException(e);
+            }
+            appendBuffer = buffer;
+        }
+        return appendBuffer;
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        FileAppendBuffer buffer;
+        synchronized (this) {
+            buffer = appendBuffer;
+            appendBuffer = null;
+        }
+        ServiceHelper.stopService(buffer);
+        super.doStop();
+    }
+
     @Override
     public String getScheme() {
         return "file";
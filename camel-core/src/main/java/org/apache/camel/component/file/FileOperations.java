@@ -171,6 +171,21 @@ public class FileOperations implements GenericFileOperations<File> {
         // 3. write stream to file
         try {
 
+            if (isBufferedAppend(file)) {
+                // all the data appended to the file must go through the buffer, as the buffer keeps the file open
+                // at its own position, so any data written directly to the file would be overwritten or reordered
+                InputStream in = ExchangeHelper.getMandatoryInBody(exchange, InputStream.class);
+                // the appended data is buffered so we cannot keep last modified
+                endpoint.getAppendBuffer(true).append(file, in);
+                return true;
+            }
+
+            // any buffered data must be written and the file closed before we write to the file directly
+            FileAppendBuffer buffer = endpoint.getAppendBuffer(false);
+            if (buffer != null) {
+                buffer.close(file);
+            }
+
             // is the body file based
             File source = null;
             // get the File Object from in message
@@ -216,6 +231,14 @@ public class FileOperations implements GenericFileOperations<File> {
         }
     }
 
+    private boolean isBufferedAppend(File file) {
+        if (!endpoint.isBufferedAppend() || endpoint.getFileExist() != GenericFileExist.Append) {
+            return false;
+        }
+        // done files is written directly as they must exist when the producer is done
+        return endpoint.getDoneFileName() == null || !endpoint.isDoneFile(file.getName());
+    }
+
     private void keepLastModified(Exchange exchange, File file) {
         if (endpoint.isKeepLastModified()) {
             Long last;
@@ -0,0 +1,49 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+
+/**
+ * File producer.
+ *
+ * @version 
+ */
+public class FileProducer extends GenericFileProducer<File> {
+
+    protected FileProducer(FileEndpoint endpoint, FileOperations operations) {
+        super(endpoint, operations);
+    }
+
+    @Override
+    protected void preWriteDoneFile(String target) throws Exception {
+        FileAppendBuffer buffer = ((FileEndpoint) endpoint).getAppendBuffer(false);
+        if (buffer != null) {
+            buffer.flush(new File(target));
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        // flush and close the buffered appended files so all the data is written when the route is stopped
+        FileAppendBuffer buffer = ((FileEndpoint) endpoint).getAppendBuffer(false);
+        if (buffer != null) {
+            buffer.close();
+        }
+        super.doStop();
+    }
+}
@@ -30,6 +30,7 @@ import org.apache.camel.ShutdownRunningTask;
 import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.impl.ScheduledPollConsumer;
 import org.apache.camel.spi.ShutdownAware;
+import org.apache.camel.spi.Synchronization;
 import org.apache.camel.util.CastUtils;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.StopWatch;
@@ -49,6 +50,7 @@ public abstract class GenericFileConsumer<T> extends ScheduledPollConsumer imple
     protected int maxMessagesPerPoll;
     protected volatile ShutdownRunningTask shutdownRunningTask;
     protected volatile int pendingExchanges;
+    protected volatile long lastScanTime;
 
     public GenericFileConsumer(GenericFileEndpoint<T> endpoint, Processor processor, GenericFileOperations<T> operations) {
         super(endpoint, processor);
@@ -82,6 +84,7 @@ public abstract class GenericFileConsumer<T> extends ScheduledPollConsumer imple
         StopWatch stop = new StopWatch();
         boolean limitHit = !pollDirectory(name, files);
         long delta = stop.stop();
+        lastScanTime = delta;
         if (log.isDebugEnabled()) {
             log.debug("Took " + TimeUtils.printDuration(delta) + " to poll: " + name);
         }
@@ -101,10 +104,7 @@ public abstract class GenericFileConsumer<T> extends ScheduledPollConsumer imple
         // sort using build in sorters so we can use expressions
         LinkedList<Exchange> exchanges = new LinkedList<Exchange>();
         for (GenericFile<T> file : files) {
-            Exchange exchange = endpoint.createExchange(file);
-            endpoint.configureExchange(exchange);
-            endpoint.configureMessage(file, exchange.getIn());
-            exchanges.add(exchange);
+            exchanges.add(createExchange(file));
         }
         // sort files using exchange comparator if provided
         if (endpoint.getSortBy() != null) {
@@ -129,6 +129,19 @@ public abstract class GenericFileConsumer<T> extends ScheduledPollConsumer imple
         this.maxMessagesPerPoll = maxMessagesPerPoll;
     }
 
+    /**
+     * Gets the time in millis it took to scan for files at the last poll
+     */
+    public long getLastScanTime() {
+        return lastScanTime;
+    }
+
+    @Override
+    protected boolean hasMoreToPoll(int polledMessages) {
+        // there can only be more files to poll right away if we hit the limit
+        return maxMessagesPerPoll > 0 && polledMessages >= maxMessagesPerPoll;
+    }
+
     @SuppressWarnings("unchecked")
     public int processBatch(Queue<Object> exchanges) {
         int total = exchanges.size();
@@ -256,12 +269,37 @@ public abstract class GenericFileConsumer<T> extends ScheduledPollConsumer imple
         this.operations = operations;
     }
 
+    /**
+     * Creates the exchange for the given file to consume
+     *
+     * @param file the file
+     * @return the exchange
+     */
+    protected Exchange createExchange(GenericFile<T> file) {
+        Exchange exchange = endpoint.createExchange(file);
+        endpoint.configureExchange(exchange);
+        endpoint.configureMessage(file, exchange.getIn());
+        return exchange;
+    }
+
     /**
      * Processes the exchange
      *
      * @param exchange the exchange
      */
     protected void processExchange(final Exchange exchange) {
+        processExchange(exchange, operations, null);
+    }
+
+    /**
+     * Processes the exchange using the given operations to retrieve and complete the file
+     *
+     * @param exchange       the exchange
+     * @param fileOperations the operations to use for this file
+     * @param done           optional callback invoked when the operations is no longer in use for this file,
+     *                       which is after the file has been completed, or right away if the file could not be processed
+     */
+    protected void processExchange(final Exchange exchange, GenericFileOperations<T> fileOperations, Synchronization done) {
         GenericFile<T> file = getExchangeFileProperty(exchange);
         if (log.isTraceEnabled()) {
             log.trace("Processing file: " + file);
@@ -275,13 +313,16 @@ public abstract class GenericFileConsumer<T> extends ScheduledPollConsumer imple
         try {
             final GenericFileProcessStrategy<T> processStrategy = endpoint.getGenericFileProcessStrategy();
 
-            boolean begin = processStrategy.begin(operations, endpoint, exchange, file);
+            boolean begin = processStrategy.begin(fileOperations, endpoint, exchange, file);
             if (!begin) {
                 if (log.isDebugEnabled()) {
                     log.debug(endpoint + " cannot begin processing file: " + file);
                 }
                 // begin returned false, so remove file from the in progress list as its no longer in progress
                 endpoint.getInProgressRepository().remove(absoluteFileName);
+                if (done != null) {
+                    done.onComplete(exchange);
+                }
                 return;
             }
         } catch (Exception e) {
@@ -289,6 +330,10 @@ public abstract class GenericFileConsumer<T> extends ScheduledPollConsumer imple
                 log.debug(endpoint + " cannot begin processing file: " + file + " due to: " + e.getMessage(), e);
             }
             endpoint.getInProgressRepository().remove(absoluteFileName);
+            if (done != null) {
+                exchange.setException(e);
+                done.onFailure(exchange);
+            }
             return;
         }
 
@@ -297,6 +342,7 @@ public abstract class GenericFileConsumer<T> extends ScheduledPollConsumer imple
         final GenericFile<T> target = getExchangeFileProperty(exchange);
         // must use full name when downloading so we have the correct path
         final String name = target.getAbsoluteFilePath();
+        boolean handedOver = false;
         try {
             // retrieve the file using the stream
             if (log.isTraceEnabled()) {
@@ -304,7 +350,7 @@ public abstract class GenericFileConsumer<T> extends ScheduledPollConsumer imple
             }
 
             // retrieve the file and check it was a success
-            boolean retrieved = operations.retrieveFile(name, exchange);
+            boolean retrieved = fileOperations.retrieveFile(name, exchange);
             if (!retrieved) {
                 // throw exception to handle the problem with retrieving the file
                 // then if the method return false or throws an exception is handled the same in here
@@ -316,9 +362,16 @@ public abstract class GenericFileConsumer<T> extends ScheduledPollConsumer imple
                 log.trace("Retrieved file: " + name + " from: " + endpoint);
             }
 
+            // the callbacks is invoked in reverse order so add the done callback first so its invoked
+            // after the file has been completed
+            if (done != null) {
+                exchange.addOnCompletion(done);
+                handedOver = true;
+            }
+
             // register on completion callback that does the completion strategies
             // (for instance to move the file after we have processed it)
-            exchange.addOnCompletion(new GenericFileOnCompletion<T>(endpoint, operations, target, absoluteFileName));
+            exchange.addOnCompletion(new GenericFileOnCompletion<T>(endpoint, fileOperations, target, absoluteFileName));
 
             if (log.isDebugEnabled()) {
                 log.debug("About to process file: " + target + " using exchange: " + exchange);
@@ -342,6 +395,10 @@ public abstract class GenericFileConsumer<T> extends ScheduledPollConsumer imple
             // from in progress when it takes over and processes the file, which may happen
             // by another thread at a later time. So its only safe to remove it if there was an exception)
             endpoint.getInProgressRepository().remove(absoluteFileName);
+            if (done != null && !handedOver) {
+                exchange.setException(e);
+                done.onFailure(exchange);
+            }
             handleException(e);
         }
     }
@@ -467,7 +524,10 @@ public abstract class GenericFileConsumer<T> extends ScheduledPollConsumer imple
         return !endpoint.getInProgressRepository().add(key);
     }
 
-    private void evaluateFileExpression() {
+    /**
+     * Evaluates the file expression, which is only done once per poll
+     */
+    protected void evaluateFileExpression() {
         if (fileExpressionResult == null) {
             // create a dummy exchange as Exchange is needed for expression evaluation
             Exchange dummy = new DefaultExchange(endpoint.getCamelContext());
@@ -476,7 +536,7 @@ public abstract class GenericFileConsumer<T> extends ScheduledPollConsumer imple
     }
     
     @SuppressWarnings("unchecked")
-    private GenericFile<T> getExchangeFileProperty(Exchange exchange) {
+    protected GenericFile<T> getExchangeFileProperty(Exchange exchange) {
         return (GenericFile<T>) exchange.getProperty(FileComponent.FILE_EXCHANGE_FILE);
     }
 
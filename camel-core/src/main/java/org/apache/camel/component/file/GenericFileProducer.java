@@ -112,112 +112,142 @@ public class GenericFileProducer<T> extends DefaultProducer {
         try {
             preWriteCheck();
 
-            // should we write to a temporary name and then afterwards rename to real target
-            boolean writeAsTempAndRename = ObjectHelper.isNotEmpty(endpoint.getTempFileName());
-            String tempTarget = null;
-            if (writeAsTempAndRename) {
-                // compute temporary name with the temp prefix
-                tempTarget = createTempFileName(exchange, target);
-
-                if (log.isTraceEnabled()) {
-                    log.trace("Writing using tempNameFile: " + tempTarget);
-                }
+            // the operations may have been recreated by the pre write check
+            if (!writeExchange(exchange, target, operations)) {
+                return;
+            }
+        } catch (Exception e) {
+            handleFailedWrite(exchange, e);
+        }
 
-                // cater for file exists option on the real target as
-                // the file operations code will work on the temp file
-
-                // if an existing file already exists what should we do?
-                if (operations.existsFile(target)) {
-                    if (endpoint.getFileExist() == GenericFileExist.Ignore) {
-                        // ignore but indicate that the file was written
-                        if (log.isTraceEnabled()) {
-                            log.trace("An existing file already exists: " + target + ". Ignore and do not override it.");
-                        }
-                        return;
-                    } else if (endpoint.getFileExist() == GenericFileExist.Fail) {
-                        throw new GenericFileOperationFailedException("File already exist: " + target + ". Cannot write new file.");
-                    } else if (endpoint.isEagerDeleteTargetFile() && endpoint.getFileExist() == GenericFileExist.Override) {
-                        // we override the target so we do this by deleting it so the temp file can be renamed later
-                        // with success as the existing target file have been deleted
-                        if (log.isTraceEnabled()) {
-                            log.trace("Eagerly deleting existing file: " + target);
-                        }
-                        if (!operations.deleteFile(target)) {
-                            throw new GenericFileOperationFailedException("Cannot delete file: " + target);
-                        }
-                    }
-                }
+        postWriteCheck();
+    }
 
-                // delete any pre existing temp file
-                if (operations.existsFile(tempTarget)) {
-                    if (log.isTraceEnabled()) {
-                        log.trace("Deleting existing temp file: " + tempTarget);
-                    }
-                    if (!operations.deleteFile(tempTarget)) {
-                        throw new GenericFileOperationFailedException("Cannot delete file: " + tempTarget);
-                    }
-                }
+    /**
+     * Writes the file of the fileExchange, and the done file if any, using the given operations
+     *
+     * @param exchange   fileExchange
+     * @param target     the target filename
+     * @param operations the operations to write the file with
+     * @return <tt>false</tt> if the file was not written as an existing file should be ignored
+     * @throws Exception is thrown if the file could not be written
+     */
+    protected boolean writeExchange(Exchange exchange, String target, GenericFileOperations<T> operations) throws Exception {
+        // should we write to a temporary name and then afterwards rename to real target
+        boolean writeAsTempAndRename = ObjectHelper.isNotEmpty(endpoint.getTempFileName());
+        String tempTarget = null;
+        if (writeAsTempAndRename) {
+            // compute temporary name with the temp prefix
+            tempTarget = createTempFileName(exchange, target);
+
+            if (log.isTraceEnabled()) {
+                log.trace("Writing using tempNameFile: " + tempTarget);
             }
 
-            // write/upload the file
-            writeFile(exchange, tempTarget != null ? tempTarget : target);
+            // cater for file exists option on the real target as
+            // the file operations code will work on the temp file
 
-            // if we did write to a temporary name then rename it to the real
-            // name after we have written the file
-            if (tempTarget != null) {
-
-                // if we should not eager delete the target file then do it now just before renaming
-                if (!endpoint.isEagerDeleteTargetFile() && operations.existsFile(target)
-                        && endpoint.getFileExist() == GenericFileExist.Override) {
+            // if an existing file already exists what should we do?
+            if (operations.existsFile(target)) {
+                if (endpoint.getFileExist() == GenericFileExist.Ignore) {
+                    // ignore but indicate that the file was written
+                    if (log.isTraceEnabled()) {
+                        log.trace("An existing file already exists: " + target + ". Ignore and do not override it.");
+                    }
+                    return false;
+                } else if (endpoint.getFileExist() == GenericFileExist.Fail) {
+                    throw new GenericFileOperationFailedException("File already exist: " + target + ". Cannot write new file.");
+                } else if (endpoint.isEagerDeleteTargetFile() && endpoint.getFileExist() == GenericFileExist.Override) {
                     // we override the target so we do this by deleting it so the temp file can be renamed later
                     // with success as the existing target file have been deleted
                     if (log.isTraceEnabled()) {
-                        log.trace("Deleting existing file: " + target);
+                        log.trace("Eagerly deleting existing file: " + target);
                     }
                     if (!operations.deleteFile(target)) {
                         throw new GenericFileOperationFailedException("Cannot delete file: " + target);
                     }
                 }
+            }
 
-                // now we are ready to rename the temp file to the target file
+            // delete any pre existing temp file
+            if (operations.existsFile(tempTarget)) {
                 if (log.isTraceEnabled()) {
-                    log.trace("Renaming file: [" + tempTarget + "] to: [" + target + "]");
+                    log.trace("Deleting existing temp file: " + tempTarget);
                 }
-                boolean renamed = operations.renameFile(tempTarget, target);
-                if (!renamed) {
-                    throw new GenericFileOperationFailedException("Cannot rename file from: " + tempTarget + " to: " + target);
+                if (!operations.deleteFile(tempTarget)) {
+                    throw new GenericFileOperationFailedException("Cannot delete file: " + tempTarget);
                 }
             }
+        }
 
-            // any done file to write?
-            if (endpoint.getDoneFileName() != null) {
-                String doneFileName = endpoint.createDoneFileName(target);
-                ObjectHelper.notEmpty(doneFileName, "doneFileName", endpoint);
+        // write/upload the file
+        writeFile(exchange, tempTarget != null ? tempTarget : target, operations);
 
-                // create empty exchange with empty body to write as the done file
-                Exchange empty = new DefaultExchange(exchange);
-                empty.getIn().setBody("");
+        // if we did write to a temporary name then rename it to the real
+        // name after we have written the file
+        if (tempTarget != null) {
 
+            // if we should not eager delete the target file then do it now just before renaming
+            if (!endpoint.isEagerDeleteTargetFile() && operations.existsFile(target)
+                    && endpoint.getFileExist() == GenericFileExist.Override) {
+                // we override the target so we do this by deleting it so the temp file can be renamed later
+                // with success as the existing target file have been deleted
                 if (log.isTraceEnabled()) {
-                    log.trace("Writing done file: [" + doneFileName + "]");
+                    log.trace("Deleting existing file: " + target);
                 }
-                // delete any existing done file
-                if (operations.existsFile(doneFileName)) {
-                    if (!operations.deleteFile(doneFileName)) {
-                        throw new GenericFileOperationFailedException("Cannot delete existing done file: " + doneFileName);
-                    }
+                if (!operations.deleteFile(target)) {
+                    throw new GenericFileOperationFailedException("Cannot delete file: " + target);
                 }
-                writeFile(empty, doneFileName);
             }
 
-            // lets store the name we really used in the header, so end-users
-            // can retrieve it
-            exchange.getIn().setHeader(Exchange.FILE_NAME_PRODUCED, target);
-        } catch (Exception e) {
-            handleFailedWrite(exchange, e);
+            // now we are ready to rename the temp file to the target file
+            if (log.isTraceEnabled()) {
+                log.trace("Renaming file: [" + tempTarget + "] to: [" + target + "]");
+            }
+            boolean renamed = operations.renameFile(tempTarget, target);
+            if (!renamed) {
+                throw new GenericFileOperationFailedException("Cannot rename file from: " + tempTarget + " to: " + target);
+            }
         }
 
-        postWriteCheck();
+        // any done file to write?
+        if (endpoint.getDoneFileName() != null) {
+            String doneFileName = endpoint.createDoneFileName(target);
+            ObjectHelper.notEmpty(doneFileName, "doneFileName", endpoint);
+
+            // the target file must be completely written before the done file
+            preWriteDoneFile(target);
+
+            // create empty exchange with empty body to write as the done file
+            Exchange empty = new DefaultExchange(exchange);
+            empty.getIn().setBody("");
+
+            if (log.isTraceEnabled()) {
+                log.trace("Writing done file: [" + doneFileName + "]");
+            }
+            // delete any existing done file
+            if (operations.existsFile(doneFileName)) {
+                if (!operations.deleteFile(doneFileName)) {
+                    throw new GenericFileOperationFailedException("Cannot delete existing done file: " + doneFileName);
+                }
+            }
+            writeFile(empty, doneFileName, operations);
+        }
+
+        // lets store the name we really used in the header, so end-users
+        // can retrieve it
+        exchange.getIn().setHeader(Exchange.FILE_NAME_PRODUCED, target);
+        return true;
+    }
+
+    /**
+     * Strategy invoked before the done file is written, to ensure all the data of the target file has been written.
+     *
+     * @param target the target file name
+     * @throws Exception can be thrown if the data could not be written
+     */
+    protected void preWriteDoneFile(String target) throws Exception {
+        // noop
     }
 
     /**
@@ -243,6 +273,18 @@ public class GenericFileProducer<T> extends DefaultProducer {
     }
 
     public void writeFile(Exchange exchange, String fileName) throws GenericFileOperationFailedException {
+        writeFile(exchange, fileName, operations);
+    }
+
+    /**
+     * Writes the file using the given operations
+     *
+     * @param exchange   the exchange with the content of the file
+     * @param fileName   the file name
+     * @param operations the operations to write the file with
+     * @throws GenericFileOperationFailedException is thrown if the file could not be written
+     */
+    public void writeFile(Exchange exchange, String fileName, GenericFileOperations<T> operations) throws GenericFileOperationFailedException {
         // build directory if auto create is enabled
         if (endpoint.isAutoCreate()) {
             // we must normalize it (to avoid having both \ and / in the name which confuses java.io.File)
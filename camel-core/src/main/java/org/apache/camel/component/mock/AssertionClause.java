@@ -72,8 +72,11 @@ public abstract class AssertionClause extends ExpressionClauseSupport<ValueBuild
 
     /**
      * Adds a {@link TimeClause} predicate for message arriving.
+     * <p/>
+     * This is not supported when the mock is in streaming mode, as the previous and next messages is not kept.
      */
     public TimeClause arrives() {
+        checkNotStreaming();
         final TimeClause clause = new TimeClause(previous, next);
         addPredicate(new Predicate() {
             public boolean matches(Exchange exchange) {
@@ -102,9 +105,18 @@ public abstract class AssertionClause extends ExpressionClauseSupport<ValueBuild
         predicates.add(predicate);
     }
 
+    private void checkNotStreaming() {
+        if (mock.isStreaming()) {
+            // the received exchanges is only a random sample so the previous and next message is not known
+            throw new IllegalStateException("Cannot compare with the previous or next message in streaming mode on mock: "
+                    + mock.getEndpointUri());
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private final class PreviousTimestamp implements Expression {
         public <T> T evaluate(Exchange exchange, Class<T> type) {
+            checkNotStreaming();
             Date answer = null;
             if (currentIndex > 0 && mock.getReceivedCounter() > 0) {
                 answer = mock.getReceivedExchanges().get(currentIndex - 1).getProperty(Exchange.RECEIVED_TIMESTAMP, Date.class);
@@ -116,6 +128,7 @@ public abstract class AssertionClause extends ExpressionClauseSupport<ValueBuild
     @SuppressWarnings("unchecked")
     private final class NextTimestamp implements Expression {
         public <T> T evaluate(Exchange exchange, Class<T> type) {
+            checkNotStreaming();
             Date answer = null;
             if (currentIndex < mock.getReceivedCounter() - 1) {
                 answer = mock.getReceivedExchanges().get(currentIndex + 1).getProperty(Exchange.RECEIVED_TIMESTAMP, Date.class);
@@ -25,8 +25,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -97,6 +100,13 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
     private volatile Object propertyValue;
     private volatile Object actualProperty;
     private volatile Processor reporter;
+    private volatile boolean streaming;
+    private volatile int sampleSize = 100;
+    private volatile Exchange lastExchange;
+    private volatile List<StreamingCheck> streamingChecks;
+    private volatile Set<Integer> retainedIndexes;
+    private volatile Map<Integer, Exchange> retainedExchanges;
+    private final Random random = new Random();
 
     public MockEndpoint(String endpointUri, Component component) {
         super(endpointUri, component);
@@ -483,7 +493,7 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
     }
 
     private Exchange mostRecentExchange() {
-        return receivedExchanges.get(receivedExchanges.size() - 1);
+        return lastExchange;
     }
     
     /**
@@ -515,6 +525,10 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
 
         expects(new Runnable() {
             public void run() {
+                if (streaming) {
+                    // the bodies has been checked as the messages was received
+                    return;
+                }
                 for (int i = 0; i < expectedBodyValues.size(); i++) {
                     Exchange exchange = getReceivedExchanges().get(i);
                     assertTrue("No exchange received for counter: " + i, exchange != null);
@@ -530,6 +544,15 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
                 }
             }
         });
+
+        expectsStreaming(new StreamingCheck() {
+            public void check(int index, Exchange exchange) {
+                if (index < expectedBodyValues.size()) {
+                    Object expectedBody = expectedBodyValues.get(index);
+                    assertEquals("Body of message: " + index, expectedBody, getBody(exchange, expectedBody));
+                }
+            }
+        });
     }
 
     /**
@@ -546,6 +569,7 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
                 }
             };
             expects(clause);
+            retainedIndexes.add(messageIndex);
         }
     }
 
@@ -568,7 +592,7 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
 
         expects(new Runnable() {
             public void run() {
-                Exchange exchange = getReceivedExchanges().get(0);
+                Exchange exchange = assertExchangeReceived(0);
                 assertTrue("No exchange received for counter: " + 0, exchange != null);
 
                 Object actualBody = exchange.getIn().getBody();
@@ -593,6 +617,10 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
 
         expects(new Runnable() {
             public void run() {
+                if (streaming) {
+                    // the bodies has been checked as the messages was received
+                    return;
+                }
                 Set<Object> actualBodyValuesSet = new HashSet<Object>(actualBodyValues);
                 for (int i = 0; i < expectedBodyValues.size(); i++) {
                     Exchange exchange = getReceivedExchanges().get(i);
@@ -605,6 +633,31 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
                 }
             }
         });
+
+        expectsStreaming(new StreamingCheck() {
+            private Map<Object, Integer> remaining;
+
+            public void check(int index, Exchange exchange) {
+                if (remaining == null) {
+                    // count how many times each body is expected
+                    remaining = new HashMap<Object, Integer>();
+                    for (Object body : expectedBodyValues) {
+                        Integer count = remaining.get(body);
+                        remaining.put(body, count != null ? count + 1 : 1);
+                    }
+                }
+                if (index < expectedBodyValues.size()) {
+                    Object actualBody = getBody(exchange, expectedBodyValues.get(index));
+                    Integer count = remaining.get(actualBody);
+                    assertTrue("Message " + index + " with body " + actualBody + " was not expected", count != null);
+                    if (count == 1) {
+                        remaining.remove(actualBody);
+                    } else {
+                        remaining.put(actualBody, count - 1);
+                    }
+                }
+            }
+        });
     }
 
     /**
@@ -669,9 +722,12 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
     public void expectsAscending(final Expression expression) {
         expects(new Runnable() {
             public void run() {
-                assertMessagesAscending(expression);
+                if (!streaming) {
+                    assertMessagesAscending(expression);
+                }
             }
         });
+        expectsStreaming(new SortedCheck(expression, true));
     }
 
     /**
@@ -682,9 +738,12 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
         final ExpressionClause<?> clause = new ExpressionClause<MockEndpoint>(this);
         expects(new Runnable() {
             public void run() {
-                assertMessagesAscending(clause.getExpressionValue());
+                if (!streaming) {
+                    assertMessagesAscending(clause.getExpressionValue());
+                }
             }
         });
+        expectsStreaming(new SortedCheck(clause, true));
         return clause;
     }
 
@@ -695,9 +754,12 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
     public void expectsDescending(final Expression expression) {
         expects(new Runnable() {
             public void run() {
-                assertMessagesDescending(expression);
+                if (!streaming) {
+                    assertMessagesDescending(expression);
+                }
             }
         });
+        expectsStreaming(new SortedCheck(expression, false));
     }
 
     /**
@@ -708,9 +770,12 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
         final ExpressionClause<?> clause = new ExpressionClause<MockEndpoint>(this);
         expects(new Runnable() {
             public void run() {
-                assertMessagesDescending(clause.getExpressionValue());
+                if (!streaming) {
+                    assertMessagesDescending(clause.getExpressionValue());
+                }
             }
         });
+        expectsStreaming(new SortedCheck(clause, false));
         return clause;
     }
 
@@ -727,9 +792,12 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
     public void expectsNoDuplicates(final Expression expression) {
         expects(new Runnable() {
             public void run() {
-                assertNoDuplicates(expression);
+                if (!streaming) {
+                    assertNoDuplicates(expression);
+                }
             }
         });
+        expectsStreaming(new NoDuplicatesCheck(expression));
     }
 
     /**
@@ -740,9 +808,12 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
         final ExpressionClause<?> clause = new ExpressionClause<MockEndpoint>(this);
         expects(new Runnable() {
             public void run() {
-                assertNoDuplicates(clause.getExpressionValue());
+                if (!streaming) {
+                    assertNoDuplicates(clause.getExpressionValue());
+                }
             }
         });
+        expectsStreaming(new NoDuplicatesCheck(clause));
         return clause;
     }
 
@@ -807,6 +878,13 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
         tests.add(runnable);
     }
 
+    /**
+     * Adds the check which will be invoked as each message is received in streaming mode
+     */
+    private void expectsStreaming(StreamingCheck check) {
+        streamingChecks.add(check);
+    }
+
     /**
      * Adds an assertion to the given message index
      *
@@ -820,6 +898,7 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
             }
         };
         expects(clause);
+        retainedIndexes.add(messageIndex);
         return clause;
     }
 
@@ -831,6 +910,10 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
     public AssertionClause allMessages() {
         final AssertionClause clause = new AssertionClause(this) {
             public void run() {
+                if (streaming) {
+                    // the messages has been checked as they was received
+                    return;
+                }
                 List<Exchange> list = getReceivedExchanges();
                 int index = 0;
                 for (Exchange exchange : list) {
@@ -839,6 +922,11 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
             }
         };
         expects(clause);
+        expectsStreaming(new StreamingCheck() {
+            public void check(int index, Exchange exchange) {
+                clause.applyAssertionOn(MockEndpoint.this, index, exchange);
+            }
+        });
         return clause;
     }
 
@@ -848,6 +936,11 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
     public Exchange assertExchangeReceived(int index) {
         int count = getReceivedCounter();
         assertTrue("Not enough messages received. Was: " + count, count > index);
+        if (streaming) {
+            Exchange exchange = retainedExchanges.get(index);
+            assertTrue("Message " + index + " is not retained in streaming mode", exchange != null);
+            return exchange;
+        }
         return getReceivedExchanges().get(index);
     }
 
@@ -858,9 +951,12 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
     }
 
     public int getReceivedCounter() {
-        return receivedExchanges.size();
+        return streaming ? counter : receivedExchanges.size();
     }
 
+    /**
+     * Gets the received exchanges, which is only a random sample of the received exchanges in streaming mode
+     */
     public List<Exchange> getReceivedExchanges() {
         return receivedExchanges;
     }
@@ -936,6 +1032,36 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
         }
     }
 
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Sets whether to use streaming mode, which is intended for tests sending a large number of messages.
+     * <p/>
+     * In streaming mode the received exchanges is not kept, but only a random sample of the exchanges
+     * with the size of {@link #setSampleSize(int)}, and the expectations on the bodies, ordering and
+     * all messages is checked as the messages is received.
+     * Assertions on a given message using {@link #message(int)} is supported, but not the time clauses
+     * which compares with the previous or next message.
+     * This option should be set before the expectations.
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    /**
+     * Sets the number of exchanges to keep as a random sample of the received exchanges in streaming mode.
+     * Will by default keep 100 exchanges.
+     */
+    public void setSampleSize(int sampleSize) {
+        this.sampleSize = sampleSize;
+    }
+
     public Processor getReporter() {
         return reporter;
     }
@@ -964,6 +1090,10 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
         expectedMinimumCount = -1;
         expectedBodyValues = null;
         actualBodyValues = new ArrayList<Object>();
+        lastExchange = null;
+        streamingChecks = new CopyOnWriteArrayList<StreamingCheck>();
+        retainedIndexes = new CopyOnWriteArraySet<Integer>();
+        retainedExchanges = new ConcurrentHashMap<Integer, Exchange>();
     }
 
     protected synchronized void onExchange(Exchange exchange) {
@@ -995,7 +1125,7 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
             actualProperty = exchange.getProperty(propertyName);
         }
 
-        if (expectedBodyValues != null) {
+        if (expectedBodyValues != null && !streaming) {
             int index = actualBodyValues.size();
             if (expectedBodyValues.size() > index) {
                 Object expectedBody = expectedBodyValues.get(index);
@@ -1018,7 +1148,12 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
 
         // record timestamp when exchange was received
         exchange.setProperty(Exchange.RECEIVED_TIMESTAMP, new Date());
-        receivedExchanges.add(exchange);
+        lastExchange = exchange;
+        if (streaming) {
+            onStreamingExchange(counter - 1, exchange);
+        } else {
+            receivedExchanges.add(exchange);
+        }
 
         Processor processor = processors.get(getReceivedCounter()) != null
                 ? processors.get(getReceivedCounter()) : defaultProcessor;
@@ -1033,6 +1168,46 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
         }
     }
 
+    private void onStreamingExchange(int index, Exchange exchange) {
+        // keep a random sample of the exchanges using reservoir sampling
+        if (receivedExchanges.size() < sampleSize) {
+            receivedExchanges.add(exchange);
+        } else {
+            int slot = random.nextInt(index + 1);
+            if (slot < sampleSize) {
+                receivedExchanges.set(slot, exchange);
+            }
+        }
+
+        if (retainedIndexes.contains(index)) {
+            retainedExchanges.put(index, exchange);
+        }
+
+        for (StreamingCheck check : streamingChecks) {
+            try {
+                check.check(index, exchange);
+            } catch (Throwable e) {
+                // must catch java.lang.Throwable as AssertionException extends java.lang.Error
+                failures.add(e);
+            }
+        }
+    }
+
+    private static Expression toExpression(Object expression) {
+        // the expression of a clause is first known when the clause has been configured
+        if (expression instanceof ExpressionClause) {
+            return ((ExpressionClause<?>) expression).getExpressionValue();
+        }
+        return (Expression) expression;
+    }
+
+    private Object getBody(Exchange exchange, Object expectedBody) {
+        if (expectedBody != null) {
+            return exchange.getIn().getBody(expectedBody.getClass());
+        }
+        return exchange.getIn().getBody();
+    }
+
     protected void waitForCompleteLatch() throws InterruptedException {
         if (latch == null) {
             fail("Should have a latch!");
@@ -1103,4 +1278,67 @@ public class MockEndpoint extends DefaultEndpoint implements BrowsableEndpoint {
     public boolean isSingleton() {
         return true;
     }
+
+    /**
+     * A check which is invoked as each message is received in streaming mode.
+     */
+    private interface StreamingCheck {
+        void check(int index, Exchange exchange);
+    }
+
+    /**
+     * Checks the messages is sorted by comparing with the previous message.
+     */
+    private final class SortedCheck implements StreamingCheck {
+        private final Object expression;
+        private final boolean ascending;
+        private Exchange previous;
+
+        private SortedCheck(Object expression, boolean ascending) {
+            this.expression = expression;
+            this.ascending = ascending;
+        }
+
+        public void check(int index, Exchange exchange) {
+            Expression expression = toExpression(this.expression);
+            Exchange e1 = previous;
+            previous = exchange;
+            if (e1 == null) {
+                return;
+            }
+
+            String type = ascending ? "ascending" : "descending";
+            int result = new ExpressionComparator(expression).compare(e1, exchange);
+            if (result == 0) {
+                fail("Messages not " + type + ". Messages" + (index - 1) + " and " + index + " are equal with value: "
+                    + expression.evaluate(e1, Object.class) + " for expression: " + expression + ". Exchanges: " + e1 + " and " + exchange);
+            } else if ((ascending ? result : -result) > 0) {
+                fail("Messages not " + type + ". Message " + (index - 1) + " has value: " + expression.evaluate(e1, Object.class)
+                    + " and message " + index + " has value: " + expression.evaluate(exchange, Object.class) + " for expression: "
+                    + expression + ". Exchanges: " + e1 + " and " + exchange);
+            }
+        }
+    }
+
+    /**
+     * Checks there is no duplicate messages by keeping the keys of the messages received.
+     */
+    private final class NoDuplicatesCheck implements StreamingCheck {
+        private final Object expression;
+        private final Map<Object, Integer> keys = new HashMap<Object, Integer>();
+
+        private NoDuplicatesCheck(Object expression) {
+            this.expression = expression;
+        }
+
+        public void check(int index, Exchange exchange) {
+            Expression expression = toExpression(this.expression);
+            Object key = expression.evaluate(exchange, Object.class);
+            Integer previous = keys.put(key, index);
+            if (previous != null) {
+                fail("Duplicate message found on message " + index + " has value: " + key + " for expression: " + expression
+                    + ". Message " + previous + " has the same value. Exchange: " + exchange);
+            }
+        }
+    }
 }
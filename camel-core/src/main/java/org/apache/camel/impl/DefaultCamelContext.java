@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -31,6 +32,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -135,11 +140,13 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
     private CamelContextNameStrategy nameStrategy = new DefaultCamelContextNameStrategy();
     private String managementName;
     private ClassLoader applicationContextClassLoader;
-    private final Map<EndpointKey, Endpoint> endpoints = new EndpointRegistry();
+    private final EndpointRegistry endpoints = new EndpointRegistry();
     private final AtomicInteger endpointKeyCounter = new AtomicInteger();
     private final List<EndpointStrategy> endpointStrategies = new ArrayList<EndpointStrategy>();
     private final Map<String, Component> components = new HashMap<String, Component>();
     private Set<Route> routes;
+    // routes can be added from other threads when using parallel route startup, so we do not lock on this
+    private final Object routesLock = new Object();
     private final List<Service> servicesToClose = new ArrayList<Service>();
     private final Set<StartupListener> startupListeners = new LinkedHashSet<StartupListener>();
     private TypeConverter typeConverter;
@@ -167,6 +174,7 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
     private Boolean disableJMX = Boolean.FALSE;
     private Boolean lazyLoadTypeConverters = Boolean.FALSE;
     private Boolean useMDCLogging = Boolean.FALSE;
+    private Boolean parallelRouteStartup = Boolean.FALSE;
     private Long delay;
     private ErrorHandlerBuilder errorHandlerBuilder;
     private Map<String, DataFormatDefinition> dataFormats = new HashMap<String, DataFormatDefinition>();
@@ -400,6 +408,14 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
             log.trace("Getting endpoint with uri: " + uri);
         }
 
+        // fast path for uris we have looked up before, which do not need to be resolved and normalized again,
+        // as only uris without property placeholders is cached this cannot return a stale endpoint
+        Endpoint answer = endpoints.getRawUri(uri);
+        if (answer != null) {
+            return answer;
+        }
+        String rawUri = uri;
+
         // in case path has property placeholders then try to let property component resolve those
         try {
             uri = resolvePropertyPlaceholders(uri);
@@ -414,10 +430,28 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
             log.trace("Getting endpoint with normalized uri: " + uri);
         }
 
+        // the uri is already normalized so the key does not have to normalize it again
+        EndpointKey key = new EndpointKey(uri, true);
+        answer = endpoints.get(key);
+        if (answer == null) {
+            answer = createAndAddEndpoint(uri, key);
+        }
+
+        // only singletons can be looked up again, as new prototype endpoints is created on each lookup,
+        // and uris with property placeholders must be resolved again as the properties may change
+        if (answer != null && answer.isSingleton() && !rawUri.contains(PropertiesComponent.PREFIX_TOKEN)) {
+            endpoints.putRawUri(rawUri, key, answer);
+        }
+
+        return answer;
+    }
+
+    private Endpoint createAndAddEndpoint(String uri, EndpointKey key) {
         Endpoint answer;
         String scheme = null;
         synchronized (endpoints) {
-            answer = endpoints.get(getEndpointKey(uri));
+            // another thread may have created the endpoint while we waited for the lock
+            answer = endpoints.get(key);
             if (answer == null) {
                 try {
                     // Use the URI prefix to find the component.
@@ -524,6 +558,13 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
         return uri;
     }
 
+    /**
+     * Gets the registry of the endpoints
+     */
+    public EndpointRegistry getEndpointRegistry() {
+        return endpoints;
+    }
+
     /**
      * Gets the endpoint key to use for lookup or whe adding endpoints to the {@link EndpointRegistry}
      *
@@ -565,14 +606,16 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
         return routeStartupOrder;
     }
 
-    public synchronized List<Route> getRoutes() {
-        if (routes == null) {
-            routes = new LinkedHashSet<Route>();
-        }
+    public List<Route> getRoutes() {
+        synchronized (routesLock) {
+            if (routes == null) {
+                routes = new LinkedHashSet<Route>();
+            }
 
-        // lets return a copy of the collection as objects are removed later
-        // when services are stopped
-        return new ArrayList<Route>(routes);
+            // lets return a copy of the collection as objects are removed later
+            // when services are stopped
+            return new ArrayList<Route>(routes);
+        }
     }
 
     public Route getRoute(String id) {
@@ -589,19 +632,23 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
         throw new UnsupportedOperationException("Overriding existing routes is not supported yet, use addRouteCollection instead");
     }
 
-    synchronized void removeRouteCollection(Collection<Route> routes) {
-        if (this.routes != null) {
-            this.routes.removeAll(routes);
+    void removeRouteCollection(Collection<Route> routes) {
+        synchronized (routesLock) {
+            if (this.routes != null) {
+                this.routes.removeAll(routes);
+            }
         }
     }
 
-    synchronized void addRouteCollection(Collection<Route> routes) throws Exception {
-        if (this.routes == null) {
-            this.routes = new LinkedHashSet<Route>();
-        }
+    void addRouteCollection(Collection<Route> routes) throws Exception {
+        synchronized (routesLock) {
+            if (this.routes == null) {
+                this.routes = new LinkedHashSet<Route>();
+            }
 
-        if (routes != null) {
-            this.routes.addAll(routes);
+            if (routes != null) {
+                this.routes.addAll(routes);
+            }
         }
     }
 
@@ -876,23 +923,26 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
         if (object instanceof Service) {
             Service service = (Service) object;
 
-            for (LifecycleStrategy strategy : lifecycleStrategies) {
-                if (service instanceof Endpoint) {
-                    // use specialized endpoint add
-                    strategy.onEndpointAdd((Endpoint) service);
-                } else {
-                    strategy.onServiceAdd(this, service, null);
+            // services can be added concurrently from the route startup threads when using parallel route startup
+            synchronized (servicesToClose) {
+                for (LifecycleStrategy strategy : lifecycleStrategies) {
+                    if (service instanceof Endpoint) {
+                        // use specialized endpoint add
+                        strategy.onEndpointAdd((Endpoint) service);
+                    } else {
+                        strategy.onServiceAdd(this, service, null);
+                    }
                 }
-            }
 
-            // only add to services to close if its a singleton
-            // otherwise we could for example end up with a lot of prototype scope endpoints
-            boolean singleton = true; // assume singleton by default
-            if (service instanceof IsSingleton) {
-                singleton = ((IsSingleton) service).isSingleton();
-            }
-            if (singleton) {
-                servicesToClose.add(service);
+                // only add to services to close if its a singleton
+                // otherwise we could for example end up with a lot of prototype scope endpoints
+                boolean singleton = true; // assume singleton by default
+                if (service instanceof IsSingleton) {
+                    singleton = ((IsSingleton) service).isSingleton();
+                }
+                if (singleton) {
+                    servicesToClose.add(service);
+                }
             }
         }
         startServices(object);
@@ -901,7 +951,9 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
     public boolean hasService(Object object) {
         if (object instanceof Service) {
             Service service = (Service) object;
-            return servicesToClose.contains(service);
+            synchronized (servicesToClose) {
+                return servicesToClose.contains(service);
+            }
         }
         return false;
     }
@@ -1322,6 +1374,9 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
                 }
             }
             log.info("Total " + getRoutes().size() + " routes, of which " + started + " is started.");
+            if (isParallelRouteStartup()) {
+                logSlowestRouteStartups(5);
+            }
             log.info("Apache Camel " + getVersion() + " (CamelContext: " + getName() + ") started in " + TimeUtils.printDuration(stopWatch.taken()));
         }
         EventHelper.notifyCamelContextStarted(this);
@@ -1360,6 +1415,10 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
             log.info("MDC logging is enabled on CamelContext: " + getName());
         }
 
+        if (isParallelRouteStartup()) {
+            log.info("Parallel route startup is enabled on CamelContext: " + getName());
+        }
+
         if (isHandleFault()) {
             // only add a new handle fault if not already configured
             if (HandleFault.getHandleFault(this) == null) {
@@ -1816,22 +1875,50 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
         return true;
     }
 
-    private void doWarmUpRoutes(Map<Integer, DefaultRouteStartupOrder> inputs, boolean autoStartup) throws Exception {
+    private void doWarmUpRoutes(Map<Integer, DefaultRouteStartupOrder> inputs, final boolean autoStartup) throws Exception {
+        if (isParallelRouteStartup() && inputs.size() > 1) {
+            ExecutorService executor = createRouteStartupExecutorService(inputs.size());
+            try {
+                for (List<DefaultRouteStartupOrder> group : doGroupRoutesByStartupOrder(inputs)) {
+                    // endpoints can be shared among routes so start them upfront one by one
+                    for (DefaultRouteStartupOrder order : group) {
+                        for (Route route : order.getRouteService().getRoutes()) {
+                            ServiceHelper.startService(route.getEndpoint());
+                        }
+                    }
+                    doInParallel(executor, group, new RouteStartupTask() {
+                        public void run(DefaultRouteStartupOrder order) throws Exception {
+                            doWarmUpRoute(order, autoStartup);
+                        }
+                    });
+                }
+            } finally {
+                getExecutorServiceStrategy().shutdownNow(executor);
+            }
+            return;
+        }
+
         // now prepare the routes by starting its services before we start the input
         for (Map.Entry<Integer, DefaultRouteStartupOrder> entry : inputs.entrySet()) {
-            // defer starting inputs till later as we want to prepare the routes by starting
-            // all their processors and child services etc.
-            // then later we open the floods to Camel by starting the inputs
-            // what this does is to ensure Camel is more robust on starting routes as all routes
-            // will then be prepared in time before we start inputs which will consume messages to be routed
-            RouteService routeService = entry.getValue().getRouteService();
-            if (log.isDebugEnabled()) {
-                log.debug("Warming up route id: " + routeService.getId() + " having autoStartup=" + autoStartup);
-            }
-            routeService.warmUp();
+            doWarmUpRoute(entry.getValue(), autoStartup);
         }
     }
 
+    private void doWarmUpRoute(DefaultRouteStartupOrder order, boolean autoStartup) throws Exception {
+        // defer starting inputs till later as we want to prepare the routes by starting
+        // all their processors and child services etc.
+        // then later we open the floods to Camel by starting the inputs
+        // what this does is to ensure Camel is more robust on starting routes as all routes
+        // will then be prepared in time before we start inputs which will consume messages to be routed
+        RouteService routeService = order.getRouteService();
+        if (log.isDebugEnabled()) {
+            log.debug("Warming up route id: " + routeService.getId() + " having autoStartup=" + autoStartup);
+        }
+        long start = System.currentTimeMillis();
+        routeService.warmUp();
+        order.addStartupTime(System.currentTimeMillis() - start);
+    }
+
     private void doResumeRouteConsumers(Map<Integer, DefaultRouteStartupOrder> inputs, boolean addingRoutes) throws Exception {
         doStartOrResumeRouteConsumers(inputs, true, addingRoutes);
     }
@@ -1841,6 +1928,11 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
     }
 
     private void doStartOrResumeRouteConsumers(Map<Integer, DefaultRouteStartupOrder> inputs, boolean resumeOnly, boolean addingRoute) throws Exception {
+        if (isParallelRouteStartup() && inputs.size() > 1) {
+            doStartOrResumeRouteConsumersInParallel(inputs, resumeOnly, addingRoute);
+            return;
+        }
+
         List<Endpoint> routeInputs = new ArrayList<Endpoint>();
 
         for (Map.Entry<Integer, DefaultRouteStartupOrder> entry : inputs.entrySet()) {
@@ -1855,6 +1947,8 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
                 continue;
             }
 
+            long start = System.currentTimeMillis();
+
             // start the service
             for (Consumer consumer : routeService.getInputs().values()) {
                 Endpoint endpoint = consumer.getEndpoint();
@@ -1865,50 +1959,216 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
                         "Multiple consumers for the same endpoint is not allowed: " + endpoint);
                 }
 
-                // start the consumer on the route
-                if (log.isDebugEnabled()) {
-                    log.debug("Route: " + route.getId() + " >>> " + route);
-                    if (resumeOnly) {
-                        log.debug("Resuming consumer (order: " + order + ") on route: " + route.getId());
-                    } else {
-                        log.debug("Starting consumer (order: " + order + ") on route: " + route.getId());
-                    }
-                }
-
-                if (resumeOnly && route.supportsSuspension()) {
-                    // if we are resuming and the route can be resumed
-                    resumeServices(consumer);
-                    log.info("Route: " + route.getId() + " resumed and consuming from: " + endpoint);
-                } else {
+                if (!resumeOnly || !route.supportsSuspension()) {
                     // when starting we should invoke the lifecycle strategies
                     for (LifecycleStrategy strategy : lifecycleStrategies) {
                         strategy.onServiceAdd(this, consumer, route);
                     }
-                    startServices(consumer);
-                    log.info("Route: " + route.getId() + " started and consuming from: " + endpoint);
                 }
+                doStartOrResumeRouteConsumer(order, route, consumer, resumeOnly);
 
                 routeInputs.add(endpoint);
 
                 // add to the order which they was started, so we know how to stop them in reverse order
                 // but only add if we haven't already registered it before (we dont want to double add when restarting)
-                boolean found = false;
-                for (RouteStartupOrder other : routeStartupOrder) {
-                    if (other.getRoute().getId() == route.getId()) {
-                        found = true;
-                        break;
+                doAddRouteStartupOrder(entry.getValue());
+            }
+
+            // and start the route service (no need to start children as they are already warmed up)
+            routeService.start(false);
+
+            entry.getValue().addStartupTime(System.currentTimeMillis() - start);
+        }
+    }
+
+    private void doStartOrResumeRouteConsumersInParallel(Map<Integer, DefaultRouteStartupOrder> inputs, final boolean resumeOnly,
+                                                         boolean addingRoute) throws Exception {
+        List<Endpoint> routeInputs = new ArrayList<Endpoint>();
+
+        ExecutorService executor = createRouteStartupExecutorService(inputs.size());
+        try {
+            for (List<DefaultRouteStartupOrder> group : doGroupRoutesByStartupOrder(inputs)) {
+                List<DefaultRouteStartupOrder> toStart = new ArrayList<DefaultRouteStartupOrder>(group.size());
+
+                // check for clashes and enlist the consumers one by one before we start the group
+                for (DefaultRouteStartupOrder entry : group) {
+                    Route route = entry.getRoute();
+                    RouteService routeService = entry.getRouteService();
+
+                    // if we are starting camel, then skip routes which are configured to not be auto started
+                    boolean autoStartup = routeService.getRouteDefinition().isAutoStartup(this);
+                    if (addingRoute && !autoStartup) {
+                        log.info("Cannot start route " + routeService.getId() + " as its configured with autoStartup=false");
+                        continue;
+                    }
+
+                    for (Consumer consumer : routeService.getInputs().values()) {
+                        Endpoint endpoint = consumer.getEndpoint();
+
+                        // check multiple consumer violation
+                        if (!doCheckMultipleConsumerSupportClash(endpoint, routeInputs)) {
+                            throw new FailedToStartRouteException(routeService.getId(),
+                                "Multiple consumers for the same endpoint is not allowed: " + endpoint);
+                        }
+                        routeInputs.add(endpoint);
+
+                        if (!resumeOnly || !route.supportsSuspension()) {
+                            // when starting we should invoke the lifecycle strategies
+                            for (LifecycleStrategy strategy : lifecycleStrategies) {
+                                strategy.onServiceAdd(this, consumer, route);
+                            }
+                        }
                     }
+                    toStart.add(entry);
                 }
-                if (!found) {
-                    routeStartupOrder.add(entry.getValue());
+
+                // start the consumers and the route services of the group at the same time
+                doInParallel(executor, toStart, new RouteStartupTask() {
+                    public void run(DefaultRouteStartupOrder entry) throws Exception {
+                        long start = System.currentTimeMillis();
+                        for (Consumer consumer : entry.getRouteService().getInputs().values()) {
+                            doStartOrResumeRouteConsumer(entry.getStartupOrder(), entry.getRoute(), consumer, resumeOnly);
+                        }
+                        // and start the route service (no need to start children as they are already warmed up)
+                        entry.getRouteService().start(false);
+                        entry.addStartupTime(System.currentTimeMillis() - start);
+                    }
+                });
+
+                // add to the order which they was started, so we know how to stop them in reverse order
+                for (DefaultRouteStartupOrder entry : toStart) {
+                    if (!entry.getRouteService().getInputs().isEmpty()) {
+                        doAddRouteStartupOrder(entry);
+                    }
                 }
             }
+        } finally {
+            getExecutorServiceStrategy().shutdownNow(executor);
+        }
+    }
 
-            // and start the route service (no need to start children as they are already warmed up)
-            routeService.start(false);
+    private void doStartOrResumeRouteConsumer(Integer order, Route route, Consumer consumer, boolean resumeOnly) throws Exception {
+        Endpoint endpoint = consumer.getEndpoint();
+
+        // start the consumer on the route
+        if (log.isDebugEnabled()) {
+            log.debug("Route: " + route.getId() + " >>> " + route);
+            if (resumeOnly) {
+                log.debug("Resuming consumer (order: " + order + ") on route: " + route.getId());
+            } else {
+                log.debug("Starting consumer (order: " + order + ") on route: " + route.getId());
+            }
+        }
+
+        if (resumeOnly && route.supportsSuspension()) {
+            // if we are resuming and the route can be resumed
+            resumeServices(consumer);
+            log.info("Route: " + route.getId() + " resumed and consuming from: " + endpoint);
+        } else {
+            startServices(consumer);
+            log.info("Route: " + route.getId() + " started and consuming from: " + endpoint);
         }
     }
 
+    private void doAddRouteStartupOrder(DefaultRouteStartupOrder order) {
+        // but only add if we haven't already registered it before (we dont want to double add when restarting)
+        for (RouteStartupOrder other : routeStartupOrder) {
+            if (other.getRoute().getId() == order.getRoute().getId()) {
+                return;
+            }
+        }
+        routeStartupOrder.add(order);
+    }
+
+    /**
+     * Groups the routes to be started together when using parallel route startup.
+     * <p/>
+     * Routes with an explicit startup order is started one by one in that order, and the routes in between which has
+     * no startup order configured are started together, as there is no order among them.
+     */
+    private List<List<DefaultRouteStartupOrder>> doGroupRoutesByStartupOrder(Map<Integer, DefaultRouteStartupOrder> inputs) {
+        List<List<DefaultRouteStartupOrder>> answer = new ArrayList<List<DefaultRouteStartupOrder>>();
+        List<DefaultRouteStartupOrder> group = null;
+        boolean explicitGroup = false;
+        for (DefaultRouteStartupOrder order : inputs.values()) {
+            boolean explicit = order.getRouteService().getRouteDefinition().getStartupOrder() != null;
+            if (group == null || explicit || explicitGroup) {
+                group = new ArrayList<DefaultRouteStartupOrder>();
+                answer.add(group);
+            }
+            group.add(order);
+            explicitGroup = explicit;
+        }
+        return answer;
+    }
+
+    private ExecutorService createRouteStartupExecutorService(int routes) {
+        // bound the number of threads by the default thread pool profile
+        Integer max = getExecutorServiceStrategy().getDefaultThreadPoolProfile().getMaxPoolSize();
+        int poolSize = max != null ? Math.min(max, routes) : routes;
+        return getExecutorServiceStrategy().newFixedThreadPool(this, "RouteStartup", poolSize);
+    }
+
+    private void doInParallel(ExecutorService executor, List<DefaultRouteStartupOrder> orders, final RouteStartupTask task) throws Exception {
+        if (orders.size() == 1) {
+            // no need to use another thread
+            task.run(orders.get(0));
+            return;
+        }
+
+        List<Future<Object>> futures = new ArrayList<Future<Object>>(orders.size());
+        for (final DefaultRouteStartupOrder order : orders) {
+            futures.add(executor.submit(new Callable<Object>() {
+                public Object call() throws Exception {
+                    task.run(order);
+                    return null;
+                }
+            }));
+        }
+
+        // wait for all of them to complete, and then throw the first failure if any
+        Exception cause = null;
+        for (Future<Object> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (cause == null) {
+                    cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : ObjectHelper.wrapRuntimeCamelException(e.getCause());
+                }
+            }
+        }
+        if (cause != null) {
+            throw cause;
+        }
+    }
+
+    private void logSlowestRouteStartups(int max) {
+        List<RouteStartupOrder> orders = new ArrayList<RouteStartupOrder>(routeStartupOrder);
+        Collections.sort(orders, new Comparator<RouteStartupOrder>() {
+            public int compare(RouteStartupOrder o1, RouteStartupOrder o2) {
+                long diff = o2.getStartupTime() - o1.getStartupTime();
+                return diff > 0 ? 1 : diff < 0 ? -1 : 0;
+            }
+        });
+        for (int i = 0; i < orders.size(); i++) {
+            RouteStartupOrder order = orders.get(i);
+            if (i < max) {
+                log.info("Route: " + order.getRoute().getId() + " took " + order.getStartupTime() + " millis to start");
+            } else if (log.isDebugEnabled()) {
+                log.debug("Route: " + order.getRoute().getId() + " took " + order.getStartupTime() + " millis to start");
+            } else {
+                break;
+            }
+        }
+    }
+
+    /**
+     * A task to run for a route when starting routes in parallel.
+     */
+    private interface RouteStartupTask {
+        void run(DefaultRouteStartupOrder order) throws Exception;
+    }
+
     private boolean doCheckMultipleConsumerSupportClash(Endpoint endpoint, List<Endpoint> routeInputs) {
         // is multiple consumers supported
         boolean multipleConsumersSupported = false;
@@ -2180,6 +2440,14 @@ public class DefaultCamelContext extends ServiceSupport implements CamelContext,
         this.useMDCLogging = useMDCLogging;
     }
 
+    public Boolean isParallelRouteStartup() {
+        return parallelRouteStartup != null && parallelRouteStartup;
+    }
+
+    public void setParallelRouteStartup(Boolean parallelRouteStartup) {
+        this.parallelRouteStartup = parallelRouteStartup;
+    }
+
     public ClassLoader getApplicationContextClassLoader() {
         return applicationContextClassLoader;
     }
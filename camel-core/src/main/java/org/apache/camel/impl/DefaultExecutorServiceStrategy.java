@@ -29,6 +29,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
 import org.apache.camel.model.OptionalIdentifiedDefinition;
 import org.apache.camel.model.ProcessorDefinition;
 import org.apache.camel.model.ProcessorDefinitionHelper;
@@ -67,6 +68,7 @@ public class DefaultExecutorServiceStrategy extends ServiceSupport implements Ex
         defaultProfile.setTimeUnit(TimeUnit.SECONDS);
         defaultProfile.setMaxQueueSize(1000);
         defaultProfile.setRejectedPolicy(ThreadPoolRejectedPolicy.CallerRuns);
+        defaultProfile.setPoolType(ThreadPoolType.Standard);
         registerThreadPoolProfile(defaultProfile);
     }
 
@@ -107,6 +109,9 @@ public class DefaultExecutorServiceStrategy extends ServiceSupport implements Ex
             if (defaultThreadPoolProfile.getTimeUnit() == null) {
                 defaultThreadPoolProfile.setTimeUnit(oldProfile.getTimeUnit());
             }
+            if (defaultThreadPoolProfile.getPoolType() == null) {
+                defaultThreadPoolProfile.setPoolType(oldProfile.getPoolType());
+            }
         }
 
         // validate that all options has been given as its mandatory for a default thread pool profile
@@ -188,31 +193,44 @@ public class DefaultExecutorServiceStrategy extends ServiceSupport implements Ex
         ThreadPoolProfile profile = getDefaultThreadPoolProfile();
         ObjectHelper.notNull(profile, "DefaultThreadPoolProfile");
 
-        return newThreadPool(source, name,
+        return newThreadPool(null, source, name,
             profile.getPoolSize(), profile.getMaxPoolSize(),
             profile.getKeepAliveTime(), profile.getTimeUnit(),
-            profile.getMaxQueueSize(), profile.getRejectedExecutionHandler(), false);
+            profile.getMaxQueueSize(), profile.getRejectedExecutionHandler(), false, profile.getPoolType());
     }
 
     public ExecutorService newThreadPool(Object source, String name, String threadPoolProfileId) {
-        ThreadPoolProfile defaultProfile = getDefaultThreadPoolProfile();
         ThreadPoolProfile profile = getThreadPoolProfile(threadPoolProfileId);
         if (profile != null) {
-            // fallback to use values from default profile if not specified
-            Integer poolSize = profile.getPoolSize() != null ? profile.getPoolSize() : defaultProfile.getPoolSize();
-            Integer maxPoolSize = profile.getMaxPoolSize() != null ? profile.getMaxPoolSize() : defaultProfile.getMaxPoolSize();
-            Long keepAliveTime = profile.getKeepAliveTime() != null ? profile.getKeepAliveTime() : defaultProfile.getKeepAliveTime();
-            TimeUnit timeUnit = profile.getTimeUnit() != null ? profile.getTimeUnit() : defaultProfile.getTimeUnit();
-            Integer maxQueueSize = profile.getMaxQueueSize() != null ? profile.getMaxQueueSize() : defaultProfile.getMaxQueueSize();
-            RejectedExecutionHandler handler = profile.getRejectedExecutionHandler() != null ? profile.getRejectedExecutionHandler() : defaultProfile.getRejectedExecutionHandler();
-            // create the pool
-            return newThreadPool(threadPoolProfileId, source, name, poolSize, maxPoolSize, keepAliveTime, timeUnit, maxQueueSize, handler, false);
+            return newThreadPool(threadPoolProfileId, source, name, profile);
         } else {
             // no profile with that id
             return null;
         }
     }
 
+    public ExecutorService newThreadPool(Object source, String name, ThreadPoolProfile profile) {
+        ObjectHelper.notNull(profile, "ThreadPoolProfile");
+        return newThreadPool(profile.getId(), source, name, profile);
+    }
+
+    private ExecutorService newThreadPool(String threadPoolProfileId, Object source, String name, ThreadPoolProfile profile) {
+        ThreadPoolProfile defaultProfile = getDefaultThreadPoolProfile();
+
+        // fallback to use values from default profile if not specified
+        Integer poolSize = profile.getPoolSize() != null ? profile.getPoolSize() : defaultProfile.getPoolSize();
+        Integer maxPoolSize = profile.getMaxPoolSize() != null ? profile.getMaxPoolSize() : defaultProfile.getMaxPoolSize();
+        Long keepAliveTime = profile.getKeepAliveTime() != null ? profile.getKeepAliveTime() : defaultProfile.getKeepAliveTime();
+        TimeUnit timeUnit = profile.getTimeUnit() != null ? profile.getTimeUnit() : defaultProfile.getTimeUnit();
+        Integer maxQueueSize = profile.getMaxQueueSize() != null ? profile.getMaxQueueSize() : defaultProfile.getMaxQueueSize();
+        RejectedExecutionHandler handler = profile.getRejectedExecutionHandler() != null ? profile.getRejectedExecutionHandler() : defaultProfile.getRejectedExecutionHandler();
+        ThreadPoolType poolType = profile.getPoolType() != null ? profile.getPoolType() : defaultProfile.getPoolType();
+        Boolean daemon = profile.isDaemon() != null ? profile.isDaemon() : defaultProfile.isDaemon();
+        // create the pool
+        return newThreadPool(threadPoolProfileId, source, name, poolSize, maxPoolSize, keepAliveTime, timeUnit, maxQueueSize, handler,
+                             daemon != null && daemon, poolType);
+    }
+
     public ExecutorService newCachedThreadPool(Object source, String name) {
         ExecutorService answer = ExecutorServiceHelper.newCachedThreadPool(threadNamePattern, name, true);
         onThreadPoolCreated(answer, source, null);
@@ -292,7 +310,7 @@ public class DefaultExecutorServiceStrategy extends ServiceSupport implements Ex
 
     private ExecutorService newThreadPool(String threadPoolProfileId, Object source, String name, int corePoolSize, int maxPoolSize, long keepAliveTime,
                                          TimeUnit timeUnit, int maxQueueSize, RejectedExecutionHandler rejectedExecutionHandler,
-                                         boolean daemon) {
+                                         boolean daemon, ThreadPoolType poolType) {
 
         // the thread name must not be null
         ObjectHelper.notNull(name, "ThreadName");
@@ -303,15 +321,24 @@ public class DefaultExecutorServiceStrategy extends ServiceSupport implements Ex
             throw new IllegalArgumentException("The corePoolSize can't be lower than 1");
         }
 
-        ExecutorService answer = ExecutorServiceHelper.newThreadPool(threadNamePattern, name, corePoolSize, maxPoolSize, keepAliveTime,
-                                                                     timeUnit, maxQueueSize, rejectedExecutionHandler, daemon);
+        ExecutorService answer;
+        if (poolType == ThreadPoolType.Adaptive) {
+            answer = ExecutorServiceHelper.newAdaptiveThreadPool(threadNamePattern, name, corePoolSize, maxPoolSize, keepAliveTime,
+                                                                 timeUnit, maxQueueSize, rejectedExecutionHandler, daemon);
+        } else if (poolType == ThreadPoolType.WorkStealing) {
+            answer = ExecutorServiceHelper.newWorkStealingThreadPool(threadNamePattern, name, corePoolSize, maxQueueSize,
+                                                                     rejectedExecutionHandler, daemon);
+        } else {
+            answer = ExecutorServiceHelper.newThreadPool(threadNamePattern, name, corePoolSize, maxPoolSize, keepAliveTime,
+                                                         timeUnit, maxQueueSize, rejectedExecutionHandler, daemon);
+        }
         onThreadPoolCreated(answer, source, threadPoolProfileId);
 
         if (LOG.isDebugEnabled()) {
             LOG.debug("Created new thread pool for source: " + source + " with name: " + name + ". [poolSize=" + corePoolSize
                     + ", maxPoolSize=" + maxPoolSize + ", keepAliveTime=" + keepAliveTime + " " + timeUnit
                     + ", maxQueueSize=" + maxQueueSize + ", rejectedExecutionHandler=" + rejectedExecutionHandler
-                    + ", daemon=" + daemon + "] -> " + answer);
+                    + ", daemon=" + daemon + ", poolType=" + poolType + "] -> " + answer);
         }
         return answer;
     }
@@ -320,7 +347,7 @@ public class DefaultExecutorServiceStrategy extends ServiceSupport implements Ex
     public ExecutorService newThreadPool(Object source, String name, int corePoolSize, int maxPoolSize, long keepAliveTime,
                                          TimeUnit timeUnit, int maxQueueSize, RejectedExecutionHandler rejectedExecutionHandler,
                                          boolean daemon) {
-        return newThreadPool(null, source, name, corePoolSize, maxPoolSize, keepAliveTime, timeUnit, maxQueueSize, rejectedExecutionHandler, daemon);
+        return newThreadPool(null, source, name, corePoolSize, maxPoolSize, keepAliveTime, timeUnit, maxQueueSize, rejectedExecutionHandler, daemon, null);
     }
 
     public void shutdown(ExecutorService executorService) {
@@ -391,7 +418,9 @@ public class DefaultExecutorServiceStrategy extends ServiceSupport implements Ex
             }
         }
 
-        // let lifecycle strategy be notified as well which can let it be managed in JMX as well
+        // let lifecycle strategy be notified as well which can let it be managed in JMX as well,
+        // which only supports ThreadPoolExecutor so a work stealing pool is not managed, but its still
+        // shutdown with the camel context and it offers its statistics such as getStealCount() from its API
         if (executorService instanceof ThreadPoolExecutor) {
             ThreadPoolExecutor threadPool = (ThreadPoolExecutor) executorService;
             for (LifecycleStrategy lifecycle : camelContext.getLifecycleStrategies()) {
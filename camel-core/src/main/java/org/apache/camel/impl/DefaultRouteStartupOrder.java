@@ -34,6 +34,7 @@ public class DefaultRouteStartupOrder implements RouteStartupOrder {
     private final int startupOrder;
     private final Route route;
     private final RouteService routeService;
+    private volatile long startupTime;
 
     public DefaultRouteStartupOrder(int startupOrder, Route route, RouteService routeService) {
         this.startupOrder = startupOrder;
@@ -58,6 +59,17 @@ public class DefaultRouteStartupOrder implements RouteStartupOrder {
         return answer;
     }
 
+    public long getStartupTime() {
+        return startupTime;
+    }
+
+    /**
+     * Adds the time in millis spent on starting the route
+     */
+    public void addStartupTime(long millis) {
+        startupTime += millis;
+    }
+
     public RouteService getRouteService() {
         return routeService;
     }
@@ -16,20 +16,304 @@
  */
 package org.apache.camel.impl;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.apache.camel.Endpoint;
-import org.apache.camel.util.LRUCache;
 
 /**
- * Endpoint registry which is a based on a {@link org.apache.camel.util.LRUCache}
- * to keep the last 1000 in an internal cache.
+ * Endpoint registry which keeps the last 1000 endpoints used.
+ * <p/>
+ * Lookups do not lock, the registry is backed by a {@link ConcurrentHashMap} where each entry remembers
+ * when it was last used. When the registry overflows, the least recently used entries are evicted.
+ * <p/>
+ * In addition the registry caches the endpoints by the raw uris used to look them up, before the uris are
+ * resolved and normalized, so repeated lookups of the same uri skip normalization entirely.
+ * The raw uri cache is cleared whenever an endpoint is replaced or removed from the registry.
  *
  * @version 
  */
-public class EndpointRegistry extends LRUCache<EndpointKey, Endpoint> {
+public class EndpointRegistry extends AbstractMap<EndpointKey, Endpoint> {
+
+    private final BoundedMap<EndpointKey, Endpoint> endpoints;
+    private final BoundedMap<String, Endpoint> rawUris;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong rawHits = new AtomicLong();
+    private final AtomicLong rawMisses = new AtomicLong();
 
     public EndpointRegistry() {
         // use a cache size of 1000
-        super(1000);
+        this(1000);
+    }
+
+    public EndpointRegistry(int maximumCacheSize) {
+        this.endpoints = new BoundedMap<EndpointKey, Endpoint>(maximumCacheSize) {
+            @Override
+            protected void onEviction() {
+                rawUris.clear();
+            }
+        };
+        this.rawUris = new BoundedMap<String, Endpoint>(maximumCacheSize);
+    }
+
+    @Override
+    public Endpoint get(Object key) {
+        Endpoint answer = endpoints.get(key);
+        if (answer != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return answer;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return endpoints.get(key) != null;
+    }
+
+    @Override
+    public Endpoint put(EndpointKey key, Endpoint endpoint) {
+        Endpoint old = endpoints.put(key, endpoint);
+        if (old != null && old != endpoint) {
+            // the raw uris may point at the old endpoint
+            rawUris.clear();
+        }
+        return old;
+    }
+
+    @Override
+    public Endpoint remove(Object key) {
+        Endpoint old = endpoints.remove(key);
+        if (old != null) {
+            rawUris.clear();
+        }
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return endpoints.size();
+    }
+
+    @Override
+    public void clear() {
+        endpoints.clear();
+        rawUris.clear();
+    }
+
+    @Override
+    public Set<Map.Entry<EndpointKey, Endpoint>> entrySet() {
+        return new AbstractSet<Map.Entry<EndpointKey, Endpoint>>() {
+            @Override
+            public Iterator<Map.Entry<EndpointKey, Endpoint>> iterator() {
+                // iterate in the order the endpoints were used, as the old LRU based registry did
+                final Iterator<Map.Entry<EndpointKey, BoundedMap.CacheEntry<Endpoint>>> it = endpoints.entries().iterator();
+                return new Iterator<Map.Entry<EndpointKey, Endpoint>>() {
+                    private EndpointKey last;
+
+                    public boolean hasNext() {
+                        return it.hasNext();
+                    }
+
+                    public Map.Entry<EndpointKey, Endpoint> next() {
+                        Map.Entry<EndpointKey, BoundedMap.CacheEntry<Endpoint>> entry = it.next();
+                        last = entry.getKey();
+                        return new SimpleImmutableEntry<EndpointKey, Endpoint>(last, entry.getValue().value);
+                    }
+
+                    public void remove() {
+                        EndpointRegistry.this.remove(last);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return endpoints.size();
+            }
+        };
+    }
+
+    /**
+     * Gets the endpoint cached for the given raw uri
+     *
+     * @param uri the uri as used for looking up the endpoint
+     * @return the endpoint, or <tt>null</tt> if not cached
+     */
+    public Endpoint getRawUri(String uri) {
+        Endpoint answer = rawUris.get(uri);
+        if (answer != null) {
+            rawHits.incrementAndGet();
+        } else {
+            rawMisses.incrementAndGet();
+        }
+        return answer;
+    }
+
+    /**
+     * Caches the endpoint for the given raw uri, as long as the endpoint is registered with the given key.
+     *
+     * @param uri      the uri as used for looking up the endpoint
+     * @param key      the key the endpoint is registered with
+     * @param endpoint the endpoint
+     */
+    void putRawUri(String uri, EndpointKey key, Endpoint endpoint) {
+        rawUris.put(uri, endpoint);
+        // the endpoint may have been removed concurrently, and the raw uris cleared before we added it
+        if (endpoints.get(key) != endpoint) {
+            rawUris.remove(uri);
+        }
+    }
+
+    public int getMaximumCacheSize() {
+        return endpoints.maximumCacheSize;
+    }
+
+    public int getRawUriCacheSize() {
+        return rawUris.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getRawUriHits() {
+        return rawHits.get();
+    }
+
+    public long getRawUriMisses() {
+        return rawMisses.get();
+    }
+
+    public void resetStatistics() {
+        hits.set(0);
+        misses.set(0);
+        rawHits.set(0);
+        rawMisses.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "EndpointRegistry[size=" + size() + "]";
+    }
+
+    /**
+     * A concurrent map with lock-free lookups which evicts the least recently used entries when it overflows.
+     */
+    private static class BoundedMap<K, V> {
+        private final ConcurrentHashMap<K, CacheEntry<V>> map = new ConcurrentHashMap<K, CacheEntry<V>>();
+        private final AtomicLong sequence = new AtomicLong();
+        private final int maximumCacheSize;
+
+        BoundedMap(int maximumCacheSize) {
+            if (maximumCacheSize <= 0) {
+                throw new IllegalArgumentException("MaximumCacheSize must be positive, was: " + maximumCacheSize);
+            }
+            this.maximumCacheSize = maximumCacheSize;
+        }
+
+        V get(Object key) {
+            CacheEntry<V> entry = map.get(key);
+            if (entry == null) {
+                return null;
+            }
+            entry.lastAccess = System.nanoTime();
+            return entry.value;
+        }
+
+        V put(K key, V value) {
+            CacheEntry<V> old = map.put(key, new CacheEntry<V>(value, sequence.incrementAndGet()));
+            if (old == null && map.size() > maximumCacheSize) {
+                evict();
+            }
+            return old != null ? old.value : null;
+        }
+
+        V remove(Object key) {
+            CacheEntry<V> old = map.remove(key);
+            return old != null ? old.value : null;
+        }
+
+        int size() {
+            return map.size();
+        }
+
+        void clear() {
+            map.clear();
+        }
+
+        /**
+         * Snapshot of the entries ordered from the least to the most recently used
+         */
+        List<Map.Entry<K, CacheEntry<V>>> entries() {
+            List<Map.Entry<K, CacheEntry<V>>> entries = new ArrayList<Map.Entry<K, CacheEntry<V>>>(map.entrySet());
+            Collections.sort(entries, new Comparator<Map.Entry<K, CacheEntry<V>>>() {
+                public int compare(Map.Entry<K, CacheEntry<V>> o1, Map.Entry<K, CacheEntry<V>> o2) {
+                    return o1.getValue().compareTo(o2.getValue());
+                }
+            });
+            return entries;
+        }
+
+        protected void onEviction() {
+            // noop
+        }
+
+        private synchronized void evict() {
+            boolean evicted = false;
+            // adding is rare compared to lookups so a linear scan for the eldest entry is fine
+            while (map.size() > maximumCacheSize) {
+                Map.Entry<K, CacheEntry<V>> eldest = null;
+                for (Map.Entry<K, CacheEntry<V>> entry : map.entrySet()) {
+                    if (eldest == null || entry.getValue().compareTo(eldest.getValue()) < 0) {
+                        eldest = entry;
+                    }
+                }
+                if (eldest == null) {
+                    break;
+                }
+                evicted |= map.remove(eldest.getKey(), eldest.getValue());
+            }
+            if (evicted) {
+                onEviction();
+            }
+        }
+
+        private static final class CacheEntry<V> implements Comparable<CacheEntry<V>> {
+            private final V value;
+            private final long sequence;
+            private volatile long lastAccess = System.nanoTime();
+
+            private CacheEntry(V value, long sequence) {
+                this.value = value;
+                this.sequence = sequence;
+            }
+
+            public int compareTo(CacheEntry<V> o) {
+                long t1 = lastAccess;
+                long t2 = o.lastAccess;
+                if (t1 != t2) {
+                    return t1 < t2 ? -1 : 1;
+                }
+                // fallback to the order the entries were added
+                return sequence < o.sequence ? -1 : (sequence == o.sequence ? 0 : 1);
+            }
+        }
     }
 
 }
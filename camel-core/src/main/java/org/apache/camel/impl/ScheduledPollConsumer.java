@@ -45,6 +45,15 @@ public abstract class ScheduledPollConsumer extends DefaultConsumer implements R
     private TimeUnit timeUnit = TimeUnit.MILLISECONDS;
     private boolean useFixedDelay;
     private PollingConsumerPollStrategy pollStrategy = new DefaultPollingConsumerPollStrategy();
+    private boolean greedy;
+    private int backoffMultiplier;
+    private int backoffIdleThreshold = 1;
+    private long backoffMaxDelay = 60000;
+
+    // state for the adaptive scheduling which is only updated by the scheduled thread
+    private volatile long effectiveDelay = -1;
+    private volatile int idleCounter;
+    private volatile int backoffCounter;
 
     public ScheduledPollConsumer(DefaultEndpoint endpoint, Processor processor) {
         super(endpoint, processor);
@@ -72,6 +81,38 @@ public abstract class ScheduledPollConsumer extends DefaultConsumer implements R
             return;
         }
 
+        if (backoffCounter > 0) {
+            // we are backing off so skip this poll
+            backoffCounter--;
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Skipping poll: " + this.getEndpoint() + " as backing off with effective delay: " + effectiveDelay);
+            }
+            return;
+        }
+
+        int polledMessages = doRun();
+        int total = polledMessages;
+        // if greedy then poll again right away as long there is more messages to poll
+        while (isGreedy() && polledMessages > 0 && hasMoreToPoll(polledMessages) && isPollAllowed()) {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Polling again: " + this.getEndpoint() + " as greedy and there is more messages to poll");
+            }
+            polledMessages = doRun();
+            if (polledMessages > 0) {
+                total += polledMessages;
+            }
+        }
+
+        updateBackoff(total);
+    }
+
+    /**
+     * Polls using the poll strategy and retries as the poll strategy dictates.
+     *
+     * @return the number of messages polled, or <tt>-1</tt> if the poll was not allowed or failed
+     */
+    private int doRun() {
+        int answer = -1;
         int retryCounter = -1;
         boolean done = false;
 
@@ -96,6 +137,7 @@ public abstract class ScheduledPollConsumer extends DefaultConsumer implements R
                         retryCounter++;
                         int polledMessages = poll();
                         pollStrategy.commit(this, getEndpoint(), polledMessages);
+                        answer = polledMessages;
                     } else {
                         if (LOG.isDebugEnabled()) {
                             LOG.debug("Cannot begin polling as pollStrategy returned false: " + pollStrategy);
@@ -129,6 +171,39 @@ public abstract class ScheduledPollConsumer extends DefaultConsumer implements R
         }
 
         // avoid this thread to throw exceptions because the thread pool wont re-schedule a new thread
+        return answer;
+    }
+
+    /**
+     * Updates the effective delay depending on whether the poll was idle or not.
+     * A failed poll does not change the effective delay.
+     */
+    private void updateBackoff(int polledMessages) {
+        if (polledMessages > 0) {
+            // there was messages so reset back to the configured delay
+            if (idleCounter > 0 || backoffCounter > 0 || effectiveDelay != getDelay()) {
+                if (effectiveDelay > getDelay() && LOG.isDebugEnabled()) {
+                    LOG.debug("Resetting effective delay to: " + getDelay() + " as messages was polled from: " + getEndpoint());
+                }
+                idleCounter = 0;
+                backoffCounter = 0;
+                effectiveDelay = getDelay();
+            }
+        } else if (polledMessages == 0) {
+            idleCounter++;
+            if (backoffMultiplier > 1 && getDelay() > 0 && idleCounter >= backoffIdleThreshold) {
+                long current = Math.max(effectiveDelay, getDelay());
+                long max = Math.max(backoffMaxDelay, getDelay());
+                long next = Math.min(current * backoffMultiplier, max);
+                if (next != effectiveDelay && LOG.isDebugEnabled()) {
+                    LOG.debug("Backing off with effective delay: " + next + " after " + idleCounter
+                            + " idle polls from: " + getEndpoint());
+                }
+                effectiveDelay = next;
+                // the scheduler runs at the configured delay so skip polls until the effective delay has passed
+                backoffCounter = (int) (next / getDelay()) - 1;
+            }
+        }
     }
 
     // Properties
@@ -178,6 +253,84 @@ public abstract class ScheduledPollConsumer extends DefaultConsumer implements R
         this.pollStrategy = pollStrategy;
     }
 
+    public boolean isGreedy() {
+        return greedy;
+    }
+
+    /**
+     * If greedy then the consumer polls again right away, instead of waiting for the next scheduled poll,
+     * as long as the previous poll reported there is more messages to poll, eg if it hit its batch limit.
+     */
+    public void setGreedy(boolean greedy) {
+        this.greedy = greedy;
+    }
+
+    public int getBackoffMultiplier() {
+        return backoffMultiplier;
+    }
+
+    /**
+     * To let the consumer back off when it is idle, by multiplying the effective delay with this multiplier
+     * for each subsequent idle poll, after {@link #setBackoffIdleThreshold(int)} idle polls in a row.
+     * The effective delay is at most {@link #setBackoffMaxDelay(long)} and is reset to the delay as soon as a
+     * poll returns messages.
+     * <p/>
+     * Is default <tt>0</tt> which means back off is disabled.
+     */
+    public void setBackoffMultiplier(int backoffMultiplier) {
+        this.backoffMultiplier = backoffMultiplier;
+    }
+
+    public int getBackoffIdleThreshold() {
+        return backoffIdleThreshold;
+    }
+
+    /**
+     * The number of idle polls in a row before the consumer starts to back off. Is default <tt>1</tt>.
+     */
+    public void setBackoffIdleThreshold(int backoffIdleThreshold) {
+        this.backoffIdleThreshold = backoffIdleThreshold;
+    }
+
+    public long getBackoffMaxDelay() {
+        return backoffMaxDelay;
+    }
+
+    /**
+     * The maximum effective delay, in the configured time unit, when backing off. Is default <tt>60000</tt>.
+     */
+    public void setBackoffMaxDelay(long backoffMaxDelay) {
+        this.backoffMaxDelay = backoffMaxDelay;
+    }
+
+    /**
+     * Gets the current effective delay between polls, which is longer than the delay when backing off
+     */
+    public long getEffectiveDelay() {
+        return effectiveDelay >= 0 ? effectiveDelay : getDelay();
+    }
+
+    /**
+     * Gets the number of idle polls in a row
+     */
+    public int getIdleCounter() {
+        return idleCounter;
+    }
+
+    /**
+     * Whether there is more messages to poll right away, after a poll returned the given number of messages.
+     * Is used when the consumer is greedy.
+     * <p/>
+     * Is by default <tt>true</tt> if any messages was polled. Consumers with a batch limit should override
+     * this method to only return <tt>true</tt> if the poll hit the limit.
+     *
+     * @param polledMessages number of messages polled
+     * @return <tt>true</tt> to poll again right away, <tt>false</tt> to wait for the next scheduled poll
+     */
+    protected boolean hasMoreToPoll(int polledMessages) {
+        return polledMessages > 0;
+    }
+
     // Implementation methods
     // -------------------------------------------------------------------------
 
@@ -192,6 +345,9 @@ public abstract class ScheduledPollConsumer extends DefaultConsumer implements R
     @Override
     protected void doStart() throws Exception {
         super.doStart();
+        idleCounter = 0;
+        backoffCounter = 0;
+        effectiveDelay = getDelay();
         if (isUseFixedDelay()) {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Scheduling poll (fixed delay) with initialDelay: " + getInitialDelay() + ", delay: " + getDelay()
@@ -87,7 +87,12 @@ public abstract class ScheduledPollEndpoint extends DefaultEndpoint {
         Object timeUnit = options.remove("timeUnit");
         Object useFixedDelay = options.remove("useFixedDelay");
         Object pollStrategy = options.remove("pollStrategy");
-        if (initialDelay != null || delay != null || timeUnit != null || useFixedDelay != null || pollStrategy != null) {
+        Object greedy = options.remove("greedy");
+        Object backoffMultiplier = options.remove("backoffMultiplier");
+        Object backoffIdleThreshold = options.remove("backoffIdleThreshold");
+        Object backoffMaxDelay = options.remove("backoffMaxDelay");
+        if (initialDelay != null || delay != null || timeUnit != null || useFixedDelay != null || pollStrategy != null
+                || greedy != null || backoffMultiplier != null || backoffIdleThreshold != null || backoffMaxDelay != null) {
             if (consumerProperties == null) {
                 consumerProperties = new HashMap<String, Object>();
             }
@@ -106,6 +111,18 @@ public abstract class ScheduledPollEndpoint extends DefaultEndpoint {
             if (pollStrategy != null) {
                 consumerProperties.put("pollStrategy", pollStrategy);
             }
+            if (greedy != null) {
+                consumerProperties.put("greedy", greedy);
+            }
+            if (backoffMultiplier != null) {
+                consumerProperties.put("backoffMultiplier", backoffMultiplier);
+            }
+            if (backoffIdleThreshold != null) {
+                consumerProperties.put("backoffIdleThreshold", backoffIdleThreshold);
+            }
+            if (backoffMaxDelay != null) {
+                consumerProperties.put("backoffMaxDelay", backoffMaxDelay);
+            }
         }
     }
 }
@@ -25,7 +25,10 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.Arrays;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
 import static java.lang.reflect.Modifier.isAbstract;
@@ -49,29 +52,68 @@ import org.slf4j.LoggerFactory;
 /**
  * A class which will auto-discover converter objects and methods to pre-load
  * the registry of converters on startup
+ * <p/>
+ * If a {@link #META_INF_SERVICES_INDEX} file exists next to the {@link #META_INF_SERVICES} file,
+ * which is generated at build time by the <tt>type-converter-index</tt> goal of the camel-maven-plugin,
+ * then the converters listed in the index is registered without scanning the packages, and
+ * the converter classes is first loaded when a converter is used.
+ * Each line in the index lists a converter method as:
+ * <pre>
+ * kind static|instance toType fromType converterClass method(parameterType,...)
+ * </pre>
+ * where kind is <tt>converter</tt>, <tt>fallback</tt> or <tt>fallback-promote</tt>, and the types
+ * is class names as returned by {@link Class#getName()}. A fallback converter uses <tt>*</tt> as toType and fromType.
+ * <p/>
+ * Notice camel-core has no index as the camel-maven-plugin which generates the index depends on camel-core,
+ * so the type converters of camel-core itself is always found by scanning its packages.
  *
  * @version 
  */
 public class AnnotationTypeConverterLoader implements TypeConverterLoader {
     public static final String META_INF_SERVICES = "META-INF/services/org/apache/camel/TypeConverter";
+    public static final String META_INF_SERVICES_INDEX = "META-INF/services/org/apache/camel/TypeConverterIndex";
     private static final transient Logger LOG = LoggerFactory.getLogger(AnnotationTypeConverterLoader.class);
     protected PackageScanClassResolver resolver;
     protected Set<Class<?>> visitedClasses = new HashSet<Class<?>>();
     protected Set<URI> visitedURIs = new HashSet<URI>();
+    protected Map<URL, ClassLoader> indexes = new LinkedHashMap<URL, ClassLoader>();
+    private boolean useIndex = true;
 
     public AnnotationTypeConverterLoader(PackageScanClassResolver resolver) {
         this.resolver = resolver;
     }
 
+    public boolean isUseIndex() {
+        return useIndex;
+    }
+
+    /**
+     * Sets whether to register the converters from the {@link #META_INF_SERVICES_INDEX} files
+     * instead of scanning the packages, when a module provides such an index.
+     */
+    public void setUseIndex(boolean useIndex) {
+        this.useIndex = useIndex;
+    }
+
     public void load(TypeConverterRegistry registry) throws TypeConverterLoaderException {
         String[] packageNames;
+        int indexed;
         try {
             packageNames = findPackageNames();
-            if (packageNames == null || packageNames.length == 0) {
+            indexed = loadIndexes(registry);
+            if ((packageNames == null || packageNames.length == 0) && indexed == 0) {
                 throw new TypeConverterLoaderException("Cannot find package names to be used for classpath scanning for annotated type converters.");
             }
         } catch (Exception e) {
             throw new TypeConverterLoaderException("Cannot find package names to be used for classpath scanning for annotated type converters.", e);
+        } finally {
+            indexes.clear();
+        }
+
+        if (packageNames == null || packageNames.length == 0) {
+            // all the type converters was registered from indexes
+            visitedURIs.clear();
+            return;
         }
 
         Set<Class<?>> classes = resolver.findAnnotated(Converter.class, packageNames);
@@ -119,6 +161,14 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
             if (!visitedURIs.contains(uri)) {
                 // remember we have visited this uri so we wont read it twice
                 visitedURIs.add(uri);
+                URL index = useIndex ? findIndex(url) : null;
+                if (index != null) {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Using type converter index: " + index + " instead of scanning the packages from url: " + url);
+                    }
+                    indexes.put(index, classLoader);
+                    continue;
+                }
                 if (LOG.isDebugEnabled()) {
                     LOG.info("Loading file " + META_INF_SERVICES + " to retrieve list of packages, from url: " + url);
                 }
@@ -142,6 +192,110 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
         }
     }
 
+    /**
+     * Finds the {@link #META_INF_SERVICES_INDEX} file next to the given {@link #META_INF_SERVICES} file
+     *
+     * @param url the url of the {@link #META_INF_SERVICES} file
+     * @return the url of the index, or <tt>null</tt> if the module has no index
+     */
+    protected URL findIndex(URL url) {
+        try {
+            URL index = new URL(url, "TypeConverterIndex");
+            // check that the index exists by opening it
+            IOHelper.close(index.openStream(), null, LOG);
+            return index;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Registers the type converters listed in the indexes found by {@link #findPackageNames()}.
+     *
+     * @return the number of indexes loaded
+     */
+    protected int loadIndexes(TypeConverterRegistry registry) throws IOException {
+        int count = 0;
+        int converters = 0;
+        for (Map.Entry<URL, ClassLoader> entry : indexes.entrySet()) {
+            converters += loadIndex(registry, entry.getKey(), entry.getValue());
+            count++;
+        }
+        if (count > 0) {
+            LOG.info("Found " + count + " type converter indexes with " + converters + " converters to load");
+        }
+        return count;
+    }
+
+    /**
+     * Registers the type converters listed in the given index
+     *
+     * @return the number of converters registered
+     */
+    protected int loadIndex(TypeConverterRegistry registry, URL url, ClassLoader classLoader) throws IOException {
+        int count = 0;
+        Map<String, LazyMethodTypeConverter.ConverterClass> converterClasses = new HashMap<String, LazyMethodTypeConverter.ConverterClass>();
+        // the index is written using UTF-8 by the camel-maven-plugin
+        BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), "UTF-8"));
+        try {
+            while (true) {
+                String line = reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                line = line.trim();
+                if (line.startsWith("#") || line.length() == 0) {
+                    continue;
+                }
+                String[] parts = line.split("\\s+");
+                int pos = parts.length == 6 ? parts[5].indexOf('(') : -1;
+                if (pos < 0 || !parts[5].endsWith(")")) {
+                    LOG.warn("Ignoring bad line in type converter index: " + url + " line: " + line);
+                    continue;
+                }
+
+                String kind = parts[0];
+                boolean staticMethod = "static".equals(parts[1]);
+                LazyMethodTypeConverter.ConverterClass converterClass = converterClasses.get(parts[4]);
+                if (converterClass == null) {
+                    converterClass = new LazyMethodTypeConverter.ConverterClass(parts[4], classLoader);
+                    converterClasses.put(parts[4], converterClass);
+                }
+                String methodName = parts[5].substring(0, pos);
+                String parameters = parts[5].substring(pos + 1, parts[5].length() - 1);
+                String[] parameterTypes = parameters.length() == 0 ? new String[0] : parameters.split(",");
+
+                if ("converter".equals(kind)) {
+                    Class<?> toType;
+                    Class<?> fromType;
+                    try {
+                        toType = LazyMethodTypeConverter.loadClass(parts[2], classLoader);
+                        fromType = LazyMethodTypeConverter.loadClass(parts[3], classLoader);
+                    } catch (ClassNotFoundException e) {
+                        LOG.warn("Ignoring converter type: " + parts[4] + " method: " + methodName + " as a dependent class could not be found: " + e);
+                        continue;
+                    } catch (LinkageError e) {
+                        LOG.warn("Ignoring converter type: " + parts[4] + " method: " + methodName + " as a dependent class could not be found: " + e);
+                        continue;
+                    }
+                    registry.addTypeConverter(toType, fromType,
+                            new LazyMethodTypeConverter(registry, converterClass, methodName, parameterTypes, staticMethod, false));
+                } else if ("fallback".equals(kind) || "fallback-promote".equals(kind)) {
+                    registry.addFallbackTypeConverter(
+                            new LazyMethodTypeConverter(registry, converterClass, methodName, parameterTypes, staticMethod, true),
+                            "fallback-promote".equals(kind));
+                } else {
+                    LOG.warn("Ignoring unknown kind: " + kind + " in type converter index: " + url + " line: " + line);
+                    continue;
+                }
+                count++;
+            }
+        } finally {
+            IOHelper.close(reader, null, LOG);
+        }
+        return count;
+    }
+
     /**
      * Tokenizes the line from the META-IN/services file using commas and
      * ignoring whitespace between packages
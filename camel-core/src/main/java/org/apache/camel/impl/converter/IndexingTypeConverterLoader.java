@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.FallbackConverter;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.spi.PackageScanClassResolver;
+import org.apache.camel.spi.TypeConverterRegistry;
+
+/**
+ * Type converter loader which scans the given packages for converters and
+ * writes them as a type converter index, which {@link AnnotationTypeConverterLoader}
+ * can use at runtime instead of scanning the packages.
+ * <p/>
+ * Used by the camel-maven-plugin to generate the index at build time.
+ *
+ * @version 
+ */
+public class IndexingTypeConverterLoader extends AnnotationTypeConverterLoader {
+    private final String[] packageNames;
+    private final List<String> entries = new ArrayList<String>();
+    // the class being scanned, which inherited converter methods must be invoked on
+    private Class<?> scannedClass;
+
+    public IndexingTypeConverterLoader(PackageScanClassResolver resolver, String... packageNames) {
+        super(resolver);
+        this.packageNames = packageNames;
+        // we must scan to build the index
+        setUseIndex(false);
+    }
+
+    /**
+     * Gets the index entries of the converters found, in the order they was loaded
+     */
+    public List<String> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Writes the index of the converters found
+     */
+    public void writeIndex(Writer writer) throws IOException {
+        writer.write("# Generated type converter index, do not edit\n");
+        writer.write("# kind static|instance toType fromType converterClass method(parameterType,...)\n");
+        for (String entry : entries) {
+            writer.write(entry);
+            writer.write("\n");
+        }
+        writer.flush();
+    }
+
+    @Override
+    protected String[] findPackageNames() {
+        return packageNames;
+    }
+
+    @Override
+    protected void loadConverterMethods(TypeConverterRegistry registry, Class<?> type) {
+        // the super classes is loaded recursively while the scanned class is loaded
+        boolean scanned = scannedClass == null;
+        if (scanned) {
+            scannedClass = type;
+        }
+        try {
+            super.loadConverterMethods(registry, type);
+        } finally {
+            if (scanned) {
+                scannedClass = null;
+            }
+        }
+    }
+
+    @Override
+    protected void registerTypeConverter(TypeConverterRegistry registry, Method method, Class<?> toType,
+                                         Class<?> fromType, TypeConverter typeConverter) {
+        entries.add(createEntry("converter", scannedClass, method, toType.getName(), fromType.getName()));
+    }
+
+    @Override
+    protected void registerFallbackTypeConverter(TypeConverterRegistry registry, TypeConverter typeConverter, Method method) {
+        FallbackConverter annotation = method.getAnnotation(FallbackConverter.class);
+        String kind = annotation != null && annotation.canPromote() ? "fallback-promote" : "fallback";
+        entries.add(createEntry(kind, scannedClass, method, "*", "*"));
+    }
+
+    private static String createEntry(String kind, Class<?> type, Method method, String toType, String fromType) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(kind);
+        sb.append(Modifier.isStatic(method.getModifiers()) ? " static " : " instance ");
+        sb.append(toType).append(" ").append(fromType).append(" ");
+        sb.append(type.getName()).append(" ").append(method.getName()).append("(");
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                sb.append(",");
+            }
+            sb.append(parameterTypes[i].getName());
+        }
+        sb.append(")");
+        return sb.toString();
+    }
+}
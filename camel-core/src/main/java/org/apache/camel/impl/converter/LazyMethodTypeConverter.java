@@ -0,0 +1,214 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.NoTypeConversionAvailableException;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.spi.TypeConverterRegistry;
+import org.apache.camel.util.CastUtils;
+
+/**
+ * A {@link TypeConverter} for a converter method listed in a type converter index,
+ * which binds to the actual converter method the first time it is used.
+ * <p/>
+ * This avoids loading the converter classes and reflecting on their methods on startup.
+ * Once bound the conversion is delegated to a {@link StaticMethodTypeConverter}, {@link InstanceMethodTypeConverter},
+ * {@link StaticMethodFallbackTypeConverter} or {@link InstanceMethodFallbackTypeConverter}.
+ * <p/>
+ * If the converter method cannot be bound, such as when the converter class or one of its dependencies
+ * is missing, the converter is unusable and the same exception is thrown on every conversion without
+ * trying to bind again.
+ *
+ * @version 
+ */
+public class LazyMethodTypeConverter implements TypeConverter {
+    private static final Map<String, Class<?>> PRIMITIVES = new HashMap<String, Class<?>>();
+
+    private final TypeConverterRegistry registry;
+    private final ConverterClass converterClass;
+    private final String methodName;
+    private final String[] parameterTypes;
+    private final boolean staticMethod;
+    private final boolean fallback;
+    private volatile TypeConverter delegate;
+    // guarded by this
+    private RuntimeCamelException bindFailure;
+
+    static {
+        for (Class<?> type : new Class<?>[]{boolean.class, byte.class, char.class, short.class, int.class,
+            long.class, float.class, double.class, void.class}) {
+            PRIMITIVES.put(type.getName(), type);
+        }
+    }
+
+    public LazyMethodTypeConverter(TypeConverterRegistry registry, ConverterClass converterClass, String methodName,
+                                   String[] parameterTypes, boolean staticMethod, boolean fallback) {
+        this.registry = registry;
+        this.converterClass = converterClass;
+        this.methodName = methodName;
+        this.parameterTypes = parameterTypes;
+        this.staticMethod = staticMethod;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Loads the class with the given name as returned by {@link Class#getName()},
+     * which supports primitive and array types as well.
+     */
+    public static Class<?> loadClass(String name, ClassLoader classLoader) throws ClassNotFoundException {
+        Class<?> answer = PRIMITIVES.get(name);
+        if (answer == null) {
+            answer = Class.forName(name, false, classLoader);
+        }
+        return answer;
+    }
+
+    /**
+     * Whether the converter method has been bound, which happens on the first conversion
+     */
+    public boolean isBound() {
+        return delegate != null;
+    }
+
+    public <T> T convertTo(Class<T> type, Object value) {
+        return getDelegate().convertTo(type, value);
+    }
+
+    public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+        return getDelegate().convertTo(type, exchange, value);
+    }
+
+    public <T> T mandatoryConvertTo(Class<T> type, Object value) throws NoTypeConversionAvailableException {
+        return getDelegate().mandatoryConvertTo(type, value);
+    }
+
+    public <T> T mandatoryConvertTo(Class<T> type, Exchange exchange, Object value) throws NoTypeConversionAvailableException {
+        return getDelegate().mandatoryConvertTo(type, exchange, value);
+    }
+
+    @Override
+    public String toString() {
+        return "LazyMethodTypeConverter: " + converterClass.getName() + "." + methodName;
+    }
+
+    private TypeConverter getDelegate() {
+        TypeConverter answer = delegate;
+        if (answer == null) {
+            synchronized (this) {
+                if (delegate == null) {
+                    if (bindFailure != null) {
+                        // do not try again as loading the classes is not likely to succeed the next time
+                        throw bindFailure;
+                    }
+                    try {
+                        delegate = bind();
+                    } catch (RuntimeCamelException e) {
+                        bindFailure = e;
+                        throw e;
+                    }
+                }
+                answer = delegate;
+            }
+        }
+        return answer;
+    }
+
+    private TypeConverter bind() {
+        Method method;
+        try {
+            Class<?> type = converterClass.getType();
+            Class<?>[] types = new Class<?>[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                types[i] = loadClass(parameterTypes[i], converterClass.getClassLoader());
+            }
+            method = findMethod(type, types);
+        } catch (Exception e) {
+            throw new RuntimeCamelException("Cannot bind type converter method " + methodName + " on "
+                    + converterClass.getName() + " from the type converter index", e);
+        } catch (LinkageError e) {
+            // such as NoClassDefFoundError when a class the converter class depends on is missing
+            throw new RuntimeCamelException("Cannot bind type converter method " + methodName + " on "
+                    + converterClass.getName() + " from the type converter index", e);
+        }
+
+        if (fallback) {
+            return staticMethod
+                ? new StaticMethodFallbackTypeConverter(method, registry)
+                : new InstanceMethodFallbackTypeConverter(converterClass.getInjector(registry), method, registry);
+        } else {
+            return staticMethod
+                ? new StaticMethodTypeConverter(method)
+                : new InstanceMethodTypeConverter(converterClass.getInjector(registry), method, registry);
+        }
+    }
+
+    private Method findMethod(Class<?> type, Class<?>[] types) throws NoSuchMethodException {
+        // the method may be inherited from a super class of the converter class
+        for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+            try {
+                return clazz.getDeclaredMethod(methodName, types);
+            } catch (NoSuchMethodException e) {
+                // try the super class
+            }
+        }
+        throw new NoSuchMethodException(type.getName() + "." + methodName);
+    }
+
+    /**
+     * A converter class listed in a type converter index, which is loaded on demand
+     * and shared by all the converter methods it declares so only one instance is created.
+     */
+    public static final class ConverterClass {
+        private final String name;
+        private final ClassLoader classLoader;
+        private Class<?> type;
+        private CachingInjector<?> injector;
+
+        public ConverterClass(String name, ClassLoader classLoader) {
+            this.name = name;
+            this.classLoader = classLoader;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public ClassLoader getClassLoader() {
+            return classLoader;
+        }
+
+        public synchronized Class<?> getType() throws ClassNotFoundException {
+            if (type == null) {
+                type = loadClass(name, classLoader);
+            }
+            return type;
+        }
+
+        public synchronized CachingInjector<?> getInjector(TypeConverterRegistry registry) {
+            if (injector == null) {
+                injector = new CachingInjector<Object>(registry, CastUtils.cast(type, Object.class));
+            }
+            return injector;
+        }
+    }
+}
@@ -303,8 +303,31 @@ public class Activator implements BundleActivator, BundleTrackerCustomizer {
                 super(null);
             }
 
-            @SuppressWarnings("unchecked")
             public void load(TypeConverterRegistry registry) throws TypeConverterLoaderException {
+                // use the type converter index generated at build time if the bundle has one
+                URL index = isUseIndex() ? bundle.getEntry(META_INF_SERVICES_INDEX) : null;
+                if (index != null) {
+                    try {
+                        int count = loadIndex(registry, index, new BundleClassLoader(bundle));
+                        LOG.info("Found type converter index with " + count + " converters to load");
+                    } catch (IOException e) {
+                        throw new TypeConverterLoaderException("Cannot load type converter index: " + index, e);
+                    }
+                } else {
+                    scan(registry);
+                }
+                URL fallbackUrl = bundle.getEntry(META_INF_FALLBACK_TYPE_CONVERTER);
+                if (fallbackUrl != null) {
+                    TypeConverter tc = createInstance("FallbackTypeConverter", fallbackUrl, registry.getInjector());
+                    registry.addFallbackTypeConverter(tc, false);
+                }
+                // Clear info
+                visitedClasses.clear();
+                visitedURIs.clear();
+            }
+
+            @SuppressWarnings("unchecked")
+            private void scan(TypeConverterRegistry registry) {
                 PackageScanFilter test = new AnnotatedWithPackageScanFilter(Converter.class, true);
                 Set<Class<?>> classes = new LinkedHashSet<Class<?>>();
                 Set<String> packages = getConverterPackages(bundle.getEntry(META_INF_TYPE_CONVERTER));
@@ -330,19 +353,36 @@ public class Activator implements BundleActivator, BundleTrackerCustomizer {
                     }
                     loadConverterMethods(registry, type);
                 }
-                URL fallbackUrl = bundle.getEntry(META_INF_FALLBACK_TYPE_CONVERTER);
-                if (fallbackUrl != null) {
-                    TypeConverter tc = createInstance("FallbackTypeConverter", fallbackUrl, registry.getInjector());
-                    registry.addFallbackTypeConverter(tc, false);
-                }
-                // Clear info
-                visitedClasses.clear();
-                visitedURIs.clear();
             }
         }
 
     }
 
+    /**
+     * Class loader which loads the classes from a bundle, used for loading the converters
+     * listed in a type converter index.
+     */
+    protected static class BundleClassLoader extends ClassLoader {
+
+        private final Bundle bundle;
+
+        public BundleClassLoader(Bundle bundle) {
+            // classes not loaded by the bootstrap class loader is loaded from the bundle
+            super(null);
+            this.bundle = bundle;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            return bundle.loadClass(name);
+        }
+
+        @Override
+        protected URL findResource(String name) {
+            return bundle.getResource(name);
+        }
+    }
+
     protected abstract static class BaseResolver<T> extends BaseService {
 
         private final Class<T> type;
@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.ArrayList;
+import java.util.EventObject;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.ServiceSupport;
+import org.apache.camel.spi.BatchEventNotifier;
+import org.apache.camel.spi.EventNotifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dispatches events to a {@link EventNotifier} in a background thread.
+ * <p/>
+ * The events is kept in a bounded queue, and if the queue is full the event is notified by the caller thread instead.
+ * The events is taken from the queue in batches, and if the notifier is a {@link BatchEventNotifier}
+ * the notifier is notified of each batch at once.
+ * <p/>
+ * The background thread is created using the {@link org.apache.camel.spi.ExecutorServiceStrategy} of the {@link CamelContext}.
+ *
+ * @version 
+ */
+public class AsyncEventNotifierDispatcher extends ServiceSupport implements Runnable {
+    private static final transient Logger LOG = LoggerFactory.getLogger(AsyncEventNotifierDispatcher.class);
+    private final CamelContext camelContext;
+    private final EventNotifier notifier;
+    private final BlockingQueue<EventObject> queue;
+    private final int batchSize;
+    private ExecutorService executorService;
+
+    public AsyncEventNotifierDispatcher(CamelContext camelContext, EventNotifier notifier, int queueSize, int batchSize) {
+        this.camelContext = camelContext;
+        this.notifier = notifier;
+        this.queue = new ArrayBlockingQueue<EventObject>(queueSize);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Dispatches the event to the notifier.
+     * <p/>
+     * If the queue is full the notifier is notified by the caller thread.
+     */
+    public void dispatch(EventObject event) throws Exception {
+        if (!isRunAllowed() || !queue.offer(event)) {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Cannot queue event so notifying by the caller thread: " + event);
+            }
+            notifier.notify(event);
+        }
+    }
+
+    /**
+     * Gets the number of events waiting to be notified
+     */
+    public int getPendingEvents() {
+        return queue.size();
+    }
+
+    public void run() {
+        List<EventObject> batch = new ArrayList<EventObject>(batchSize);
+        while (isRunAllowed()) {
+            try {
+                EventObject event = queue.poll(1000, TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    continue;
+                }
+                batch.add(event);
+            } catch (InterruptedException e) {
+                LOG.debug("Interrupted while waiting for events");
+                break;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            notifyBatch(batch);
+            batch.clear();
+        }
+
+        // notify the pending events before we stop
+        while (queue.drainTo(batch, batchSize) > 0) {
+            notifyBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void notifyBatch(List<EventObject> batch) {
+        if (notifier instanceof BatchEventNotifier) {
+            try {
+                ((BatchEventNotifier) notifier).notifyBatch(batch);
+            } catch (Throwable e) {
+                LOG.warn("Error notifying " + batch.size() + " events. This exception will be ignored. ", e);
+            }
+        } else {
+            for (EventObject event : batch) {
+                try {
+                    notifier.notify(event);
+                } catch (Throwable e) {
+                    LOG.warn("Error notifying event " + event + ". This exception will be ignored. ", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        executorService = camelContext.getExecutorServiceStrategy().newSingleThreadExecutor(this, "EventNotifier");
+        executorService.submit(this);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (executorService != null) {
+            // interrupt the thread so it notifies the pending events and stops
+            camelContext.getExecutorServiceStrategy().shutdownNow(executorService);
+            if (!executorService.awaitTermination(10, TimeUnit.SECONDS)) {
+                LOG.warn("Timeout waiting for " + queue.size() + " pending events to be notified");
+            }
+            executorService = null;
+        }
+    }
+}
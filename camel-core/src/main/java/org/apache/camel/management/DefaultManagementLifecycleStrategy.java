@@ -17,6 +17,7 @@
 package org.apache.camel.management;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -56,6 +57,8 @@ import org.apache.camel.management.mbean.ManagedDelayer;
 import org.apache.camel.management.mbean.ManagedEndpoint;
 import org.apache.camel.management.mbean.ManagedErrorHandler;
 import org.apache.camel.management.mbean.ManagedEventNotifier;
+import org.apache.camel.management.mbean.ManagedIndexedChoice;
+import org.apache.camel.management.mbean.ManagedLoadBalancer;
 import org.apache.camel.management.mbean.ManagedPerformanceCounter;
 import org.apache.camel.management.mbean.ManagedProcessor;
 import org.apache.camel.management.mbean.ManagedProducer;
@@ -80,9 +83,11 @@ import org.apache.camel.processor.Delayer;
 import org.apache.camel.processor.DelegateAsyncProcessor;
 import org.apache.camel.processor.DelegateProcessor;
 import org.apache.camel.processor.ErrorHandler;
+import org.apache.camel.processor.IndexedChoiceProcessor;
 import org.apache.camel.processor.SendProcessor;
 import org.apache.camel.processor.Throttler;
 import org.apache.camel.processor.interceptor.Tracer;
+import org.apache.camel.processor.loadbalancer.LoadBalancer;
 import org.apache.camel.spi.BrowsableEndpoint;
 import org.apache.camel.spi.CamelContextNameStrategy;
 import org.apache.camel.spi.EventNotifier;
@@ -112,7 +117,8 @@ public class DefaultManagementLifecycleStrategy implements LifecycleStrategy, Se
             new HashMap<Processor, KeyValueHolder<ProcessorDefinition, InstrumentationProcessor>>();
     private CamelContext camelContext;
     private volatile boolean initialized;
-    private final Set<String> knowRouteIds = new HashSet<String>();
+    // routes can be added concurrently when using parallel route startup
+    private final Set<String> knowRouteIds = Collections.synchronizedSet(new HashSet<String>());
 
     public DefaultManagementLifecycleStrategy() {
     }
@@ -476,6 +482,10 @@ public class DefaultManagementLifecycleStrategy implements LifecycleStrategy, Se
                 answer = new ManagedSendProcessor(context, (SendProcessor) target, definition);
             } else if (target instanceof BeanProcessor) {
                 answer = new ManagedBeanProcessor(context, (BeanProcessor) target, definition);
+            } else if (target instanceof LoadBalancer) {
+                answer = new ManagedLoadBalancer(context, (LoadBalancer) target, definition);
+            } else if (target instanceof IndexedChoiceProcessor) {
+                answer = new ManagedIndexedChoice(context, (IndexedChoiceProcessor) target, definition);
             } else if (target instanceof ManagementAware) {
                 return ((ManagementAware) target).getManagedObject(processor);
             }
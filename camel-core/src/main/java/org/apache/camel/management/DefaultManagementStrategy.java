@@ -165,6 +165,15 @@ public class DefaultManagementStrategy implements ManagementStrategy, CamelConte
 
     public void start() throws Exception {
         if (eventNotifiers != null) {
+            for (EventNotifier notifier : eventNotifiers) {
+                // inject CamelContext if not already set
+                if (notifier instanceof CamelContextAware) {
+                    CamelContextAware aware = (CamelContextAware) notifier;
+                    if (aware.getCamelContext() == null) {
+                        aware.setCamelContext(camelContext);
+                    }
+                }
+            }
             ServiceHelper.startServices(eventNotifiers);
         }
         if (managementAgent != null) {
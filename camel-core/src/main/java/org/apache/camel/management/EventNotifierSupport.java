@@ -16,8 +16,14 @@
  */
 package org.apache.camel.management;
 
+import java.util.EventObject;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
 import org.apache.camel.impl.ServiceSupport;
 import org.apache.camel.spi.EventNotifier;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.ServiceHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,8 +32,9 @@ import org.slf4j.LoggerFactory;
  *
  * @version 
  */
-public abstract class EventNotifierSupport extends ServiceSupport implements EventNotifier {
+public abstract class EventNotifierSupport extends ServiceSupport implements EventNotifier, CamelContextAware {
     protected Logger log = LoggerFactory.getLogger(getClass());
+    private CamelContext camelContext;
     private boolean ignoreCamelContextEvents;
     private boolean ignoreRouteEvents;
     private boolean ignoreServiceEvents;
@@ -37,6 +44,18 @@ public abstract class EventNotifierSupport extends ServiceSupport implements Eve
     private boolean ignoreExchangeFailedEvents;
     private boolean ignoreExchangeRedeliveryEvents;
     private boolean ignoreExchangeSentEvents;
+    private boolean async;
+    private int asyncQueueSize = 1000;
+    private int asyncBatchSize = 100;
+    private volatile AsyncEventNotifierDispatcher asyncDispatcher;
+
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
 
     public boolean isIgnoreCamelContextEvents() {
         return ignoreCamelContextEvents;
@@ -109,4 +128,82 @@ public abstract class EventNotifierSupport extends ServiceSupport implements Eve
     public void setIgnoreExchangeSentEvents(boolean ignoreExchangeSentEvents) {
         this.ignoreExchangeSentEvents = ignoreExchangeSentEvents;
     }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Sets whether the events should be notified asynchronously by a background thread,
+     * so a slow notifier does not add latency to the exchanges being routed.
+     * <p/>
+     * The events is kept in a bounded queue, and if the queue is full the event is notified synchronously.
+     * If the notifier implements {@link org.apache.camel.spi.BatchEventNotifier} then it will be notified
+     * of the events in batches.
+     * The background thread is created using the {@link CamelContext} which must be set on this notifier,
+     * which is done automatic when the notifier is added to the {@link org.apache.camel.spi.ManagementStrategy}.
+     * This option should only be set before the notifier is started.
+     */
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    public int getAsyncQueueSize() {
+        return asyncQueueSize;
+    }
+
+    /**
+     * Sets the maximum number of events which can wait to be notified when notifying asynchronously.
+     * Will by default use 1000.
+     */
+    public void setAsyncQueueSize(int asyncQueueSize) {
+        this.asyncQueueSize = asyncQueueSize;
+    }
+
+    public int getAsyncBatchSize() {
+        return asyncBatchSize;
+    }
+
+    /**
+     * Sets the maximum number of events in a batch when notifying asynchronously.
+     * Will by default use 100.
+     */
+    public void setAsyncBatchSize(int asyncBatchSize) {
+        this.asyncBatchSize = asyncBatchSize;
+    }
+
+    /**
+     * Dispatches the event to this notifier, which is done asynchronously if {@link #isAsync()} is enabled.
+     *
+     * @param event the event
+     * @throws Exception can be thrown if notification failed
+     */
+    public void dispatch(EventObject event) throws Exception {
+        AsyncEventNotifierDispatcher dispatcher = asyncDispatcher;
+        if (dispatcher != null) {
+            dispatcher.dispatch(event);
+        } else {
+            notify(event);
+        }
+    }
+
+    @Override
+    public void start(boolean startChildren) throws Exception {
+        if (async && asyncDispatcher == null) {
+            ObjectHelper.notNull(camelContext, "camelContext", this);
+            AsyncEventNotifierDispatcher dispatcher = new AsyncEventNotifierDispatcher(camelContext, this, asyncQueueSize, asyncBatchSize);
+            ServiceHelper.startService(dispatcher);
+            asyncDispatcher = dispatcher;
+        }
+        super.start(startChildren);
+    }
+
+    @Override
+    public void stop() throws Exception {
+        // notify the pending events before this notifier is stopped
+        AsyncEventNotifierDispatcher dispatcher = asyncDispatcher;
+        asyncDispatcher = null;
+        ServiceHelper.stopService(dispatcher);
+        super.stop();
+    }
 }
@@ -19,7 +19,6 @@ package org.apache.camel.management;
 import java.util.EventObject;
 
 import org.apache.camel.CamelContext;
-import org.apache.camel.CamelContextAware;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
 import org.apache.camel.Producer;
@@ -36,9 +35,8 @@ import org.apache.camel.util.ServiceHelper;
  *
  * @version 
  */
-public class PublishEventNotifier extends EventNotifierSupport implements CamelContextAware {
+public class PublishEventNotifier extends EventNotifierSupport {
 
-    private CamelContext camelContext;
     private Endpoint endpoint;
     private String endpointUri;
     private Producer producer;
@@ -53,7 +51,7 @@ public class PublishEventNotifier extends EventNotifierSupport implements CamelC
         }
 
         // only notify when camel context is running
-        if (!camelContext.getStatus().isStarted()) {
+        if (!getCamelContext().getStatus().isStarted()) {
             if (log.isDebugEnabled()) {
                 log.debug("Cannot publish event as CamelContext is not started: " + event);
             }
@@ -79,14 +77,6 @@ public class PublishEventNotifier extends EventNotifierSupport implements CamelC
         return true;
     }
 
-    public CamelContext getCamelContext() {
-        return camelContext;
-    }
-
-    public void setCamelContext(CamelContext camelContext) {
-        this.camelContext = camelContext;
-    }
-
     public Endpoint getEndpoint() {
         return endpoint;
     }
@@ -105,13 +95,13 @@ public class PublishEventNotifier extends EventNotifierSupport implements CamelC
 
     @Override
     protected void doStart() throws Exception {
-        ObjectHelper.notNull(camelContext, "camelContext", this);
+        ObjectHelper.notNull(getCamelContext(), "camelContext", this);
         if (endpoint == null && endpointUri == null) {
             throw new IllegalArgumentException("Either endpoint or endpointUri must be configured");
         }
 
         if (endpoint == null) {
-            endpoint = camelContext.getEndpoint(endpointUri);
+            endpoint = getCamelContext().getEndpoint(endpointUri);
         }
 
         producer = endpoint.createProducer();
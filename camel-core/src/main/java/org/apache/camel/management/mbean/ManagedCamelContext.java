@@ -22,6 +22,8 @@ import java.util.concurrent.TimeUnit;
 import org.apache.camel.CamelContext;
 import org.apache.camel.ProducerTemplate;
 import org.apache.camel.ServiceStatus;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.EndpointRegistry;
 import org.apache.camel.spi.ManagementStrategy;
 import org.springframework.jmx.export.annotation.ManagedAttribute;
 import org.springframework.jmx.export.annotation.ManagedOperation;
@@ -95,6 +97,38 @@ public class ManagedCamelContext {
         return context.getInflightRepository().size();
     }
 
+    @ManagedAttribute(description = "Number of endpoints in the endpoint registry")
+    public Integer getEndpointRegistrySize() {
+        EndpointRegistry registry = getEndpointRegistry();
+        return registry != null ? registry.size() : null;
+    }
+
+    @ManagedAttribute(description = "Ratio of endpoint lookups found in the endpoint registry")
+    public Double getEndpointRegistryHitRatio() {
+        EndpointRegistry registry = getEndpointRegistry();
+        return registry != null ? ratio(registry.getHits(), registry.getMisses()) : null;
+    }
+
+    @ManagedAttribute(description = "Number of endpoint uris in the uri cache")
+    public Integer getEndpointUriCacheSize() {
+        EndpointRegistry registry = getEndpointRegistry();
+        return registry != null ? registry.getRawUriCacheSize() : null;
+    }
+
+    @ManagedAttribute(description = "Ratio of endpoint lookups found in the uri cache without normalizing the uri")
+    public Double getEndpointUriCacheHitRatio() {
+        EndpointRegistry registry = getEndpointRegistry();
+        return registry != null ? ratio(registry.getRawUriHits(), registry.getRawUriMisses()) : null;
+    }
+
+    @ManagedOperation(description = "Reset the endpoint registry statistics")
+    public void resetEndpointRegistryStatistics() {
+        EndpointRegistry registry = getEndpointRegistry();
+        if (registry != null) {
+            registry.resetStatistics();
+        }
+    }
+
     @ManagedAttribute(description = "Shutdown timeout")
     public void setTimeout(long timeout) {
         context.getShutdownStrategy().setTimeout(timeout);
@@ -175,4 +209,16 @@ public class ManagedCamelContext {
         return answer;
     }
 
+    private EndpointRegistry getEndpointRegistry() {
+        if (context instanceof DefaultCamelContext) {
+            return ((DefaultCamelContext) context).getEndpointRegistry();
+        }
+        return null;
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
 }
@@ -427,4 +427,34 @@ public class ManagedErrorHandler {
         redelivery.getRedeliveryPolicy().setUseExponentialBackOff(backoff);
     }
 
+    @ManagedAttribute(description = "RedeliveryPolicy for using asynchronous delayed redelivery")
+    public Boolean getAsyncDelayedRedelivery() {
+        if (!isSupportRedelivery()) {
+            return null;
+        }
+
+        RedeliveryErrorHandler redelivery = (RedeliveryErrorHandler) errorHandler;
+        return redelivery.getRedeliveryPolicy().isAsyncDelayedRedelivery();
+    }
+
+    @ManagedAttribute(description = "RedeliveryPolicy for using asynchronous delayed redelivery")
+    public void setAsyncDelayedRedelivery(Boolean async) {
+        if (!isSupportRedelivery()) {
+            throw new IllegalArgumentException("This error handler does not support redelivery");
+        }
+
+        RedeliveryErrorHandler redelivery = (RedeliveryErrorHandler) errorHandler;
+        redelivery.getRedeliveryPolicy().setAsyncDelayedRedelivery(async);
+    }
+
+    @ManagedAttribute(description = "Number of exchanges pending an asynchronous delayed redelivery")
+    public Integer getPendingRedeliveryCount() {
+        if (!isSupportRedelivery()) {
+            return null;
+        }
+
+        RedeliveryErrorHandler redelivery = (RedeliveryErrorHandler) errorHandler;
+        return redelivery.getPendingRedeliveryCount();
+    }
+
 }
@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.model.ProcessorDefinition;
+import org.apache.camel.processor.IndexedChoiceProcessor;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/**
+ * @version 
+ */
+@ManagedResource(description = "Managed Indexed Choice")
+public class ManagedIndexedChoice extends ManagedProcessor {
+    private final IndexedChoiceProcessor choice;
+
+    public ManagedIndexedChoice(CamelContext context, IndexedChoiceProcessor choice, ProcessorDefinition<?> definition) {
+        super(context, choice, definition);
+        this.choice = choice;
+    }
+
+    public IndexedChoiceProcessor getChoice() {
+        return choice;
+    }
+
+    @Override
+    @ManagedOperation(description = "Reset counters")
+    public synchronized void reset() {
+        super.reset();
+        choice.reset();
+    }
+
+    @ManagedAttribute(description = "Expression which is evaluated to lookup the when clause")
+    public String getExpression() {
+        return choice.getExpression().toString();
+    }
+
+    @ManagedAttribute(description = "Number of when clauses")
+    public int getWhenClauses() {
+        return choice.getFilters().size();
+    }
+
+    @ManagedAttribute(description = "Number of distinct values in the index")
+    public int getIndexSize() {
+        return choice.getIndexSize();
+    }
+
+    @ManagedAttribute(description = "Number of lookups which used the index")
+    public long getIndexedLookups() {
+        return choice.getIndexedLookups();
+    }
+
+    @ManagedAttribute(description = "Number of lookups which type coerced the value against each when clause")
+    public long getCoercedLookups() {
+        return choice.getCoercedLookups();
+    }
+}
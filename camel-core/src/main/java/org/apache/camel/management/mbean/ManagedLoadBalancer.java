@@ -0,0 +1,185 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.model.ProcessorDefinition;
+import org.apache.camel.processor.loadbalancer.Circuit;
+import org.apache.camel.processor.loadbalancer.CircuitBreakerLoadBalancer;
+import org.apache.camel.processor.loadbalancer.LoadAwareLoadBalancer;
+import org.apache.camel.processor.loadbalancer.LoadBalancer;
+import org.apache.camel.processor.loadbalancer.LoadStatistics;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/**
+ * @version 
+ */
+@ManagedResource(description = "Managed LoadBalancer")
+public class ManagedLoadBalancer extends ManagedProcessor {
+    private final LoadBalancer loadBalancer;
+
+    public ManagedLoadBalancer(CamelContext context, LoadBalancer loadBalancer, ProcessorDefinition<?> definition) {
+        super(context, loadBalancer, definition);
+        this.loadBalancer = loadBalancer;
+    }
+
+    public LoadBalancer getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    @ManagedAttribute(description = "Number of processors in the load balancer")
+    public int getSize() {
+        return loadBalancer.getProcessors().size();
+    }
+
+    @ManagedAttribute(description = "Does the load balancer keep load statistics")
+    public boolean isLoadAware() {
+        return loadBalancer instanceof LoadAwareLoadBalancer;
+    }
+
+    @ManagedAttribute(description = "Total number of exchanges inflight")
+    public Integer getInflight() {
+        if (!isLoadAware()) {
+            return null;
+        }
+        return ((LoadAwareLoadBalancer) loadBalancer).getInflight();
+    }
+
+    @ManagedAttribute(description = "Time in millis for the latency average to decay")
+    public Long getDecayTime() {
+        if (!isLoadAware()) {
+            return null;
+        }
+        return ((LoadAwareLoadBalancer) loadBalancer).getDecayTime();
+    }
+
+    @ManagedAttribute(description = "Time in millis for the latency average to decay")
+    public void setDecayTime(Long decayTime) {
+        if (!isLoadAware()) {
+            throw new IllegalArgumentException("This load balancer does not keep load statistics");
+        }
+        ((LoadAwareLoadBalancer) loadBalancer).setDecayTime(decayTime);
+    }
+
+    @ManagedOperation(description = "Number of exchanges inflight for the processor at the given index")
+    public int inflight(int index) {
+        return getStatistics(index).getInflight();
+    }
+
+    @ManagedOperation(description = "Latency average in millis for the processor at the given index")
+    public double latency(int index) {
+        return getStatistics(index).getLatency();
+    }
+
+    @ManagedOperation(description = "Number of completed exchanges for the processor at the given index")
+    public long completed(int index) {
+        return getStatistics(index).getCompleted();
+    }
+
+    @ManagedOperation(description = "Number of failed exchanges for the processor at the given index")
+    public long failed(int index) {
+        return getStatistics(index).getFailed();
+    }
+
+    @ManagedAttribute(description = "Is the load balancer a circuit breaker")
+    public boolean isCircuitBreaker() {
+        return loadBalancer instanceof CircuitBreakerLoadBalancer;
+    }
+
+    @ManagedAttribute(description = "Number of open circuits")
+    public Integer getOpenCircuits() {
+        if (!isCircuitBreaker()) {
+            return null;
+        }
+        return ((CircuitBreakerLoadBalancer) loadBalancer).getOpenCircuits();
+    }
+
+    @ManagedAttribute(description = "Failure rate within the sliding window which opens a circuit")
+    public Double getFailureThreshold() {
+        if (!isCircuitBreaker()) {
+            return null;
+        }
+        return ((CircuitBreakerLoadBalancer) loadBalancer).getFailureThreshold();
+    }
+
+    @ManagedAttribute(description = "Failure rate within the sliding window which opens a circuit")
+    public void setFailureThreshold(Double failureThreshold) {
+        getCircuitBreaker().setFailureThreshold(failureThreshold);
+    }
+
+    @ManagedAttribute(description = "Time in millis a circuit stays open before sending probes")
+    public Long getOpenTimeout() {
+        if (!isCircuitBreaker()) {
+            return null;
+        }
+        return ((CircuitBreakerLoadBalancer) loadBalancer).getOpenTimeout();
+    }
+
+    @ManagedAttribute(description = "Time in millis a circuit stays open before sending probes")
+    public void setOpenTimeout(Long openTimeout) {
+        getCircuitBreaker().setOpenTimeout(openTimeout);
+    }
+
+    @ManagedOperation(description = "Circuit state for the processor at the given index")
+    public String circuitState(int index) {
+        return getCircuit(index).getState().name();
+    }
+
+    @ManagedOperation(description = "Failure rate within the sliding window for the processor at the given index")
+    public double failureRate(int index) {
+        return getCircuit(index).getFailureRate();
+    }
+
+    @ManagedOperation(description = "Number of times the circuit has been opened for the processor at the given index")
+    public long timesOpened(int index) {
+        return getCircuit(index).getTimesOpened();
+    }
+
+    @ManagedOperation(description = "Close all the circuits")
+    public void resetCircuits() {
+        getCircuitBreaker().resetCircuits();
+    }
+
+    @Override
+    @ManagedOperation(description = "Reset counters")
+    public synchronized void reset() {
+        super.reset();
+        if (isLoadAware()) {
+            ((LoadAwareLoadBalancer) loadBalancer).resetStatistics();
+        }
+    }
+
+    private LoadStatistics getStatistics(int index) {
+        if (!isLoadAware()) {
+            throw new IllegalArgumentException("This load balancer does not keep load statistics");
+        }
+        return ((LoadAwareLoadBalancer) loadBalancer).getStatistics().get(index);
+    }
+
+    private CircuitBreakerLoadBalancer getCircuitBreaker() {
+        if (!isCircuitBreaker()) {
+            throw new IllegalArgumentException("This load balancer is not a circuit breaker");
+        }
+        return (CircuitBreakerLoadBalancer) loadBalancer;
+    }
+
+    private Circuit getCircuit(int index) {
+        return getCircuitBreaker().getCircuits().get(index);
+    }
+}
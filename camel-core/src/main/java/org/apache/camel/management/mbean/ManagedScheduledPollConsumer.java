@@ -78,4 +78,54 @@ public class ManagedScheduledPollConsumer extends ManagedConsumer {
     public void setTimeUnit(String timeUnit) {
         getConsumer().setTimeUnit(TimeUnit.valueOf(timeUnit));
     }
+
+    @ManagedAttribute(description = "Scheduled Greedy")
+    public boolean isGreedy() {
+        return getConsumer().isGreedy();
+    }
+
+    @ManagedAttribute(description = "Scheduled Greedy")
+    public void setGreedy(boolean greedy) {
+        getConsumer().setGreedy(greedy);
+    }
+
+    @ManagedAttribute(description = "Backoff Multiplier")
+    public int getBackoffMultiplier() {
+        return getConsumer().getBackoffMultiplier();
+    }
+
+    @ManagedAttribute(description = "Backoff Multiplier")
+    public void setBackoffMultiplier(int backoffMultiplier) {
+        getConsumer().setBackoffMultiplier(backoffMultiplier);
+    }
+
+    @ManagedAttribute(description = "Backoff Idle Threshold")
+    public int getBackoffIdleThreshold() {
+        return getConsumer().getBackoffIdleThreshold();
+    }
+
+    @ManagedAttribute(description = "Backoff Idle Threshold")
+    public void setBackoffIdleThreshold(int backoffIdleThreshold) {
+        getConsumer().setBackoffIdleThreshold(backoffIdleThreshold);
+    }
+
+    @ManagedAttribute(description = "Backoff Max Delay")
+    public long getBackoffMaxDelay() {
+        return getConsumer().getBackoffMaxDelay();
+    }
+
+    @ManagedAttribute(description = "Backoff Max Delay")
+    public void setBackoffMaxDelay(long backoffMaxDelay) {
+        getConsumer().setBackoffMaxDelay(backoffMaxDelay);
+    }
+
+    @ManagedAttribute(description = "Effective Delay")
+    public long getEffectiveDelay() {
+        return getConsumer().getEffectiveDelay();
+    }
+
+    @ManagedAttribute(description = "Idle Polls In A Row")
+    public int getIdleCounter() {
+        return getConsumer().getIdleCounter();
+    }
 }
@@ -21,6 +21,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.spi.ManagementStrategy;
+import org.apache.camel.util.concurrent.AdaptiveThreadPoolExecutor;
 import org.springframework.jmx.export.annotation.ManagedAttribute;
 import org.springframework.jmx.export.annotation.ManagedResource;
 
@@ -157,4 +158,65 @@ public class ManagedThreadPool {
         return threadPool.isShutdown();
     }
 
+    @ManagedAttribute(description = "Is the pool size adaptive")
+    public boolean isAdaptive() {
+        return threadPool instanceof AdaptiveThreadPoolExecutor;
+    }
+
+    @ManagedAttribute(description = "Minimum pool size of the adaptive thread pool")
+    public Integer getAdaptiveMinPoolSize() {
+        return isAdaptive() ? getAdaptiveThreadPool().getMinPoolSize() : null;
+    }
+
+    @ManagedAttribute(description = "Maximum pool size of the adaptive thread pool")
+    public Integer getAdaptiveMaxPoolSize() {
+        return isAdaptive() ? getAdaptiveThreadPool().getMaxPoolSize() : null;
+    }
+
+    @ManagedAttribute(description = "Tuning interval in millis of the adaptive thread pool")
+    public Long getTuningInterval() {
+        return isAdaptive() ? getAdaptiveThreadPool().getTuningInterval() : null;
+    }
+
+    @ManagedAttribute(description = "Tuning interval in millis of the adaptive thread pool")
+    public void setTuningInterval(Long tuningInterval) {
+        if (isAdaptive()) {
+            getAdaptiveThreadPool().setTuningInterval(tuningInterval);
+        }
+    }
+
+    @ManagedAttribute(description = "Throughput in tasks per second measured by the adaptive thread pool")
+    public Double getThroughput() {
+        return isAdaptive() ? getAdaptiveThreadPool().getThroughput() : null;
+    }
+
+    @ManagedAttribute(description = "Average time in millis tasks waited in the queue measured by the adaptive thread pool")
+    public Double getAverageWaitTime() {
+        return isAdaptive() ? getAdaptiveThreadPool().getAverageWaitTime() : null;
+    }
+
+    @ManagedAttribute(description = "Average time in millis to execute tasks measured by the adaptive thread pool")
+    public Double getAverageServiceTime() {
+        return isAdaptive() ? getAdaptiveThreadPool().getAverageServiceTime() : null;
+    }
+
+    @ManagedAttribute(description = "Last decision made by the adaptive thread pool")
+    public String getLastDecision() {
+        return isAdaptive() ? getAdaptiveThreadPool().getLastDecision() : null;
+    }
+
+    @ManagedAttribute(description = "Number of times the adaptive thread pool has grown")
+    public Long getGrowCount() {
+        return isAdaptive() ? getAdaptiveThreadPool().getGrowCount() : null;
+    }
+
+    @ManagedAttribute(description = "Number of times the adaptive thread pool has shrunk")
+    public Long getShrinkCount() {
+        return isAdaptive() ? getAdaptiveThreadPool().getShrinkCount() : null;
+    }
+
+    private AdaptiveThreadPoolExecutor getAdaptiveThreadPool() {
+        return (AdaptiveThreadPoolExecutor) threadPool;
+    }
+
 }
@@ -22,6 +22,7 @@ import org.apache.camel.processor.interceptor.Tracer;
 import org.apache.camel.spi.ManagementStrategy;
 import org.apache.camel.util.ObjectHelper;
 import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
 import org.springframework.jmx.export.annotation.ManagedResource;
 
 /**
@@ -138,6 +139,61 @@ public class ManagedTracer {
         tracer.setTraceOutExchanges(traceOutExchanges);
     }
 
+    @ManagedAttribute(description = "Async tracing")
+    public boolean getAsync() {
+        return tracer.isAsync();
+    }
+
+    @ManagedAttribute(description = "Async tracing")
+    public void setAsync(boolean async) {
+        tracer.setAsync(async);
+    }
+
+    @ManagedAttribute(description = "Async batch size")
+    public int getAsyncBatchSize() {
+        return tracer.getAsyncBatchSize();
+    }
+
+    @ManagedAttribute(description = "Async queue size")
+    public int getAsyncQueueSize() {
+        return tracer.getAsyncQueueSize();
+    }
+
+    @ManagedAttribute(description = "Async pending events")
+    public int getAsyncPendingEvents() {
+        return tracer.getAsyncPendingEvents();
+    }
+
+    @ManagedAttribute(description = "Dropped events")
+    public long getDroppedEvents() {
+        return tracer.getDroppedEvents();
+    }
+
+    @ManagedAttribute(description = "Sampling rate")
+    public double getSamplingRate() {
+        return tracer.getSamplingRate();
+    }
+
+    @ManagedAttribute(description = "Sampling rate")
+    public void setSamplingRate(double samplingRate) {
+        tracer.setSamplingRate(samplingRate);
+    }
+
+    @ManagedOperation(description = "Gets the sampling rate for the given route")
+    public double routeSamplingRate(String routeId) {
+        return tracer.getSamplingRate(routeId);
+    }
+
+    @ManagedOperation(description = "Sets the sampling rate for the given route")
+    public void updateRouteSamplingRate(String routeId, double samplingRate) {
+        tracer.setRouteSamplingRate(routeId, samplingRate);
+    }
+
+    @ManagedOperation(description = "Removes the sampling rate for the given route so the default sampling rate is used")
+    public void removeRouteSamplingRate(String routeId) {
+        tracer.setRouteSamplingRate(routeId, null);
+    }
+
     @ManagedAttribute(description = "Formatter show body")
     public boolean getFormatterShowBody() {
         if (tracer.getDefaultTraceFormatter() == null) {
@@ -31,6 +31,7 @@ import org.apache.camel.Processor;
 import org.apache.camel.builder.ExpressionClause;
 import org.apache.camel.processor.ChoiceProcessor;
 import org.apache.camel.processor.FilterProcessor;
+import org.apache.camel.processor.IndexedChoiceProcessor;
 import org.apache.camel.spi.RouteContext;
 import org.apache.camel.util.CollectionStringBuffer;
 
@@ -72,6 +73,10 @@ public class ChoiceDefinition extends ProcessorDefinition<ChoiceDefinition> {
         if (otherwise != null) {
             otherwiseProcessor = otherwise.createProcessor(routeContext);
         }
+        if (IndexedChoiceProcessor.isIndexable(filters)) {
+            // the when clauses is equality tests against constants so we can lookup the matching clause
+            return new IndexedChoiceProcessor(filters, otherwiseProcessor);
+        }
         return new ChoiceProcessor(filters, otherwiseProcessor);
     }
 
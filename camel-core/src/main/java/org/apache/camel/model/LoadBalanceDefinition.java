@@ -31,14 +31,20 @@ import javax.xml.bind.annotation.XmlRootElement;
 
 import org.apache.camel.Expression;
 import org.apache.camel.Processor;
+import org.apache.camel.model.loadbalancer.CircuitBreakerLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.FailoverLoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.LeastInflightLoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.PeakEwmaLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RandomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RoundRobinLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.StickyLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.TopicLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.WeightedLoadBalancerDefinition;
+import org.apache.camel.processor.loadbalancer.CircuitBreakerLoadBalancer;
 import org.apache.camel.processor.loadbalancer.FailOverLoadBalancer;
+import org.apache.camel.processor.loadbalancer.LeastInflightLoadBalancer;
 import org.apache.camel.processor.loadbalancer.LoadBalancer;
+import org.apache.camel.processor.loadbalancer.PeakEwmaLoadBalancer;
 import org.apache.camel.processor.loadbalancer.RandomLoadBalancer;
 import org.apache.camel.processor.loadbalancer.RoundRobinLoadBalancer;
 import org.apache.camel.processor.loadbalancer.StickyLoadBalancer;
@@ -60,7 +66,10 @@ public class LoadBalanceDefinition extends ProcessorDefinition<LoadBalanceDefini
     private String ref;
 
     @XmlElements({
+            @XmlElement(required = false, name = "circuitBreaker", type = CircuitBreakerLoadBalancerDefinition.class),
             @XmlElement(required = false, name = "failover", type = FailoverLoadBalancerDefinition.class),
+            @XmlElement(required = false, name = "leastInflight", type = LeastInflightLoadBalancerDefinition.class),
+            @XmlElement(required = false, name = "peakEwma", type = PeakEwmaLoadBalancerDefinition.class),
             @XmlElement(required = false, name = "random", type = RandomLoadBalancerDefinition.class),
             @XmlElement(required = false, name = "roundRobin", type = RoundRobinLoadBalancerDefinition.class),
             @XmlElement(required = false, name = "sticky", type = StickyLoadBalancerDefinition.class),
@@ -196,6 +205,37 @@ public class LoadBalanceDefinition extends ProcessorDefinition<LoadBalanceDefini
         return this;
     }
 
+    /**
+     * Uses circuit breaker load balancer
+     * <p/>
+     * Will open the circuit of a processor when at least 10 exchanges has been sent to it within the last
+     * 10 seconds and half of them has failed, and keep it open for 30 seconds before a probe exchange is sent.
+     *
+     * @param exceptions exception classes which counts as failures, if none given then any exception counts
+     * @return the builder
+     */
+    public LoadBalanceDefinition circuitBreaker(Class<?>... exceptions) {
+        CircuitBreakerLoadBalancer circuitBreaker = new CircuitBreakerLoadBalancer(Arrays.asList(exceptions));
+        setLoadBalancerType(new LoadBalancerDefinition(circuitBreaker));
+        return this;
+    }
+
+    /**
+     * Uses circuit breaker load balancer
+     *
+     * @param failureThreshold  failure rate between 0 and 1 within the sliding window which opens the circuit
+     * @param openTimeout       time in millis a circuit stays open before probe exchanges are sent
+     * @param exceptions        exception classes which counts as failures, if none given then any exception counts
+     * @return the builder
+     */
+    public LoadBalanceDefinition circuitBreaker(double failureThreshold, long openTimeout, Class<?>... exceptions) {
+        CircuitBreakerLoadBalancer circuitBreaker = new CircuitBreakerLoadBalancer(Arrays.asList(exceptions));
+        circuitBreaker.setFailureThreshold(failureThreshold);
+        circuitBreaker.setOpenTimeout(openTimeout);
+        setLoadBalancerType(new LoadBalancerDefinition(circuitBreaker));
+        return this;
+    }
+
     /**
      * Uses weighted load balancer
      *
@@ -263,6 +303,40 @@ public class LoadBalanceDefinition extends ProcessorDefinition<LoadBalanceDefini
         return this;
     }
 
+    /**
+     * Uses least inflight load balancer, which sends to the processor with the fewest exchanges inflight
+     *
+     * @return the builder
+     */
+    public LoadBalanceDefinition leastInflight() {
+        setLoadBalancerType(new LoadBalancerDefinition(new LeastInflightLoadBalancer()));
+        return this;
+    }
+
+    /**
+     * Uses peak EWMA load balancer, which sends to the least loaded of two randomly picked processors
+     * based on their observed latency and inflight exchanges
+     *
+     * @return the builder
+     */
+    public LoadBalanceDefinition peakEwma() {
+        return peakEwma(PeakEwmaLoadBalancer.DEFAULT_DECAY_TIME);
+    }
+
+    /**
+     * Uses peak EWMA load balancer, which sends to the least loaded of two randomly picked processors
+     * based on their observed latency and inflight exchanges
+     *
+     * @param decayTime  time in millis for the latency average to decay
+     * @return the builder
+     */
+    public LoadBalanceDefinition peakEwma(long decayTime) {
+        PeakEwmaLoadBalancer loadBalancer = new PeakEwmaLoadBalancer();
+        loadBalancer.setDecayTime(decayTime);
+        setLoadBalancerType(new LoadBalancerDefinition(loadBalancer));
+        return this;
+    }
+
     /**
      * Uses topic load balancer
      * 
@@ -25,6 +25,7 @@ import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
 import org.apache.camel.builder.xml.TimeUnitAdapter;
 import org.apache.camel.spi.ThreadPoolProfile;
 
@@ -51,6 +52,10 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition im
     private Integer maxQueueSize;
     @XmlAttribute()
     private ThreadPoolRejectedPolicy rejectedPolicy;
+    @XmlAttribute()
+    private ThreadPoolType poolType;
+    @XmlAttribute()
+    private Boolean daemon;
 
     public ThreadPoolProfileDefinition() {
     }
@@ -63,6 +68,8 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition im
         setTimeUnit(threadPoolProfile.getTimeUnit());
         setMaxQueueSize(threadPoolProfile.getMaxQueueSize());
         setRejectedPolicy(threadPoolProfile.getRejectedPolicy());
+        setPoolType(threadPoolProfile.getPoolType());
+        setDaemon(threadPoolProfile.isDaemon());
     }
 
     public ThreadPoolProfileDefinition poolSize(int poolSize) {
@@ -95,6 +102,16 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition im
         return this;
     }
 
+    public ThreadPoolProfileDefinition poolType(ThreadPoolType poolType) {
+        setPoolType(poolType);
+        return this;
+    }
+
+    public ThreadPoolProfileDefinition daemon(boolean daemon) {
+        setDaemon(daemon);
+        return this;
+    }
+
     public Boolean isDefaultProfile() {
         return defaultProfile != null && defaultProfile;
     }
@@ -157,4 +174,20 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition im
     public void setRejectedPolicy(ThreadPoolRejectedPolicy rejectedPolicy) {
         this.rejectedPolicy = rejectedPolicy;
     }
+
+    public ThreadPoolType getPoolType() {
+        return poolType;
+    }
+
+    public void setPoolType(ThreadPoolType poolType) {
+        this.poolType = poolType;
+    }
+
+    public Boolean isDaemon() {
+        return daemon;
+    }
+
+    public void setDaemon(Boolean daemon) {
+        this.daemon = daemon;
+    }
 }
@@ -19,7 +19,6 @@ package org.apache.camel.model;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.TimeUnit;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
@@ -30,11 +29,11 @@ import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 import org.apache.camel.Processor;
 import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
 import org.apache.camel.builder.xml.TimeUnitAdapter;
 import org.apache.camel.processor.Pipeline;
 import org.apache.camel.processor.ThreadsProcessor;
 import org.apache.camel.spi.RouteContext;
-import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.util.concurrent.ExecutorServiceHelper;
 
 /**
@@ -67,6 +66,8 @@ public class ThreadsDefinition extends OutputDefinition<ThreadsDefinition> imple
     private ThreadPoolRejectedPolicy rejectedPolicy;
     @XmlAttribute
     private Boolean callerRunsWhenRejected;
+    @XmlAttribute
+    private ThreadPoolType poolType;
 
     @Override
     public Processor createProcessor(RouteContext routeContext) throws Exception {
@@ -77,21 +78,18 @@ public class ThreadsDefinition extends OutputDefinition<ThreadsDefinition> imple
         executorService = ExecutorServiceHelper.getConfiguredExecutorService(routeContext, name, this);
         // if no explicit then create from the options
         if (executorService == null) {
-            ThreadPoolProfile profile = routeContext.getCamelContext().getExecutorServiceStrategy().getDefaultThreadPoolProfile();
-            // use the default thread pool profile as base and then override with values
-            // use a custom pool based on the settings
-            int core = getPoolSize() != null ? getPoolSize() : profile.getPoolSize();
-            int max = getMaxPoolSize() != null ? getMaxPoolSize() : profile.getMaxPoolSize();
-            long keepAlive = getKeepAliveTime() != null ? getKeepAliveTime() : profile.getKeepAliveTime();
-            int maxQueue = getMaxQueueSize() != null ? getMaxQueueSize() : profile.getMaxQueueSize();
-            TimeUnit tu = getTimeUnit() != null ? getTimeUnit() : profile.getTimeUnit();
-            RejectedExecutionHandler rejected = profile.getRejectedExecutionHandler();
-            if (rejectedPolicy != null) {
-                rejected = rejectedPolicy.asRejectedExecutionHandler();
-            }
-
-            executorService = routeContext.getCamelContext().getExecutorServiceStrategy()
-                                    .newThreadPool(this, name, core, max, keepAlive, tu, maxQueue, rejected, true);
+            // use a custom pool based on the settings, where the values not set is taken from the default thread pool profile
+            ThreadPoolProfileDefinition profile = new ThreadPoolProfileDefinition();
+            profile.setPoolSize(getPoolSize());
+            profile.setMaxPoolSize(getMaxPoolSize());
+            profile.setKeepAliveTime(getKeepAliveTime() != null ? Long.valueOf(getKeepAliveTime()) : null);
+            profile.setTimeUnit(getTimeUnit());
+            profile.setMaxQueueSize(getMaxQueueSize());
+            profile.setRejectedPolicy(getRejectedPolicy());
+            profile.setPoolType(getPoolType());
+            // the threads is daemon regardless of the pool type
+            profile.setDaemon(true);
+            executorService = routeContext.getCamelContext().getExecutorServiceStrategy().newThreadPool(this, name, profile);
         }
 
         ThreadsProcessor thread = new ThreadsProcessor(routeContext.getCamelContext(), executorService);
@@ -227,6 +225,19 @@ public class ThreadsDefinition extends OutputDefinition<ThreadsDefinition> imple
         return this;
     }
 
+    /**
+     * Sets the type of thread pool to use.
+     * <p/>
+     * By default the type from the default thread pool profile is used, which is <tt>Standard</tt>.
+     *
+     * @param poolType the pool type
+     * @return the builder
+     */
+    public ThreadsDefinition poolType(ThreadPoolType poolType) {
+        setPoolType(poolType);
+        return this;
+    }
+
     public ExecutorService getExecutorService() {
         return executorService;
     }
@@ -306,4 +317,12 @@ public class ThreadsDefinition extends OutputDefinition<ThreadsDefinition> imple
     public void setCallerRunsWhenRejected(Boolean callerRunsWhenRejected) {
         this.callerRunsWhenRejected = callerRunsWhenRejected;
     }
+
+    public ThreadPoolType getPoolType() {
+        return poolType;
+    }
+
+    public void setPoolType(ThreadPoolType poolType) {
+        this.poolType = poolType;
+    }
 }
@@ -80,6 +80,13 @@ public class ChoiceProcessor extends ServiceSupport implements AsyncProcessor, N
                 return filter.processNext(exchange, callback);
             }
         }
+        return processOtherwise(exchange, callback);
+    }
+
+    /**
+     * Processes the exchange using the otherwise clause, as none of the when clauses matched
+     */
+    protected boolean processOtherwise(Exchange exchange, AsyncCallback callback) {
         if (otherwise != null) {
             return AsyncProcessorHelper.process(otherwise, exchange, callback);
         } else {
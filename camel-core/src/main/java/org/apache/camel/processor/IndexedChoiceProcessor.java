@@ -0,0 +1,237 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.BinaryPredicate;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+import org.apache.camel.Processor;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.builder.ConstantExpression;
+import org.apache.camel.builder.ExpressionBuilder;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A Choice structure where every <tt>when</tt> predicate is an equality test of the same expression
+ * against a constant value, such as <tt>header("type").isEqualTo("order")</tt>.
+ * <p/>
+ * Instead of evaluating the predicates one by one, the expression is evaluated once and the matching
+ * <tt>when</tt> is looked up in a hash index of the constant values. When the value is of another type
+ * than the constants, the value is type coerced against the constants in order, as the predicates would do,
+ * so the first matching <tt>when</tt> is used just as with the {@link ChoiceProcessor}.
+ * Use {@link #isIndexable(java.util.List)} to check whether a Choice can be indexed.
+ *
+ * @version 
+ */
+public class IndexedChoiceProcessor extends ChoiceProcessor {
+    /**
+     * The minimum number of <tt>when</tt> clauses before its worth to index the Choice
+     */
+    public static final int MINIMUM_WHEN_CLAUSES = 4;
+
+    private static final transient Logger LOG = LoggerFactory.getLogger(IndexedChoiceProcessor.class);
+    /**
+     * The header, property and simple expressions, which is the same when their text is the same
+     */
+    private static final Set<Class<?>> IDENTITY_EXPRESSIONS = new HashSet<Class<?>>(Arrays.<Class<?>>asList(
+            ExpressionBuilder.headerExpression("").getClass(),
+            ExpressionBuilder.propertyExpression("").getClass(),
+            ExpressionBuilder.simpleExpression("").getClass()));
+    private final Expression expression;
+    private final Object[] constants;
+    private final Map<Object, Integer> index = new HashMap<Object, Integer>();
+    private final Map<Class<?>, Boolean> indexedTypes = new ConcurrentHashMap<Class<?>, Boolean>();
+    private final AtomicLong indexedLookups = new AtomicLong();
+    private final AtomicLong coercedLookups = new AtomicLong();
+    private int nullIndex = -1;
+
+    public IndexedChoiceProcessor(List<FilterProcessor> filters, Processor otherwise) {
+        super(filters, otherwise);
+        if (!isIndexable(filters)) {
+            throw new IllegalArgumentException("The when clauses must be equality tests of the same expression against constant values");
+        }
+
+        this.expression = ((BinaryPredicate) filters.get(0).getPredicate()).getLeft();
+        this.constants = new Object[filters.size()];
+        for (int i = 0; i < filters.size(); i++) {
+            BinaryPredicate predicate = (BinaryPredicate) filters.get(i).getPredicate();
+            Object value = ((ConstantExpression) predicate.getRight()).getValue();
+            constants[i] = value;
+            if (value == null) {
+                if (nullIndex < 0) {
+                    nullIndex = i;
+                }
+            } else if (!index.containsKey(value)) {
+                // only keep the first as that is the when clause which would match
+                index.put(value, i);
+            }
+        }
+    }
+
+    /**
+     * Whether the given <tt>when</tt> clauses can be indexed, which requires that every predicate is an
+     * equality test of the same expression against a constant value, and that there is at least
+     * {@link #MINIMUM_WHEN_CLAUSES} clauses.
+     * <p/>
+     * As the expressions is not the same instances, only header, property and simple expressions with the
+     * same text is known to be the same expression. Any other expressions is evaluated one by one.
+     */
+    public static boolean isIndexable(List<FilterProcessor> filters) {
+        if (filters == null || filters.size() < MINIMUM_WHEN_CLAUSES) {
+            return false;
+        }
+
+        Expression left = null;
+        for (FilterProcessor filter : filters) {
+            Predicate predicate = filter.getPredicate();
+            if (!(predicate instanceof BinaryPredicate)) {
+                return false;
+            }
+            BinaryPredicate binary = (BinaryPredicate) predicate;
+            if (!"==".equals(binary.getOperator()) || !(binary.getRight() instanceof ConstantExpression)) {
+                return false;
+            }
+            Object value = ((ConstantExpression) binary.getRight()).getValue();
+            if (value != null && value.getClass().isArray()) {
+                // arrays do not have equals and hashCode based on their content
+                return false;
+            }
+
+            // the expressions is not the same instances so compare them by their type and text
+            if (!IDENTITY_EXPRESSIONS.contains(binary.getLeft().getClass())) {
+                return false;
+            }
+            if (left == null) {
+                left = binary.getLeft();
+            } else if (left.getClass() != binary.getLeft().getClass()
+                    || !ObjectHelper.equal(left.toString(), binary.getLeft().toString())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        int match;
+        try {
+            // ensure we handle exceptions thrown when evaluating the expression
+            Object value = expression.evaluate(exchange, Object.class);
+            match = lookup(exchange, value);
+
+            if (LOG.isDebugEnabled()) {
+                LOG.debug(expression + " with value: " + value + " matches when: #" + match + " for: " + exchange);
+            }
+        } catch (Throwable e) {
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+
+        if (match >= 0) {
+            // process next will also take care (has not null test) if next was a stop().
+            return getFilters().get(match).processNext(exchange, callback);
+        }
+        return processOtherwise(exchange, callback);
+    }
+
+    /**
+     * Gets the expression which is evaluated to lookup the <tt>when</tt> clause
+     */
+    public Expression getExpression() {
+        return expression;
+    }
+
+    /**
+     * Gets the number of distinct constant values in the index
+     */
+    public int getIndexSize() {
+        return index.size() + (nullIndex >= 0 ? 1 : 0);
+    }
+
+    /**
+     * Gets the number of lookups which used the index
+     */
+    public long getIndexedLookups() {
+        return indexedLookups.get();
+    }
+
+    /**
+     * Gets the number of lookups where the value had to be type coerced against the constants
+     * as the value was of another type
+     */
+    public long getCoercedLookups() {
+        return coercedLookups.get();
+    }
+
+    public void reset() {
+        indexedLookups.set(0);
+        coercedLookups.set(0);
+    }
+
+    private int lookup(Exchange exchange, Object value) {
+        if (value == null) {
+            indexedLookups.incrementAndGet();
+            return nullIndex;
+        }
+
+        if (isIndexedType(value.getClass())) {
+            // the constants is of the same type so they can only be equal using equals
+            indexedLookups.incrementAndGet();
+            Integer answer = index.get(value);
+            return answer != null ? answer : -1;
+        }
+
+        // type coerce as the equality predicates would do
+        coercedLookups.incrementAndGet();
+        TypeConverter converter = exchange.getContext().getTypeConverter();
+        for (int i = 0; i < constants.length; i++) {
+            if (constants[i] != null && ObjectHelper.typeCoerceEquals(converter, value, constants[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isIndexedType(Class<?> type) {
+        Boolean answer = indexedTypes.get(type);
+        if (answer == null) {
+            answer = Boolean.TRUE;
+            for (Object constant : index.keySet()) {
+                if (!type.isInstance(constant)) {
+                    answer = Boolean.FALSE;
+                    break;
+                }
+            }
+            indexedTypes.put(type, answer);
+        }
+        return answer;
+    }
+}
@@ -20,6 +20,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
@@ -44,12 +45,23 @@ import org.apache.camel.util.ServiceHelper;
  * <p/>
  * This implementation should contain all the error handling logic and the sub classes
  * should only configure it according to what they support.
+ * <p/>
+ * When {@link RedeliveryPolicy#isAsyncDelayedRedelivery()} is enabled, delayed redeliveries do not block
+ * the thread which processes the exchange. Instead the exchange is parked and a task is scheduled on a
+ * scheduled thread pool shared by all the error handlers, which continues routing the exchange when the
+ * delay is up. The number of exchanges parked is available from {@link #getPendingRedeliveryCount()}.
+ * <p/>
+ * <b>Ordering:</b> with asynchronous delayed redelivery a failed exchange no longer holds back the
+ * exchanges after it, which means exchanges can complete in a different order than they were consumed.
+ * Routes which must preserve ordering should use synchronous delayed redelivery (the default), which
+ * blocks the consumer while waiting. Transacted exchanges always use synchronous delayed redelivery.
  *
  * @version 
  */
 public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport implements AsyncProcessor {
 
     private static ScheduledExecutorService executorService;
+    private final AtomicInteger pendingRedeliveryCount = new AtomicInteger();
     protected final CamelContext camelContext;
     protected final Processor deadLetter;
     protected final String deadLetterUri;
@@ -101,6 +113,9 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
         }
 
         public Boolean call() throws Exception {
+            // the exchange is no longer parked
+            pendingRedeliveryCount.decrementAndGet();
+
             // prepare for redelivery
             prepareExchangeForRedelivery(exchange);
 
@@ -265,7 +280,7 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
                         if (log.isTraceEnabled()) {
                             log.trace("Scheduling redelivery task to run in " + data.redeliveryDelay + " millis for exchangeId: " + exchange.getExchangeId());
                         }
-                        executorService.schedule(task, data.redeliveryDelay, TimeUnit.MILLISECONDS);
+                        scheduleRedeliveryTask(task, data.redeliveryDelay);
 
                         return false;
                     } else {
@@ -384,11 +399,26 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
                 if (log.isTraceEnabled()) {
                     log.trace("Scheduling redelivery task to run in " + data.redeliveryDelay + " millis for exchangeId: " + exchange.getExchangeId());
                 }
-                executorService.schedule(task, data.redeliveryDelay, TimeUnit.MILLISECONDS);
+            }
+            scheduleRedeliveryTask(task, data.redeliveryDelay);
+        }
+    }
+
+    /**
+     * Parks the exchange by scheduling the redelivery task to run after the given delay,
+     * or to run immediately if there is no delay.
+     */
+    private void scheduleRedeliveryTask(AsyncRedeliveryTask task, long delay) {
+        pendingRedeliveryCount.incrementAndGet();
+        try {
+            if (delay > 0) {
+                executorService.schedule(task, delay, TimeUnit.MILLISECONDS);
             } else {
-                // execute the task immediately
                 executorService.submit(task);
             }
+        } catch (RejectedExecutionException e) {
+            pendingRedeliveryCount.decrementAndGet();
+            throw e;
         }
     }
 
@@ -472,6 +502,13 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
         return logger;
     }
 
+    /**
+     * Gets the number of exchanges which are currently parked waiting for an asynchronous delayed redelivery
+     */
+    public int getPendingRedeliveryCount() {
+        return pendingRedeliveryCount.get();
+    }
+
     protected void prepareExchangeForContinue(Exchange exchange, RedeliveryData data) {
         Exception caught = exchange.getException();
 
@@ -636,6 +636,9 @@ public class RedeliveryPolicy implements Cloneable, Serializable {
      * <p/>
      * Exchange which is transacted will however always use synchronous delayed redelivery
      * because the transaction must execute in the same thread context.
+     * <p/>
+     * Notice that exchanges waiting for a delayed redelivery do not hold back the exchanges
+     * consumed after them, so exchanges may complete out of order when enabled.
      *
      * @param asyncDelayedRedelivery whether asynchronous delayed redelivery is allowed
      */
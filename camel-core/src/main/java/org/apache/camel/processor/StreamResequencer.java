@@ -19,6 +19,7 @@ package org.apache.camel.processor;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -53,6 +54,9 @@ import org.apache.camel.util.ServiceHelper;
  * Instances of this class poll for {@link Exchange}s from a given
  * <code>endpoint</code>. Resequencing work and the delivery of messages to
  * the next <code>processor</code> is done within the single polling thread.
+ * Threads calling {@link #process(Exchange)} only hand over the exchange to
+ * the {@link ResequencerEngine} and are not blocked by an ongoing delivery,
+ * unless the <code>capacity</code> is reached.
  * 
  * @version 
  * 
@@ -144,6 +148,9 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
     protected void doStart() throws Exception {
         ServiceHelper.startServices(processor);
         delivery = new Delivery();
+        if (capacity > 0) {
+            engine.setWindowSize(capacity);
+        }
         engine.start();
         delivery.start();
     }
@@ -190,6 +197,7 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
 
         private Lock deliveryRequestLock = new ReentrantLock();
         private Condition deliveryRequestCondition = deliveryRequestLock.newCondition();
+        private AtomicBoolean deliveryRequested = new AtomicBoolean();
         
         public Delivery() {
             super(camelContext.getExecutorServiceStrategy().getThreadName("Resequencer Delivery"));
@@ -201,13 +209,17 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
                 try {
                     deliveryRequestLock.lock();
                     try {
-                        deliveryRequestCondition.await(DELIVERY_ATTEMPT_INTERVAL, TimeUnit.MILLISECONDS);
+                        if (!deliveryRequested.get()) {
+                            deliveryRequestCondition.await(DELIVERY_ATTEMPT_INTERVAL, TimeUnit.MILLISECONDS);
+                        }
                     } finally {
                         deliveryRequestLock.unlock();
                     }
                 } catch (InterruptedException e) {
                     break;
                 }
+                // reset before delivering so exchanges inserted from now on request another delivery
+                deliveryRequested.set(false);
                 try {
                     engine.deliver();
                 } catch (Throwable t) {
@@ -222,6 +234,10 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
         }
         
         public void request() {
+            if (!deliveryRequested.compareAndSet(false, true)) {
+                // a delivery has already been requested and will pick up the exchange
+                return;
+            }
             deliveryRequestLock.lock();
             try {
                 deliveryRequestCondition.signal();
@@ -0,0 +1,316 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.idempotent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.impl.ServiceSupport;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.util.ConcurrentLRUCache;
+import org.apache.camel.util.CountingBloomFilter;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/**
+ * A memory based implementation of {@link org.apache.camel.spi.IdempotentRepository}
+ * for high concurrency.
+ * <p/>
+ * Unlike {@link MemoryIdempotentRepository} there is no single lock around the cache. The keys
+ * are stored in a bounded {@link ConcurrentLRUCache} which is split into segments with a lock each.
+ * Keys can optionally expire after a time to live, and an optional {@link CountingBloomFilter}
+ * in front of the cache answers lookups of keys which have definitely not been seen before
+ * without touching the cache at all.
+ *
+ * @version 
+ */
+@ManagedResource("ConcurrentMemoryIdempotentRepository")
+public class ConcurrentMemoryIdempotentRepository extends ServiceSupport implements IdempotentRepository<String> {
+    private static final Long NEVER_EXPIRES = 0L;
+
+    private volatile ConcurrentLRUCache<String, Long> cache;
+    private volatile CountingBloomFilter filter;
+    private int cacheSize = 1000;
+    private int concurrencyLevel = ConcurrentLRUCache.DEFAULT_CONCURRENCY_LEVEL;
+    private long timeToLive;
+    private boolean bloomFilter;
+    private double falsePositiveProbability = 0.01;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong filterHits = new AtomicLong();
+
+    public ConcurrentMemoryIdempotentRepository() {
+    }
+
+    public ConcurrentMemoryIdempotentRepository(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Creates a new concurrent memory based repository with a default of 1000 entries in the cache.
+     */
+    public static IdempotentRepository<String> concurrentMemoryIdempotentRepository() {
+        return new ConcurrentMemoryIdempotentRepository();
+    }
+
+    /**
+     * Creates a new concurrent memory based repository.
+     *
+     * @param cacheSize  the cache size
+     */
+    public static IdempotentRepository<String> concurrentMemoryIdempotentRepository(int cacheSize) {
+        return new ConcurrentMemoryIdempotentRepository(cacheSize);
+    }
+
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        ConcurrentLRUCache<String, Long> cache = getCache();
+        CountingBloomFilter filter = this.filter;
+        long now = timeToLive > 0 ? System.currentTimeMillis() : 0;
+        Long expires = timeToLive > 0 ? now + timeToLive : NEVER_EXPIRES;
+
+        if (filter != null) {
+            // add to the filter before the cache so the filter never misses a key in the cache
+            filter.add(key);
+        }
+
+        while (true) {
+            Long existing = cache.putIfAbsent(key, expires);
+            if (existing == null) {
+                misses.incrementAndGet();
+                return true;
+            }
+            if (!isExpired(existing, now)) {
+                if (filter != null) {
+                    // the key was already counted by the filter
+                    filter.remove(key);
+                }
+                hits.incrementAndGet();
+                return false;
+            }
+            // the existing key has expired so replace it
+            if (cache.remove(key, existing) && filter != null) {
+                filter.remove(key);
+            }
+        }
+    }
+
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        ConcurrentLRUCache<String, Long> cache = getCache();
+        CountingBloomFilter filter = this.filter;
+        if (filter != null && !filter.mightContain(key)) {
+            filterHits.incrementAndGet();
+            misses.incrementAndGet();
+            return false;
+        }
+
+        Long expires = cache.get(key);
+        if (expires == null) {
+            misses.incrementAndGet();
+            return false;
+        }
+        if (isExpired(expires, timeToLive > 0 ? System.currentTimeMillis() : 0)) {
+            if (cache.remove(key, expires) && filter != null) {
+                filter.remove(key);
+            }
+            misses.incrementAndGet();
+            return false;
+        }
+        hits.incrementAndGet();
+        return true;
+    }
+
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        ConcurrentLRUCache<String, Long> cache = getCache();
+        if (cache.remove(key) != null) {
+            if (filter != null) {
+                filter.remove(key);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    public boolean confirm(String key) {
+        // noop
+        return true;
+    }
+
+    @ManagedOperation(description = "Clear the store")
+    public void clear() {
+        getCache().clear();
+        if (filter != null) {
+            filter.clear();
+        }
+    }
+
+    @ManagedOperation(description = "Reset the statistics")
+    public void resetStatistics() {
+        hits.set(0);
+        misses.set(0);
+        filterHits.set(0);
+    }
+
+    @ManagedAttribute(description = "The current cache size")
+    public int getCacheSize() {
+        return getCache().size();
+    }
+
+    /**
+     * Sets the maximum number of keys in the cache. Must be set before the repository is used.
+     */
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    @ManagedAttribute(description = "The maximum cache size")
+    public int getMaximumCacheSize() {
+        return cacheSize;
+    }
+
+    public int getConcurrencyLevel() {
+        return concurrencyLevel;
+    }
+
+    /**
+     * Sets the estimated number of concurrent threads, which determines the number of segments
+     * of the cache. Must be set before the repository is used.
+     */
+    public void setConcurrencyLevel(int concurrencyLevel) {
+        this.concurrencyLevel = concurrencyLevel;
+    }
+
+    @ManagedAttribute(description = "Time to live in millis for keys, 0 if keys never expire")
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Sets the time to live in millis for keys. Expired keys are no longer considered to be
+     * contained in the repository. Use 0 (default) for keys to never expire.
+     */
+    @ManagedAttribute(description = "Time to live in millis for keys, 0 if keys never expire")
+    public void setTimeToLive(long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    @ManagedAttribute(description = "Whether a bloom filter is used in front of the cache")
+    public boolean isBloomFilter() {
+        return bloomFilter;
+    }
+
+    /**
+     * Sets whether to use a counting bloom filter in front of the cache. Must be set before the
+     * repository is used.
+     */
+    public void setBloomFilter(boolean bloomFilter) {
+        this.bloomFilter = bloomFilter;
+    }
+
+    public double getFalsePositiveProbability() {
+        return falsePositiveProbability;
+    }
+
+    /**
+     * Sets the false positive probability the bloom filter is sized for when the cache is full.
+     * Must be set before the repository is used.
+     */
+    public void setFalsePositiveProbability(double falsePositiveProbability) {
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    @ManagedAttribute(description = "Number of lookups which found the key")
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    @ManagedAttribute(description = "Number of lookups which did not find the key")
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    @ManagedAttribute(description = "Ratio of lookups which found the key")
+    public double getHitRatio() {
+        long hit = hits.get();
+        long total = hit + misses.get();
+        return total > 0 ? (double) hit / total : 0;
+    }
+
+    @ManagedAttribute(description = "Number of counters in the bloom filter")
+    public int getBloomFilterSize() {
+        CountingBloomFilter filter = this.filter;
+        return filter != null ? filter.getSize() : 0;
+    }
+
+    @ManagedAttribute(description = "Number of lookups answered by the bloom filter without using the cache")
+    public long getBloomFilterHitCount() {
+        return filterHits.get();
+    }
+
+    @ManagedAttribute(description = "Ratio of lookups answered by the bloom filter without using the cache")
+    public double getBloomFilterHitRatio() {
+        long total = hits.get() + misses.get();
+        return total > 0 ? (double) filterHits.get() / total : 0;
+    }
+
+    @ManagedAttribute(description = "Estimated false positive probability of the bloom filter at the current cache size")
+    public double getBloomFilterFalsePositiveProbability() {
+        CountingBloomFilter filter = this.filter;
+        return filter != null ? filter.getFalsePositiveProbability(getCacheSize()) : 0;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        getCache();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        clear();
+    }
+
+    private static boolean isExpired(Long expires, long now) {
+        return expires.longValue() != 0 && expires.longValue() <= now;
+    }
+
+    private ConcurrentLRUCache<String, Long> getCache() {
+        ConcurrentLRUCache<String, Long> answer = cache;
+        if (answer == null) {
+            synchronized (this) {
+                answer = cache;
+                if (answer == null) {
+                    if (bloomFilter) {
+                        filter = new CountingBloomFilter(cacheSize, falsePositiveProbability);
+                    }
+                    answer = new ConcurrentLRUCache<String, Long>(cacheSize, concurrencyLevel) {
+                        @Override
+                        protected void onEviction(String key, Long value) {
+                            CountingBloomFilter filter = ConcurrentMemoryIdempotentRepository.this.filter;
+                            if (filter != null) {
+                                filter.remove(key);
+                            }
+                        }
+                    };
+                    cache = answer;
+                }
+            }
+        }
+        return answer;
+    }
+}
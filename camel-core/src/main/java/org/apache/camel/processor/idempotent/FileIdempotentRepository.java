@@ -17,17 +17,28 @@
 package org.apache.camel.processor.idempotent;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.camel.impl.ServiceSupport;
 import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.LRUCache;
 import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.concurrent.ExecutorServiceHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,6 +49,13 @@ import org.springframework.jmx.export.annotation.ManagedResource;
 /**
  * A file based implementation of {@link org.apache.camel.spi.IdempotentRepository}.
  * <p/>
+ * The file store is an append-only log. Added keys are appended as a line each, and removed keys
+ * (including keys evicted from the default {@link LRUCache}) are appended as tombstone lines, so
+ * the file is never rewritten while adding or removing keys. Concurrent appends are group committed,
+ * i.e. the thread holding the file writes all records pending at that time with a single write.
+ * When the file store grows beyond <tt>maxFileStoreSize</tt> it is compacted in the background,
+ * by writing the keys of the 1st level cache to a new file which then replaces the log.
+ * <p/>
  * Care should be taken to use a suitable underlying {@link java.util.Map} to avoid this class being a
  * memory leak.
  *
@@ -47,14 +65,35 @@ import org.springframework.jmx.export.annotation.ManagedResource;
 public class FileIdempotentRepository extends ServiceSupport implements IdempotentRepository<String> {
     private static final transient Logger LOG = LoggerFactory.getLogger(FileIdempotentRepository.class);
     private static final String STORE_DELIMITER = "\n";
+    // lines starting with the escape char are followed by the operation char and the key
+    private static final char ESCAPE = '\u0000';
+    private static final char ADD = '+';
+    private static final char REMOVE = '-';
+    private static final int BUFFER_SIZE = 64 * 1024;
     private Map<String, Object> cache;
     private File fileStore;
     private long maxFileStoreSize = 1024 * 1000L; // 1mb store file
     private AtomicBoolean init = new AtomicBoolean();
+    // whether the cache is being loaded from the file store, guarded by the cache
+    private boolean loading;
+    // records to be appended, guarded by the pendingLock
+    private final Object pendingLock = new Object();
+    private List<String> pending = new ArrayList<String>();
+    private long enqueued;
+    // the appended records and the file store, guarded by the writeLock
+    private final Lock writeLock = new ReentrantLock();
+    private volatile long written;
+    private FileChannel channel;
+    private volatile long fileStoreSize;
+    private long compactionThreshold;
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    // only one compaction at a time, whether from the background, compact, reset or stop
+    private final Lock compactionLock = new ReentrantLock();
+    private ExecutorService compactionExecutor;
 
     public FileIdempotentRepository() {
         // default use a 1st level cache 
-        this.cache = new LRUCache<String, Object>(1000);
+        this.cache = new EvictionLoggingLRUCache(1000);
     }
 
     public FileIdempotentRepository(File fileStore, Map<String, Object> set) {
@@ -62,6 +101,11 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
         this.cache = set;
     }
 
+    private FileIdempotentRepository(File fileStore, int cacheSize) {
+        this.fileStore = fileStore;
+        this.cache = new EvictionLoggingLRUCache(cacheSize);
+    }
+
     /**
      * Creates a new file based repository using a {@link org.apache.camel.util.LRUCache}
      * as 1st level cache with a default of 1000 entries in the cache.
@@ -80,7 +124,7 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
      * @param cacheSize  the cache size
      */
     public static IdempotentRepository<String> fileIdempotentRepository(File fileStore, int cacheSize) {
-        return fileIdempotentRepository(fileStore, new LRUCache<String, Object>(cacheSize));
+        return new FileIdempotentRepository(fileStore, cacheSize);
     }
 
     /**
@@ -92,7 +136,7 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
      * @param maxFileStoreSize  the max size in bytes for the filestore file 
      */
     public static IdempotentRepository<String> fileIdempotentRepository(File fileStore, int cacheSize, long maxFileStoreSize) {
-        FileIdempotentRepository repository = new FileIdempotentRepository(fileStore, new LRUCache<String, Object>(cacheSize));
+        FileIdempotentRepository repository = new FileIdempotentRepository(fileStore, cacheSize);
         repository.setMaxFileStoreSize(maxFileStoreSize);
         return repository;
     }
@@ -102,7 +146,8 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
      * as 1st level cache.
      * <p/>
      * Care should be taken to use a suitable underlying {@link java.util.Map} to avoid this class being a
-     * memory leak.
+     * memory leak. Keys evicted from the given map are not logged as removed, they are removed
+     * from the file store when it is compacted.
      *
      * @param store  the file store
      * @param cache  the cache to use as 1st level cache
@@ -113,22 +158,17 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
 
     @ManagedOperation(description = "Adds the key to the store")
     public boolean add(String key) {
+        long seq;
         synchronized (cache) {
             if (cache.containsKey(key)) {
                 return false;
-            } else {
-                cache.put(key, key);
-                if (fileStore.length() < maxFileStoreSize) {
-                    // just append to store
-                    appendToStore(key);
-                } else {
-                    // trunk store and flush the cache
-                    trunkStore();
-                }
-
-                return true;
             }
+            seq = enqueue(addRecord(key));
+            cache.put(key, key);
         }
+        // write to the file store outside the cache lock
+        commit(seq);
+        return true;
     }
 
     @ManagedOperation(description = "Does the store contain the given key")
@@ -141,11 +181,13 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
     @ManagedOperation(description = "Remove the key from the store")
     public boolean remove(String key) {
         boolean answer;
+        long seq;
         synchronized (cache) {
             answer = cache.remove(key) != null;
-            // trunk store and flush the cache on remove
-            trunkStore();
+            // always log the removal as the key may still be in the file store
+            seq = enqueue(removeRecord(key));
         }
+        commit(seq);
         return answer;
     }
 
@@ -182,6 +224,7 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
 
     /**
      * Sets the maximum file size for the file store in bytes.
+     * When the file store grows beyond this size it is compacted in the background.
      * <p/>
      * The default is 1mb.
      */
@@ -190,6 +233,11 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
         this.maxFileStoreSize = maxFileStoreSize;
     }
 
+    @ManagedAttribute(description = "The current file size of the file store in bytes")
+    public long getFileStoreSize() {
+        return fileStoreSize;
+    }
+
     /**
      * Sets the cache size
      */
@@ -197,7 +245,7 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
         if (cache != null) {
             cache.clear();
         }
-        cache = new LRUCache<String, Object>(size);
+        cache = new EvictionLoggingLRUCache(size);
     }
 
     @ManagedAttribute(description = "The current cache size")
@@ -213,59 +261,121 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
      */
     @ManagedOperation(description = "Reset and reloads the file store")
     public synchronized void reset() {
-        synchronized (cache) {
-            // trunk and clear, before we reload the store
-            trunkStore();
-            cache.clear();
-            loadStore();
+        // take the compaction lock before the cache lock as that is the order a background compaction uses
+        compactionLock.lock();
+        try {
+            // keys cannot be added or removed until the store has been reloaded, and trunking
+            // writes the pending records under the write lock, so no keys added before the reset are lost
+            synchronized (cache) {
+                doTrunkStore();
+                cache.clear();
+                loadStore();
+            }
+        } finally {
+            compactionLock.unlock();
         }
     }
 
+    /**
+     * Compacts the file store by rewriting it with the keys from the 1st level cache
+     */
+    @ManagedOperation(description = "Compacts the file store")
+    public void compact() {
+        trunkStore();
+    }
+
     /**
      * Appends the given message id to the file store
      *
      * @param messageId  the message id
      */
     protected void appendToStore(final String messageId) {
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("Appending " + messageId + " to idempotent filestore: " + fileStore);
-        }
-        FileOutputStream fos = null;
-        try {
-            // create store if missing
-            if (!fileStore.exists()) {
-                fileStore.createNewFile();
-            }
-            // append to store
-            fos = new FileOutputStream(fileStore, true);
-            fos.write(messageId.getBytes());
-            fos.write(STORE_DELIMITER.getBytes());
-        } catch (IOException e) {
-            throw ObjectHelper.wrapRuntimeCamelException(e);
-        } finally {
-            IOHelper.close(fos, "Appending to file idempotent repository", LOG);
-        }
+        commit(enqueue(addRecord(messageId)));
     }
 
     /**
-     * Trunks the file store when the max store size is hit by rewriting the 1st level cache
-     * to the file store.
+     * Trunks the file store by rewriting the 1st level cache to the file store.
+     * <p/>
+     * Adding and removing keys is only blocked while the records appended during the rewrite
+     * are copied to the new file store. Concurrent calls are serialized as they share the same
+     * temporary file.
      */
     protected void trunkStore() {
+        compactionLock.lock();
+        try {
+            doTrunkStore();
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    private void doTrunkStore() {
         if (LOG.isInfoEnabled()) {
             LOG.info("Trunking idempotent filestore: " + fileStore);
         }
+
+        File compacted = new File(fileStore.getPath() + ".compact");
         FileOutputStream fos = null;
         try {
-            fos = new FileOutputStream(fileStore);
-            for (String key : cache.keySet()) {
-                fos.write(key.getBytes());
-                fos.write(STORE_DELIMITER.getBytes());
+            // all records written from this position on are copied to the compacted store after it has
+            // been written, adding and removing keys is idempotent so it does not matter if some of
+            // these records are already reflected by the keys from the cache
+            long tailPosition;
+            writeLock.lock();
+            try {
+                if (channel == null) {
+                    openChannel();
+                }
+                flushPending();
+                tailPosition = fileStoreSize;
+            } finally {
+                writeLock.unlock();
+            }
+
+            List<String> keys;
+            synchronized (cache) {
+                keys = new ArrayList<String>(cache.keySet());
+            }
+
+            fos = new FileOutputStream(compacted);
+            FileChannel out = fos.getChannel();
+            List<String> records = new ArrayList<String>(keys.size());
+            for (String key : keys) {
+                records.add(addRecord(key));
+            }
+            long snapshotSize = writeRecords(out, records);
+
+            writeLock.lock();
+            try {
+                flushPending();
+                long size = channel.size();
+                long position = tailPosition;
+                while (position < size) {
+                    position += channel.transferTo(position, size - position, out);
+                }
+                closeChannel();
+                out.force(false);
+                IOHelper.close(fos, "Trunking file idempotent repository", LOG);
+
+                if (FileUtil.isWindows()) {
+                    FileUtil.deleteFile(fileStore);
+                }
+                if (!FileUtil.renameFile(compacted, fileStore)) {
+                    throw new IOException("Cannot rename " + compacted + " to " + fileStore);
+                }
+                openChannel();
+                // do not compact again until the store has grown considerably
+                compactionThreshold = Math.max(maxFileStoreSize, snapshotSize * 2);
+            } finally {
+                writeLock.unlock();
             }
         } catch (IOException e) {
             throw ObjectHelper.wrapRuntimeCamelException(e);
         } finally {
             IOHelper.close(fos, "Trunking file idempotent repository", LOG);
+            if (compacted.exists()) {
+                FileUtil.deleteFile(compacted);
+            }
         }
     }
 
@@ -281,20 +391,42 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
             return;
         }
 
-        cache.clear();
-        Scanner scanner = null;
-        try {
-            scanner = new Scanner(fileStore);
-            scanner.useDelimiter(STORE_DELIMITER);
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                cache.put(line, line);
-            }
-        } catch (IOException e) {
-            throw ObjectHelper.wrapRuntimeCamelException(e);
-        } finally {
-            if (scanner != null) {
-                scanner.close();
+        FileInputStream fis = null;
+        synchronized (cache) {
+            cache.clear();
+            loading = true;
+            try {
+                // read the store sequentially in large chunks and split it into lines ourselves
+                fis = new FileInputStream(fileStore);
+                FileChannel in = fis.getChannel();
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                byte[] line = new byte[256];
+                int length = 0;
+                while (in.read(buffer) != -1) {
+                    byte[] data = buffer.array();
+                    int limit = buffer.position();
+                    for (int i = 0; i < limit; i++) {
+                        byte b = data[i];
+                        if (b == '\n') {
+                            loadRecord(line, length);
+                            length = 0;
+                        } else {
+                            if (length == line.length) {
+                                byte[] larger = new byte[length * 2];
+                                System.arraycopy(line, 0, larger, 0, length);
+                                line = larger;
+                            }
+                            line[length++] = b;
+                        }
+                    }
+                    buffer.clear();
+                }
+                loadRecord(line, length);
+            } catch (IOException e) {
+                throw ObjectHelper.wrapRuntimeCamelException(e);
+            } finally {
+                loading = false;
+                IOHelper.close(fis, "Loading file idempotent repository", LOG);
             }
         }
 
@@ -313,10 +445,205 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
 
     @Override
     protected void doStop() throws Exception {
+        // let any background compaction complete before we trunk the store
+        ExecutorService executor;
+        writeLock.lock();
+        try {
+            executor = compactionExecutor;
+            compactionExecutor = null;
+        } finally {
+            writeLock.unlock();
+        }
+        if (executor != null) {
+            executor.shutdown();
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        }
+
         // reset will trunk and clear the cache
         trunkStore();
+        writeLock.lock();
+        try {
+            closeChannel();
+        } finally {
+            writeLock.unlock();
+        }
         cache.clear();
         init.set(false);
     }
 
+    /**
+     * Adds the record to the records pending to be written. Must be called while holding the cache
+     * lock so records are written in the same order as the cache is updated.
+     *
+     * @return the sequence number of the record
+     */
+    private long enqueue(String record) {
+        synchronized (pendingLock) {
+            pending.add(record);
+            return ++enqueued;
+        }
+    }
+
+    /**
+     * Waits until the record with the given sequence number has been written. If no other thread
+     * is writing, the calling thread writes all pending records.
+     */
+    private void commit(long seq) {
+        if (written >= seq) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            // another thread may have written our record as part of its batch
+            if (written < seq) {
+                flushPending();
+            }
+        } catch (IOException e) {
+            throw ObjectHelper.wrapRuntimeCamelException(e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Writes all pending records with a single write. Must be called while holding the write lock.
+     */
+    private void flushPending() throws IOException {
+        List<String> batch;
+        long upTo;
+        synchronized (pendingLock) {
+            batch = pending;
+            upTo = enqueued;
+            pending = new ArrayList<String>();
+        }
+        if (!batch.isEmpty()) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Appending " + batch.size() + " records to idempotent filestore: " + fileStore);
+            }
+            if (channel == null) {
+                openChannel();
+            }
+            fileStoreSize += writeRecords(channel, batch);
+        }
+        written = upTo;
+
+        compactIfNeeded();
+    }
+
+    /**
+     * Schedules a background compaction if the file store has grown beyond the threshold.
+     * Must be called while holding the write lock.
+     */
+    private void compactIfNeeded() {
+        if (fileStoreSize <= compactionThreshold || isStopping() || !compacting.compareAndSet(false, true)) {
+            return;
+        }
+        if (compactionExecutor == null) {
+            compactionExecutor = ExecutorServiceHelper.newSingleThreadExecutor(ExecutorServiceHelper.DEFAULT_PATTERN,
+                    "FileIdempotentRepository Compaction", true);
+        }
+        compactionExecutor.submit(new Runnable() {
+            public void run() {
+                try {
+                    trunkStore();
+                } catch (Throwable e) {
+                    LOG.warn("Error compacting idempotent filestore: " + fileStore + ". This exception will be ignored.", e);
+                } finally {
+                    compacting.set(false);
+                }
+                // records appended while compacting may have grown the store beyond the threshold again
+                writeLock.lock();
+                try {
+                    if (compactionExecutor != null) {
+                        compactIfNeeded();
+                    }
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+        });
+    }
+
+    private static int writeRecords(FileChannel channel, List<String> records) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (String record : records) {
+            sb.append(record).append(STORE_DELIMITER);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(sb.toString().getBytes());
+        int size = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return size;
+    }
+
+    private void openChannel() throws IOException {
+        // create store if missing, and append to it
+        channel = new RandomAccessFile(fileStore, "rw").getChannel();
+        fileStoreSize = channel.size();
+        channel.position(fileStoreSize);
+        if (compactionThreshold == 0) {
+            compactionThreshold = maxFileStoreSize;
+        }
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            IOHelper.close(channel, "Closing file idempotent repository", LOG);
+            channel = null;
+        }
+    }
+
+    private void loadRecord(byte[] line, int length) {
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        if (length == 0) {
+            return;
+        }
+        String record = new String(line, 0, length);
+        if (record.length() > 1 && record.charAt(0) == ESCAPE) {
+            String key = record.substring(2);
+            if (record.charAt(1) == REMOVE) {
+                cache.remove(key);
+            } else {
+                cache.put(key, key);
+            }
+        } else {
+            cache.put(record, record);
+        }
+    }
+
+    private static String addRecord(String key) {
+        if (key.length() > 0 && key.charAt(0) == ESCAPE) {
+            return "" + ESCAPE + ADD + key;
+        }
+        return key;
+    }
+
+    private static String removeRecord(String key) {
+        return "" + ESCAPE + REMOVE + key;
+    }
+
+    /**
+     * The default 1st level cache which logs evicted keys as removed
+     */
+    private final class EvictionLoggingLRUCache extends LRUCache<String, Object> {
+        private static final long serialVersionUID = -6937524871208123456L;
+
+        private EvictionLoggingLRUCache(int maximumCacheSize) {
+            super(maximumCacheSize);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Object> entry) {
+            boolean evict = super.removeEldestEntry(entry);
+            if (evict && !loading) {
+                // called while holding the cache lock as part of add
+                enqueue(removeRecord(entry.getKey()));
+            }
+            return evict;
+        }
+    }
+
 }
@@ -0,0 +1,152 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.interceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.Exchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes trace events in a background thread, so the formatting, logging and sending of the trace events
+ * to the trace destination do not happen on the routing threads.
+ * <p/>
+ * The trace events is kept in a bounded queue and trace events is dropped if the queue is full.
+ * The writer takes the trace events from the queue in batches.
+ *
+ * @version 
+ */
+public class AsyncTraceEventWriter implements Runnable {
+    private static final transient Logger LOG = LoggerFactory.getLogger(AsyncTraceEventWriter.class);
+    private final BlockingQueue<TraceEvent> queue;
+    private final int batchSize;
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong writtenEvents = new AtomicLong();
+    private volatile boolean running = true;
+
+    public AsyncTraceEventWriter(int queueSize, int batchSize) {
+        this.queue = new ArrayBlockingQueue<TraceEvent>(queueSize);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Adds the trace event to be written.
+     *
+     * @param interceptor the interceptor which traces the event
+     * @param exchange    the snapshot of the exchange
+     * @param out         whether its the trace out event
+     * @return <tt>false</tt> if the trace event was dropped because the queue is full
+     */
+    public boolean offer(TraceInterceptor interceptor, Exchange exchange, boolean out) {
+        if (running && queue.offer(new TraceEvent(interceptor, exchange, out))) {
+            return true;
+        }
+        droppedEvents.incrementAndGet();
+        return false;
+    }
+
+    public void run() {
+        List<TraceEvent> batch = new ArrayList<TraceEvent>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                TraceEvent event = queue.poll(1000, TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    continue;
+                }
+                batch.add(event);
+                queue.drainTo(batch, batchSize - 1);
+            } catch (InterruptedException e) {
+                LOG.debug("Interrupted while waiting for trace events, will stop writing trace events");
+                break;
+            }
+
+            write(batch);
+            batch.clear();
+        }
+        LOG.debug("Stopped writing trace events with {} trace events pending", queue.size());
+    }
+
+    /**
+     * Stops the writer after the pending trace events has been written.
+     */
+    public void stop() {
+        running = false;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Gets the number of trace events waiting to be written
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Gets the number of trace events which was dropped because the queue was full
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    /**
+     * Gets the number of trace events written
+     */
+    public long getWrittenEvents() {
+        return writtenEvents.get();
+    }
+
+    private void write(List<TraceEvent> batch) {
+        for (TraceEvent event : batch) {
+            try {
+                event.interceptor.logExchange(event.exchange);
+                if (event.out) {
+                    event.interceptor.traceExchangeOut(event.exchange, null);
+                } else {
+                    event.interceptor.traceExchange(event.exchange);
+                }
+            } catch (Throwable e) {
+                // log and ignore this as the original Exchange has already continued
+                LOG.warn("Error writing trace event: " + event.exchange + ". This exception will be ignored.", e);
+            }
+            writtenEvents.incrementAndGet();
+        }
+    }
+
+    /**
+     * A snapshot of an exchange to be traced by the given interceptor.
+     */
+    private static final class TraceEvent {
+        private final TraceInterceptor interceptor;
+        private final Exchange exchange;
+        private final boolean out;
+
+        private TraceEvent(TraceInterceptor interceptor, Exchange exchange, boolean out) {
+            this.interceptor = interceptor;
+            this.exchange = exchange;
+            this.out = out;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.interceptor;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.Processor;
+import org.apache.camel.RouteNode;
+import org.apache.camel.impl.DefaultTracedRouteNodes;
+import org.apache.camel.spi.RouteContext;
+import org.apache.camel.spi.Synchronization;
+import org.apache.camel.spi.TracedRouteNodes;
+import org.apache.camel.spi.UnitOfWork;
+
+/**
+ * A read only {@link UnitOfWork} used by the snapshots of the exchanges which are traced asynchronously.
+ * <p/>
+ * The traced route nodes are copied when the snapshot is taken, as the original {@link UnitOfWork}
+ * continues routing while the trace event is waiting to be written.
+ *
+ * @version 
+ */
+public class TraceEventUnitOfWork implements UnitOfWork {
+    private final String id;
+    private final Message originalInMessage;
+    private final RouteContext routeContext;
+    private final boolean transacted;
+    private final TracedRouteNodes tracedRouteNodes = new DefaultTracedRouteNodes();
+
+    public TraceEventUnitOfWork(UnitOfWork unitOfWork) {
+        this.id = unitOfWork.getId();
+        this.originalInMessage = unitOfWork.getOriginalInMessage();
+        this.routeContext = unitOfWork.getRouteContext();
+        this.transacted = unitOfWork.isTransacted();
+
+        // the trace formatters only need the last two nodes to know where the exchange is going from and to
+        TracedRouteNodes traced = unitOfWork.getTracedRouteNodes();
+        RouteNode from = traced.getSecondLastNode();
+        RouteNode to = traced.getLastNode();
+        if (from != null) {
+            tracedRouteNodes.addTraced(from);
+        }
+        if (to != null) {
+            tracedRouteNodes.addTraced(to);
+        }
+    }
+
+    public void start() throws Exception {
+        // noop
+    }
+
+    public void stop() throws Exception {
+        // noop
+    }
+
+    public void addSynchronization(Synchronization synchronization) {
+        // noop as the original exchange has already been completed or is still being routed
+    }
+
+    public void removeSynchronization(Synchronization synchronization) {
+        // noop
+    }
+
+    public void handoverSynchronization(Exchange target) {
+        // noop
+    }
+
+    public void done(Exchange exchange) {
+        // noop
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Message getOriginalInMessage() {
+        return originalInMessage;
+    }
+
+    public TracedRouteNodes getTracedRouteNodes() {
+        return tracedRouteNodes;
+    }
+
+    public boolean isTransacted() {
+        return transacted;
+    }
+
+    public boolean isTransactedBy(Object key) {
+        return false;
+    }
+
+    public void beginTransactedBy(Object key) {
+        // noop
+    }
+
+    public void endTransactedBy(Object key) {
+        // noop
+    }
+
+    public RouteContext getRouteContext() {
+        return routeContext;
+    }
+
+    public void pushRouteContext(RouteContext routeContext) {
+        // noop
+    }
+
+    public RouteContext popRouteContext() {
+        return routeContext;
+    }
+
+    public AsyncCallback beforeProcess(Processor processor, Exchange exchange, AsyncCallback callback) {
+        return callback;
+    }
+
+    public void afterProcess(Processor processor, Exchange exchange, AsyncCallback callback, boolean doneSync) {
+        // noop
+    }
+
+    @Override
+    public String toString() {
+        return "TraceEventUnitOfWork";
+    }
+}
@@ -25,6 +25,7 @@ import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.apache.camel.Producer;
+import org.apache.camel.StreamCache;
 import org.apache.camel.impl.AggregateRouteNode;
 import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.impl.DefaultRouteNode;
@@ -153,12 +154,16 @@ public class TraceInterceptor extends DelegateAsyncProcessor implements Exchange
             // log and trace the processor
             Object traceState = null;
             if (shouldLog && trace) {
-                logExchange(exchange);
-                // either call the in or generic trace method depending on OUT has been enabled or not
-                if (tracer.isTraceOutExchanges()) {
-                    traceState = traceExchangeIn(exchange);
+                if (isAsyncTrace(exchange)) {
+                    asyncTraceExchange(exchange, false);
                 } else {
-                    traceExchange(exchange);
+                    logExchange(exchange);
+                    // either call the in or generic trace method depending on OUT has been enabled or not
+                    if (tracer.isTraceOutExchanges()) {
+                        traceState = traceExchangeIn(exchange);
+                    } else {
+                        traceExchange(exchange);
+                    }
                 }
             }
 
@@ -178,8 +183,12 @@ public class TraceInterceptor extends DelegateAsyncProcessor implements Exchange
             } finally {
                 // after (trace out)
                 if (shouldLog && tracer.isTraceOutExchanges()) {
-                    logExchange(exchange);
-                    traceExchangeOut(exchange, traceState);
+                    if (isAsyncTrace(exchange)) {
+                        asyncTraceExchange(exchange, true);
+                    } else {
+                        logExchange(exchange);
+                        traceExchangeOut(exchange, traceState);
+                    }
                 }
             }
         } catch (Throwable e) {
@@ -206,8 +215,7 @@ public class TraceInterceptor extends DelegateAsyncProcessor implements Exchange
         }
         traced.addTraced(new OnExceptionRouteNode());
         // log and trace so we have the from -> onException event as well
-        logExchange(exchange);
-        traceExchange(exchange);
+        logAndTraceExchange(exchange);
         traced.addTraced(new DefaultRouteNode(node, super.getProcessor()));
     }
 
@@ -217,8 +225,7 @@ public class TraceInterceptor extends DelegateAsyncProcessor implements Exchange
         }
         traced.addTraced(new DoCatchRouteNode());
         // log and trace so we have the from -> doCatch event as well
-        logExchange(exchange);
-        traceExchange(exchange);
+        logAndTraceExchange(exchange);
         traced.addTraced(new DefaultRouteNode(node, super.getProcessor()));
     }
 
@@ -228,8 +235,7 @@ public class TraceInterceptor extends DelegateAsyncProcessor implements Exchange
         }
         traced.addTraced(new DoFinallyRouteNode());
         // log and trace so we have the from -> doFinally event as well
-        logExchange(exchange);
-        traceExchange(exchange);
+        logAndTraceExchange(exchange);
         traced.addTraced(new DefaultRouteNode(node, super.getProcessor()));
     }
 
@@ -247,8 +253,7 @@ public class TraceInterceptor extends DelegateAsyncProcessor implements Exchange
             boolean shouldLog = shouldLogNode(node) && shouldLogExchange(exchange);
             if (shouldLog) {
                 // log and trace the processor that was intercepted so we can see it
-                logExchange(exchange);
-                traceExchange(exchange);
+                logAndTraceExchange(exchange);
             }
         }
     }
@@ -291,6 +296,47 @@ public class TraceInterceptor extends DelegateAsyncProcessor implements Exchange
         this.traceHandler = traceHandler;
     }
 
+    /**
+     * Whether the exchange should be traced asynchronously by the {@link AsyncTraceEventWriter}
+     */
+    protected boolean isAsyncTrace(Exchange exchange) {
+        if (!tracer.isAsync() || traceHandler != null) {
+            return false;
+        }
+        // stream cached bodies must be read by the routing thread
+        if (exchange.getIn().getBody() instanceof StreamCache) {
+            return false;
+        }
+        return !exchange.hasOut() || !(exchange.getOut().getBody() instanceof StreamCache);
+    }
+
+    /**
+     * Adds a snapshot of the exchange to be logged and traced by the {@link AsyncTraceEventWriter}
+     *
+     * @param exchange the exchange
+     * @param out      whether its the trace out event, which is traced using {@link #traceExchangeOut(Exchange, Object)}
+     */
+    protected void asyncTraceExchange(Exchange exchange, boolean out) {
+        Exchange snapshot = exchange.copy();
+        if (exchange.getUnitOfWork() != null) {
+            snapshot.setUnitOfWork(new TraceEventUnitOfWork(exchange.getUnitOfWork()));
+        }
+        snapshot.setProperty(Exchange.TRACE_EVENT_TIMESTAMP, new Date());
+
+        if (!tracer.getAsyncTraceEventWriter(exchange.getContext()).offer(this, snapshot, out) && LOG.isTraceEnabled()) {
+            LOG.trace("Dropped trace event as the queue is full for: " + exchange);
+        }
+    }
+
+    private void logAndTraceExchange(Exchange exchange) throws Exception {
+        if (isAsyncTrace(exchange)) {
+            asyncTraceExchange(exchange, false);
+        } else {
+            logExchange(exchange);
+            traceExchange(exchange);
+        }
+    }
+
     protected void logExchange(Exchange exchange) {
         // process the exchange that formats and logs it
         logger.process(exchange);
@@ -302,7 +348,11 @@ public class TraceInterceptor extends DelegateAsyncProcessor implements Exchange
         } else if (tracer.getDestination() != null || tracer.getDestinationUri() != null) {
 
             // create event exchange and add event information
-            Date timestamp = new Date();
+            // (use the timestamp from the snapshot when the trace event is written asynchronously)
+            Date timestamp = exchange.getProperty(Exchange.TRACE_EVENT_TIMESTAMP, Date.class);
+            if (timestamp == null) {
+                timestamp = new Date();
+            }
             Exchange event = new DefaultExchange(exchange);
             event.setProperty(Exchange.TRACE_EVENT_NODE_ID, node.getId());
             event.setProperty(Exchange.TRACE_EVENT_TIMESTAMP, timestamp);
@@ -389,7 +439,8 @@ public class TraceInterceptor extends DelegateAsyncProcessor implements Exchange
      * Returns true if the given exchange should be logged in the trace list
      */
     protected boolean shouldLogExchange(Exchange exchange) {
-        return tracer.isEnabled() && (tracer.getTraceFilter() == null || tracer.getTraceFilter().matches(exchange));
+        return tracer.isEnabled() && (tracer.getTraceFilter() == null || tracer.getTraceFilter().matches(exchange))
+                && tracer.isSampled(getRouteId(), exchange);
     }
 
     /**
@@ -419,6 +470,13 @@ public class TraceInterceptor extends DelegateAsyncProcessor implements Exchange
         return true;
     }
 
+    private String getRouteId() {
+        if (routeContext != null && routeContext.getRoute() != null) {
+            return routeContext.getRoute().getId();
+        }
+        return null;
+    }
+
     private synchronized Producer getTraceEventProducer(Exchange exchange) throws Exception {
         if (traceEventProducer == null) {
             // create producer when we have access the the camel context (we dont in doStart)
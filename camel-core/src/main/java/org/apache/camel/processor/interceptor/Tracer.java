@@ -17,9 +17,13 @@
 package org.apache.camel.processor.interceptor;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
 import org.apache.camel.LoggingLevel;
 import org.apache.camel.Predicate;
 import org.apache.camel.Processor;
@@ -54,6 +58,14 @@ public class Tracer implements InterceptStrategy, Service {
     private TraceInterceptorFactory traceInterceptorFactory = new DefaultTraceInterceptorFactory();
     private TraceEventHandler traceHandler;
     private String jpaTraceEventMessageClassName = JPA_TRACE_EVENT_MESSAGE;
+    private boolean async;
+    private int asyncQueueSize = 1000;
+    private int asyncBatchSize = 100;
+    private volatile double samplingRate = 1.0;
+    private final Map<String, Double> routeSamplingRates = new ConcurrentHashMap<String, Double>();
+    private CamelContext asyncContext;
+    private AsyncTraceEventWriter asyncWriter;
+    private ExecutorService asyncExecutor;
 
     /**
      * Creates a new tracer.
@@ -306,6 +318,151 @@ public class Tracer implements InterceptStrategy, Service {
         this.jpaTraceEventMessageClassName = jpaTraceEventMessageClassName;
     }
 
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Sets whether the trace events should be logged and sent to the destination asynchronously.
+     * <p/>
+     * When enabled a snapshot of the traced Exchange is added to a bounded queue, and a background thread
+     * formats, logs and sends the trace events to the destination in batches, so the original route does not
+     * have to wait. If the queue is full the trace event is dropped, which is counted by {@link #getDroppedEvents()}.
+     * <p/>
+     * Trace events which are handled by a {@link TraceEventHandler} or has a stream cached body is
+     * always traced synchronously.
+     */
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    public int getAsyncQueueSize() {
+        return asyncQueueSize;
+    }
+
+    /**
+     * Sets the maximum number of trace events which can wait to be written when tracing asynchronously.
+     * Will by default use 1000.
+     * The queue size should only be set before any trace events have been written.
+     */
+    public void setAsyncQueueSize(int asyncQueueSize) {
+        this.asyncQueueSize = asyncQueueSize;
+    }
+
+    public int getAsyncBatchSize() {
+        return asyncBatchSize;
+    }
+
+    /**
+     * Sets the maximum number of trace events the background thread writes in one batch when tracing asynchronously.
+     * Will by default use 100.
+     */
+    public void setAsyncBatchSize(int asyncBatchSize) {
+        this.asyncBatchSize = asyncBatchSize;
+    }
+
+    public double getSamplingRate() {
+        return samplingRate;
+    }
+
+    /**
+     * Sets the rate of the exchanges to trace, as a value between <tt>0.0</tt> and <tt>1.0</tt>.
+     * Will by default trace all exchanges.
+     * <p/>
+     * Whether an exchange is traced is decided by its exchange id, so the exchange is either traced
+     * at every step in the route or not at all.
+     */
+    public void setSamplingRate(double samplingRate) {
+        this.samplingRate = validateSamplingRate(samplingRate);
+    }
+
+    /**
+     * Gets the sampling rate to use for the given route, which is the rate set for the route
+     * or else the default {@link #getSamplingRate()}.
+     */
+    public double getSamplingRate(String routeId) {
+        if (routeId != null && !routeSamplingRates.isEmpty()) {
+            Double rate = routeSamplingRates.get(routeId);
+            if (rate != null) {
+                return rate;
+            }
+        }
+        return samplingRate;
+    }
+
+    /**
+     * Sets the sampling rate to use for the given route.
+     *
+     * @param routeId the route id
+     * @param samplingRate the rate, or <tt>null</tt> to use the default {@link #getSamplingRate()}
+     * @see #setSamplingRate(double)
+     */
+    public void setRouteSamplingRate(String routeId, Double samplingRate) {
+        if (samplingRate == null) {
+            routeSamplingRates.remove(routeId);
+        } else {
+            routeSamplingRates.put(routeId, validateSamplingRate(samplingRate));
+        }
+    }
+
+    public Map<String, Double> getRouteSamplingRates() {
+        return routeSamplingRates;
+    }
+
+    /**
+     * Whether the given exchange is sampled for tracing in the given route
+     */
+    public boolean isSampled(String routeId, Exchange exchange) {
+        double rate = getSamplingRate(routeId);
+        if (rate >= 1.0) {
+            return true;
+        } else if (rate <= 0.0) {
+            return false;
+        }
+
+        // spread the hash code as the exchange ids is sequential
+        int hash = exchange.getExchangeId().hashCode() * 0x9E3779B9;
+        hash ^= hash >>> 16;
+        return (hash & Integer.MAX_VALUE) % 10000 < rate * 10000;
+    }
+
+    /**
+     * Gets the number of trace events which was dropped because the async queue was full
+     */
+    public synchronized long getDroppedEvents() {
+        return asyncWriter != null ? asyncWriter.getDroppedEvents() : 0;
+    }
+
+    /**
+     * Gets the number of trace events waiting to be written asynchronously
+     */
+    public synchronized int getAsyncPendingEvents() {
+        return asyncWriter != null ? asyncWriter.getQueueSize() : 0;
+    }
+
+    /**
+     * Gets the writer which writes the trace events asynchronously, which is started on first use.
+     *
+     * @param context Camel context
+     * @return the writer
+     */
+    public synchronized AsyncTraceEventWriter getAsyncTraceEventWriter(CamelContext context) {
+        if (asyncWriter == null) {
+            asyncContext = context;
+            asyncWriter = new AsyncTraceEventWriter(asyncQueueSize, asyncBatchSize);
+            asyncExecutor = context.getExecutorServiceStrategy().newSingleThreadExecutor(this, "TraceEventWriter");
+            asyncExecutor.submit(asyncWriter);
+        }
+        return asyncWriter;
+    }
+
+    private static double validateSamplingRate(double samplingRate) {
+        if (samplingRate < 0.0 || samplingRate > 1.0) {
+            throw new IllegalArgumentException("SamplingRate must be between 0.0 and 1.0, was: " + samplingRate);
+        }
+        return samplingRate;
+    }
+
     @Override
     public String toString() {
         return "Tracer";
@@ -314,6 +471,14 @@ public class Tracer implements InterceptStrategy, Service {
     public void start() throws Exception {
     }
 
-    public void stop() throws Exception {
+    public synchronized void stop() throws Exception {
+        if (asyncWriter != null) {
+            // let the writer complete the pending trace events
+            asyncWriter.stop();
+            asyncContext.getExecutorServiceStrategy().shutdown(asyncExecutor);
+            asyncWriter = null;
+            asyncExecutor = null;
+            asyncContext = null;
+        }
     }
 }
@@ -0,0 +1,264 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Processor;
+import org.apache.camel.impl.converter.AsyncProcessorTypeConverter;
+
+/**
+ * The circuit of a single processor used by the {@link CircuitBreakerLoadBalancer}.
+ * <p/>
+ * The circuit is <tt>closed</tt> while the processor is healthy. Successes and failures are counted in
+ * a sliding time window of buckets, and when the failure rate in the window reaches the threshold the
+ * circuit is <tt>opened</tt>. While open no exchanges are sent to the processor until the open timeout
+ * has elapsed, after which the circuit is <tt>half open</tt> and a limited number of probe exchanges are let
+ * through. The circuit is closed again if all the probes succeed, and opened again if a probe fails,
+ * or if the probes has not completed within the open timeout, so a hung probe cannot keep the circuit half open.
+ * <p/>
+ * The circuit is updated without locking.
+ *
+ * @version 
+ */
+public class Circuit {
+
+    public enum State {
+        Closed, Open, HalfOpen
+    }
+
+    /**
+     * The exchange is not allowed through the circuit
+     */
+    public static final int REJECTED = -1;
+    /**
+     * The exchange is allowed through the closed circuit
+     */
+    public static final int ALLOWED = 0;
+    /**
+     * The exchange is allowed through the half open circuit as a probe
+     */
+    public static final int PROBE = 1;
+
+    private static final int BUCKETS = 10;
+
+    private final Processor processor;
+    private final AsyncProcessor asyncProcessor;
+    private final CircuitBreakerLoadBalancer loadBalancer;
+    private volatile State state = State.Closed;
+    private final AtomicLong openedAt = new AtomicLong();
+    private final AtomicLong halfOpenedAt = new AtomicLong();
+    private final AtomicInteger probes = new AtomicInteger();
+    private final AtomicInteger succeededProbes = new AtomicInteger();
+    private final AtomicLong timesOpened = new AtomicLong();
+    // the sliding window, each bucket holds the successes and failures of its epoch
+    private final AtomicLongArray epochs = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray successes = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray failures = new AtomicLongArray(BUCKETS);
+
+    public Circuit(Processor processor, CircuitBreakerLoadBalancer loadBalancer) {
+        this.processor = processor;
+        this.asyncProcessor = AsyncProcessorTypeConverter.convert(processor);
+        this.loadBalancer = loadBalancer;
+    }
+
+    public Processor getProcessor() {
+        return processor;
+    }
+
+    public AsyncProcessor getAsyncProcessor() {
+        return asyncProcessor;
+    }
+
+    public State getState() {
+        // an open circuit is effectively half open when its timeout has elapsed
+        if (state == State.Open && System.currentTimeMillis() - openedAt.get() >= loadBalancer.getOpenTimeout()) {
+            return State.HalfOpen;
+        }
+        return state;
+    }
+
+    /**
+     * Number of times the circuit has been opened
+     */
+    public long getTimesOpened() {
+        return timesOpened.get();
+    }
+
+    /**
+     * Whether an exchange is allowed through the circuit
+     *
+     * @return {@link #ALLOWED}, {@link #PROBE} or {@link #REJECTED}
+     */
+    public int allow() {
+        State current = state;
+        if (current == State.Closed) {
+            return ALLOWED;
+        }
+        if (current == State.Open) {
+            if (System.currentTimeMillis() - openedAt.get() < loadBalancer.getOpenTimeout()) {
+                return REJECTED;
+            }
+            halfOpen();
+        }
+        // half open so only let a limited number of probes through
+        if (probes.incrementAndGet() <= loadBalancer.getHalfOpenProbes()) {
+            return PROBE;
+        }
+        probes.decrementAndGet();
+        if (System.currentTimeMillis() - halfOpenedAt.get() >= loadBalancer.getOpenTimeout()) {
+            // the probes has not completed in time so regard them as failed and open the circuit again
+            expireProbes();
+        }
+        return REJECTED;
+    }
+
+    /**
+     * Records the outcome of an exchange allowed through the circuit
+     *
+     * @param permit  the permit returned by {@link #allow()}
+     * @param failure whether the exchange failed
+     */
+    public void done(int permit, boolean failure) {
+        if (permit == PROBE) {
+            if (state != State.HalfOpen) {
+                // the probe completed after it was expired or another probe failed
+                return;
+            }
+            if (failure) {
+                open();
+            } else if (succeededProbes.incrementAndGet() >= loadBalancer.getHalfOpenProbes()) {
+                close();
+            }
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        int bucket = bucket(now);
+        if (failure) {
+            failures.incrementAndGet(bucket);
+            if (state == State.Closed && shouldOpen(now)) {
+                open();
+            }
+        } else {
+            successes.incrementAndGet(bucket);
+        }
+    }
+
+    /**
+     * Gets the failure rate in the sliding window, between 0 and 1
+     */
+    public double getFailureRate() {
+        long[] counts = counts(System.currentTimeMillis());
+        long total = counts[0] + counts[1];
+        return total == 0 ? 0 : (double) counts[1] / total;
+    }
+
+    /**
+     * Gets the number of exchanges in the sliding window
+     */
+    public long getRequests() {
+        long[] counts = counts(System.currentTimeMillis());
+        return counts[0] + counts[1];
+    }
+
+    /**
+     * Closes the circuit and clears the sliding window
+     */
+    public synchronized void reset() {
+        close();
+    }
+
+    private boolean shouldOpen(long now) {
+        long[] counts = counts(now);
+        long total = counts[0] + counts[1];
+        return total >= loadBalancer.getMinimumRequests()
+            && (double) counts[1] / total >= loadBalancer.getFailureThreshold();
+    }
+
+    private void open() {
+        openedAt.set(System.currentTimeMillis());
+        if (state != State.Open) {
+            timesOpened.incrementAndGet();
+        }
+        state = State.Open;
+    }
+
+    private void halfOpen() {
+        synchronized (this) {
+            if (state == State.Open) {
+                probes.set(0);
+                succeededProbes.set(0);
+                halfOpenedAt.set(System.currentTimeMillis());
+                state = State.HalfOpen;
+            }
+        }
+    }
+
+    private void expireProbes() {
+        synchronized (this) {
+            if (state == State.HalfOpen && System.currentTimeMillis() - halfOpenedAt.get() >= loadBalancer.getOpenTimeout()) {
+                open();
+            }
+        }
+    }
+
+    private void close() {
+        for (int i = 0; i < BUCKETS; i++) {
+            epochs.set(i, 0);
+            successes.set(i, 0);
+            failures.set(i, 0);
+        }
+        state = State.Closed;
+    }
+
+    private long bucketTime() {
+        return Math.max(1, loadBalancer.getWindowTime() / BUCKETS);
+    }
+
+    private int bucket(long now) {
+        long epoch = now / bucketTime();
+        int index = (int) (epoch % BUCKETS);
+        long old = epochs.get(index);
+        if (old != epoch && epochs.compareAndSet(index, old, epoch)) {
+            // the bucket is reused for a new epoch so forget its old counts
+            successes.set(index, 0);
+            failures.set(index, 0);
+        }
+        return index;
+    }
+
+    private long[] counts(long now) {
+        long epoch = now / bucketTime();
+        long[] answer = new long[2];
+        for (int i = 0; i < BUCKETS; i++) {
+            if (epoch - epochs.get(i) < BUCKETS) {
+                answer[0] += successes.get(i);
+                answer[1] += failures.get(i);
+            }
+        }
+        return answer;
+    }
+
+    @Override
+    public String toString() {
+        return "Circuit[" + getState() + ", processor=" + processor + "]";
+    }
+}
@@ -0,0 +1,259 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.processor.Traceable;
+import org.apache.camel.util.AsyncProcessorHelper;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * A load balancer which keeps a {@link Circuit} per processor, so processors which keep failing
+ * are not sent any exchanges for a while.
+ * <p/>
+ * Exchanges are sent in a round robin fashion to the processors whose circuit allows it.
+ * When the failure rate of a processor within the sliding window reaches the failure threshold
+ * its circuit is opened and the processor is skipped. After the open timeout a limited number of
+ * probe exchanges is sent to the processor to detect whether it has recovered.
+ * <p/>
+ * When the circuits of all the processors are open the exchange fails immediately with a
+ * {@link RejectedExecutionException}, rather than waiting for a processor which is known to be failing.
+ * <p/>
+ * Unlike the {@link FailOverLoadBalancer} a failed exchange is not sent to another processor,
+ * use an error handler with redelivery to retry it.
+ *
+ * @version 
+ */
+public class CircuitBreakerLoadBalancer extends LoadBalancerSupport implements Traceable {
+
+    private final List<Class<?>> exceptions;
+    private final List<Circuit> circuits = new CopyOnWriteArrayList<Circuit>();
+    private final AtomicInteger counter = new AtomicInteger();
+    private double failureThreshold = 0.5d;
+    private int minimumRequests = 10;
+    private long windowTime = 10000L;
+    private long openTimeout = 30000L;
+    private int halfOpenProbes = 1;
+
+    public CircuitBreakerLoadBalancer() {
+        this.exceptions = null;
+    }
+
+    public CircuitBreakerLoadBalancer(List<Class<?>> exceptions) {
+        this.exceptions = exceptions;
+
+        // validate its all exception types
+        for (Class<?> type : exceptions) {
+            if (!ObjectHelper.isAssignableFrom(Throwable.class, type)) {
+                throw new IllegalArgumentException("Class is not an instance of Throwable: " + type);
+            }
+        }
+    }
+
+    @Override
+    public void addProcessor(Processor processor) {
+        super.addProcessor(processor);
+        circuits.add(new Circuit(processor, this));
+    }
+
+    @Override
+    public void removeProcessor(Processor processor) {
+        super.removeProcessor(processor);
+        for (Circuit circuit : circuits) {
+            if (circuit.getProcessor() == processor) {
+                circuits.remove(circuit);
+                break;
+            }
+        }
+    }
+
+    public List<Class<?>> getExceptions() {
+        return exceptions;
+    }
+
+    /**
+     * Gets the circuits of the processors in the same order as {@link #getProcessors()}
+     */
+    public List<Circuit> getCircuits() {
+        return circuits;
+    }
+
+    public double getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    /**
+     * Sets the failure rate between 0 and 1 within the sliding window which opens the circuit.
+     * <p/>
+     * The default is 0.5
+     */
+    public void setFailureThreshold(double failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public int getMinimumRequests() {
+        return minimumRequests;
+    }
+
+    /**
+     * Sets the minimum number of exchanges within the sliding window before the failure rate is considered.
+     * <p/>
+     * The default is 10
+     */
+    public void setMinimumRequests(int minimumRequests) {
+        this.minimumRequests = minimumRequests;
+    }
+
+    public long getWindowTime() {
+        return windowTime;
+    }
+
+    /**
+     * Sets the length of the sliding window in millis.
+     * <p/>
+     * The default is 10 seconds
+     */
+    public void setWindowTime(long windowTime) {
+        this.windowTime = windowTime;
+    }
+
+    public long getOpenTimeout() {
+        return openTimeout;
+    }
+
+    /**
+     * Sets the time in millis a circuit stays open before probe exchanges are sent to the processor.
+     * <p/>
+     * The default is 30 seconds
+     */
+    public void setOpenTimeout(long openTimeout) {
+        this.openTimeout = openTimeout;
+    }
+
+    public int getHalfOpenProbes() {
+        return halfOpenProbes;
+    }
+
+    /**
+     * Sets the number of probe exchanges which must succeed for a half open circuit to close.
+     * <p/>
+     * The default is 1
+     */
+    public void setHalfOpenProbes(int halfOpenProbes) {
+        this.halfOpenProbes = halfOpenProbes;
+    }
+
+    /**
+     * Gets the number of circuits which are currently open
+     */
+    public int getOpenCircuits() {
+        int answer = 0;
+        for (Circuit circuit : circuits) {
+            if (circuit.getState() == Circuit.State.Open) {
+                answer++;
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Closes all the circuits
+     */
+    public void resetCircuits() {
+        for (Circuit circuit : circuits) {
+            circuit.reset();
+        }
+    }
+
+    /**
+     * Should the given exchange count as a failure of the processor?
+     *
+     * @param exchange the exchange that was processed
+     * @return <tt>true</tt> if failed
+     */
+    protected boolean isFailure(Exchange exchange) {
+        if (exchange.getException() == null) {
+            return false;
+        }
+        if (exceptions == null || exceptions.isEmpty()) {
+            return true;
+        }
+        for (Class<?> exception : exceptions) {
+            // will look in exception hierarchy
+            if (exchange.getException(exception) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        List<Circuit> list = circuits;
+        if (list.isEmpty()) {
+            // no processors but indicate we are done
+            callback.done(true);
+            return true;
+        }
+
+        // find the next processor in round robin order whose circuit allows the exchange
+        int size = list.size();
+        int start = (counter.getAndIncrement() & Integer.MAX_VALUE) % size;
+        Circuit target = null;
+        int permit = Circuit.REJECTED;
+        for (int i = 0; i < size && permit == Circuit.REJECTED; i++) {
+            target = list.get((start + i) % size);
+            permit = target.allow();
+        }
+
+        if (permit == Circuit.REJECTED) {
+            if (log.isDebugEnabled()) {
+                log.debug("All circuits are open, rejecting exchangeId: " + exchange.getExchangeId());
+            }
+            exchange.setException(new RejectedExecutionException("All circuits are open for " + this));
+            callback.done(true);
+            return true;
+        }
+
+        if (permit == Circuit.PROBE && log.isDebugEnabled()) {
+            log.debug("Sending probe exchangeId: " + exchange.getExchangeId() + " to half open " + target);
+        }
+
+        final Circuit circuit = target;
+        final int circuitPermit = permit;
+        return AsyncProcessorHelper.process(circuit.getAsyncProcessor(), exchange, new AsyncCallback() {
+            public void done(boolean doneSync) {
+                circuit.done(circuitPermit, isFailure(exchange));
+                callback.done(doneSync);
+            }
+        });
+    }
+
+    public String toString() {
+        return "CircuitBreakerLoadBalancer[" + getProcessors() + "]";
+    }
+
+    public String getTraceLabel() {
+        return "circuitbreaker";
+    }
+}
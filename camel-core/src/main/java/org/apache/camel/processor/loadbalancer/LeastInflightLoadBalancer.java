@@ -0,0 +1,59 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.Exchange;
+
+/**
+ * Implements the least inflight load balancing policy, which sends the exchange to the processor
+ * with the fewest exchanges currently being processed.
+ * <p/>
+ * Ties are broken in a round robin fashion.
+ *
+ * @version 
+ */
+public class LeastInflightLoadBalancer extends LoadAwareLoadBalancer {
+    private final AtomicInteger counter = new AtomicInteger();
+
+    protected LoadStatistics chooseProcessor(List<LoadStatistics> statistics, Exchange exchange) {
+        int size = statistics.size();
+        int start = (counter.getAndIncrement() & Integer.MAX_VALUE) % size;
+
+        LoadStatistics answer = null;
+        int least = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            LoadStatistics stats = statistics.get((start + i) % size);
+            int inflight = stats.getInflight();
+            if (inflight < least) {
+                answer = stats;
+                least = inflight;
+                if (inflight == 0) {
+                    // cannot do better than idle
+                    break;
+                }
+            }
+        }
+        return answer;
+    }
+
+    public String toString() {
+        return "LeastInflightLoadBalancer";
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.util.AsyncProcessorHelper;
+
+/**
+ * A base class for {@link LoadBalancer} implementations which choose a single destination
+ * for each exchange based on how busy or slow the destinations are.
+ * <p/>
+ * The {@link LoadStatistics} for each processor are updated without locking when an exchange
+ * is sent to a processor and when it completes, also if it completes asynchronously.
+ *
+ * @version 
+ */
+public abstract class LoadAwareLoadBalancer extends LoadBalancerSupport {
+
+    public static final long DEFAULT_DECAY_TIME = 10000L;
+
+    private final List<LoadStatistics> statistics = new CopyOnWriteArrayList<LoadStatistics>();
+    private long decayTime = DEFAULT_DECAY_TIME;
+
+    @Override
+    public void addProcessor(Processor processor) {
+        super.addProcessor(processor);
+        statistics.add(createLoadStatistics(processor, decayTime));
+    }
+
+    @Override
+    public void removeProcessor(Processor processor) {
+        super.removeProcessor(processor);
+        for (LoadStatistics stats : statistics) {
+            if (stats.getProcessor() == processor) {
+                statistics.remove(stats);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Gets the statistics of the processors in the same order as {@link #getProcessors()}
+     */
+    public List<LoadStatistics> getStatistics() {
+        return statistics;
+    }
+
+    public long getDecayTime() {
+        return decayTime;
+    }
+
+    /**
+     * Sets the time in millis for the latency average to decay.
+     * <p/>
+     * The default is 10 seconds.
+     */
+    public void setDecayTime(long decayTime) {
+        this.decayTime = decayTime;
+        for (LoadStatistics stats : statistics) {
+            stats.setDecayTime(decayTime);
+        }
+    }
+
+    /**
+     * Gets the total number of exchanges inflight
+     */
+    public int getInflight() {
+        int answer = 0;
+        for (LoadStatistics stats : statistics) {
+            answer += stats.getInflight();
+        }
+        return answer;
+    }
+
+    /**
+     * Resets the statistics of all the processors
+     */
+    public void resetStatistics() {
+        for (LoadStatistics stats : statistics) {
+            stats.reset();
+        }
+    }
+
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        List<LoadStatistics> list = statistics;
+        if (list.isEmpty()) {
+            // no processors but indicate we are done
+            callback.done(true);
+            return true;
+        }
+
+        final LoadStatistics target = chooseProcessor(list, exchange);
+        if (target == null) {
+            throw new IllegalStateException("No processors could be chosen to process " + exchange);
+        }
+
+        final long start = target.begin();
+        return AsyncProcessorHelper.process(target.getAsyncProcessor(), exchange, new AsyncCallback() {
+            public void done(boolean doneSync) {
+                target.done(start, exchange.getException() != null);
+                callback.done(doneSync);
+            }
+        });
+    }
+
+    /**
+     * Creates the statistics for the given processor
+     *
+     * @param processor the processor
+     * @param decayTime the time in millis for the latency average to decay
+     * @return the statistics
+     */
+    protected LoadStatistics createLoadStatistics(Processor processor, long decayTime) {
+        return new LoadStatistics(processor, decayTime);
+    }
+
+    /**
+     * Chooses the processor to send the exchange to
+     *
+     * @param statistics the statistics of the processors to choose from, never empty
+     * @param exchange   the exchange
+     * @return the statistics of the chosen processor
+     */
+    protected abstract LoadStatistics chooseProcessor(List<LoadStatistics> statistics, Exchange exchange);
+
+}
@@ -0,0 +1,183 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Processor;
+import org.apache.camel.impl.converter.AsyncProcessorTypeConverter;
+
+/**
+ * Lock-free statistics of a single processor used by a {@link LoadAwareLoadBalancer}.
+ * <p/>
+ * Keeps track of the number of inflight exchanges and a peak EWMA (exponentially weighted moving average)
+ * of the observed latency. A sample higher than the current average replaces the average immediately,
+ * while lower samples are blended in depending on the time elapsed since the previous sample.
+ * This makes the average react fast to a processor becoming slow, and slowly recover when it becomes fast again.
+ *
+ * @version 
+ */
+public class LoadStatistics {
+
+    // the cost of a processor which has exchanges inflight but no latency observed yet
+    private static final double PENALTY = Long.MAX_VALUE >> 16;
+
+    private final Processor processor;
+    private final AsyncProcessor asyncProcessor;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    // the peak EWMA latency in nanos stored as double bits
+    private final AtomicLong latency = new AtomicLong();
+    // the time of the previous sample, the first sample replaces the average so its initial value does not matter
+    private final AtomicLong lastSample = new AtomicLong();
+    private volatile long decayTime;
+
+    public LoadStatistics(Processor processor, long decayTime) {
+        this.processor = processor;
+        this.asyncProcessor = AsyncProcessorTypeConverter.convert(processor);
+        setDecayTime(decayTime);
+    }
+
+    public Processor getProcessor() {
+        return processor;
+    }
+
+    public AsyncProcessor getAsyncProcessor() {
+        return asyncProcessor;
+    }
+
+    /**
+     * Marks an exchange as being inflight
+     *
+     * @return the start time in nanos to pass to {@link #done(long, boolean)}
+     */
+    public long begin() {
+        inflight.incrementAndGet();
+        return currentTime();
+    }
+
+    /**
+     * Marks an exchange as completed.
+     * <p/>
+     * The latency of a failed exchange cannot lower the latency average,
+     * as a processor failing fast should not attract more exchanges.
+     *
+     * @param start   the start time returned from {@link #begin()}
+     * @param failure whether the exchange failed
+     */
+    public void done(long start, boolean failure) {
+        long now = currentTime();
+        inflight.decrementAndGet();
+        if (failure) {
+            failed.incrementAndGet();
+        } else {
+            completed.incrementAndGet();
+        }
+
+        double sample = Math.max(0, now - start);
+        long elapsed = Math.max(0, now - lastSample.getAndSet(now));
+        double weight = Math.exp(-(double) elapsed / decayTime);
+        while (true) {
+            long bits = latency.get();
+            double current = Double.longBitsToDouble(bits);
+            double next;
+            if (sample > current || current == 0) {
+                next = sample;
+            } else if (failure) {
+                next = current;
+            } else {
+                next = current * weight + sample * (1 - weight);
+            }
+            if (latency.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Gets the cost of sending the next exchange to the processor, which is the latency average
+     * multiplied by the number of inflight exchanges including the next exchange.
+     */
+    public double getCost() {
+        double current = Double.longBitsToDouble(latency.get());
+        int count = inflight.get();
+        if (current == 0 && count > 0) {
+            // no latency known yet so do not pile up exchanges on this processor
+            return PENALTY + count;
+        }
+        return current * (count + 1);
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * Gets the peak EWMA latency in millis
+     */
+    public double getLatency() {
+        return Double.longBitsToDouble(latency.get()) / 1000000d;
+    }
+
+    public long getDecayTime() {
+        return decayTime / 1000000L;
+    }
+
+    /**
+     * Sets the time in millis for the latency average to decay, the higher the value
+     * the slower the average recovers when a processor becomes fast again.
+     */
+    public void setDecayTime(long decayTime) {
+        if (decayTime <= 0) {
+            throw new IllegalArgumentException("DecayTime must be positive, was: " + decayTime);
+        }
+        this.decayTime = decayTime * 1000000L;
+    }
+
+    /**
+     * Gets the current time in nanos used to measure the latency, which can be overridden
+     * to use another clock, such as when testing.
+     */
+    protected long currentTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Resets the counters and the latency average. The number of inflight exchanges is kept.
+     */
+    public void reset() {
+        completed.set(0);
+        failed.set(0);
+        latency.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "LoadStatistics[inflight=" + getInflight() + ", latency=" + getLatency() + " ms, processor=" + processor + "]";
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.List;
+import java.util.Random;
+
+import org.apache.camel.Exchange;
+
+/**
+ * Implements a latency aware load balancing policy using the power of two choices: two processors are
+ * picked at random and the exchange is sent to the one with the lowest cost, which is the peak EWMA
+ * of the observed latency multiplied by the number of inflight exchanges.
+ * <p/>
+ * Picking between two random processors rather than the best of all processors avoids that every
+ * exchange is sent to the same processor until its statistics catch up.
+ *
+ * @version 
+ * @see LoadStatistics
+ */
+public class PeakEwmaLoadBalancer extends LoadAwareLoadBalancer {
+    private final Random random = new Random();
+
+    protected LoadStatistics chooseProcessor(List<LoadStatistics> statistics, Exchange exchange) {
+        int size = statistics.size();
+        if (size == 1) {
+            return statistics.get(0);
+        }
+
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        LoadStatistics a = statistics.get(first);
+        LoadStatistics b = statistics.get(second);
+        return a.getCost() <= b.getCost() ? a : b;
+    }
+
+    public String toString() {
+        return "PeakEwmaLoadBalancer";
+    }
+}
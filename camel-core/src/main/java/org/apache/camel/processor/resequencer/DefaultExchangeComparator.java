@@ -33,7 +33,7 @@ import org.apache.camel.Expression;
  * 
  * @version 
  */
-public class DefaultExchangeComparator implements ExpressionResultComparator {
+public class DefaultExchangeComparator implements ExpressionResultComparator, SequenceNumberComparator<Exchange> {
 
     private Expression expression;
 
@@ -72,7 +72,7 @@ public class DefaultExchangeComparator implements ExpressionResultComparator {
         return n1.compareTo(n2);
     }
 
-    private long getSequenceNumber(Exchange exchange) {
+    public long getSequenceNumber(Exchange exchange) {
         return expression.evaluate(exchange, Long.class);
     }
     
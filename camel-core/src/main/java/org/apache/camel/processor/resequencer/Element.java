@@ -20,29 +20,61 @@ package org.apache.camel.processor.resequencer;
  * A container for objects to be resequenced. This container can be scheduled
  * for timing out. Non-scheduled objects or already timed-out objects are ready
  * for being released by the {@link ResequencerEngine}.
+ * <p>
+ * Instead of registering a timer task per element the container remembers its
+ * insertion time and computes a deadline when scheduled. The deadline is
+ * checked lazily by the delivering thread, so all elements share the same clock.
  */
-class Element<E> implements TimeoutHandler {
+class Element<E> {
 
     /**
      * The contained object.
      */
-    private E object;
+    private final E object;
 
     /**
-     * Not <code>null</code> if this element is currently beeing scheduled for
+     * The sequence number of the contained object if the resequencer uses a
+     * {@link SequenceNumberComparator}.
+     */
+    private final long sequenceNumber;
+
+    /**
+     * The time this element has been created (inserted).
+     */
+    private final long timestamp;
+
+    /**
+     * The time after which a scheduled element is timed-out.
+     */
+    private long deadline;
+
+    /**
+     * <code>true</code> if this element is currently being scheduled for
      * timing out.
      */
-    private Timeout timeout;
-    
+    private boolean scheduled;
+
     /**
      * Creates a new container instance.
      * 
      * @param object contained object.
      */
     public Element(E object) {
+        this(object, 0);
+    }
+
+    /**
+     * Creates a new container instance.
+     *
+     * @param object contained object.
+     * @param sequenceNumber the sequence number of the contained object.
+     */
+    public Element(E object, long sequenceNumber) {
         this.object = object;
+        this.sequenceNumber = sequenceNumber;
+        this.timestamp = System.currentTimeMillis();
     }
-    
+
     /**
      * Returns the contained object.
      * 
@@ -52,6 +84,15 @@ class Element<E> implements TimeoutHandler {
         return object;
     }
 
+    /**
+     * Returns the sequence number of the contained object.
+     *
+     * @return the sequence number.
+     */
+    public long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
     /**
      * Returns <code>true</code> if this element is currently scheduled for
      * timing out.
@@ -59,41 +100,31 @@ class Element<E> implements TimeoutHandler {
      * @return <code>true</code> if scheduled or <code>false</code> if not
      *         scheduled or already timed-out.
      */
-    public synchronized boolean scheduled() {
-        return timeout != null;
+    public boolean scheduled() {
+        if (scheduled && System.currentTimeMillis() >= deadline) {
+            // marks this element as timed-out
+            scheduled = false;
+        }
+        return scheduled;
     }
-    
+
     /**
-     * Schedules the given timeout task. Before this methods calls the
-     * {@link Timeout#schedule()} method it sets this element as timeout
-     * listener.
+     * Schedules this element for timing out <code>timeout</code> milliseconds
+     * after it has been created.
      * 
-     * @param t a timeout task.
+     * @param timeout the timeout in milliseconds.
      */
-    public synchronized void schedule(Timeout t) {
-        this.timeout = t;
-        this.timeout.setTimeoutHandler(this);
-        this.timeout.schedule();
+    public void schedule(long timeout) {
+        this.deadline = timestamp + timeout;
+        this.scheduled = true;
     }
-    
+
     /**
      * Cancels the scheduled timeout for this element. If this element is not
      * scheduled or has already timed-out this method has no effect.
      */
-    public synchronized void cancel() {
-        if (timeout != null) {
-            timeout.cancel();
-        }
-        timeout(null);
+    public void cancel() {
+        this.scheduled = false;
     }
 
-    /**
-     * Marks this element as timed-out.
-     * 
-     * @param t timeout task that caused the notification.
-     */
-    public synchronized void timeout(Timeout t) {
-        this.timeout = null;
-    }
-    
 }
@@ -19,7 +19,9 @@ package org.apache.camel.processor.resequencer;
 /**
  * A strategy for comparing {@link Element} instances. This strategy uses
  * another {@link SequenceElementComparator} instance for comparing elements
- * contained by {@link Element} instances.
+ * contained by {@link Element} instances. If the other comparator is a
+ * {@link SequenceNumberComparator} the sequence numbers cached by the
+ * {@link Element} instances are compared instead.
  * 
  * @version 
  */
@@ -29,6 +31,11 @@ class ElementComparator<E> implements SequenceElementComparator<Element<E>> {
      * A sequence element comparator this comparator delegates to.
      */
     private SequenceElementComparator<E> comparator;
+
+    /**
+     * <code>true</code> if elements can be compared by their sequence number.
+     */
+    private boolean numeric;
     
     /**
      * Creates a new element comparator instance.
@@ -37,17 +44,29 @@ class ElementComparator<E> implements SequenceElementComparator<Element<E>> {
      */
     public ElementComparator(SequenceElementComparator<E> comparator) {
         this.comparator = comparator;
+        this.numeric = comparator instanceof SequenceNumberComparator;
     }
     
     public boolean predecessor(Element<E> o1, Element<E> o2) {
+        if (numeric) {
+            return o1.getSequenceNumber() == o2.getSequenceNumber() - 1L;
+        }
         return comparator.predecessor(o1.getObject(), o2.getObject());
     }
 
     public boolean successor(Element<E> o1, Element<E> o2) {
+        if (numeric) {
+            return o2.getSequenceNumber() == o1.getSequenceNumber() - 1L;
+        }
         return comparator.successor(o1.getObject(), o2.getObject());
     }
 
     public int compare(Element<E> o1, Element<E> o2) {
+        if (numeric) {
+            long n1 = o1.getSequenceNumber();
+            long n2 = o2.getSequenceNumber();
+            return n1 < n2 ? -1 : (n1 == n2 ? 0 : 1);
+        }
         return comparator.compare(o1.getObject(), o2.getObject());
     }
 
@@ -16,9 +16,11 @@
  */
 package org.apache.camel.processor.resequencer;
 
-import java.util.Timer;
-
-import org.apache.camel.util.concurrent.ExecutorServiceHelper;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Resequences elements based on a given {@link SequenceElementComparator}.
@@ -32,7 +34,7 @@ import org.apache.camel.util.concurrent.ExecutorServiceHelper;
  * given element managed by this resequencer. An out-of-sequence element can
  * only be marked as <i>ready-for-delivery</i> if it either times out or if it
  * has an immediate predecessor (in that case it is in-sequence). If an
- * immediate predecessor of a waiting element arrives the timeout task for the
+ * immediate predecessor of a waiting element arrives the timeout for the
  * waiting element will be cancelled (which marks it as <i>ready-for-delivery</i>).
  * <p>
  * If the maximum out-of-sequence time difference between elements within a
@@ -55,31 +57,73 @@ import org.apache.camel.util.concurrent.ExecutorServiceHelper;
  * element needs <code>timeout</code> milliseconds in any case for becoming
  * <i>ready-for-delivery</i>.
  * <p>
+ * Inserting elements is thread-safe and lock-free: {@link #insert(Object)}
+ * only hands the element over to an inbound queue, and the elements are sorted
+ * into the sequence by the thread that calls {@link #deliver()} or
+ * {@link #deliverNext()}. Delivery is serialized, i.e. only one thread at a
+ * time delivers elements, but it never blocks inserting threads. Elements
+ * inserted by the same thread are sorted in the order they were inserted.
+ * <p>
+ * If the comparator is a {@link SequenceNumberComparator} the elements are
+ * kept in a {@link SequenceWindow} i.e. an array indexed by sequence number
+ * with a tree for sparse sequence numbers. Otherwise a {@link Sequence} is
+ * used. Timeouts don't require timer tasks, the deadline of an element is
+ * checked when it is about to be delivered.
  *
  * @version 
  */
 public class ResequencerEngine<E> {
 
+    /**
+     * The default number of sequence numbers covered by a {@link SequenceWindow}.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 1024;
+
     /**
      * The element that most recently hash been delivered or <code>null</code>
      * if no element has been delivered yet.
      */
-    private Element<E> lastDelivered;
+    private volatile Element<E> lastDelivered;
 
     /**
      * Minimum amount of time to wait for out-of-sequence elements.
      */
-    private long timeout;
+    private volatile long timeout;
+
+    /**
+     * Number of sequence numbers covered by a {@link SequenceWindow}.
+     */
+    private int windowSize;
+
+    /**
+     * The comparator for sequence elements.
+     */
+    private final SequenceElementComparator<E> comparator;
+
+    /**
+     * The comparator for elements of the sequence.
+     */
+    private final ElementComparator<E> elementComparator;
 
     /**
      * A sequence of elements for sorting purposes.
      */
-    private Sequence<Element<E>> sequence;
+    private SequenceIndex<Element<E>> sequence;
+
+    /**
+     * Elements inserted but not yet added to the sequence.
+     */
+    private final Queue<Element<E>> inbound = new ConcurrentLinkedQueue<Element<E>>();
+
+    /**
+     * Number of elements currently maintained by this resequencer.
+     */
+    private final AtomicInteger size = new AtomicInteger();
 
     /**
-     * A timer for scheduling timeout notifications.
+     * Serializes delivery of elements.
      */
-    private Timer timer;
+    private final Lock deliveryLock = new ReentrantLock();
 
     /**
      * A strategy for sending sequence elements.
@@ -93,20 +137,29 @@ public class ResequencerEngine<E> {
      * @param comparator a sequence element comparator.
      */
     public ResequencerEngine(SequenceElementComparator<E> comparator) {
-        this.sequence = createSequence(comparator);
+        this.comparator = comparator;
+        this.elementComparator = new ElementComparator<E>(comparator);
         this.timeout = 2000L;
+        this.windowSize = DEFAULT_WINDOW_SIZE;
         this.lastDelivered = null;
     }
 
     public void start() {
-        timer = new Timer(ExecutorServiceHelper.getThreadName("Camel Thread ${counter} - ${name}", "Stream Resequencer Timer"), true);
+        deliveryLock.lock();
+        try {
+            if (sequence == null) {
+                sequence = createSequence();
+            }
+        } finally {
+            deliveryLock.unlock();
+        }
     }
 
     /**
-     * Stops this resequencer (i.e. this resequencer's {@link Timer} instance).
+     * Stops this resequencer.
      */
     public void stop() {
-        timer.cancel();
+        // noop
     }
 
     /**
@@ -114,8 +167,8 @@ public class ResequencerEngine<E> {
      *
      * @return the number of elements currently maintained by this resequencer.
      */
-    public synchronized int size() {
-        return sequence.size();
+    public int size() {
+        return size.get();
     }
 
     /**
@@ -136,6 +189,27 @@ public class ResequencerEngine<E> {
         this.timeout = timeout;
     }
 
+    /**
+     * Returns the number of sequence numbers covered by the array-backed
+     * window if the comparator is a {@link SequenceNumberComparator}.
+     *
+     * @return the window size.
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Sets the number of sequence numbers covered by the array-backed window.
+     * Elements outside the window are sorted in a tree. This value must be set
+     * before this resequencer is started.
+     *
+     * @param windowSize the window size.
+     */
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
     /**
      * Returns the sequence sender.
      *
@@ -161,10 +235,11 @@ public class ResequencerEngine<E> {
      *         has been made yet.
      */
     E getLastDelivered() {
-        if (lastDelivered == null) {
+        Element<E> element = lastDelivered;
+        if (element == null) {
             return null;
         }
-        return lastDelivered.getObject();
+        return element.getObject();
     }
 
     /**
@@ -173,38 +248,24 @@ public class ResequencerEngine<E> {
      * @param o an element.
      */
     void setLastDelivered(E o) {
-        lastDelivered = new Element<E>(o);
+        lastDelivered = createElement(o);
     }
 
     /**
      * Inserts the given element into this resequencer. If the element is not
      * ready for immediate delivery and has no immediate presecessor then it is
      * scheduled for timing out. After being timed out it is ready for delivery.
+     * <p>
+     * This method does not block, the element is added to the sequence by the
+     * next delivery attempt.
      *
      * @param o an element.
      */
-    public synchronized void insert(E o) {
+    public void insert(E o) {
         // wrap object into internal element
-        Element<E> element = new Element<E>(o);
-        // add element to sequence in proper order
-        sequence.add(element);
-
-        Element<E> successor = sequence.successor(element);
-
-        // check if there is an immediate successor and cancel
-        // timer task (no need to wait any more for timeout)
-        if (successor != null) {
-            successor.cancel();
-        }
-
-        // start delivery if current element is successor of last delivered element
-        if (successorOfLastDelivered(element)) {
-            // nothing to schedule
-        } else if (sequence.predecessor(element) != null) {
-            // nothing to schedule
-        } else {
-            element.schedule(defineTimeout());
-        }
+        Element<E> element = createElement(o);
+        size.incrementAndGet();
+        inbound.add(element);
     }
 
     /**
@@ -214,9 +275,14 @@ public class ResequencerEngine<E> {
      *
      * @see ResequencerEngine#deliverNext() 
      */
-    public synchronized void deliver() throws Exception {
-        while (deliverNext()) {
-            // do nothing here
+    public void deliver() throws Exception {
+        deliveryLock.lock();
+        try {
+            while (deliverNext()) {
+                // do nothing here
+            }
+        } finally {
+            deliveryLock.unlock();
         }
     }
 
@@ -233,28 +299,71 @@ public class ResequencerEngine<E> {
      *
      */
     public boolean deliverNext() throws Exception {
-        if (sequence.size() == 0) {
-            return false;
+        deliveryLock.lock();
+        try {
+            // sort newly inserted elements into the sequence
+            Element<E> inserted;
+            while ((inserted = inbound.poll()) != null) {
+                add(inserted);
+            }
+
+            if (sequence.size() == 0) {
+                return false;
+            }
+            // inspect element with lowest sequence value
+            Element<E> element = sequence.first();
+
+            // if element is scheduled do not deliver and return
+            if (element.scheduled()) {
+                return false;
+            }
+
+            // remove deliverable element from sequence
+            sequence.remove(element);
+            size.decrementAndGet();
+
+            // set the delivered element to last delivered element
+            lastDelivered = element;
+
+            // deliver the sequence element
+            sequenceSender.sendElement(element.getObject());
+
+            // element has been delivered
+            return true;
+        } finally {
+            deliveryLock.unlock();
         }
-        // inspect element with lowest sequence value
-        Element<E> element = sequence.first();
+    }
 
-        // if element is scheduled do not deliver and return
-        if (element.scheduled()) {
-            return false;
+    /**
+     * Adds an inserted element to the sequence.
+     *
+     * @param element an element.
+     */
+    private void add(Element<E> element) {
+        // add element to sequence in proper order
+        if (!sequence.add(element)) {
+            // duplicate elements are dropped
+            size.decrementAndGet();
+            return;
         }
 
-        // remove deliverable element from sequence
-        sequence.remove(element);
-
-        // set the delivered element to last delivered element
-        lastDelivered = element;
+        Element<E> successor = sequence.successor(element);
 
-        // deliver the sequence element
-        sequenceSender.sendElement(element.getObject());
+        // check if there is an immediate successor and cancel
+        // timeout (no need to wait any more for timeout)
+        if (successor != null) {
+            successor.cancel();
+        }
 
-        // element has been delivered
-        return true;
+        // start delivery if current element is successor of last delivered element
+        if (successorOfLastDelivered(element)) {
+            // nothing to schedule
+        } else if (sequence.predecessor(element) != null) {
+            // nothing to schedule
+        } else {
+            element.schedule(timeout);
+        }
     }
 
     /**
@@ -269,23 +378,24 @@ public class ResequencerEngine<E> {
         if (lastDelivered == null) {
             return false;
         }
-        if (sequence.comparator().successor(element, lastDelivered)) {
+        if (elementComparator.successor(element, lastDelivered)) {
             return true;
         }
         return false;
     }
 
-    /**
-     * Creates a timeout task based on the timeout setting of this resequencer.
-     *
-     * @return a new timeout task.
-     */
-    private Timeout defineTimeout() {
-        return new Timeout(timer, timeout);
+    private Element<E> createElement(E o) {
+        if (comparator instanceof SequenceNumberComparator) {
+            return new Element<E>(o, ((SequenceNumberComparator<E>) comparator).getSequenceNumber(o));
+        }
+        return new Element<E>(o);
     }
 
-    private static <E> Sequence<Element<E>> createSequence(SequenceElementComparator<E> comparator) {
-        return new Sequence<Element<E>>(new ElementComparator<E>(comparator));
+    private SequenceIndex<Element<E>> createSequence() {
+        if (comparator instanceof SequenceNumberComparator) {
+            return new SequenceWindow<E>(windowSize);
+        }
+        return new Sequence<Element<E>>(elementComparator);
     }
 
 }
@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+/**
+ * An ordered collection of sequence elements that is used by the
+ * {@link ResequencerEngine} for sorting purposes.
+ *
+ * @version 
+ * @see Sequence
+ * @see SequenceWindow
+ */
+interface SequenceIndex<E> {
+
+    /**
+     * Adds the given element unless an equal element already exists.
+     *
+     * @param e an element.
+     * @return <code>true</code> if the element has been added.
+     */
+    boolean add(E e);
+
+    /**
+     * Removes the given element.
+     *
+     * @param o an element.
+     * @return <code>true</code> if the element has been removed.
+     */
+    boolean remove(Object o);
+
+    /**
+     * Returns the lowest element. Must only be called if this index is not empty.
+     *
+     * @return the lowest element.
+     */
+    E first();
+
+    /**
+     * Returns the immediate predecessor of the given element or <code>null</code>.
+     *
+     * @param e an element.
+     * @return an element of this index or <code>null</code>.
+     */
+    E predecessor(E e);
+
+    /**
+     * Returns the immediate successor of the given element or <code>null</code>.
+     *
+     * @param e an element.
+     * @return an element of this index or <code>null</code>.
+     */
+    E successor(E e);
+
+    /**
+     * Returns the number of elements in this index.
+     *
+     * @return the number of elements.
+     */
+    int size();
+
+}
@@ -0,0 +1,41 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+/**
+ * A {@link SequenceElementComparator} for elements that carry a numeric
+ * (<code>long</code>) sequence number. Implementations must be consistent with
+ * the sequence number i.e. an element with sequence number <code>n</code> is
+ * the immediate predecessor of an element with sequence number
+ * <code>n + 1</code>.
+ * <p>
+ * The {@link ResequencerEngine} uses this comparator to keep elements in an
+ * array-backed {@link SequenceWindow} instead of a tree.
+ *
+ * @version 
+ */
+public interface SequenceNumberComparator<E> extends SequenceElementComparator<E> {
+
+    /**
+     * Returns the sequence number of the given element.
+     *
+     * @param o a sequence element.
+     * @return the sequence number
+     */
+    long getSequenceNumber(E o);
+
+}
@@ -0,0 +1,185 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A {@link SequenceIndex} for elements with numeric sequence numbers. Elements
+ * within a sliding window of sequence numbers are stored in an array that is
+ * indexed by the sequence number, so adding elements and looking up
+ * predecessors and successors needs neither comparisons nor tree nodes. The
+ * window starts at the sequence number following the lowest element removed
+ * from it. Elements outside the window (late elements or elements far ahead of
+ * the stream) are kept in a {@link TreeMap} and moved into the window as soon
+ * as it slides over them.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @version 
+ */
+class SequenceWindow<E> implements SequenceIndex<Element<E>> {
+
+    private static final int MIN_WINDOW_SIZE = 16;
+
+    private final Element<E>[] window;
+    private final int mask;
+    private final TreeMap<Long, Element<E>> sparse = new TreeMap<Long, Element<E>>();
+
+    /**
+     * The sequence number of the first slot of the window.
+     */
+    private long base;
+
+    /**
+     * The number of elements in the window.
+     */
+    private int count;
+
+    /**
+     * Offset (relative to <code>base</code>) below which there are no
+     * elements in the window.
+     */
+    private int offset;
+
+    /**
+     * Creates a new {@link SequenceWindow} instance.
+     *
+     * @param windowSize the minimum number of sequence numbers covered by the
+     *                   window, rounded up to the next power of two.
+     */
+    @SuppressWarnings("unchecked")
+    public SequenceWindow(int windowSize) {
+        int size = MIN_WINDOW_SIZE;
+        while (size < windowSize && size < (1 << 30)) {
+            size <<= 1;
+        }
+        this.window = new Element[size];
+        this.mask = size - 1;
+    }
+
+    public boolean add(Element<E> e) {
+        long n = e.getSequenceNumber();
+        if (count == 0 && !inWindow(n)) {
+            // window is empty so we can move it to where the stream is
+            slide(n);
+        }
+        if (inWindow(n)) {
+            int index = index(n);
+            if (window[index] != null) {
+                return false;
+            }
+            window[index] = e;
+            count++;
+            int off = (int) (n - base);
+            if (off < offset) {
+                offset = off;
+            }
+            return true;
+        }
+        if (sparse.containsKey(n)) {
+            return false;
+        }
+        sparse.put(n, e);
+        return true;
+    }
+
+    public boolean remove(Object o) {
+        long n = ((Element<?>) o).getSequenceNumber();
+        if (!inWindow(n)) {
+            return sparse.remove(n) != null;
+        }
+        int index = index(n);
+        if (window[index] == null) {
+            return false;
+        }
+        window[index] = null;
+        count--;
+        if (count == 0 || n - base == offset) {
+            // removed the lowest element of the window so slide past it
+            slide(n + 1);
+        }
+        return true;
+    }
+
+    public Element<E> first() {
+        if (!sparse.isEmpty()) {
+            Map.Entry<Long, Element<E>> entry = sparse.firstEntry();
+            if (entry.getKey() < base || count == 0) {
+                return entry.getValue();
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+        while (window[index(base + offset)] == null) {
+            offset++;
+        }
+        return window[index(base + offset)];
+    }
+
+    public Element<E> predecessor(Element<E> e) {
+        return get(e.getSequenceNumber() - 1L);
+    }
+
+    public Element<E> successor(Element<E> e) {
+        return get(e.getSequenceNumber() + 1L);
+    }
+
+    public int size() {
+        return count + sparse.size();
+    }
+
+    private Element<E> get(long n) {
+        if (inWindow(n)) {
+            return window[index(n)];
+        }
+        return sparse.get(n);
+    }
+
+    private boolean inWindow(long n) {
+        return n >= base && n - base < window.length;
+    }
+
+    private int index(long n) {
+        return (int) n & mask;
+    }
+
+    /**
+     * Moves the window to start at the given sequence number. All elements in
+     * the window must be greater than or equal to <code>start</code>. Elements
+     * of the sparse map the window now covers are moved into the window.
+     */
+    private void slide(long start) {
+        base = start;
+        offset = 0;
+        if (sparse.isEmpty() || sparse.lastKey() < base) {
+            return;
+        }
+        long end = base + window.length;
+        Iterator<Element<E>> it = sparse.subMap(base, end < base ? Long.MAX_VALUE : end).values().iterator();
+        while (it.hasNext()) {
+            Element<E> e = it.next();
+            it.remove();
+            window[index(e.getSequenceNumber())] = e;
+            count++;
+        }
+    }
+
+}
@@ -0,0 +1,39 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import java.util.EventObject;
+import java.util.List;
+
+/**
+ * A {@link EventNotifier} which can be notified of a batch of events at once,
+ * when the events is dispatched asynchronously.
+ *
+ * @see org.apache.camel.management.EventNotifierSupport#setAsync(boolean)
+ * @version 
+ */
+public interface BatchEventNotifier extends EventNotifier {
+
+    /**
+     * Notifies the given events
+     *
+     * @param events the events in the order they occurred
+     * @throws Exception can be thrown if notification failed
+     */
+    void notifyBatch(List<EventObject> events) throws Exception;
+
+}
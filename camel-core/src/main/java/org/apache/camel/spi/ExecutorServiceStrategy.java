@@ -142,6 +142,18 @@ public interface ExecutorServiceStrategy extends ShutdownableService {
      */
     ExecutorService newThreadPool(Object source, String name, String threadPoolProfileId);
 
+    /**
+     * Creates a new thread pool based on the given profile.
+     * <p/>
+     * Options not set on the profile will fallback to use the values from the default thread pool profile.
+     *
+     * @param source      the source object, usually it should be <tt>this</tt> passed in as parameter
+     * @param name        name which is appended to the thread name
+     * @param profile     the thread pool profile to use for creating the thread pool
+     * @return the created thread pool
+     */
+    ExecutorService newThreadPool(Object source, String name, ThreadPoolProfile profile);
+
     /**
      * Creates a new cached thread pool.
      * <p/>
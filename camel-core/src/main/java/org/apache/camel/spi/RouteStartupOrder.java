@@ -53,4 +53,11 @@ public interface RouteStartupOrder {
      */
     List<Consumer> getInputs();
 
+    /**
+     * Gets the time in millis it took to warm up the route and start its inputs
+     *
+     * @return the startup time in millis
+     */
+    long getStartupTime();
+
 }
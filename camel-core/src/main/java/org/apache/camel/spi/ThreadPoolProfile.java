@@ -20,6 +20,7 @@ import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
 
 /**
  * A profile which defines thread pool settings.
@@ -144,4 +145,37 @@ public interface ThreadPoolProfile {
      */
     void setRejectedPolicy(ThreadPoolRejectedPolicy rejectedPolicy);
 
+    /**
+     * Gets the type of thread pool to create.
+     *
+     * @return the type, or <tt>null</tt> if none defined
+     */
+    ThreadPoolType getPoolType();
+
+    /**
+     * Sets the type of thread pool to create.
+     * <p/>
+     * With the <tt>Adaptive</tt> type the pool size is tuned at runtime between the pool size and the maximum pool size.
+     * With the <tt>WorkStealing</tt> type the pool has a fixed number of threads given by the pool size.
+     *
+     * @param poolType the type
+     */
+    void setPoolType(ThreadPoolType poolType);
+
+    /**
+     * Whether or not the threads of the thread pool is daemon threads.
+     *
+     * @return whether daemon, or <tt>null</tt> if none defined
+     */
+    Boolean isDaemon();
+
+    /**
+     * Sets whether or not the threads of the thread pool is daemon threads.
+     * <p/>
+     * This applies to all the types of thread pools, and the default is <tt>false</tt>.
+     *
+     * @param daemon whether daemon
+     */
+    void setDaemon(Boolean daemon);
+
 }
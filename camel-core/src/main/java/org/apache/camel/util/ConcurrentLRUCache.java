@@ -0,0 +1,207 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A thread-safe, bounded, Least Recently Used Cache.
+ * <p/>
+ * The cache is split into a number of segments, each being a {@link LinkedHashMap} in
+ * access order guarded by its own lock. Keys are assigned to segments by their hash code,
+ * so threads working on keys in different segments do not contend with each other.
+ * Each segment holds at most its share of the <tt>maximumCacheSize</tt> and evicts its
+ * least recently used entry when it overflows, which means the eviction order is
+ * least recently used per segment rather than across the whole cache.
+ *
+ * @version 
+ */
+public class ConcurrentLRUCache<K, V> {
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final int maxCacheSize;
+
+    public ConcurrentLRUCache(int maximumCacheSize) {
+        this(maximumCacheSize, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Constructs an empty <tt>ConcurrentLRUCache</tt> instance.
+     *
+     * @param maximumCacheSize the max capacity.
+     * @param concurrencyLevel the estimated number of concurrently updating threads, which
+     *                         is rounded up to a power of two to determine the number of segments.
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentLRUCache(int maximumCacheSize, int concurrencyLevel) {
+        if (maximumCacheSize <= 0) {
+            throw new IllegalArgumentException("MaximumCacheSize must be positive, was: " + maximumCacheSize);
+        }
+        int size = 1;
+        // do not use more segments than entries
+        while (size < concurrencyLevel && size * 2 <= maximumCacheSize && size < (1 << 16)) {
+            size <<= 1;
+        }
+        this.maxCacheSize = maximumCacheSize;
+        this.segments = new Segment[size];
+        this.segmentMask = size - 1;
+        // spread the remainder so the segments add up to exactly the maximum cache size
+        int perSegment = maximumCacheSize / size;
+        int remainder = maximumCacheSize % size;
+        for (int i = 0; i < size; i++) {
+            segments[i] = new Segment<K, V>(this, i < remainder ? perSegment + 1 : perSegment);
+        }
+    }
+
+    /**
+     * Returns the maxCacheSize.
+     */
+    public int getMaxCacheSize() {
+        return maxCacheSize;
+    }
+
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    public boolean containsKey(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.containsKey(key);
+        }
+    }
+
+    public V put(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.put(key, value);
+        }
+    }
+
+    /**
+     * Associates the value with the key if the key is not already in the cache.
+     *
+     * @return the existing value, or <tt>null</tt> if the value was added
+     */
+    public V putIfAbsent(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            V existing = segment.get(key);
+            if (existing == null) {
+                segment.put(key, value);
+            }
+            return existing;
+        }
+    }
+
+    public V remove(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    /**
+     * Removes the entry only if the key is currently mapped to the given value.
+     *
+     * @return <tt>true</tt> if the entry was removed
+     */
+    public boolean remove(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            V existing = segment.get(key);
+            if (existing != null && existing.equals(value)) {
+                segment.remove(key);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Callback when the least recently used entry of a segment is evicted
+     * because the segment is full. Invoked while holding the lock of the segment.
+     *
+     * @param key   the evicted key
+     * @param value the evicted value
+     */
+    protected void onEviction(K key, V value) {
+        // noop
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        // spread the hash code so the low bits used for selecting the segment are well mixed
+        int h = key.hashCode();
+        h ^= (h >>> 20) ^ (h >>> 12);
+        h ^= (h >>> 7) ^ (h >>> 4);
+        return segments[h & segmentMask];
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentLRUCache@" + ObjectHelper.getIdentityHashCode(this);
+    }
+
+    private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 2719382746113476917L;
+        private final transient ConcurrentLRUCache<K, V> cache;
+        private final int maxSegmentSize;
+
+        private Segment(ConcurrentLRUCache<K, V> cache, int maxSegmentSize) {
+            super(16, 0.75f, true);
+            this.cache = cache;
+            this.maxSegmentSize = maxSegmentSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> entry) {
+            if (size() > maxSegmentSize) {
+                cache.onEviction(entry.getKey(), entry.getValue());
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread-safe counting Bloom filter for strings.
+ * <p/>
+ * A Bloom filter answers whether a key <i>might</i> have been added, or whether it was
+ * <i>definitely not</i> added, using a small fixed amount of memory. This implementation
+ * uses 4-bit counters instead of single bits, so keys can be removed again. Counters
+ * are packed into an {@link AtomicLongArray} and updated lock-free. A counter which
+ * reaches its maximum value sticks, which means keys hashing to it can no longer be
+ * removed, but never causes false negatives.
+ *
+ * @version 
+ */
+public class CountingBloomFilter {
+    private static final int COUNTERS_PER_WORD = 16;
+    private static final long COUNTER_MASK = 0xFL;
+
+    private final AtomicLongArray counters;
+    private final int size;
+    private final int hashes;
+
+    /**
+     * Creates a filter sized for the given number of keys.
+     *
+     * @param expectedKeys                the number of keys expected to be in the filter at the same time
+     * @param falsePositiveProbability    the desired probability of false positives at the expected number of keys
+     */
+    public CountingBloomFilter(int expectedKeys, double falsePositiveProbability) {
+        if (expectedKeys <= 0) {
+            throw new IllegalArgumentException("ExpectedKeys must be positive, was: " + expectedKeys);
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("FalsePositiveProbability must be between 0 and 1, was: " + falsePositiveProbability);
+        }
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveProbability) / (ln2 * ln2));
+        this.size = (int) Math.min(Math.max(m, COUNTERS_PER_WORD), Integer.MAX_VALUE - COUNTERS_PER_WORD);
+        this.hashes = Math.max(1, (int) Math.round((double) size / expectedKeys * ln2));
+        this.counters = new AtomicLongArray((size + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD);
+    }
+
+    /**
+     * Number of counters in this filter.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Number of hash functions used per key.
+     */
+    public int getHashes() {
+        return hashes;
+    }
+
+    /**
+     * Adds the key to the filter.
+     */
+    public void add(String key) {
+        int h1 = hash1(key);
+        int h2 = hash2(key);
+        for (int i = 0; i < hashes; i++) {
+            update(index(h1, h2, i), 1);
+        }
+    }
+
+    /**
+     * Removes a key which has previously been added from the filter.
+     * Removing a key which has not been added may cause false negatives.
+     */
+    public void remove(String key) {
+        int h1 = hash1(key);
+        int h2 = hash2(key);
+        for (int i = 0; i < hashes; i++) {
+            update(index(h1, h2, i), -1);
+        }
+    }
+
+    /**
+     * Whether the key might have been added to the filter.
+     *
+     * @return <tt>false</tt> if the key has definitely not been added, <tt>true</tt> if it might have been added
+     */
+    public boolean mightContain(String key) {
+        int h1 = hash1(key);
+        int h2 = hash2(key);
+        for (int i = 0; i < hashes; i++) {
+            int index = index(h1, h2, i);
+            long word = counters.get(index / COUNTERS_PER_WORD);
+            if (((word >>> shift(index)) & COUNTER_MASK) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimates the probability that {@link #mightContain(String)} returns <tt>true</tt> for a key
+     * which has not been added, given the number of keys currently in the filter.
+     *
+     * @param keys the number of keys currently in the filter
+     */
+    public double getFalsePositiveProbability(long keys) {
+        return Math.pow(1 - Math.exp(-(double) hashes * keys / size), hashes);
+    }
+
+    /**
+     * Resets all counters.
+     */
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    private void update(int index, int delta) {
+        int word = index / COUNTERS_PER_WORD;
+        int shift = shift(index);
+        while (true) {
+            long current = counters.get(word);
+            long counter = (current >>> shift) & COUNTER_MASK;
+            if (counter == COUNTER_MASK || (delta < 0 && counter == 0)) {
+                // sticky when saturated, and never go below zero
+                return;
+            }
+            long updated = current + ((long) delta << shift);
+            if (counters.compareAndSet(word, current, updated)) {
+                return;
+            }
+        }
+    }
+
+    private int index(int h1, int h2, int i) {
+        // double hashing to simulate the k independent hash functions
+        int combined = h1 + i * h2;
+        return (combined & Integer.MAX_VALUE) % size;
+    }
+
+    private static int shift(int index) {
+        return (index % COUNTERS_PER_WORD) * 4;
+    }
+
+    private static int hash1(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        h *= 0x85ebca6b;
+        h ^= (h >>> 13);
+        h *= 0xc2b2ae35;
+        h ^= (h >>> 16);
+        return h;
+    }
+
+    private static int hash2(String key) {
+        // FNV-1a which is independent of String.hashCode
+        int h = 0x811c9dc5;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x01000193;
+        }
+        return h;
+    }
+}
@@ -25,6 +25,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.apache.camel.Route;
 import org.apache.camel.impl.ServiceSupport;
+import org.apache.camel.management.EventNotifierSupport;
 import org.apache.camel.spi.EventFactory;
 import org.apache.camel.spi.EventNotifier;
 import org.slf4j.Logger;
@@ -32,6 +33,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Helper for easily sending event notifications in a single line of code
+ * <p/>
+ * The event is only created if there is a notifier which does not ignore the event,
+ * and then shared by the notifiers.
  *
  * @version 
  */
@@ -48,18 +52,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreCamelContextEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createCamelContextStartingEvent(context);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createCamelContextStartingEvent(context);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -71,18 +78,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreCamelContextEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createCamelContextStartedEvent(context);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createCamelContextStartedEvent(context);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -94,18 +104,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreCamelContextEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createCamelContextStartupFailureEvent(context, cause);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createCamelContextStartupFailureEvent(context, cause);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -117,18 +130,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreCamelContextEvents()) {
                 return;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createCamelContextStoppingEvent(context);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createCamelContextStoppingEvent(context);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -140,18 +156,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreCamelContextEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createCamelContextStoppedEvent(context);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createCamelContextStoppedEvent(context);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -163,18 +182,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreCamelContextEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createCamelContextStopFailureEvent(context, cause);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createCamelContextStopFailureEvent(context, cause);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -186,18 +208,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreServiceEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createServiceStopFailureEvent(context, service, cause);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createServiceStopFailureEvent(context, service, cause);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -209,18 +234,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreServiceEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createServiceStartupFailureEvent(context, service, cause);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createServiceStartupFailureEvent(context, service, cause);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -232,18 +260,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreRouteEvents()) {
                 return;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createRouteStartedEvent(route);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createRouteStartedEvent(route);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -255,18 +286,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreRouteEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createRouteStoppedEvent(route);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createRouteStoppedEvent(route);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -283,18 +317,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreExchangeEvents() || notifier.isIgnoreExchangeCreatedEvent()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createExchangeCreatedEvent(exchange);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createExchangeCreatedEvent(exchange);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -311,18 +348,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreExchangeEvents() || notifier.isIgnoreExchangeCompletedEvent()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createExchangeCompletedEvent(exchange);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createExchangeCompletedEvent(exchange);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -339,18 +379,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreExchangeEvents() || notifier.isIgnoreExchangeFailedEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createExchangeFailedEvent(exchange);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createExchangeFailedEvent(exchange);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -368,18 +411,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreExchangeEvents() || notifier.isIgnoreExchangeFailedEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createExchangeFailureHandledEvent(exchange, failureHandler, deadLetterChannel);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createExchangeFailureHandledEvent(exchange, failureHandler, deadLetterChannel);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -396,18 +442,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreExchangeEvents() || notifier.isIgnoreExchangeFailedEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createExchangeRedeliveryEvent(exchange, attempt);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createExchangeRedeliveryEvent(exchange, attempt);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -424,18 +473,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreExchangeEvents() || notifier.isIgnoreExchangeSentEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createExchangeSentEvent(exchange, endpoint, timeTaken);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createExchangeSentEvent(exchange, endpoint, timeTaken);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -447,18 +499,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreCamelContextEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createCamelContextSuspendingEvent(context);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createCamelContextSuspendingEvent(context);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -470,18 +525,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreCamelContextEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createCamelContextSuspendedEvent(context);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createCamelContextSuspendedEvent(context);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -493,18 +551,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreCamelContextEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createCamelContextResumingEvent(context);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createCamelContextResumingEvent(context);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -516,18 +577,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreCamelContextEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createCamelContextResumedEvent(context);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createCamelContextResumedEvent(context);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -539,18 +603,21 @@ public final class EventHelper {
             return;
         }
 
+        EventObject event = null;
         for (EventNotifier notifier : notifiers) {
             if (notifier.isIgnoreCamelContextEvents()) {
                 continue;
             }
 
-            EventFactory factory = context.getManagementStrategy().getEventFactory();
-            if (factory == null) {
-                return;
-            }
-            EventObject event = factory.createCamelContextResumeFailureEvent(context, cause);
             if (event == null) {
-                return;
+                EventFactory factory = context.getManagementStrategy().getEventFactory();
+                if (factory == null) {
+                    return;
+                }
+                event = factory.createCamelContextResumeFailureEvent(context, cause);
+                if (event == null) {
+                    return;
+                }
             }
             doNotifyEvent(notifier, event);
         }
@@ -577,7 +644,12 @@ public final class EventHelper {
         }
 
         try {
-            notifier.notify(event);
+            if (notifier instanceof EventNotifierSupport) {
+                // may be notified asynchronously
+                ((EventNotifierSupport) notifier).dispatch(event);
+            } else {
+                notifier.notify(event);
+            }
         } catch (Throwable e) {
             LOG.warn("Error notifying event " + event + ". This exception will be ignored. ", e);
         }
@@ -0,0 +1,293 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ThreadPoolExecutor} which resizes itself between a minimum and maximum pool size, based on the
+ * observed queue wait time, task service time and throughput.
+ * <p/>
+ * The pool measures every task it executes, and once per tuning interval it decides whether to grow or shrink
+ * the pool by one thread, using a simple hill climbing controller:
+ * <ul>
+ *   <li>if the tasks hardly wait in the queue, then the pool shrinks towards the minimum pool size.</li>
+ *   <li>if the tasks are waiting, then the pool keeps growing as long as the throughput improves.
+ *   When growing no longer improves the throughput the pool shrinks again, until shrinking lowers the throughput.</li>
+ * </ul>
+ * The pool will therefore settle around the number of threads where adding more threads no longer pays off,
+ * for example because a downstream system is saturated.
+ * <p/>
+ * The core and maximum pool size of the underlying {@link ThreadPoolExecutor} are kept the same, so the pool size is
+ * decided by the controller only. The tuning happens in the threads completing the tasks, so an idle pool is
+ * not tuned until it receives tasks again.
+ *
+ * @version 
+ */
+public class AdaptiveThreadPoolExecutor extends ThreadPoolExecutor {
+
+    public static final long DEFAULT_TUNING_INTERVAL = 1000;
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptiveThreadPoolExecutor.class);
+    // the throughput must change more than 5% before we consider it changed
+    private static final double TOLERANCE = 0.05;
+    // tasks waiting less than 10% of the service time in the queue are not considered waiting
+    private static final double WAIT_RATIO = 0.1;
+
+    private final int minPoolSize;
+    private final int maxPoolSize;
+    private volatile long tuningInterval = DEFAULT_TUNING_INTERVAL;
+
+    // measurements since the last tuning
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong waitTime = new AtomicLong();
+    private final AtomicLong serviceTime = new AtomicLong();
+    private final AtomicBoolean tuning = new AtomicBoolean();
+    private volatile long lastTuning = System.nanoTime();
+
+    // state of the controller, only updated by the thread holding the tuning flag
+    private double lastThroughput = -1;
+    private int direction = 1;
+
+    // outcome of the last tuning
+    private volatile double throughput;
+    private volatile double averageWaitTime;
+    private volatile double averageServiceTime;
+    private volatile String lastDecision;
+    private final AtomicLong growCount = new AtomicLong();
+    private final AtomicLong shrinkCount = new AtomicLong();
+
+    public AdaptiveThreadPoolExecutor(int minPoolSize, int maxPoolSize, long keepAliveTime, TimeUnit unit,
+                                      BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory,
+                                      RejectedExecutionHandler handler) {
+        super(minPoolSize, minPoolSize, keepAliveTime, unit, workQueue, threadFactory, handler);
+        if (minPoolSize < 1) {
+            throw new IllegalArgumentException("MinPoolSize must be >= 1, was " + minPoolSize);
+        }
+        if (maxPoolSize < minPoolSize) {
+            throw new IllegalArgumentException("MaxPoolSize must be >= minPoolSize, was " + maxPoolSize + " >= " + minPoolSize);
+        }
+        this.minPoolSize = minPoolSize;
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        super.execute(new TimedTask(command));
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        // return the tasks as they were given to us
+        List<Runnable> answer = new ArrayList<Runnable>();
+        for (Runnable task : super.shutdownNow()) {
+            answer.add(task instanceof TimedTask ? ((TimedTask) task).task : task);
+        }
+        return answer;
+    }
+
+    /**
+     * Gets the lower bound of the pool size
+     */
+    public int getMinPoolSize() {
+        return minPoolSize;
+    }
+
+    /**
+     * Gets the upper bound of the pool size
+     */
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public long getTuningInterval() {
+        return tuningInterval;
+    }
+
+    /**
+     * Sets how often in millis the pool size is tuned.
+     * <p/>
+     * The interval should be long enough for many tasks to complete, so the measurements are reliable.
+     * Default is 1000 millis.
+     */
+    public void setTuningInterval(long tuningInterval) {
+        this.tuningInterval = tuningInterval;
+    }
+
+    /**
+     * Throughput in tasks per second, measured in the last tuning interval
+     */
+    public double getThroughput() {
+        return throughput;
+    }
+
+    /**
+     * Average time in millis the tasks waited in the queue, measured in the last tuning interval
+     */
+    public double getAverageWaitTime() {
+        return averageWaitTime;
+    }
+
+    /**
+     * Average time in millis it took to execute the tasks, measured in the last tuning interval
+     */
+    public double getAverageServiceTime() {
+        return averageServiceTime;
+    }
+
+    /**
+     * Description of the last decision made by the controller, or <tt>null</tt> if not tuned yet
+     */
+    public String getLastDecision() {
+        return lastDecision;
+    }
+
+    /**
+     * Number of times the pool has been grown
+     */
+    public long getGrowCount() {
+        return growCount.get();
+    }
+
+    /**
+     * Number of times the pool has been shrunk
+     */
+    public long getShrinkCount() {
+        return shrinkCount.get();
+    }
+
+    private void onTaskDone(long waited, long serviced, long now) {
+        waitTime.addAndGet(waited);
+        serviceTime.addAndGet(serviced);
+        completed.incrementAndGet();
+
+        if (now - lastTuning >= TimeUnit.MILLISECONDS.toNanos(tuningInterval) && tuning.compareAndSet(false, true)) {
+            try {
+                tune(now);
+            } finally {
+                tuning.set(false);
+            }
+        }
+    }
+
+    private void tune(long now) {
+        long elapsed = now - lastTuning;
+        if (elapsed <= 0) {
+            return;
+        }
+        lastTuning = now;
+        long count = completed.getAndSet(0);
+        long waited = waitTime.getAndSet(0);
+        long serviced = serviceTime.getAndSet(0);
+
+        throughput = count * 1000000000d / elapsed;
+        averageWaitTime = count > 0 ? waited / 1000000d / count : 0;
+        averageServiceTime = count > 0 ? serviced / 1000000d / count : 0;
+
+        String reason;
+        if (averageWaitTime <= averageServiceTime * WAIT_RATIO) {
+            // we have more threads than we need
+            direction = -1;
+            reason = "tasks are not waiting";
+        } else if (lastThroughput < 0) {
+            direction = 1;
+            reason = "tasks are waiting";
+        } else if (direction > 0) {
+            if (throughput > lastThroughput * (1 + TOLERANCE)) {
+                reason = "throughput improved";
+            } else {
+                direction = -1;
+                reason = "throughput did not improve";
+            }
+        } else {
+            if (throughput < lastThroughput * (1 - TOLERANCE)) {
+                direction = 1;
+                reason = "throughput dropped";
+            } else {
+                reason = "throughput did not drop";
+            }
+        }
+        lastThroughput = throughput;
+
+        int size = getCorePoolSize();
+        int newSize = Math.max(minPoolSize, Math.min(maxPoolSize, size + direction));
+        if (newSize > size) {
+            // raise the maximum first as it cannot be lower than the core size
+            setMaximumPoolSize(newSize);
+            setCorePoolSize(newSize);
+            growCount.incrementAndGet();
+        } else if (newSize < size) {
+            setCorePoolSize(newSize);
+            setMaximumPoolSize(newSize);
+            shrinkCount.incrementAndGet();
+        }
+
+        lastDecision = (newSize > size ? "Grow" : newSize < size ? "Shrink" : "Keep") + " pool size " + size + " -> " + newSize
+                + " as " + reason + " [throughput=" + Math.round(throughput) + "/s, averageWaitTime=" + averageWaitTime
+                + " millis, averageServiceTime=" + averageServiceTime + " millis]";
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(lastDecision);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveThreadPoolExecutor[" + minPoolSize + " - " + maxPoolSize + ", poolSize=" + getCorePoolSize() + "]";
+    }
+
+    /**
+     * Wraps the tasks so we can measure the time they wait in the queue and the time they take to execute.
+     */
+    private final class TimedTask implements Runnable {
+
+        private final Runnable task;
+        private final long created = System.nanoTime();
+
+        private TimedTask(Runnable task) {
+            this.task = task;
+        }
+
+        public void run() {
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                long end = System.nanoTime();
+                onTaskDone(start - created, end - start, end);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+
+}
@@ -238,6 +238,63 @@ public final class ExecutorServiceHelper {
         return answer;
     }
 
+    /**
+     * Creates a new adaptive thread pool which resizes itself between the core and maximum pool size.
+     *
+     * @param pattern                  pattern of the thread name
+     * @param name                     ${name} in the pattern name
+     * @param corePoolSize             the minimum pool size
+     * @param maxPoolSize              the maximum pool size
+     * @param keepAliveTime            keep alive time
+     * @param timeUnit                 keep alive time unit
+     * @param maxQueueSize             the maximum number of tasks in the queue, use <tt>Integer.MAX_VALUE</tt> or <tt>-1</tt> to indicate unbounded
+     * @param rejectedExecutionHandler the handler for tasks which cannot be executed by the thread pool.
+     *                                 If <tt>null</tt> is provided then {@link java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy CallerRunsPolicy} is used.
+     * @param daemon                   whether the threads is daemon or not
+     * @return the created pool
+     * @throws IllegalArgumentException if parameters is not valid
+     * @see AdaptiveThreadPoolExecutor
+     */
+    public static ExecutorService newAdaptiveThreadPool(final String pattern, final String name, int corePoolSize, int maxPoolSize,
+                                                        long keepAliveTime, TimeUnit timeUnit, int maxQueueSize,
+                                                        RejectedExecutionHandler rejectedExecutionHandler, final boolean daemon) {
+        BlockingQueue<Runnable> queue;
+        if (maxQueueSize <= 0) {
+            // unbounded task queue
+            queue = new LinkedBlockingQueue<Runnable>();
+        } else {
+            // bounded task queue
+            queue = new LinkedBlockingQueue<Runnable>(maxQueueSize);
+        }
+        if (rejectedExecutionHandler == null) {
+            rejectedExecutionHandler = new ThreadPoolExecutor.CallerRunsPolicy();
+        }
+        return new AdaptiveThreadPoolExecutor(corePoolSize, maxPoolSize, keepAliveTime, timeUnit, queue,
+                new CamelThreadFactory(pattern, name, daemon), rejectedExecutionHandler);
+    }
+
+    /**
+     * Creates a new work stealing thread pool where each thread has its own task deque.
+     *
+     * @param pattern                  pattern of the thread name
+     * @param name                     ${name} in the pattern name
+     * @param poolSize                 the number of threads
+     * @param maxQueueSize             the maximum number of pending tasks, use <tt>Integer.MAX_VALUE</tt> or <tt>-1</tt> to indicate unbounded
+     * @param rejectedExecutionHandler the handler for tasks which cannot be executed by the thread pool.
+     *                                 If <tt>null</tt> is provided then {@link java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy CallerRunsPolicy} is used.
+     * @param daemon                   whether the threads is daemon or not
+     * @return the created pool
+     * @throws IllegalArgumentException if parameters is not valid
+     * @see WorkStealingExecutorService
+     */
+    public static ExecutorService newWorkStealingThreadPool(final String pattern, final String name, int poolSize, int maxQueueSize,
+                                                            RejectedExecutionHandler rejectedExecutionHandler, final boolean daemon) {
+        if (rejectedExecutionHandler == null) {
+            rejectedExecutionHandler = new ThreadPoolExecutor.CallerRunsPolicy();
+        }
+        return new WorkStealingExecutorService(poolSize, maxQueueSize, new CamelThreadFactory(pattern, name, daemon), rejectedExecutionHandler);
+    }
+
     /**
      * Will lookup and get the configured {@link java.util.concurrent.ExecutorService} from the given definition.
      * <p/>
@@ -0,0 +1,369 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A work stealing {@link java.util.concurrent.ExecutorService} where each worker thread has its own task deque,
+ * instead of all threads sharing a single task queue as with a {@link ThreadPoolExecutor}.
+ * <p/>
+ * Tasks submitted from outside the pool are spread round robin over the worker deques, and tasks submitted
+ * by a worker thread itself are pushed to the head of its own deque. A worker takes tasks from the head of
+ * its own deque, and when that is empty it steals from the tail of the deques of the other workers.
+ * This avoids the single queue becoming the contention point when many small tasks are submitted,
+ * for example when the Splitter or Multicast fan out in parallel.
+ * <p/>
+ * The pool has a fixed number of worker threads which are started when the first task is submitted.
+ * The threads are created using the given {@link ThreadFactory} so they use the Camel thread naming.
+ * Shutdown works as with the JDK thread pools: {@link #shutdown()} lets the workers complete the pending tasks,
+ * and {@link #shutdownNow()} interrupts the workers and returns the pending tasks.
+ * <p/>
+ * As this is not a {@link ThreadPoolExecutor} the rejected handler is not invoked as such, but the JDK policies
+ * <tt>CallerRunsPolicy</tt>, <tt>DiscardPolicy</tt> and <tt>DiscardOldestPolicy</tt> are honored.
+ * Any other handler behaves as <tt>AbortPolicy</tt>.
+ *
+ * @version 
+ */
+public class WorkStealingExecutorService extends AbstractExecutorService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WorkStealingExecutorService.class);
+    private static final int RUNNING = 0;
+    private static final int SHUTDOWN = 1;
+    private static final int STOP = 2;
+
+    private final Worker[] workers;
+    private final ThreadFactory threadFactory;
+    private final int maxQueueSize;
+    private final RejectedExecutionHandler rejectedExecutionHandler;
+    private final ThreadLocal<Worker> currentWorker = new ThreadLocal<Worker>();
+    private final AtomicInteger state = new AtomicInteger(RUNNING);
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final CountDownLatch terminated;
+
+    // number of tasks in the deques, which is used to decide whether workers should wait for work
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger idle = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong stealCount = new AtomicLong();
+
+    /**
+     * Creates a work stealing executor service.
+     *
+     * @param poolSize                 the number of worker threads
+     * @param maxQueueSize             the maximum number of pending tasks, use <tt>0</tt> or <tt>-1</tt> to indicate unbounded
+     * @param threadFactory            factory for creating the worker threads
+     * @param rejectedExecutionHandler the handler for tasks which cannot be executed, can be <tt>null</tt> to abort
+     */
+    public WorkStealingExecutorService(int poolSize, int maxQueueSize, ThreadFactory threadFactory,
+                                       RejectedExecutionHandler rejectedExecutionHandler) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("PoolSize must be >= 1, was " + poolSize);
+        }
+        if (threadFactory == null) {
+            throw new IllegalArgumentException("ThreadFactory must be provided");
+        }
+        this.threadFactory = threadFactory;
+        this.maxQueueSize = maxQueueSize == Integer.MAX_VALUE ? -1 : maxQueueSize;
+        this.rejectedExecutionHandler = rejectedExecutionHandler;
+        this.terminated = new CountDownLatch(poolSize);
+        this.workers = new Worker[poolSize];
+        for (int i = 0; i < poolSize; i++) {
+            workers[i] = new Worker(i);
+        }
+    }
+
+    public void execute(Runnable task) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        if (state.get() != RUNNING) {
+            reject(task);
+            return;
+        }
+        if (maxQueueSize > 0 && queued.incrementAndGet() > maxQueueSize) {
+            queued.decrementAndGet();
+            reject(task);
+            return;
+        } else if (maxQueueSize <= 0) {
+            queued.incrementAndGet();
+        }
+
+        startWorkers();
+
+        Worker worker = currentWorker.get();
+        LinkedBlockingDeque<Runnable> deque;
+        if (worker != null) {
+            // submitted by one of our own workers so push to the head of its own deque
+            deque = worker.deque;
+            deque.offerFirst(task);
+        } else {
+            // spread the tasks from outside the pool over the workers
+            deque = workers[(next.getAndIncrement() & Integer.MAX_VALUE) % workers.length].deque;
+            deque.offerLast(task);
+        }
+
+        if (state.get() != RUNNING && deque.remove(task)) {
+            // we were shutdown while adding the task, and no worker took it
+            queued.decrementAndGet();
+            reject(task);
+            return;
+        }
+        signalWork();
+    }
+
+    public void shutdown() {
+        if (state.compareAndSet(RUNNING, SHUTDOWN)) {
+            onShutdown();
+        }
+    }
+
+    public List<Runnable> shutdownNow() {
+        state.set(STOP);
+        onShutdown();
+
+        List<Runnable> answer = new ArrayList<Runnable>();
+        for (Worker worker : workers) {
+            int count = worker.deque.drainTo(answer);
+            queued.addAndGet(-count);
+            Thread thread = worker.thread;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+        return answer;
+    }
+
+    public boolean isShutdown() {
+        return state.get() != RUNNING;
+    }
+
+    public boolean isTerminated() {
+        return isShutdown() && terminated.getCount() == 0;
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    /**
+     * Gets the number of worker threads
+     */
+    public int getPoolSize() {
+        return workers.length;
+    }
+
+    /**
+     * Gets the number of tasks waiting in the deques of the workers
+     */
+    public int getQueueSize() {
+        return queued.get();
+    }
+
+    /**
+     * Gets the number of tasks which have been executed
+     */
+    public long getCompletedTaskCount() {
+        return completedCount.get();
+    }
+
+    /**
+     * Gets the number of tasks a worker has stolen from the deque of another worker
+     */
+    public long getStealCount() {
+        return stealCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "WorkStealingExecutorService[poolSize=" + workers.length + ", queueSize=" + queued.get()
+                + ", completed=" + completedCount.get() + ", stolen=" + stealCount.get() + "]";
+    }
+
+    private void startWorkers() {
+        if (started.compareAndSet(false, true)) {
+            for (Worker worker : workers) {
+                Thread thread = threadFactory.newThread(worker);
+                worker.thread = thread;
+                thread.start();
+            }
+        }
+    }
+
+    private void onShutdown() {
+        if (started.compareAndSet(false, true)) {
+            // the workers was never started so we are terminated
+            for (int i = 0; i < workers.length; i++) {
+                terminated.countDown();
+            }
+        }
+        lock.lock();
+        try {
+            workAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signalWork() {
+        if (idle.get() > 0) {
+            lock.lock();
+            try {
+                workAvailable.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void reject(Runnable task) {
+        if (rejectedExecutionHandler instanceof ThreadPoolExecutor.CallerRunsPolicy) {
+            if (!isShutdown()) {
+                task.run();
+            }
+        } else if (rejectedExecutionHandler instanceof ThreadPoolExecutor.DiscardPolicy) {
+            // discard the task
+        } else if (rejectedExecutionHandler instanceof ThreadPoolExecutor.DiscardOldestPolicy) {
+            if (!isShutdown()) {
+                for (Worker worker : workers) {
+                    if (worker.deque.pollLast() != null) {
+                        queued.decrementAndGet();
+                        break;
+                    }
+                }
+                execute(task);
+            }
+        } else {
+            throw new RejectedExecutionException("Task " + task + " rejected from " + this);
+        }
+    }
+
+    /**
+     * A worker with its own deque of tasks.
+     */
+    private final class Worker implements Runnable {
+
+        private final int index;
+        private final LinkedBlockingDeque<Runnable> deque = new LinkedBlockingDeque<Runnable>();
+        private volatile Thread thread;
+
+        private Worker(int index) {
+            this.index = index;
+        }
+
+        public void run() {
+            currentWorker.set(this);
+            try {
+                while (true) {
+                    Runnable task = findTask();
+                    if (task != null) {
+                        runTask(task);
+                    } else if (!awaitWork()) {
+                        break;
+                    }
+                }
+            } finally {
+                currentWorker.remove();
+                terminated.countDown();
+            }
+        }
+
+        private Runnable findTask() {
+            if (state.get() == STOP) {
+                return null;
+            }
+            Runnable task = deque.pollFirst();
+            if (task == null) {
+                // steal from the tail of the other workers
+                for (int i = 1; i < workers.length && task == null; i++) {
+                    task = workers[(index + i) % workers.length].deque.pollLast();
+                    if (task != null) {
+                        stealCount.incrementAndGet();
+                    }
+                }
+            }
+            if (task != null && queued.decrementAndGet() > 0) {
+                // there is more work so wake up another worker to help
+                signalWork();
+            }
+            return task;
+        }
+
+        private void runTask(Runnable task) {
+            // clear interrupted flag unless we are stopping
+            if (Thread.interrupted() && state.get() == STOP) {
+                Thread.currentThread().interrupt();
+            }
+            try {
+                task.run();
+            } catch (Throwable e) {
+                LOG.warn("Error executing task " + task + ". This exception will be ignored.", e);
+            } finally {
+                completedCount.incrementAndGet();
+            }
+        }
+
+        private boolean awaitWork() {
+            lock.lock();
+            try {
+                idle.incrementAndGet();
+                try {
+                    while (queued.get() == 0) {
+                        if (state.get() != RUNNING) {
+                            return false;
+                        }
+                        workAvailable.await();
+                    }
+                } finally {
+                    idle.decrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                // we are interrupted when stopping, otherwise just look for work again
+            } finally {
+                lock.unlock();
+            }
+            return state.get() != STOP;
+        }
+
+        @Override
+        public String toString() {
+            return "Worker[" + index + "]";
+        }
+    }
+
+}
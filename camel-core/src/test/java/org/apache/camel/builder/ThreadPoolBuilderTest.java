@@ -22,7 +22,9 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.ContextTestSupport;
 import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
 import org.apache.camel.impl.JndiRegistry;
+import org.apache.camel.util.concurrent.AdaptiveThreadPoolExecutor;
 
 /**
  * @version 
@@ -125,5 +127,15 @@ public class ThreadPoolBuilderTest extends ContextTestSupport {
         assertEquals(true, executor2.isShutdown());
     }
 
+    public void testThreadPoolBuilderAdaptive() throws Exception {
+        ThreadPoolBuilder builder = new ThreadPoolBuilder(context);
+        ExecutorService executor = builder.poolSize(2).maxPoolSize(20).poolType(ThreadPoolType.Adaptive).build(this, "myPool");
+        AdaptiveThreadPoolExecutor adaptive = assertIsInstanceOf(AdaptiveThreadPoolExecutor.class, executor);
+        assertEquals(2, adaptive.getMinPoolSize());
+        assertEquals(20, adaptive.getMaxPoolSize());
 
+        assertEquals(false, executor.isShutdown());
+        context.stop();
+        assertEquals(true, executor.isShutdown());
+    }
 }
@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.dataset;
+
+import javax.naming.Context;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class DataSetRateTest extends ContextTestSupport {
+    protected SimpleDataSet dataSet = new SimpleDataSet(100);
+
+    public void testDataSetRate() throws Exception {
+        DataSetEndpoint endpoint = getMandatoryEndpoint("dataset:foo?rate=200&initialDelay=0", DataSetEndpoint.class);
+        assertEquals(200.0, endpoint.getRate());
+
+        // data set will itself set its assertions so we should just
+        // assert that all mocks is ok
+        assertMockEndpointsSatisfied();
+
+        LatencyHistogram latency = endpoint.getLatency();
+        assertEquals(100, latency.getCount());
+        assertTrue(latency.getMin() <= latency.getPercentile(50));
+        assertTrue(latency.getPercentile(50) <= latency.getPercentile(99));
+        assertTrue(latency.getPercentile(99) <= latency.getMax());
+        assertTrue(latency.getSummary().startsWith("count=100, "));
+    }
+
+    public void testRateStep() throws Exception {
+        DataSetEndpoint endpoint = new DataSetEndpoint("dataset:bar", dataSet);
+        endpoint.setRate(100);
+        assertEquals(100.0, endpoint.getRate(5000));
+
+        endpoint.setRateStep(50);
+        endpoint.setRateStepPeriod(1000);
+        assertEquals(100.0, endpoint.getRate(999));
+        assertEquals(150.0, endpoint.getRate(1000));
+        assertEquals(300.0, endpoint.getRate(4500));
+    }
+
+    public void testLatencyHistogram() throws Exception {
+        LatencyHistogram latency = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            // 1 to 1000 millis
+            latency.record(i * 1000000L);
+        }
+
+        assertEquals(1000, latency.getCount());
+        assertEquals(1000, latency.getMin());
+        assertEquals(1000000, latency.getMax());
+        assertEquals(500500, latency.getMean());
+        assertPercentile(500000, latency.getPercentile(50));
+        assertPercentile(990000, latency.getPercentile(99));
+        assertPercentile(999000, latency.getPercentile(99.9));
+
+        latency.reset();
+        assertEquals(0, latency.getCount());
+        assertEquals(0, latency.getPercentile(99));
+    }
+
+    private static void assertPercentile(long expected, long actual) {
+        assertTrue("Expected about " + expected + " but was " + actual, Math.abs(expected - actual) <= expected * 0.02);
+    }
+
+    @Override
+    protected Context createJndiContext() throws Exception {
+        Context context = super.createJndiContext();
+        context.bind("foo", dataSet);
+        return context;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from("direct:foo").to("dataset:foo?rate=200&initialDelay=0");
+                from("dataset:foo?rate=200&initialDelay=0").to("direct:foo");
+            }
+        };
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version 
+ */
+public class FileConsumerParallelScanTest extends ContextTestSupport {
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/parallelscan");
+        super.setUp();
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 3; j++) {
+                template.sendBodyAndHeader("file://target/parallelscan", "Hello " + i + j, Exchange.FILE_NAME, "dir" + i + "/sub" + j + "/hello.txt");
+            }
+            template.sendBodyAndHeader("file://target/parallelscan", "Bye " + i, Exchange.FILE_NAME, "dir" + i + "/bye.txt");
+        }
+    }
+
+    public void testParallelScan() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(16);
+        mock.message(15).property(Exchange.BATCH_COMPLETE).isEqualTo(true);
+        mock.message(15).property(Exchange.BATCH_SIZE).isEqualTo(16);
+        mock.message(15).property(Exchange.BATCH_INDEX).isEqualTo(15);
+
+        context.startRoute("scan");
+
+        assertMockEndpointsSatisfied();
+
+        for (int i = 0; i < 15; i++) {
+            assertEquals(Boolean.FALSE, mock.getReceivedExchanges().get(i).getProperty(Exchange.BATCH_COMPLETE));
+        }
+
+        FileConsumer consumer = (FileConsumer) context.getRoute("scan").getConsumer();
+        assertTrue(consumer.getLastScanTime() >= 0);
+    }
+
+    public void testParallelScanMaxMessagesPerPoll() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(5);
+        mock.setResultWaitTime(3000);
+        mock.expectedPropertyReceived(Exchange.BATCH_SIZE, 5);
+        mock.message(4).property(Exchange.BATCH_COMPLETE).isEqualTo(true);
+
+        // the route polls immediately so the expectations must be set before its added
+        context.stopRoute("scan");
+        context.removeRoute("scan");
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file://target/parallelscan?recursive=true&scanPoolSize=4&maxMessagesPerPoll=5&initialDelay=0&delay=5000")
+                    .convertBodyTo(String.class).to("mock:result");
+            }
+        });
+
+        assertMockEndpointsSatisfied();
+
+        // should only poll 5 files in the first poll
+        Thread.sleep(500);
+        assertEquals(5, mock.getReceivedCounter());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file://target/parallelscan?recursive=true&scanPoolSize=4&initialDelay=0&delay=10")
+                    .routeId("scan").noAutoStartup()
+                    .convertBodyTo(String.class).to("mock:result");
+            }
+        };
+    }
+}
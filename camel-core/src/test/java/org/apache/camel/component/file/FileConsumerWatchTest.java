@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version 
+ */
+public class FileConsumerWatchTest extends ContextTestSupport {
+
+    private int counter;
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/filewatch");
+        deleteDirectory("target/filewatchrollback");
+        deleteDirectory("target/filewatchtmp");
+        super.setUp();
+        template.sendBodyAndHeader("file://target/filewatch", "Hello World", Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader("file://target/filewatch/sub", "Bye World", Exchange.FILE_NAME, "bye.txt");
+        // pretend the directories is not modified recently so their state is kept
+        backdate("target/filewatch/sub", 60000);
+        backdate("target/filewatch", 60000);
+    }
+
+    public void testWatch() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceivedInAnyOrder("Hello World", "Bye World");
+
+        context.startRoute("watch");
+
+        assertMockEndpointsSatisfied();
+
+        // the files is kept as noop but they should not be picked up again as they are unchanged
+        Thread.sleep(500);
+        assertEquals(2, mock.getReceivedCounter());
+
+        FileConsumer consumer = (FileConsumer) context.getRoute("watch").getConsumer();
+        assertEquals(2, consumer.getWatchedDirectories());
+
+        // only the new file should be picked up
+        mock.reset();
+        mock.expectedBodiesReceived("Hi World");
+        // write the file elsewhere and move it so its not picked up while being written
+        template.sendBodyAndHeader("file://target/filewatchtmp", "Hi World", Exchange.FILE_NAME, "hi.txt");
+        assertTrue(new File("target/filewatchtmp/hi.txt").renameTo(new File("target/filewatch/sub/hi.txt")));
+        backdate("target/filewatch/sub", 30000);
+
+        assertMockEndpointsSatisfied();
+
+        Thread.sleep(500);
+        assertEquals(1, mock.getReceivedCounter());
+    }
+
+    public void testWatchRollback() throws Exception {
+        template.sendBodyAndHeader("file://target/filewatchrollback", "Hello World", Exchange.FILE_NAME, "hello.txt");
+        backdate("target/filewatchrollback", 60000);
+
+        // the file should be picked up again at the next poll as it was rolled back, and not first at the next rescan
+        MockEndpoint mock = getMockEndpoint("mock:rollback");
+        mock.expectedBodiesReceived("Hello World");
+
+        context.startRoute("rollback");
+
+        assertMockEndpointsSatisfied();
+        assertEquals(2, counter);
+    }
+
+    private static void backdate(String directory, long millis) {
+        File file = new File(directory);
+        assertTrue(file.setLastModified(System.currentTimeMillis() - millis));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file://target/filewatch?noop=true&idempotent=false&recursive=true&watch=true&initialDelay=0&delay=10")
+                    .routeId("watch").noAutoStartup()
+                    .convertBodyTo(String.class).to("mock:result");
+
+                from("file://target/filewatchrollback?noop=true&idempotent=false&watch=true&initialDelay=0&delay=10")
+                    .routeId("rollback").noAutoStartup()
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            if (++counter == 1) {
+                                throw new IllegalArgumentException("Forced");
+                            }
+                        }
+                    })
+                    .convertBodyTo(String.class).to("mock:rollback");
+            }
+        };
+    }
+}
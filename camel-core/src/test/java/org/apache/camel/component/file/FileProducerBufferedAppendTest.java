@@ -0,0 +1,140 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class FileProducerBufferedAppendTest extends ContextTestSupport {
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/bufferedappend");
+        super.setUp();
+    }
+
+    public void testBufferedAppendFlushOnStop() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            template.sendBodyAndHeader("direct:start", "Line " + i + "\n", Exchange.FILE_NAME, "out.txt");
+        }
+
+        // the data is still in the buffer
+        File file = new File("target/bufferedappend/out.txt").getAbsoluteFile();
+        assertEquals(0, file.length());
+
+        FileEndpoint endpoint = context.getEndpoint("file:target/bufferedappend?fileExist=Append&bufferedAppend=true&appendFlushInterval=0",
+                FileEndpoint.class);
+        assertEquals(1, endpoint.getAppendBuffer(false).getOpenFiles());
+
+        // stopping the route should flush and close the file
+        context.stopRoute("start");
+
+        String txt = context.getTypeConverter().convertTo(String.class, file);
+        assertTrue(txt.startsWith("Line 0\nLine 1\n"));
+        assertTrue(txt.endsWith("Line 98\nLine 99\n"));
+        assertEquals(100, txt.split("\n").length);
+        assertEquals(0, endpoint.getAppendBuffer(false).getOpenFiles());
+    }
+
+    public void testBufferedAppendRollover() throws Exception {
+        template.sendBodyAndHeader("direct:rollover", "Hello World", Exchange.FILE_NAME, "a.txt");
+        template.sendBodyAndHeader("direct:rollover", "Bye World", Exchange.FILE_NAME, "a.txt");
+
+        File file = new File("target/bufferedappend/a.txt").getAbsoluteFile();
+        assertEquals(0, file.length());
+
+        // writing to another file should flush and close the previous file as only 1 file is kept open
+        template.sendBodyAndHeader("direct:rollover", "Hi World", Exchange.FILE_NAME, "b.txt");
+
+        assertEquals("Hello WorldBye World", context.getTypeConverter().convertTo(String.class, file));
+    }
+
+    public void testBufferedAppendFlushInterval() throws Exception {
+        template.sendBodyAndHeader("direct:interval", "Hello World", Exchange.FILE_NAME, "c.txt");
+
+        File file = new File("target/bufferedappend/c.txt").getAbsoluteFile();
+        for (int i = 0; i < 50 && file.length() == 0; i++) {
+            Thread.sleep(100);
+        }
+
+        assertEquals("Hello World", context.getTypeConverter().convertTo(String.class, file));
+    }
+
+    public void testBufferedAppendFileBody() throws Exception {
+        template.sendBodyAndHeader("file:target/bufferedappend/source", "Bye World", Exchange.FILE_NAME, "bye.txt");
+        File source = new File("target/bufferedappend/source/bye.txt").getAbsoluteFile();
+
+        // a file body must be appended through the buffer as well to keep the order of the data
+        template.sendBodyAndHeader("direct:start", "Hello World\n", Exchange.FILE_NAME, "mixed.txt");
+        template.sendBodyAndHeader("direct:start", source, Exchange.FILE_NAME, "mixed.txt");
+        template.sendBodyAndHeader("direct:start", "\nHi World\n", Exchange.FILE_NAME, "mixed.txt");
+
+        context.stopRoute("start");
+
+        File file = new File("target/bufferedappend/mixed.txt").getAbsoluteFile();
+        assertEquals("Hello World\nBye World\nHi World\n", context.getTypeConverter().convertTo(String.class, file));
+    }
+
+    public void testBufferedAppendDoneFile() throws Exception {
+        template.sendBodyAndHeader("direct:done", "Hello World", Exchange.FILE_NAME, "d.txt");
+
+        // the data must be flushed when the done file is written
+        File done = new File("target/bufferedappend/done-d.txt").getAbsoluteFile();
+        assertTrue("Done file should exist", done.exists());
+        File file = new File("target/bufferedappend/d.txt").getAbsoluteFile();
+        assertEquals("Hello World", context.getTypeConverter().convertTo(String.class, file));
+
+        template.sendBodyAndHeader("direct:done", "Bye World", Exchange.FILE_NAME, "d.txt");
+        assertTrue("Done file should exist", done.exists());
+        assertEquals("Hello WorldBye World", context.getTypeConverter().convertTo(String.class, file));
+    }
+
+    public void testBufferedAppendRequiresFileExistAppend() throws Exception {
+        try {
+            context.getEndpoint("file:target/bufferedappend?bufferedAppend=true").createProducer();
+            fail("Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            assertEquals("You must set fileExist=Append when using bufferedAppend=true", e.getMessage());
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("start")
+                    .to("file:target/bufferedappend?fileExist=Append&bufferedAppend=true&appendFlushInterval=0");
+
+                from("direct:rollover")
+                    .to("file:target/bufferedappend?fileExist=Append&bufferedAppend=true&appendFlushInterval=0&appendMaxOpenFiles=1");
+
+                from("direct:done")
+                    .to("file:target/bufferedappend?fileExist=Append&bufferedAppend=true&appendFlushInterval=0&doneFileName=done-${file:name}");
+
+                from("direct:interval")
+                    .to("file:target/bufferedappend?fileExist=Append&bufferedAppend=true&appendFlushInterval=100&appendSync=Flush");
+            }
+        };
+    }
+}
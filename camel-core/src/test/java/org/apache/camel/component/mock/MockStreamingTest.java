@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class MockStreamingTest extends ContextTestSupport {
+
+    public void testStreaming() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:foo?streaming=true&sampleSize=10");
+        assertTrue(mock.isStreaming());
+        assertEquals(10, mock.getSampleSize());
+
+        List<Object> bodies = new ArrayList<Object>();
+        for (int i = 0; i < 1000; i++) {
+            bodies.add(i);
+        }
+        mock.expectedBodiesReceived(bodies);
+        mock.expectsAscending(header("counter"));
+        mock.expectsNoDuplicates().body();
+        mock.allMessages().header("counter").isNotNull();
+        mock.message(500).body().isEqualTo(500);
+        mock.expectedHeaderReceived("counter", 999);
+
+        for (int i = 0; i < 1000; i++) {
+            template.sendBodyAndHeader("direct:start", i, "counter", i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(1000, mock.getReceivedCounter());
+        // only a sample of the exchanges is kept
+        assertEquals(10, mock.getReceivedExchanges().size());
+        assertEquals(500, mock.assertExchangeReceived(500).getIn().getBody());
+    }
+
+    public void testStreamingArrivesNotSupported() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:foo?streaming=true&sampleSize=10");
+        try {
+            mock.message(1).arrives().noLaterThan(1).seconds().afterPrevious();
+            fail("Should have thrown an exception");
+        } catch (IllegalStateException e) {
+            assertEquals("Cannot compare with the previous or next message in streaming mode on mock: mock://foo?sampleSize=10&streaming=true",
+                    e.getMessage());
+        }
+    }
+
+    public void testStreamingEnabledAfterArrives() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:bar");
+        mock.message(1).arrives().noLaterThan(1).seconds().afterPrevious();
+        // the received exchanges is only a sample so the previous message cannot be compared
+        mock.setStreaming(true);
+
+        template.sendBody("mock:bar", "A");
+        template.sendBody("mock:bar", "B");
+
+        try {
+            mock.assertIsSatisfied();
+            fail("Should have thrown an exception");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().startsWith("Cannot compare with the previous or next message in streaming mode"));
+        }
+    }
+
+    public void testStreamingBodiesFailed() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:foo?streaming=true&sampleSize=10");
+        mock.expectedBodiesReceived(0, 1, 2, 3);
+
+        template.sendBody("direct:start", 0);
+        template.sendBody("direct:start", 1);
+        template.sendBody("direct:start", 3);
+        template.sendBody("direct:start", 2);
+
+        mock.assertIsNotSatisfied();
+    }
+
+    public void testStreamingBodiesInAnyOrder() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:foo?streaming=true&sampleSize=10");
+        mock.expectedBodiesReceivedInAnyOrder("A", "B", "B", "C");
+
+        template.sendBody("direct:start", "B");
+        template.sendBody("direct:start", "C");
+        template.sendBody("direct:start", "A");
+        template.sendBody("direct:start", "B");
+
+        assertMockEndpointsSatisfied();
+
+        resetMocks();
+        mock.expectedBodiesReceivedInAnyOrder("A", "B", "C");
+
+        template.sendBody("direct:start", "B");
+        template.sendBody("direct:start", "B");
+        template.sendBody("direct:start", "A");
+
+        mock.assertIsNotSatisfied();
+    }
+
+    public void testStreamingDescendingFailed() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:foo?streaming=true&sampleSize=10");
+        mock.expectedMessageCount(3);
+        mock.expectsDescending(body());
+
+        template.sendBody("direct:start", 3);
+        template.sendBody("direct:start", 1);
+        template.sendBody("direct:start", 2);
+
+        mock.assertIsNotSatisfied();
+    }
+
+    public void testStreamingMessageNotRetained() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:foo?streaming=true&sampleSize=10");
+        mock.expectedMessageCount(3);
+
+        template.sendBody("direct:start", "A");
+        template.sendBody("direct:start", "B");
+        template.sendBody("direct:start", "C");
+
+        assertMockEndpointsSatisfied();
+
+        try {
+            mock.assertExchangeReceived(1);
+            fail("Should have thrown an exception");
+        } catch (AssertionError e) {
+            assertEquals("mock://foo?sampleSize=10&streaming=true Message 1 is not retained in streaming mode", e.getMessage());
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").to("mock:foo?streaming=true&sampleSize=10");
+            }
+        };
+    }
+}
@@ -22,6 +22,8 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.ContextTestSupport;
 import org.apache.camel.ThreadPoolRejectedPolicy;
+import org.apache.camel.ThreadPoolType;
+import org.apache.camel.util.concurrent.AdaptiveThreadPoolExecutor;
 
 /**
  * @version 
@@ -339,4 +341,26 @@ public class DefaultExecutorServiceStrategyTest extends ContextTestSupport {
         assertTrue(tp.isShutdown());
     }
 
+    public void testNewAdaptiveThreadPoolProfile() throws Exception {
+        ThreadPoolProfileSupport foo = new ThreadPoolProfileSupport("fooProfile");
+        foo.setPoolSize(2);
+        foo.setMaxPoolSize(8);
+        foo.setPoolType(ThreadPoolType.Adaptive);
+
+        context.getExecutorServiceStrategy().registerThreadPoolProfile(foo);
+
+        ExecutorService pool = context.getExecutorServiceStrategy().newThreadPool(this, "Cool", "fooProfile");
+        AdaptiveThreadPoolExecutor tp = assertIsInstanceOf(AdaptiveThreadPoolExecutor.class, pool);
+        assertEquals(2, tp.getMinPoolSize());
+        assertEquals(8, tp.getMaxPoolSize());
+        // starts with the minimum pool size
+        assertEquals(2, tp.getCorePoolSize());
+        assertEquals(2, tp.getMaximumPoolSize());
+        // inherited from the default profile
+        assertEquals(60, tp.getKeepAliveTime(TimeUnit.SECONDS));
+
+        context.stop();
+
+        assertTrue(tp.isShutdown());
+    }
 }
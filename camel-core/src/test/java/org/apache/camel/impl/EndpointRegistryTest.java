@@ -0,0 +1,136 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.Properties;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Endpoint;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.component.properties.PropertiesComponent;
+import org.apache.camel.component.properties.PropertiesResolver;
+
+/**
+ * @version 
+ */
+public class EndpointRegistryTest extends ContextTestSupport {
+
+    public void testRawUriCache() throws Exception {
+        EndpointRegistry registry = ((DefaultCamelContext) context).getEndpointRegistry();
+        registry.resetStatistics();
+
+        Endpoint foo = context.getEndpoint("seda:foo?size=5&concurrentConsumers=2");
+        assertEquals(0, registry.getRawUriHits());
+        assertEquals(1, registry.getRawUriMisses());
+
+        // the same uri is found in the raw uri cache without normalizing
+        assertSame(foo, context.getEndpoint("seda:foo?size=5&concurrentConsumers=2"));
+        assertEquals(1, registry.getRawUriHits());
+
+        // a differently ordered uri normalizes to the same endpoint
+        assertSame(foo, context.getEndpoint("seda:foo?concurrentConsumers=2&size=5"));
+        assertEquals(1, registry.getRawUriHits());
+        assertEquals(2, registry.getRawUriMisses());
+        assertEquals(1, registry.getHits());
+        assertEquals(2, registry.getRawUriCacheSize());
+    }
+
+    public void testRawUriCacheClearedOnRemove() throws Exception {
+        EndpointRegistry registry = ((DefaultCamelContext) context).getEndpointRegistry();
+
+        Endpoint foo = context.getEndpoint("mock:foo");
+        assertSame(foo, context.getEndpoint("mock:foo"));
+
+        context.removeEndpoints("mock:foo");
+        assertEquals(0, registry.getRawUriCacheSize());
+
+        Endpoint newFoo = context.getEndpoint("mock:foo");
+        assertNotSame(foo, newFoo);
+        assertSame(newFoo, context.getEndpoint("mock:foo"));
+    }
+
+    public void testRawUriCacheClearedOnReplace() throws Exception {
+        Endpoint foo = context.getEndpoint("mock:foo");
+        assertSame(foo, context.getEndpoint("mock:foo"));
+
+        MockEndpoint replacement = new MockEndpoint("mock:foo", context.getComponent("mock"));
+        context.addEndpoint("mock:foo", replacement);
+
+        assertSame(replacement, context.getEndpoint("mock:foo"));
+    }
+
+    public void testPropertyPlaceholdersNotCached() throws Exception {
+        final Properties properties = new Properties();
+        properties.put("name", "foo");
+        PropertiesComponent pc = new PropertiesComponent("dummy");
+        pc.setCache(false);
+        pc.setPropertiesResolver(new PropertiesResolver() {
+            public Properties resolveProperties(CamelContext context, String... uri) throws Exception {
+                return properties;
+            }
+        });
+        context.addComponent("properties", pc);
+
+        EndpointRegistry registry = ((DefaultCamelContext) context).getEndpointRegistry();
+        Endpoint foo = context.getEndpoint("mock:{{name}}");
+        assertSame(foo, context.getEndpoint("mock:foo"));
+        assertNull(registry.getRawUri("mock:{{name}}"));
+
+        // the placeholder is resolved again so the changed property is used
+        properties.put("name", "bar");
+        assertSame(context.getEndpoint("mock:bar"), context.getEndpoint("mock:{{name}}"));
+    }
+
+    public void testEvictLeastRecentlyUsed() throws Exception {
+        EndpointRegistry registry = new EndpointRegistry(3);
+
+        Endpoint a = context.getEndpoint("mock:a");
+        Endpoint b = context.getEndpoint("mock:b");
+        Endpoint c = context.getEndpoint("mock:c");
+        Endpoint d = context.getEndpoint("mock:d");
+
+        EndpointKey keyA = new EndpointKey("mock://a");
+        EndpointKey keyB = new EndpointKey("mock://b");
+        registry.put(keyA, a);
+        registry.put(keyB, b);
+        registry.putRawUri("mock:b", keyB, b);
+        registry.put(new EndpointKey("mock://c"), c);
+
+        // use a so b is the least recently used
+        assertSame(a, registry.get(keyA));
+
+        registry.put(new EndpointKey("mock://d"), d);
+        assertEquals(3, registry.size());
+        assertNull(registry.get(keyB));
+        assertSame(a, registry.get(keyA));
+
+        // eviction clears the raw uris
+        assertNull(registry.getRawUri("mock:b"));
+        assertEquals(0, registry.getRawUriCacheSize());
+    }
+
+    public void testPutRawUriForRemovedEndpoint() throws Exception {
+        EndpointRegistry registry = new EndpointRegistry();
+
+        Endpoint a = context.getEndpoint("mock:a");
+        registry.putRawUri("mock:a", new EndpointKey("mock://a"), a);
+
+        assertNull(registry.getRawUri("mock:a"));
+    }
+
+}
@@ -0,0 +1,156 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.LinkedList;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import org.apache.camel.ContextTestSupport;
+
+/**
+ * @version 
+ */
+public class ScheduledPollConsumerBackoffTest extends ContextTestSupport {
+
+    public void testBackoffWhenIdle() throws Exception {
+        CountingScheduledPollConsumer consumer = new CountingScheduledPollConsumer();
+        consumer.setDelay(100);
+        consumer.setBackoffMultiplier(2);
+        consumer.setBackoffIdleThreshold(2);
+        consumer.setBackoffMaxDelay(400);
+        consumer.start();
+
+        assertEquals(100, consumer.getEffectiveDelay());
+
+        // the first idle poll is below the threshold
+        consumer.run();
+        assertEquals(1, consumer.getPolls());
+        assertEquals(100, consumer.getEffectiveDelay());
+
+        // now we back off and skip the next poll
+        consumer.run();
+        assertEquals(2, consumer.getPolls());
+        assertEquals(200, consumer.getEffectiveDelay());
+        consumer.run();
+        assertEquals(2, consumer.getPolls());
+
+        // back off again which hits the max delay so we skip the next 3 polls
+        consumer.run();
+        assertEquals(3, consumer.getPolls());
+        assertEquals(400, consumer.getEffectiveDelay());
+        consumer.run();
+        consumer.run();
+        consumer.run();
+        assertEquals(3, consumer.getPolls());
+
+        // still idle so stay at the max delay
+        consumer.run();
+        assertEquals(4, consumer.getPolls());
+        assertEquals(400, consumer.getEffectiveDelay());
+        assertEquals(4, consumer.getIdleCounter());
+
+        // skip 3 polls and then there is messages which resets the delay
+        consumer.run();
+        consumer.run();
+        consumer.run();
+        consumer.addResult(5);
+        consumer.run();
+        assertEquals(5, consumer.getPolls());
+        assertEquals(100, consumer.getEffectiveDelay());
+        assertEquals(0, consumer.getIdleCounter());
+
+        consumer.run();
+        assertEquals(6, consumer.getPolls());
+
+        consumer.stop();
+    }
+
+    public void testNoBackoffByDefault() throws Exception {
+        CountingScheduledPollConsumer consumer = new CountingScheduledPollConsumer();
+        consumer.setDelay(100);
+        consumer.start();
+
+        for (int i = 0; i < 5; i++) {
+            consumer.run();
+        }
+        assertEquals(5, consumer.getPolls());
+        assertEquals(100, consumer.getEffectiveDelay());
+        assertEquals(5, consumer.getIdleCounter());
+
+        consumer.stop();
+    }
+
+    public void testGreedy() throws Exception {
+        CountingScheduledPollConsumer consumer = new CountingScheduledPollConsumer();
+        consumer.setGreedy(true);
+        consumer.start();
+
+        // keep polling as long we hit the batch limit of 10
+        consumer.addResult(10);
+        consumer.addResult(10);
+        consumer.addResult(3);
+        consumer.addResult(10);
+        consumer.run();
+        assertEquals(3, consumer.getPolls());
+
+        // the remainder is polled at the next scheduled poll
+        consumer.run();
+        assertEquals(5, consumer.getPolls());
+
+        consumer.stop();
+    }
+
+    public void testNotGreedy() throws Exception {
+        CountingScheduledPollConsumer consumer = new CountingScheduledPollConsumer();
+        consumer.start();
+
+        consumer.addResult(10);
+        consumer.addResult(10);
+        consumer.run();
+        assertEquals(1, consumer.getPolls());
+
+        consumer.stop();
+    }
+
+    private static final class CountingScheduledPollConsumer extends ScheduledPollConsumer {
+        private final LinkedList<Integer> results = new LinkedList<Integer>();
+        private int polls;
+
+        private CountingScheduledPollConsumer() {
+            super(null, null, new ScheduledThreadPoolExecutor(1));
+        }
+
+        public void addResult(int polledMessages) {
+            results.add(polledMessages);
+        }
+
+        public int getPolls() {
+            return polls;
+        }
+
+        @Override
+        protected int poll() throws Exception {
+            polls++;
+            return results.isEmpty() ? 0 : results.removeFirst();
+        }
+
+        @Override
+        protected boolean hasMoreToPoll(int polledMessages) {
+            return polledMessages >= 10;
+        }
+    }
+}
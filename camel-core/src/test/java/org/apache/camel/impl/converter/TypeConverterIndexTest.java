@@ -0,0 +1,210 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Currency;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.TestSupport;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.impl.DefaultClassResolver;
+import org.apache.camel.impl.DefaultFactoryFinderResolver;
+import org.apache.camel.impl.DefaultPackageScanClassResolver;
+import org.apache.camel.impl.converter.index.MyConverter;
+import org.apache.camel.util.ReflectionInjector;
+import org.apache.camel.util.ServiceHelper;
+
+/**
+ * @version 
+ */
+public class TypeConverterIndexTest extends TestSupport {
+
+    private final File dir = new File("target/converterindex");
+    private ClassLoader classLoader;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        deleteDirectory(dir);
+        File services = new File(dir, "META-INF/services/org/apache/camel");
+        createDirectory(services.getPath());
+
+        // generate the index as the camel-maven-plugin does at build time
+        IndexingTypeConverterLoader indexer = new IndexingTypeConverterLoader(new DefaultPackageScanClassResolver(), "org.apache.camel.converter");
+        indexer.load(null);
+        assertTrue("Should find converters", indexer.getEntries().size() > 0);
+
+        FileWriter writer = new FileWriter(new File(services, "TypeConverter"));
+        writer.write("org.apache.camel.converter\n");
+        writer.close();
+        writeIndex(indexer, new File(services, "TypeConverterIndex"));
+
+        // only let the loader see the index we generated
+        classLoader = new URLClassLoader(new URL[]{dir.toURI().toURL()}, getClass().getClassLoader()) {
+            @Override
+            public Enumeration<URL> getResources(String name) throws IOException {
+                return findResources(name);
+            }
+        };
+    }
+
+    public void testLoadFromIndex() throws Exception {
+        CountingPackageScanClassResolver resolver = new CountingPackageScanClassResolver();
+        DefaultTypeConverter converter = new DefaultTypeConverter(resolver, new ReflectionInjector(),
+                new DefaultFactoryFinderResolver().resolveDefaultFactoryFinder(new DefaultClassResolver()));
+        converter.getTypeConverterLoaders().clear();
+        converter.getTypeConverterLoaders().add(new MyTypeConverterLoader(resolver, classLoader));
+        ServiceHelper.startService(converter);
+
+        assertEquals("Should not scan packages", 0, resolver.getCount());
+
+        // the converter methods is bound on first use
+        TypeConverter tc = converter.lookup(byte[].class, String.class);
+        LazyMethodTypeConverter lazy = assertIsInstanceOf(LazyMethodTypeConverter.class, tc);
+        assertFalse(lazy.isBound());
+        byte[] data = converter.convertTo(byte[].class, "Hello World");
+        assertEquals("Hello World", new String(data));
+        assertTrue(lazy.isBound());
+
+        assertEquals("Hello World", converter.convertTo(String.class, data));
+        assertEquals(Integer.valueOf(123), converter.convertTo(Integer.class, "123"));
+
+        // instance fallback converter
+        assertEquals("Money talks", converter.convertTo(String.class, Currency.getInstance(Locale.US)));
+
+        ServiceHelper.stopService(converter);
+    }
+
+    public void testFallbackToScanningWithoutIndex() throws Exception {
+        new File(dir, "META-INF/services/org/apache/camel/TypeConverterIndex").delete();
+
+        CountingPackageScanClassResolver resolver = new CountingPackageScanClassResolver();
+        DefaultTypeConverter converter = new DefaultTypeConverter(resolver, new ReflectionInjector(),
+                new DefaultFactoryFinderResolver().resolveDefaultFactoryFinder(new DefaultClassResolver()));
+        converter.getTypeConverterLoaders().clear();
+        converter.getTypeConverterLoaders().add(new MyTypeConverterLoader(resolver, classLoader));
+        ServiceHelper.startService(converter);
+
+        assertEquals("Should scan packages", 1, resolver.getCount());
+        assertIsInstanceOf(StaticMethodTypeConverter.class, converter.lookup(byte[].class, String.class));
+        assertEquals("Money talks", converter.convertTo(String.class, Currency.getInstance(Locale.US)));
+
+        ServiceHelper.stopService(converter);
+    }
+
+    public void testInheritedInstanceConverter() throws Exception {
+        IndexingTypeConverterLoader indexer = new IndexingTypeConverterLoader(new DefaultPackageScanClassResolver(), "org.apache.camel.impl.converter.index");
+        indexer.load(null);
+        assertEquals(1, indexer.getEntries().size());
+        // the converter class must be the class scanned and not the abstract class declaring the method
+        assertEquals("converter instance " + MyConverter.MyBean.class.getName() + " java.lang.String "
+                + MyConverter.class.getName() + " toMyBean(java.lang.String)", indexer.getEntries().get(0));
+
+        File index = new File(dir, "MyTypeConverterIndex");
+        writeIndex(indexer, index);
+
+        DefaultTypeConverter converter = new DefaultTypeConverter(new DefaultPackageScanClassResolver(), new ReflectionInjector(),
+                new DefaultFactoryFinderResolver().resolveDefaultFactoryFinder(new DefaultClassResolver()));
+        new AnnotationTypeConverterLoader(null).loadIndex(converter, index.toURI().toURL(), getClass().getClassLoader());
+
+        MyConverter.MyBean bean = converter.convertTo(MyConverter.MyBean.class, "World");
+        assertEquals("Hello World", bean.getName());
+    }
+
+    public void testUnusableConverterIsNotBoundAgain() throws Exception {
+        final AtomicInteger loads = new AtomicInteger();
+        ClassLoader broken = new ClassLoader(getClass().getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                if (name.startsWith("org.apache.camel.converter.")) {
+                    // as if a class the converter class depends on is missing
+                    loads.incrementAndGet();
+                    throw new NoClassDefFoundError(name.replace('.', '/'));
+                }
+                return super.loadClass(name, resolve);
+            }
+        };
+        LazyMethodTypeConverter tc = new LazyMethodTypeConverter(null, new LazyMethodTypeConverter.ConverterClass(
+                "org.apache.camel.converter.IOConverter", broken), "toString", new String[]{"[B"}, true, false);
+
+        for (int i = 0; i < 3; i++) {
+            try {
+                tc.convertTo(String.class, "Hello World".getBytes());
+                fail("Should have thrown an exception");
+            } catch (RuntimeCamelException e) {
+                assertIsInstanceOf(NoClassDefFoundError.class, e.getCause());
+            }
+        }
+        assertFalse(tc.isBound());
+        assertEquals("Should only try to bind once", 1, loads.get());
+    }
+
+    private static void writeIndex(IndexingTypeConverterLoader indexer, File file) throws IOException {
+        // the index is written using UTF-8 as the camel-maven-plugin does
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            indexer.writeIndex(writer);
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static final class MyTypeConverterLoader extends AnnotationTypeConverterLoader {
+        private final ClassLoader classLoader;
+
+        private MyTypeConverterLoader(CountingPackageScanClassResolver resolver, ClassLoader classLoader) {
+            super(resolver);
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        protected String[] findPackageNames() throws IOException, URISyntaxException {
+            Set<String> packages = new HashSet<String>();
+            findPackages(packages, classLoader);
+            return packages.toArray(new String[packages.size()]);
+        }
+    }
+
+    private static final class CountingPackageScanClassResolver extends DefaultPackageScanClassResolver {
+        private int count;
+
+        @Override
+        public Set<Class<?>> findAnnotated(Class<? extends Annotation> annotation, String... packageNames) {
+            count++;
+            return super.findAnnotated(annotation, packageNames);
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+}
@@ -14,20 +14,21 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package org.apache.camel.processor.resequencer;
+package org.apache.camel.impl.converter.index;
+
+import org.apache.camel.Converter;
 
 /**
- * Implemented by classes that handle timeout notifications.
- * 
+ * A converter which can only be used by its sub classes.
+ *
  * @version 
  */
-public interface TimeoutHandler {
+public abstract class MyAbstractConverter {
+
+    @Converter
+    public MyConverter.MyBean toMyBean(String name) {
+        return new MyConverter.MyBean(getPrefix() + name);
+    }
 
-    /**
-     * Handles a timeout notification.
-     * 
-     * @param timeout the timer task that caused this timeout notification.
-     */
-    void timeout(Timeout timeout);
-    
+    protected abstract String getPrefix();
 }
@@ -0,0 +1,130 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.EventObject;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.management.event.ExchangeSentEvent;
+import org.apache.camel.spi.BatchEventNotifier;
+
+/**
+ * @version 
+ */
+public class EventNotifierAsyncTest extends ContextTestSupport {
+
+    private static List<EventObject> events = new CopyOnWriteArrayList<EventObject>();
+    private static List<Integer> batches = new CopyOnWriteArrayList<Integer>();
+    private static Set<String> threads = new CopyOnWriteArraySet<String>();
+    private static CountDownLatch latch;
+
+    @Override
+    public void setUp() throws Exception {
+        events.clear();
+        batches.clear();
+        threads.clear();
+        latch = new CountDownLatch(1);
+        super.setUp();
+    }
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        DefaultCamelContext context = new DefaultCamelContext(createRegistry());
+        MyBatchEventNotifier notifier = new MyBatchEventNotifier();
+        notifier.setAsync(true);
+        notifier.setAsyncBatchSize(50);
+        notifier.setIgnoreCamelContextEvents(true);
+        notifier.setIgnoreServiceEvents(true);
+        notifier.setIgnoreRouteEvents(true);
+        notifier.setIgnoreExchangeCreatedEvent(true);
+        notifier.setIgnoreExchangeCompletedEvent(true);
+        context.getManagementStrategy().addEventNotifier(notifier);
+        return context;
+    }
+
+    public void testAsyncBatchEventNotifier() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(10);
+
+        // the notifier is blocked but that should not block the routing
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:start", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+        assertEquals(0, events.size());
+
+        // let the notifier continue and the pending events should be notified
+        latch.countDown();
+        context.stop();
+
+        assertEquals(20, events.size());
+        ExchangeSentEvent e0 = assertIsInstanceOf(ExchangeSentEvent.class, events.get(0));
+        assertEquals("mock://result", e0.getEndpoint().getEndpointUri());
+        ExchangeSentEvent e1 = assertIsInstanceOf(ExchangeSentEvent.class, events.get(1));
+        assertEquals("direct://start", e1.getEndpoint().getEndpointUri());
+
+        // the first event was taken by itself and the others should be batched
+        assertTrue("Should notify in batches: " + batches, batches.size() < 20);
+        assertEquals(1, threads.size());
+        assertTrue("Should notify using the event notifier thread", threads.iterator().next().contains("EventNotifier"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").to("mock:result");
+            }
+        };
+    }
+
+    private static final class MyBatchEventNotifier extends EventNotifierSupport implements BatchEventNotifier {
+
+        public void notify(EventObject event) throws Exception {
+            fail("Should notify in batches");
+        }
+
+        public void notifyBatch(List<EventObject> batch) throws Exception {
+            latch.await(10, TimeUnit.SECONDS);
+            threads.add(Thread.currentThread().getName());
+            batches.add(batch.size());
+            events.addAll(batch);
+        }
+
+        public boolean isEnabled(EventObject event) {
+            return true;
+        }
+
+        @Override
+        protected void doStart() throws Exception {
+        }
+
+        @Override
+        protected void doStop() throws Exception {
+        }
+    }
+}
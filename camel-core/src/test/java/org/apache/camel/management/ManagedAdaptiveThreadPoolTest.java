@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.ThreadPoolType;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.ThreadPoolProfileSupport;
+import org.apache.camel.spi.ThreadPoolProfile;
+
+/**
+ * @version 
+ */
+public class ManagedAdaptiveThreadPoolTest extends ManagementTestSupport {
+
+    public void testManagedAdaptiveThreadPool() throws Exception {
+        MBeanServer mbeanServer = getMBeanServer();
+
+        ObjectName on = ObjectName.getInstance("org.apache.camel:context=localhost/camel-1,type=threadpools,name=threads1(threads)");
+
+        Boolean adaptive = (Boolean) mbeanServer.getAttribute(on, "Adaptive");
+        assertEquals(true, adaptive.booleanValue());
+
+        Integer min = (Integer) mbeanServer.getAttribute(on, "AdaptiveMinPoolSize");
+        assertEquals(2, min.intValue());
+
+        Integer max = (Integer) mbeanServer.getAttribute(on, "AdaptiveMaxPoolSize");
+        assertEquals(10, max.intValue());
+
+        Integer corePoolSize = (Integer) mbeanServer.getAttribute(on, "CorePoolSize");
+        assertEquals(2, corePoolSize.intValue());
+
+        mbeanServer.setAttribute(on, new Attribute("TuningInterval", 10L));
+        Long interval = (Long) mbeanServer.getAttribute(on, "TuningInterval");
+        assertEquals(10, interval.longValue());
+
+        getMockEndpoint("mock:result").expectedMessageCount(20);
+        for (int i = 0; i < 20; i++) {
+            template.sendBody("direct:start", "Hello World");
+        }
+        assertMockEndpointsSatisfied();
+
+        String decision = (String) mbeanServer.getAttribute(on, "LastDecision");
+        assertNotNull("Should have been tuned", decision);
+
+        Double throughput = (Double) mbeanServer.getAttribute(on, "Throughput");
+        assertTrue(throughput > 0);
+
+        Long grow = (Long) mbeanServer.getAttribute(on, "GrowCount");
+        Long shrink = (Long) mbeanServer.getAttribute(on, "ShrinkCount");
+        assertNotNull(grow);
+        assertNotNull(shrink);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                ThreadPoolProfile profile = new ThreadPoolProfileSupport("adaptive");
+                profile.setPoolSize(2);
+                profile.setMaxPoolSize(10);
+                profile.setPoolType(ThreadPoolType.Adaptive);
+
+                context.getExecutorServiceStrategy().registerThreadPoolProfile(profile);
+
+                from("direct:start").threads().executorServiceRef("adaptive").delay(20).to("mock:result");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class ManagedCamelContextEndpointRegistryTest extends ManagementTestSupport {
+
+    public void testEndpointRegistryStatistics() throws Exception {
+        MBeanServer mbeanServer = getMBeanServer();
+
+        ObjectName on = ObjectName.getInstance("org.apache.camel:context=localhost/camel-1,type=context,name=\"camel-1\"");
+
+        mbeanServer.invoke(on, "resetEndpointRegistryStatistics", null, null);
+        assertEquals(0.0, mbeanServer.getAttribute(on, "EndpointRegistryHitRatio"));
+        assertEquals(0.0, mbeanServer.getAttribute(on, "EndpointUriCacheHitRatio"));
+
+        getMockEndpoint("mock:result").expectedMessageCount(4);
+
+        // the recipient list looks up the same endpoint for every message
+        for (int i = 0; i < 4; i++) {
+            template.sendBodyAndHeader("direct:start", "Hello World", "foo", "mock:result");
+        }
+
+        assertMockEndpointsSatisfied();
+
+        Integer size = (Integer) mbeanServer.getAttribute(on, "EndpointRegistrySize");
+        assertEquals(context.getEndpoints().size(), size.intValue());
+
+        Integer uris = (Integer) mbeanServer.getAttribute(on, "EndpointUriCacheSize");
+        assertTrue(uris.intValue() > 0);
+
+        Double ratio = (Double) mbeanServer.getAttribute(on, "EndpointUriCacheHitRatio");
+        assertTrue("Should have hits in the uri cache, was: " + ratio, ratio > 0.5);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").recipientList(header("foo"));
+            }
+        };
+    }
+
+}
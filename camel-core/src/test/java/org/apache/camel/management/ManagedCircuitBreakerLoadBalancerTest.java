@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class ManagedCircuitBreakerLoadBalancerTest extends ManagementTestSupport {
+
+    public void testManageCircuitBreaker() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            try {
+                template.sendBody("direct:start", "Message " + i);
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName on = ObjectName.getInstance("org.apache.camel:context=localhost/camel-1,type=processors,name=\"mybreaker\"");
+
+        Boolean breaker = (Boolean) mbeanServer.getAttribute(on, "CircuitBreaker");
+        assertEquals(Boolean.TRUE, breaker);
+
+        Integer open = (Integer) mbeanServer.getAttribute(on, "OpenCircuits");
+        assertEquals(1, open.intValue());
+
+        String state = (String) mbeanServer.invoke(on, "circuitState", new Object[]{0}, new String[]{"int"});
+        assertEquals("Open", state);
+        state = (String) mbeanServer.invoke(on, "circuitState", new Object[]{1}, new String[]{"int"});
+        assertEquals("Closed", state);
+
+        Double rate = (Double) mbeanServer.invoke(on, "failureRate", new Object[]{0}, new String[]{"int"});
+        assertEquals(1.0d, rate.doubleValue(), 0.001d);
+
+        Long opened = (Long) mbeanServer.invoke(on, "timesOpened", new Object[]{0}, new String[]{"int"});
+        assertEquals(1, opened.longValue());
+
+        mbeanServer.setAttribute(on, new Attribute("OpenTimeout", 1000L));
+        Long timeout = (Long) mbeanServer.getAttribute(on, "OpenTimeout");
+        assertEquals(1000, timeout.longValue());
+
+        mbeanServer.invoke(on, "resetCircuits", null, null);
+        open = (Integer) mbeanServer.getAttribute(on, "OpenCircuits");
+        assertEquals(0, open.intValue());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .loadBalance().circuitBreaker().id("mybreaker")
+                        .to("direct:bad", "mock:good");
+
+                from("direct:bad").process(new Processor() {
+                    public void process(Exchange exchange) throws Exception {
+                        throw new IllegalArgumentException("Forced");
+                    }
+                });
+            }
+        };
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version 
+ */
+public class ManagedErrorHandlerAsyncRedeliveryTest extends ManagementTestSupport {
+
+    private final CountDownLatch latch = new CountDownLatch(1);
+    private int counter;
+
+    public void testManagedPendingRedelivery() throws Exception {
+        MBeanServer mbeanServer = getMBeanServer();
+
+        Set<ObjectName> set = mbeanServer.queryNames(new ObjectName("*:type=errorhandlers,*"), null);
+        assertEquals(1, set.size());
+        ObjectName on = set.iterator().next();
+
+        Boolean async = (Boolean) mbeanServer.getAttribute(on, "AsyncDelayedRedelivery");
+        assertEquals(Boolean.TRUE, async);
+
+        Integer pending = (Integer) mbeanServer.getAttribute(on, "PendingRedeliveryCount");
+        assertEquals(0, pending.intValue());
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("Hello World");
+
+        template.sendBody("seda:start", "World");
+
+        // the exchange is parked until the redelivery delay is up
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 50 && pending.intValue() == 0; i++) {
+            Thread.sleep(10);
+            pending = (Integer) mbeanServer.getAttribute(on, "PendingRedeliveryCount");
+        }
+        assertEquals(1, pending.intValue());
+
+        assertMockEndpointsSatisfied();
+
+        pending = (Integer) mbeanServer.getAttribute(on, "PendingRedeliveryCount");
+        assertEquals(0, pending.intValue());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                errorHandler(defaultErrorHandler().maximumRedeliveries(3).redeliveryDelay(1000).asyncDelayedRedelivery());
+
+                from("seda:start").process(new Processor() {
+                    public void process(Exchange exchange) throws Exception {
+                        if (counter++ == 0) {
+                            latch.countDown();
+                            throw new IllegalArgumentException("Forced");
+                        }
+                        exchange.getIn().setBody("Hello " + exchange.getIn().getBody(String.class));
+                    }
+                }).to("mock:result");
+            }
+        };
+    }
+}
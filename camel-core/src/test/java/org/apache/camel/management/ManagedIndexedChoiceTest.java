@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class ManagedIndexedChoiceTest extends ManagementTestSupport {
+
+    public void testManageIndexedChoice() throws Exception {
+        getMockEndpoint("mock:b").expectedMessageCount(2);
+        getMockEndpoint("mock:other").expectedMessageCount(1);
+
+        template.sendBodyAndHeader("direct:start", "Hello World", "type", "B");
+        template.sendBodyAndHeader("direct:start", "Hello World", "type", "X");
+        template.sendBodyAndHeader("direct:start", "Hello World", "type", "B");
+
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName on = ObjectName.getInstance("org.apache.camel:context=localhost/camel-1,type=processors,name=\"mychoice\"");
+        assertTrue("Should be registered", mbeanServer.isRegistered(on));
+
+        assertEquals("header(type)", mbeanServer.getAttribute(on, "Expression"));
+        assertEquals(4, mbeanServer.getAttribute(on, "WhenClauses"));
+        assertEquals(4, mbeanServer.getAttribute(on, "IndexSize"));
+        assertEquals(3L, mbeanServer.getAttribute(on, "IndexedLookups"));
+        assertEquals(0L, mbeanServer.getAttribute(on, "CoercedLookups"));
+        assertEquals(3L, mbeanServer.getAttribute(on, "ExchangesCompleted"));
+
+        mbeanServer.invoke(on, "reset", null, null);
+        assertEquals(0L, mbeanServer.getAttribute(on, "IndexedLookups"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .choice().id("mychoice")
+                        .when(header("type").isEqualTo("A")).to("mock:a")
+                        .when(header("type").isEqualTo("B")).to("mock:b")
+                        .when(header("type").isEqualTo("C")).to("mock:c")
+                        .when(header("type").isEqualTo("D")).to("mock:d")
+                        .otherwise().to("mock:other");
+            }
+        };
+    }
+}
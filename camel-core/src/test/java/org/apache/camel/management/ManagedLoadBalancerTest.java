@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version 
+ */
+public class ManagedLoadBalancerTest extends ManagementTestSupport {
+
+    public void testManageLoadBalancer() throws Exception {
+        MockEndpoint x = getMockEndpoint("mock:x");
+        MockEndpoint y = getMockEndpoint("mock:y");
+        x.expectedMessageCount(2);
+        y.expectedMessageCount(2);
+
+        for (int i = 0; i < 4; i++) {
+            template.sendBody("direct:start", "Message " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName on = ObjectName.getInstance("org.apache.camel:context=localhost/camel-1,type=processors,name=\"mybalancer\"");
+
+        Integer size = (Integer) mbeanServer.getAttribute(on, "Size");
+        assertEquals(2, size.intValue());
+
+        Boolean aware = (Boolean) mbeanServer.getAttribute(on, "LoadAware");
+        assertEquals(Boolean.TRUE, aware);
+
+        Integer inflight = (Integer) mbeanServer.getAttribute(on, "Inflight");
+        assertEquals(0, inflight.intValue());
+
+        Long completed = (Long) mbeanServer.invoke(on, "completed", new Object[]{0}, new String[]{"int"});
+        assertEquals(2, completed.longValue());
+        completed = (Long) mbeanServer.invoke(on, "completed", new Object[]{1}, new String[]{"int"});
+        assertEquals(2, completed.longValue());
+
+        Double latency = (Double) mbeanServer.invoke(on, "latency", new Object[]{0}, new String[]{"int"});
+        assertTrue(latency.doubleValue() >= 0);
+
+        mbeanServer.setAttribute(on, new Attribute("DecayTime", 5000L));
+        Long decay = (Long) mbeanServer.getAttribute(on, "DecayTime");
+        assertEquals(5000, decay.longValue());
+
+        mbeanServer.invoke(on, "reset", null, null);
+        completed = (Long) mbeanServer.invoke(on, "completed", new Object[]{0}, new String[]{"int"});
+        assertEquals(0, completed.longValue());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .loadBalance().leastInflight().id("mybalancer")
+                        .to("mock:x", "mock:y");
+            }
+        };
+    }
+}
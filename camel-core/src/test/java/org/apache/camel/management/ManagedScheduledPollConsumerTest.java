@@ -53,6 +53,15 @@ public class ManagedScheduledPollConsumerTest extends ManagementTestSupport {
         String timeUnit = (String) mbeanServer.getAttribute(on, "TimeUnit");
         assertEquals(TimeUnit.MILLISECONDS.toString(), timeUnit);
 
+        Long effectiveDelay = (Long) mbeanServer.getAttribute(on, "EffectiveDelay");
+        assertEquals(4000, effectiveDelay.longValue());
+
+        Boolean greedy = (Boolean) mbeanServer.getAttribute(on, "Greedy");
+        assertEquals(Boolean.FALSE, greedy);
+
+        Integer backoffMultiplier = (Integer) mbeanServer.getAttribute(on, "BackoffMultiplier");
+        assertEquals(0, backoffMultiplier.intValue());
+
         String routeId = (String) mbeanServer.getAttribute(on, "RouteId");
         assertEquals("route1", routeId);
 
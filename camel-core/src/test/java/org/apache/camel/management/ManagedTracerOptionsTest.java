@@ -82,6 +82,40 @@ public class ManagedTracerOptionsTest extends ManagementTestSupport {
         assertMockEndpointsSatisfied();
     }
 
+    public void testManagedTracerAsyncSampling() throws Exception {
+        MBeanServer mbeanServer = getMBeanServer();
+
+        Set<ObjectName> set = mbeanServer.queryNames(new ObjectName("*:type=tracer,*"), null);
+        assertEquals(1, set.size());
+        ObjectName on = set.iterator().next();
+
+        mbeanServer.setAttribute(on, new Attribute("Async", Boolean.TRUE));
+        Boolean async = (Boolean) mbeanServer.getAttribute(on, "Async");
+        assertEquals(true, async.booleanValue());
+
+        Integer queueSize = (Integer) mbeanServer.getAttribute(on, "AsyncQueueSize");
+        assertEquals(1000, queueSize.intValue());
+        Integer batchSize = (Integer) mbeanServer.getAttribute(on, "AsyncBatchSize");
+        assertEquals(100, batchSize.intValue());
+
+        mbeanServer.setAttribute(on, new Attribute("SamplingRate", 0.5));
+        Double rate = (Double) mbeanServer.getAttribute(on, "SamplingRate");
+        assertEquals(0.5, rate.doubleValue());
+
+        mbeanServer.invoke(on, "updateRouteSamplingRate", new Object[]{"foo", 0.25}, new String[]{"java.lang.String", "double"});
+        rate = (Double) mbeanServer.invoke(on, "routeSamplingRate", new Object[]{"foo"}, new String[]{"java.lang.String"});
+        assertEquals(0.25, rate.doubleValue());
+
+        mbeanServer.invoke(on, "removeRouteSamplingRate", new Object[]{"foo"}, new String[]{"java.lang.String"});
+        rate = (Double) mbeanServer.invoke(on, "routeSamplingRate", new Object[]{"foo"}, new String[]{"java.lang.String"});
+        assertEquals(0.5, rate.doubleValue());
+
+        Long dropped = (Long) mbeanServer.getAttribute(on, "DroppedEvents");
+        assertEquals(0, dropped.longValue());
+        Integer pending = (Integer) mbeanServer.getAttribute(on, "AsyncPendingEvents");
+        assertEquals(0, pending.intValue());
+    }
+
     private void doAssertFormatter(MBeanServer mbeanServer, ObjectName on) throws Exception {
         mbeanServer.setAttribute(on, new Attribute("FormatterShowBody", Boolean.TRUE));
         Boolean fsb = (Boolean) mbeanServer.getAttribute(on, "FormatterShowBody");
@@ -0,0 +1,179 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.loadbalancer.Circuit;
+import org.apache.camel.processor.loadbalancer.CircuitBreakerLoadBalancer;
+
+/**
+ * @version 
+ */
+public class CircuitBreakerLoadBalanceTest extends ContextTestSupport {
+
+    private CircuitBreakerLoadBalancer circuitBreaker;
+    private volatile boolean healthy;
+    private int calls;
+
+    public void testCircuitBreaker() throws Exception {
+        MockEndpoint good = getMockEndpoint("mock:good");
+
+        for (int i = 0; i < 10; i++) {
+            sendBody("direct:start", "Hello " + i);
+        }
+
+        // the circuit of the bad processor should open after its 2nd failure
+        assertEquals(2, calls);
+        assertEquals(8, good.getReceivedCounter());
+        assertEquals(Circuit.State.Open, circuitBreaker.getCircuits().get(0).getState());
+        assertEquals(Circuit.State.Closed, circuitBreaker.getCircuits().get(1).getState());
+        assertEquals(1, circuitBreaker.getOpenCircuits());
+
+        // after the timeout a probe is sent which fails
+        Thread.sleep(600);
+        assertEquals(Circuit.State.HalfOpen, circuitBreaker.getCircuits().get(0).getState());
+        sendBody("direct:start", "Hello A");
+        sendBody("direct:start", "Hello B");
+        assertEquals(3, calls);
+        assertEquals(Circuit.State.Open, circuitBreaker.getCircuits().get(0).getState());
+        assertEquals(2, circuitBreaker.getCircuits().get(0).getTimesOpened());
+
+        // after the timeout a probe is sent which succeeds
+        healthy = true;
+        Thread.sleep(600);
+        sendBody("direct:start", "Hello C");
+        sendBody("direct:start", "Hello D");
+        assertEquals(4, calls);
+        assertEquals(Circuit.State.Closed, circuitBreaker.getCircuits().get(0).getState());
+
+        // and round robin is resumed
+        sendBody("direct:start", "Hello E");
+        sendBody("direct:start", "Hello F");
+        assertEquals(5, calls);
+    }
+
+    public void testAllCircuitsOpen() throws Exception {
+        // the circuit is opened after the minimum number of requests
+        for (int i = 0; i < 10; i++) {
+            try {
+                template.sendBody("direct:single", "Hello " + i);
+                fail("Should have thrown an exception");
+            } catch (CamelExecutionException e) {
+                assertIsInstanceOf(IllegalArgumentException.class, e.getCause());
+            }
+        }
+
+        // the circuit is open so the processor is not called
+        try {
+            template.sendBody("direct:single", "Hello");
+            fail("Should have thrown an exception");
+        } catch (CamelExecutionException e) {
+            assertIsInstanceOf(RejectedExecutionException.class, e.getCause());
+        }
+        assertEquals(10, calls);
+    }
+
+    public void testOnlyGivenExceptionsAreFailures() throws Exception {
+        for (int i = 0; i < 15; i++) {
+            try {
+                template.sendBody("direct:other", "Hello " + i);
+                fail("Should have thrown an exception");
+            } catch (CamelExecutionException e) {
+                assertIsInstanceOf(IllegalArgumentException.class, e.getCause());
+            }
+        }
+        // IllegalArgumentException does not count as failure
+        assertEquals(15, calls);
+    }
+
+    public void testHungProbeOpensCircuitAgain() throws Exception {
+        CircuitBreakerLoadBalancer loadBalancer = new CircuitBreakerLoadBalancer();
+        loadBalancer.setMinimumRequests(1);
+        loadBalancer.setOpenTimeout(500);
+        Circuit circuit = new Circuit(null, loadBalancer);
+
+        assertEquals(Circuit.ALLOWED, circuit.allow());
+        circuit.done(Circuit.ALLOWED, true);
+        assertEquals(Circuit.State.Open, circuit.getState());
+        assertEquals(Circuit.REJECTED, circuit.allow());
+
+        // after the timeout a probe is let through which hangs
+        Thread.sleep(600);
+        assertEquals(Circuit.PROBE, circuit.allow());
+        assertEquals(Circuit.REJECTED, circuit.allow());
+
+        // the probe has not completed within the timeout so the circuit is opened again
+        Thread.sleep(600);
+        assertEquals(Circuit.REJECTED, circuit.allow());
+        assertEquals(Circuit.State.Open, circuit.getState());
+        assertEquals(2, circuit.getTimesOpened());
+
+        // and the hung probe completing later does not close the circuit
+        circuit.done(Circuit.PROBE, false);
+        assertEquals(Circuit.State.Open, circuit.getState());
+
+        // after the timeout a new probe is let through which succeeds
+        Thread.sleep(600);
+        assertEquals(Circuit.PROBE, circuit.allow());
+        circuit.done(Circuit.PROBE, false);
+        assertEquals(Circuit.State.Closed, circuit.getState());
+    }
+
+    private void sendBody(String uri, String body) {
+        try {
+            template.sendBody(uri, body);
+        } catch (CamelExecutionException e) {
+            // ignore
+        }
+    }
+
+    protected RouteBuilder createRouteBuilder() {
+        circuitBreaker = new CircuitBreakerLoadBalancer();
+        circuitBreaker.setMinimumRequests(2);
+        circuitBreaker.setOpenTimeout(500);
+
+        final Processor bad = new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                calls++;
+                if (!healthy) {
+                    throw new IllegalArgumentException("Forced");
+                }
+            }
+        };
+
+        return new RouteBuilder() {
+            public void configure() {
+                from("direct:start").loadBalance(circuitBreaker).to("direct:bad", "mock:good");
+
+                from("direct:bad").process(bad);
+
+                // START SNIPPET: example
+                from("direct:single").loadBalance().circuitBreaker(0.5, 30000).to("direct:bad");
+                // END SNIPPET: example
+
+                from("direct:other").loadBalance().circuitBreaker(0.5, 30000, IllegalStateException.class).to("direct:bad");
+            }
+        };
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.idempotent.ConcurrentMemoryIdempotentRepository;
+
+/**
+ * @version 
+ */
+public class ConcurrentMemoryIdempotentRepositoryTest extends ContextTestSupport {
+
+    private ConcurrentMemoryIdempotentRepository repo = new ConcurrentMemoryIdempotentRepository(100);
+
+    public void testDuplicateMessagesAreFilteredOut() throws Exception {
+        MockEndpoint resultEndpoint = getMockEndpoint("mock:result");
+        resultEndpoint.expectedBodiesReceived("one", "two", "three");
+
+        sendMessage("1", "one");
+        sendMessage("2", "two");
+        sendMessage("1", "one");
+        sendMessage("2", "two");
+        sendMessage("1", "one");
+        sendMessage("3", "three");
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(3, repo.getCacheSize());
+        assertEquals(3, repo.getHitCount());
+        assertEquals(3, repo.getMissCount());
+    }
+
+    public void testBloomFilter() throws Exception {
+        ConcurrentMemoryIdempotentRepository repo = new ConcurrentMemoryIdempotentRepository(10);
+        repo.setBloomFilter(true);
+        repo.start();
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(repo.add("key-" + i));
+        }
+        // the oldest keys are evicted and removed from the filter as well
+        assertTrue(repo.getCacheSize() <= 10);
+        assertTrue(repo.contains("key-19"));
+        assertFalse(repo.add("key-19"));
+
+        for (int i = 0; i < 10; i++) {
+            assertFalse(repo.contains("unknown-" + i));
+        }
+        assertTrue(repo.getBloomFilterHitCount() > 0);
+        assertTrue(repo.getBloomFilterSize() > 0);
+        assertTrue(repo.getBloomFilterFalsePositiveProbability() > 0);
+
+        assertTrue(repo.remove("key-19"));
+        assertFalse(repo.contains("key-19"));
+
+        repo.stop();
+        assertEquals(0, repo.getCacheSize());
+    }
+
+    public void testTimeToLive() throws Exception {
+        ConcurrentMemoryIdempotentRepository repo = new ConcurrentMemoryIdempotentRepository();
+        repo.setTimeToLive(100);
+        repo.start();
+
+        assertTrue(repo.add("A"));
+        assertFalse(repo.add("A"));
+        assertTrue(repo.contains("A"));
+
+        Thread.sleep(200);
+
+        assertFalse(repo.contains("A"));
+        assertTrue(repo.add("A"));
+        assertTrue(repo.contains("A"));
+
+        repo.stop();
+    }
+
+    protected void sendMessage(final Object messageId, final Object body) {
+        template.send("direct:start", new Processor() {
+            public void process(Exchange exchange) {
+                exchange.getIn().setBody(body);
+                exchange.getIn().setHeader("messageId", messageId);
+            }
+        });
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .idempotentConsumer(header("messageId"), repo)
+                    .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,224 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+
+import junit.framework.TestCase;
+import org.apache.camel.processor.idempotent.FileIdempotentRepository;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.util.IOHelper;
+
+/**
+ * @version 
+ */
+public class FileIdempotentCompactionTest extends TestCase {
+
+    private File store = new File("target/idempotentcompaction.dat");
+    private File copy = new File("target/idempotentcompaction-copy.dat");
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        store.getParentFile().mkdirs();
+        if (store.exists()) {
+            store.delete();
+        }
+        if (copy.exists()) {
+            copy.delete();
+        }
+    }
+
+    public void testReplayLog() throws Exception {
+        IdempotentRepository<String> repo = FileIdempotentRepository.fileIdempotentRepository(store, 100, 1024 * 1024);
+        repo.start();
+
+        assertTrue(repo.add("A"));
+        assertTrue(repo.add("B"));
+        assertTrue(repo.add("C"));
+        assertFalse(repo.add("A"));
+        assertTrue(repo.remove("B"));
+        assertTrue(repo.add("\u0000D"));
+
+        // the store is an append log so it has not been compacted
+        assertTrue(store.length() > "A\nC\n\u0000+\u0000D\n".length());
+
+        // read a copy of the log as stopping a repository compacts its store
+        IdempotentRepository<String> repo2 = FileIdempotentRepository.fileIdempotentRepository(copyStore());
+        repo2.start();
+        assertTrue(repo2.contains("A"));
+        assertFalse(repo2.contains("B"));
+        assertTrue(repo2.contains("C"));
+        assertTrue(repo2.contains("\u0000D"));
+        repo2.stop();
+
+        // stopping compacts the store
+        repo.stop();
+        IdempotentRepository<String> repo3 = FileIdempotentRepository.fileIdempotentRepository(store);
+        repo3.start();
+        assertTrue(repo3.contains("A"));
+        assertFalse(repo3.contains("B"));
+        assertTrue(repo3.contains("C"));
+        assertTrue(repo3.contains("\u0000D"));
+        assertEquals(3, ((FileIdempotentRepository) repo3).getCacheSize());
+        repo3.stop();
+    }
+
+    public void testCompactInBackground() throws Exception {
+        FileIdempotentRepository repo = (FileIdempotentRepository) FileIdempotentRepository.fileIdempotentRepository(store, 10, 200);
+        repo.start();
+
+        for (int i = 0; i < 500; i++) {
+            repo.add("key-" + i);
+        }
+
+        // wait for the background compaction to catch up
+        for (int i = 0; i < 50 && repo.getFileStoreSize() > 400; i++) {
+            Thread.sleep(100);
+        }
+        assertTrue("Store should have been compacted, was " + repo.getFileStoreSize(), repo.getFileStoreSize() <= 400);
+
+        FileIdempotentRepository repo2 = (FileIdempotentRepository) FileIdempotentRepository.fileIdempotentRepository(copyStore(), 1000);
+        repo2.start();
+        assertEquals(10, repo2.getCacheSize());
+        for (int i = 490; i < 500; i++) {
+            assertTrue(repo2.contains("key-" + i));
+        }
+        repo2.stop();
+        repo.stop();
+    }
+
+    public void testConcurrentAdd() throws Exception {
+        final FileIdempotentRepository repo = (FileIdempotentRepository) FileIdempotentRepository.fileIdempotentRepository(store, 10000, 4096);
+        repo.start();
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int id = t;
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < 500; i++) {
+                        repo.add(id + "-" + i);
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        repo.stop();
+
+        FileIdempotentRepository repo2 = (FileIdempotentRepository) FileIdempotentRepository.fileIdempotentRepository(store, 10000);
+        repo2.start();
+        assertEquals(2000, repo2.getCacheSize());
+        repo2.stop();
+    }
+
+    public void testConcurrentCompact() throws Exception {
+        final FileIdempotentRepository repo = (FileIdempotentRepository) FileIdempotentRepository.fileIdempotentRepository(store, 1000, 512);
+        repo.start();
+        for (int i = 0; i < 100; i++) {
+            repo.add("key-" + i);
+        }
+
+        // compact and reset while the background compaction may be running as well
+        final Exception[] errors = new Exception[1];
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final boolean reset = t % 2 == 0;
+            threads[t] = new Thread() {
+                public void run() {
+                    try {
+                        for (int i = 0; i < 20; i++) {
+                            if (reset) {
+                                repo.reset();
+                            } else {
+                                repo.compact();
+                            }
+                        }
+                    } catch (Exception e) {
+                        errors[0] = e;
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (int i = 100; i < 200; i++) {
+            repo.add("key-" + i);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull("Should not fail compacting", errors[0]);
+        repo.stop();
+
+        FileIdempotentRepository repo2 = (FileIdempotentRepository) FileIdempotentRepository.fileIdempotentRepository(store, 1000);
+        repo2.start();
+        assertEquals(200, repo2.getCacheSize());
+        repo2.stop();
+    }
+
+    public void testResetWhileAdding() throws Exception {
+        final FileIdempotentRepository repo = (FileIdempotentRepository) FileIdempotentRepository.fileIdempotentRepository(store, 10000, 1024 * 1024);
+        repo.start();
+
+        // reset reloads the cache from the store, so any key added before it must still be there afterwards
+        final String[] lost = new String[1];
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int id = t;
+            threads[t] = new Thread() {
+                public void run() {
+                    for (int i = 0; i < 500; i++) {
+                        String key = id + "-" + i;
+                        repo.add(key);
+                        if (!repo.contains(key)) {
+                            lost[0] = key;
+                        }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (int i = 0; i < 50; i++) {
+            repo.reset();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull("Key lost by reset", lost[0]);
+
+        repo.reset();
+        assertEquals(2000, repo.getCacheSize());
+        repo.stop();
+    }
+
+    private File copyStore() throws Exception {
+        FileInputStream fis = new FileInputStream(store);
+        FileOutputStream fos = new FileOutputStream(copy);
+        try {
+            IOHelper.copyAndCloseInput(fis, fos);
+        } finally {
+            fos.close();
+        }
+        return copy;
+    }
+
+}
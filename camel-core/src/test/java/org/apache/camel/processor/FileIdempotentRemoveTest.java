@@ -63,9 +63,17 @@ public class FileIdempotentRemoveTest extends ContextTestSupport {
 
         assertMockEndpointsSatisfied();
 
-        // remove should flush file so we will only see B in the file
+        // remove is logged in the file so A is gone when the store is reloaded
         repo.remove("A");
 
+        IdempotentRepository<String> repo2 = FileIdempotentRepository.fileIdempotentRepository(store);
+        repo2.start();
+        assertFalse(repo2.contains("A"));
+        assertTrue(repo2.contains("B"));
+
+        // compacting should rewrite the file so we will only see B in the file
+        ((FileIdempotentRepository) repo).compact();
+
         String data = context.getTypeConverter().convertTo(String.class, store);
         assertEquals("B\n", data);
     }
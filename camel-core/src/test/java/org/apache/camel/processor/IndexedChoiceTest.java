@@ -0,0 +1,191 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.List;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Navigate;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.Builder;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.builder.ValueBuilder;
+import org.apache.camel.impl.ExpressionAdapter;
+
+/**
+ * @version 
+ */
+public class IndexedChoiceTest extends ContextTestSupport {
+
+    public void testIndexed() throws Exception {
+        IndexedChoiceProcessor choice = findChoice("direct:start", IndexedChoiceProcessor.class);
+        assertNotNull("Should be indexed", choice);
+        assertEquals(5, choice.getIndexSize());
+
+        getMockEndpoint("mock:a").expectedBodiesReceived("Hello A");
+        getMockEndpoint("mock:c").expectedBodiesReceived("Hello C", "Hello C again");
+        getMockEndpoint("mock:e").expectedBodiesReceived("Hello E");
+        getMockEndpoint("mock:b").expectedMessageCount(0);
+        getMockEndpoint("mock:d").expectedMessageCount(0);
+        getMockEndpoint("mock:other").expectedBodiesReceived("Hello X", "Hello null");
+
+        template.sendBodyAndHeader("direct:start", "Hello A", "type", "A");
+        template.sendBodyAndHeader("direct:start", "Hello C", "type", "C");
+        template.sendBodyAndHeader("direct:start", "Hello E", "type", "E");
+        template.sendBodyAndHeader("direct:start", "Hello X", "type", "X");
+        template.sendBody("direct:start", "Hello null");
+        template.sendBodyAndHeader("direct:start", "Hello C again", "type", "C");
+
+        assertMockEndpointsSatisfied();
+        assertEquals(6, choice.getIndexedLookups());
+        assertEquals(0, choice.getCoercedLookups());
+    }
+
+    public void testIndexedTypeCoerce() throws Exception {
+        IndexedChoiceProcessor choice = findChoice("direct:number", IndexedChoiceProcessor.class);
+        assertNotNull("Should be indexed", choice);
+
+        getMockEndpoint("mock:two").expectedBodiesReceived("Hello 2", "Hello 2 as text");
+        getMockEndpoint("mock:four").expectedBodiesReceived("Hello 4");
+        getMockEndpoint("mock:none").expectedBodiesReceived("Hello 5");
+
+        template.sendBodyAndHeader("direct:number", "Hello 2", "number", 2);
+        // the value is type coerced as the predicates would do
+        template.sendBodyAndHeader("direct:number", "Hello 2 as text", "number", "2");
+        template.sendBodyAndHeader("direct:number", "Hello 4", "number", 4);
+        template.sendBodyAndHeader("direct:number", "Hello 5", "number", "5");
+
+        assertMockEndpointsSatisfied();
+        assertEquals(2, choice.getIndexedLookups());
+        assertEquals(2, choice.getCoercedLookups());
+    }
+
+    public void testNotIndexed() throws Exception {
+        assertNull("Should not be indexed", findChoice("direct:mixed", IndexedChoiceProcessor.class));
+        assertNotNull(findChoice("direct:mixed", ChoiceProcessor.class));
+
+        getMockEndpoint("mock:mixed").expectedBodiesReceived("Hello World");
+        template.sendBodyAndHeader("direct:mixed", "Hello World", "foo", "D");
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testIndexedSimple() throws Exception {
+        assertNotNull("Should be indexed", findChoice("direct:simple", IndexedChoiceProcessor.class));
+
+        getMockEndpoint("mock:c").expectedBodiesReceived("Hello C");
+        template.sendBodyAndHeader("direct:simple", "Hello C", "type", "C");
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testNotIndexedSameToString() throws Exception {
+        // the expressions has the same text but evaluates different headers so they must not be indexed
+        assertNull("Should not be indexed", findChoice("direct:custom", IndexedChoiceProcessor.class));
+
+        getMockEndpoint("mock:a").expectedMessageCount(0);
+        getMockEndpoint("mock:c").expectedBodiesReceived("Hello World");
+        template.sendBodyAndHeader("direct:custom", "Hello World", "bar", "C");
+        assertMockEndpointsSatisfied();
+    }
+
+    private static ValueBuilder myHeader(final String name) {
+        return new ValueBuilder(new ExpressionAdapter() {
+            public Object evaluate(Exchange exchange) {
+                return exchange.getIn().getHeader(name);
+            }
+
+            @Override
+            public String toString() {
+                return "myHeader";
+            }
+        });
+    }
+
+    private <T extends Processor> T findChoice(String uri, Class<T> type) {
+        Navigate<Processor> nav = context.getRoute(uri).navigate();
+        return findProcessor(nav, type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Processor> T findProcessor(Navigate<Processor> nav, Class<T> type) {
+        List<Processor> processors = nav.next();
+        if (processors == null) {
+            return null;
+        }
+        for (Processor processor : processors) {
+            if (type.isInstance(processor)) {
+                return type.cast(processor);
+            }
+            if (processor instanceof Navigate) {
+                T answer = findProcessor((Navigate<Processor>) processor, type);
+                if (answer != null) {
+                    return answer;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("direct:start")
+                    .choice()
+                        .when(header("type").isEqualTo("A")).to("mock:a")
+                        .when(header("type").isEqualTo("B")).to("mock:b")
+                        .when(header("type").isEqualTo("C")).to("mock:c")
+                        // a duplicate should never be used as the first when clause is used
+                        .when(header("type").isEqualTo("C")).to("mock:d")
+                        .when(header("type").isEqualTo("D")).to("mock:d")
+                        .when(header("type").isEqualTo("E")).to("mock:e")
+                        .otherwise().to("mock:other");
+
+                from("direct:number").routeId("direct:number")
+                    .choice()
+                        .when(header("number").isEqualTo(1)).to("mock:one")
+                        .when(header("number").isEqualTo(2)).to("mock:two")
+                        .when(header("number").isEqualTo(3)).to("mock:three")
+                        .when(header("number").isEqualTo(4)).to("mock:four")
+                    .end()
+                    .filter(header("number").isEqualTo("5")).to("mock:none");
+
+                from("direct:mixed").routeId("direct:mixed")
+                    .choice()
+                        .when(header("foo").isEqualTo("A")).to("mock:a")
+                        .when(header("bar").isEqualTo("B")).to("mock:b")
+                        .when(header("foo").isEqualTo("C")).to("mock:c")
+                        .when(header("foo").isEqualTo("D")).to("mock:mixed");
+
+                from("direct:simple").routeId("direct:simple")
+                    .choice()
+                        .when(Builder.simple("${header.type}").isEqualTo("A")).to("mock:a")
+                        .when(Builder.simple("${header.type}").isEqualTo("B")).to("mock:b")
+                        .when(Builder.simple("${header.type}").isEqualTo("C")).to("mock:c")
+                        .when(Builder.simple("${header.type}").isEqualTo("D")).to("mock:d");
+
+                from("direct:custom").routeId("direct:custom")
+                    .choice()
+                        .when(myHeader("foo").isEqualTo("A")).to("mock:a")
+                        .when(myHeader("foo").isEqualTo("B")).to("mock:b")
+                        .when(myHeader("bar").isEqualTo("C")).to("mock:c")
+                        .when(myHeader("bar").isEqualTo("D")).to("mock:d");
+            }
+        };
+    }
+}
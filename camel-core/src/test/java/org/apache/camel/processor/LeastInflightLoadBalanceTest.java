@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.processor.loadbalancer.LeastInflightLoadBalancer;
+
+/**
+ * @version 
+ */
+public class LeastInflightLoadBalanceTest extends ContextTestSupport {
+
+    public void testLeastInflightRoundRobinWhenIdle() throws Exception {
+        getMockEndpoint("mock:x").expectedBodiesReceived("A", "D");
+        getMockEndpoint("mock:y").expectedBodiesReceived("B");
+        getMockEndpoint("mock:z").expectedBodiesReceived("C");
+
+        template.sendBody("direct:start", "A");
+        template.sendBody("direct:start", "B");
+        template.sendBody("direct:start", "C");
+        template.sendBody("direct:start", "D");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testLeastInflight() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final int[] counts = new int[2];
+
+        final LeastInflightLoadBalancer loadBalancer = new LeastInflightLoadBalancer();
+        loadBalancer.addProcessor(new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                counts[0]++;
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+        });
+        loadBalancer.addProcessor(new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                counts[1]++;
+            }
+        });
+        loadBalancer.start();
+
+        // the first exchange is stuck in the first processor
+        Thread thread = new Thread() {
+            public void run() {
+                try {
+                    loadBalancer.process(new DefaultExchange(context));
+                } catch (Exception e) {
+                    // ignore
+                }
+            }
+        };
+        thread.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(1, loadBalancer.getInflight());
+
+        // so all the other exchanges should go to the second processor
+        for (int i = 0; i < 10; i++) {
+            loadBalancer.process(new DefaultExchange(context));
+        }
+        assertEquals(1, counts[0]);
+        assertEquals(10, counts[1]);
+
+        release.countDown();
+        thread.join();
+        assertEquals(0, loadBalancer.getInflight());
+        assertEquals(1, loadBalancer.getStatistics().get(0).getCompleted());
+        assertEquals(10, loadBalancer.getStatistics().get(1).getCompleted());
+        loadBalancer.stop();
+    }
+
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                // START SNIPPET: example
+                from("direct:start").loadBalance().leastInflight().to("mock:x", "mock:y", "mock:z");
+                // END SNIPPET: example
+            }
+        };
+    }
+}
@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.loadbalancer.LoadStatistics;
+import org.apache.camel.processor.loadbalancer.PeakEwmaLoadBalancer;
+
+/**
+ * @version 
+ */
+public class PeakEwmaLoadBalanceTest extends ContextTestSupport {
+
+    // the latency is measured using this clock, which the processors advance, so the test does not depend on timing
+    private final AtomicLong clock = new AtomicLong();
+
+    public void testPreferFastProcessor() throws Exception {
+        MockEndpoint fast = getMockEndpoint("mock:fast");
+        MockEndpoint slow = getMockEndpoint("mock:slow");
+
+        for (int i = 0; i < 50; i++) {
+            template.sendBody("direct:start", "Hello " + i);
+        }
+
+        assertEquals(50, fast.getReceivedCounter() + slow.getReceivedCounter());
+        // the slow processor may only get the first exchange as no latency is known at that time
+        assertTrue("Should prefer the fast processor, was " + fast.getReceivedCounter(), fast.getReceivedCounter() >= 49);
+    }
+
+    public void testFailedExchangeDoesNotAttract() throws Exception {
+        MockEndpoint ok = getMockEndpoint("mock:ok");
+
+        for (int i = 0; i < 50; i++) {
+            try {
+                template.sendBody("direct:failing", "Hello " + i);
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+
+        assertTrue("Should not prefer the failing processor, was " + ok.getReceivedCounter(), ok.getReceivedCounter() >= 49);
+    }
+
+    public void testFailedSampleDoesNotLowerLatency() throws Exception {
+        LoadStatistics stats = new ClockLoadStatistics(null, 10000);
+
+        long start = stats.begin();
+        clock.addAndGet(10000000L);
+        stats.done(start, false);
+        assertEquals(10.0, stats.getLatency(), 0.001);
+
+        // a fast failure must not lower the latency
+        start = stats.begin();
+        clock.addAndGet(1000000L);
+        stats.done(start, true);
+        assertEquals(10.0, stats.getLatency(), 0.001);
+        assertEquals(1, stats.getFailed());
+
+        // but a fast success is blended in
+        start = stats.begin();
+        clock.addAndGet(1000000L);
+        stats.done(start, false);
+        assertTrue("Latency should be lowered, was " + stats.getLatency(), stats.getLatency() < 10.0);
+        assertEquals(2, stats.getCompleted());
+
+        // and a slow sample replaces the latency
+        start = stats.begin();
+        clock.addAndGet(30000000L);
+        stats.done(start, false);
+        assertEquals(30.0, stats.getLatency(), 0.001);
+        assertEquals(0, stats.getInflight());
+    }
+
+    public void testPeakEwmaDSL() throws Exception {
+        MockEndpoint a = getMockEndpoint("mock:a");
+        MockEndpoint b = getMockEndpoint("mock:b");
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:dsl", "Hello " + i);
+        }
+
+        assertEquals(10, a.getReceivedCounter() + b.getReceivedCounter());
+    }
+
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                from("direct:start").loadBalance(new ClockLoadBalancer()).to("direct:fast", "direct:slow");
+
+                from("direct:fast").process(new Advance(1)).to("mock:fast");
+                from("direct:slow").process(new Advance(20)).to("mock:slow");
+
+                from("direct:failing").errorHandler(noErrorHandler())
+                    .loadBalance(new ClockLoadBalancer()).to("direct:ok", "direct:fail");
+
+                from("direct:ok").process(new Advance(5)).to("mock:ok");
+                from("direct:fail").process(new Advance(10)).process(new Processor() {
+                    public void process(Exchange exchange) throws Exception {
+                        throw new IllegalArgumentException("Forced");
+                    }
+                });
+
+                // START SNIPPET: example
+                from("direct:dsl").loadBalance().peakEwma().to("mock:a", "mock:b");
+                // END SNIPPET: example
+            }
+        };
+    }
+
+    private final class Advance implements Processor {
+        private final long millis;
+
+        private Advance(long millis) {
+            this.millis = millis;
+        }
+
+        public void process(Exchange exchange) throws Exception {
+            clock.addAndGet(millis * 1000000L);
+        }
+    }
+
+    private final class ClockLoadStatistics extends LoadStatistics {
+
+        private ClockLoadStatistics(Processor processor, long decayTime) {
+            super(processor, decayTime);
+        }
+
+        @Override
+        protected long currentTime() {
+            return clock.get();
+        }
+    }
+
+    private final class ClockLoadBalancer extends PeakEwmaLoadBalancer {
+
+        @Override
+        protected LoadStatistics createLoadStatistics(Processor processor, long decayTime) {
+            return new ClockLoadStatistics(processor, decayTime);
+        }
+    }
+}
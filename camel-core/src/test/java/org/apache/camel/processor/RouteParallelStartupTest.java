@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Consumer;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.Route;
+import org.apache.camel.Service;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultComponent;
+import org.apache.camel.impl.DefaultConsumer;
+import org.apache.camel.impl.DefaultEndpoint;
+import org.apache.camel.impl.DummyLifecycleStrategy;
+import org.apache.camel.impl.ProducerCache;
+import org.apache.camel.spi.RouteStartupOrder;
+
+/**
+ * @version 
+ */
+public class RouteParallelStartupTest extends ContextTestSupport {
+
+    private static final Set<String> THREADS = new CopyOnWriteArraySet<String>();
+    private final Set<Service> producerCaches = new CopyOnWriteArraySet<Service>();
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setParallelRouteStartup(true);
+        context.addComponent("slow", new SlowComponent());
+        context.addLifecycleStrategy(new DummyLifecycleStrategy() {
+            @Override
+            public void onServiceAdd(CamelContext context, Service service, Route route) {
+                if (service instanceof ProducerCache) {
+                    producerCaches.add(service);
+                }
+            }
+        });
+        return context;
+    }
+
+    public void testRouteParallelStartup() throws Exception {
+        assertTrue(context.isParallelRouteStartup());
+
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+        template.sendBody("direct:start", "Hello World");
+        assertMockEndpointsSatisfied();
+
+        DefaultCamelContext dcc = (DefaultCamelContext) context;
+        List<RouteStartupOrder> order = dcc.getRouteStartupOrder();
+        assertEquals(57, order.size());
+
+        // the routes with a startup order is started in that order before the others
+        assertEquals("seda://foo", order.get(0).getRoute().getEndpoint().getEndpointUri());
+        assertEquals("direct://start", order.get(1).getRoute().getEndpoint().getEndpointUri());
+        int slow = 0;
+        for (int i = 2; i < 57; i++) {
+            String uri = order.get(i).getRoute().getEndpoint().getEndpointUri();
+            if (uri.startsWith("slow://")) {
+                slow++;
+                assertTrue("Should record startup time", order.get(i).getStartupTime() >= 190);
+            }
+        }
+        assertEquals(5, slow);
+
+        // the slow consumers should have been started using the route startup threads
+        assertTrue("Should start in parallel: " + THREADS, THREADS.size() > 1);
+        for (String name : THREADS) {
+            assertTrue("Should use route startup thread: " + name, name.endsWith("RouteStartup"));
+        }
+    }
+
+    public void testProducerCachesAdded() throws Exception {
+        // the routes is warmed up in parallel so the producer caches is added to the context concurrently,
+        // and there is one producer cache for each of the 57 routes
+        assertEquals(57, producerCaches.size());
+        for (Service cache : producerCaches) {
+            assertTrue("Producer cache should be closed with the context: " + cache, context.hasService(cache));
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").startupOrder(2).to("seda:foo");
+
+                from("seda:foo").startupOrder(1).to("mock:result");
+
+                for (int i = 0; i < 5; i++) {
+                    from("slow:" + i).to("mock:slow");
+                }
+
+                for (int i = 0; i < 50; i++) {
+                    from("direct:many" + i).to("mock:many");
+                }
+            }
+        };
+    }
+
+    private static final class SlowComponent extends DefaultComponent {
+
+        @Override
+        protected Endpoint createEndpoint(String uri, String remaining, Map<String, Object> parameters) throws Exception {
+            return new SlowEndpoint(uri, this);
+        }
+    }
+
+    private static final class SlowEndpoint extends DefaultEndpoint {
+
+        private SlowEndpoint(String endpointUri, DefaultComponent component) {
+            super(endpointUri, component);
+        }
+
+        public Producer createProducer() throws Exception {
+            throw new UnsupportedOperationException("Not supported");
+        }
+
+        public Consumer createConsumer(Processor processor) throws Exception {
+            return new DefaultConsumer(this, processor) {
+                @Override
+                protected void doStart() throws Exception {
+                    // simulate connecting to a remote system
+                    THREADS.add(Thread.currentThread().getName());
+                    Thread.sleep(200);
+                    super.doStart();
+                }
+            };
+        }
+
+        public boolean isSingleton() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.ThreadPoolType;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.ThreadPoolProfileSupport;
+import org.apache.camel.spi.ThreadPoolProfile;
+
+/**
+ * @version 
+ */
+public class WorkStealingThreadPoolTest extends ContextTestSupport {
+
+    public void testThreadsWorkStealing() throws Exception {
+        getMockEndpoint("mock:threads").expectedMessageCount(50);
+        getMockEndpoint("mock:threads").message(0).header("threadName").regex(".*Threads");
+        // the threads should be daemon as with the standard thread pool
+        getMockEndpoint("mock:threads").allMessages().header("daemon").isEqualTo(true);
+
+        for (int i = 0; i < 50; i++) {
+            template.sendBody("direct:threads", "Hello World");
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testSplitWorkStealing() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            if (i > 0) {
+                body.append(",");
+            }
+            body.append(i);
+        }
+
+        getMockEndpoint("mock:split").expectedMessageCount(500);
+        getMockEndpoint("mock:split").message(0).header("threadName").regex(".*Split");
+        // the profile is configured to use daemon threads
+        getMockEndpoint("mock:split").allMessages().header("daemon").isEqualTo(true);
+
+        template.sendBody("direct:split", body.toString());
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                ThreadPoolProfile profile = new ThreadPoolProfileSupport("stealing");
+                profile.setPoolSize(4);
+                profile.setPoolType(ThreadPoolType.WorkStealing);
+                profile.setDaemon(true);
+                context.getExecutorServiceStrategy().registerThreadPoolProfile(profile);
+
+                from("direct:threads")
+                    .threads(4).poolType(ThreadPoolType.WorkStealing)
+                    .setHeader("threadName", simple("${threadName}"))
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            exchange.getIn().setHeader("daemon", Thread.currentThread().isDaemon());
+                        }
+                    })
+                    .to("mock:threads");
+
+                from("direct:split")
+                    .split(body().tokenize(",")).parallelProcessing().executorServiceRef("stealing")
+                        .setHeader("threadName", simple("${threadName}"))
+                        .process(new Processor() {
+                            public void process(Exchange exchange) throws Exception {
+                                exchange.getIn().setHeader("daemon", Thread.currentThread().isDaemon());
+                            }
+                        })
+                        .to("mock:split");
+            }
+        };
+    }
+}
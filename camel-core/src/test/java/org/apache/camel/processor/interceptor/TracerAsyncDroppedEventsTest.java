@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.interceptor;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class TracerAsyncDroppedEventsTest extends ContextTestSupport {
+
+    private Tracer tracer;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+
+        tracer = Tracer.createTracer(context);
+        tracer.setAsync(true);
+        tracer.setAsyncQueueSize(2);
+        tracer.setAsyncBatchSize(1);
+        tracer.setDestinationUri("direct:traced");
+
+        context.addInterceptStrategy(tracer);
+        tracer.start();
+
+        return context;
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        tracer.stop();
+        super.tearDown();
+    }
+
+    public void testTracerAsyncDroppedEvents() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(20);
+
+        for (int i = 0; i < 20; i++) {
+            template.sendBody("direct:start", "Hello " + i);
+        }
+
+        // the slow trace destination should not slow down the route
+        assertMockEndpointsSatisfied();
+
+        assertTrue("Should drop trace events", tracer.getDroppedEvents() > 0);
+        assertTrue("Should not trace all events", getMockEndpoint("mock:traced").getReceivedCounter() < 20);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").to("mock:result");
+
+                from("direct:traced").delay(100).to("mock:traced");
+            }
+        };
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.interceptor;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version 
+ */
+public class TracerAsyncTest extends ContextTestSupport {
+
+    private Tracer tracer;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+
+        tracer = Tracer.createTracer(context);
+        tracer.setAsync(true);
+        tracer.setDestinationUri("direct:traced");
+
+        context.addInterceptStrategy(tracer);
+        tracer.start();
+
+        return context;
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        tracer.stop();
+        super.tearDown();
+    }
+
+    public void testTracerAsync() throws Exception {
+        MockEndpoint traced = getMockEndpoint("mock:traced");
+        traced.expectedMessageCount(4);
+
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello World", "Bye World");
+
+        template.sendBody("direct:start", "Hello World");
+        template.sendBody("direct:start", "Bye World");
+
+        assertMockEndpointsSatisfied();
+
+        for (Exchange exchange : traced.getReceivedExchanges()) {
+            // should be written by the background thread
+            String name = exchange.getProperty("TracedBy", String.class);
+            assertTrue("Should be traced asynchronously: " + name, name.contains("TraceEventWriter"));
+        }
+
+        DefaultTraceEventMessage em = traced.getReceivedExchanges().get(0).getIn().getBody(DefaultTraceEventMessage.class);
+        assertEquals("Hello World", em.getBody());
+        assertEquals("direct://start", em.getFromEndpointUri());
+        assertNull(em.getPreviousNode());
+        assertEquals("mock://a", em.getToNode());
+        assertNotNull(em.getTimestamp());
+
+        em = traced.getReceivedExchanges().get(1).getIn().getBody(DefaultTraceEventMessage.class);
+        assertEquals("Hello World", em.getBody());
+        assertEquals("mock://a", em.getPreviousNode());
+        assertEquals("mock://result", em.getToNode());
+
+        assertEquals(0, tracer.getDroppedEvents());
+    }
+
+    public void testTracerAsyncRouteSamplingRate() throws Exception {
+        tracer.setRouteSamplingRate("start", 0.0);
+        assertEquals(0.0, tracer.getSamplingRate("start"));
+        assertEquals(1.0, tracer.getSamplingRate("other"));
+
+        getMockEndpoint("mock:traced").expectedMessageCount(0);
+        getMockEndpoint("mock:result").expectedMessageCount(10);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:start", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        // use default sampling rate again
+        tracer.setRouteSamplingRate("start", null);
+        resetMocks();
+        getMockEndpoint("mock:traced").expectedMessageCount(2);
+
+        template.sendBody("direct:start", "Hello World");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testTracerSamplingRate() throws Exception {
+        tracer.setSamplingRate(0.5);
+
+        int sampled = 0;
+        for (int i = 0; i < 1000; i++) {
+            Exchange exchange = createExchangeWithBody("Hello " + i);
+            if (tracer.isSampled("start", exchange)) {
+                sampled++;
+            }
+        }
+        assertTrue("Should sample about half of the exchanges: " + sampled, sampled > 400 && sampled < 600);
+
+        try {
+            tracer.setSamplingRate(2.0);
+            fail("Should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            assertEquals("SamplingRate must be between 0.0 and 1.0, was: 2.0", e.getMessage());
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("start").to("mock:a").to("mock:result");
+
+                from("direct:traced").routeId("traced")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            exchange.setProperty("TracedBy", Thread.currentThread().getName());
+                        }
+                    }).to("mock:traced");
+            }
+        };
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.interceptor;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.model.ProcessorDefinition;
+
+/**
+ * @version 
+ */
+public class TracerAsyncTraceOutTest extends ContextTestSupport {
+
+    private static List<String> tracedOut = new CopyOnWriteArrayList<String>();
+    private Tracer tracer;
+
+    @Override
+    protected void setUp() throws Exception {
+        tracedOut.clear();
+        super.setUp();
+    }
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+
+        tracer = Tracer.createTracer(context);
+        tracer.setAsync(true);
+        tracer.setTraceOutExchanges(true);
+        tracer.setDestinationUri("direct:traced");
+        tracer.setTraceInterceptorFactory(new TraceInterceptorFactory() {
+            public Processor createTraceInterceptor(ProcessorDefinition node, Processor target, TraceFormatter formatter, Tracer tracer) {
+                return new TraceInterceptor(node, target, formatter, tracer) {
+                    @Override
+                    protected void traceExchangeOut(Exchange exchange, Object traceState) throws Exception {
+                        tracedOut.add(Thread.currentThread().getName());
+                        super.traceExchangeOut(exchange, traceState);
+                    }
+                };
+            }
+        });
+
+        context.addInterceptStrategy(tracer);
+        tracer.start();
+
+        return context;
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        tracer.stop();
+        super.tearDown();
+    }
+
+    public void testTracerAsyncTraceOut() throws Exception {
+        getMockEndpoint("mock:traced").expectedMessageCount(4);
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello World");
+
+        template.sendBody("direct:start", "Hello World");
+
+        assertMockEndpointsSatisfied();
+
+        // the out events should be traced as out events by the background thread
+        assertEquals(2, tracedOut.size());
+        for (String name : tracedOut) {
+            assertTrue("Should be traced asynchronously: " + name, name.contains("TraceEventWriter"));
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").to("mock:a").to("mock:result");
+
+                from("direct:traced").to("mock:traced");
+            }
+        };
+    }
+}
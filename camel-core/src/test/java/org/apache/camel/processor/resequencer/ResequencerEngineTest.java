@@ -79,6 +79,45 @@ public class ResequencerEngineTest extends TestCase {
         assertEquals((Integer)4, resequencer.getLastDelivered());
     }
     
+    public void testTimeoutTreeSequence() throws Exception {
+        initResequencer(500, 10, new TreeComparator());
+        resequencer.setLastDelivered(2);
+        resequencer.insert(5);
+        resequencer.insert(4);
+        assertNull(buffer.poll(250));
+        resequencer.insert(3);
+        assertEquals((Integer)3, buffer.poll(125));
+        assertEquals((Integer)4, buffer.poll(125));
+        assertEquals((Integer)5, buffer.poll(125));
+        assertEquals((Integer)5, resequencer.getLastDelivered());
+    }
+
+    public void testDuplicate() throws Exception {
+        initResequencer(500, 10);
+        resequencer.setLastDelivered(2);
+        resequencer.insert(3);
+        resequencer.insert(3);
+        assertEquals((Integer)3, buffer.poll(250));
+        assertNull(buffer.poll(100));
+        assertEquals(0, resequencer.size());
+    }
+
+    public void testSparse() throws Exception {
+        initResequencer(200, 10);
+        resequencer.setLastDelivered(0);
+        resequencer.insert(1);
+        resequencer.insert(100000);
+        resequencer.insert(3);
+        resequencer.insert(2);
+        assertEquals((Integer)1, buffer.poll(150));
+        assertEquals((Integer)2, buffer.poll(150));
+        assertEquals((Integer)3, buffer.poll(150));
+        // late element is delivered after its timeout
+        resequencer.insert(-5);
+        assertEquals((Integer)(-5), buffer.poll(500));
+        assertEquals((Integer)100000, buffer.poll(500));
+    }
+
     public void testRandom() throws Exception {
         if (IGNORE_LOAD_TESTS) {
             return;
@@ -132,9 +171,13 @@ public class ResequencerEngineTest extends TestCase {
     }
     
     private void initResequencer(long timeout, int capacity) {
+        initResequencer(timeout, capacity, new IntegerComparator());
+    }
+
+    private void initResequencer(long timeout, int capacity, SequenceElementComparator<Integer> comparator) {
         ResequencerEngine<Integer> engine;
         buffer = new SequenceBuffer<Integer>();
-        engine = new ResequencerEngine<Integer>(new IntegerComparator());
+        engine = new ResequencerEngine<Integer>(comparator);
         engine.setSequenceSender(buffer);
         engine.setTimeout(timeout);
         engine.start();
@@ -142,5 +185,23 @@ public class ResequencerEngineTest extends TestCase {
         runner = new ResequencerRunner<Integer>(resequencer, 50);
         runner.start();
     }
-    
+
+    private static class TreeComparator implements SequenceElementComparator<Integer> {
+
+        private final IntegerComparator comparator = new IntegerComparator();
+
+        public boolean predecessor(Integer o1, Integer o2) {
+            return comparator.predecessor(o1, o2);
+        }
+
+        public boolean successor(Integer o1, Integer o2) {
+            return comparator.successor(o1, o2);
+        }
+
+        public int compare(Integer o1, Integer o2) {
+            return comparator.compare(o1, o2);
+        }
+
+    }
+
 }
@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+import junit.framework.TestCase;
+
+public class SequenceWindowTest extends TestCase {
+
+    private SequenceWindow<Integer> window;
+
+    public void setUp() throws Exception {
+        window = new SequenceWindow<Integer>(16);
+    }
+
+    public void testPredecessorAndSuccessor() {
+        Element<Integer> e3 = element(3);
+        Element<Integer> e4 = element(4);
+        Element<Integer> e7 = element(7);
+        window.add(e7);
+        window.add(e3);
+        window.add(e4);
+
+        assertEquals(e3, window.predecessor(e4));
+        assertEquals(null, window.predecessor(e3));
+        assertEquals(null, window.predecessor(e7));
+        assertEquals(e4, window.successor(e3));
+        assertEquals(null, window.successor(e4));
+        assertEquals(null, window.successor(e7));
+    }
+
+    public void testDuplicate() {
+        assertTrue(window.add(element(5)));
+        assertFalse(window.add(element(5)));
+        assertTrue(window.add(element(500)));
+        assertFalse(window.add(element(500)));
+        assertEquals(2, window.size());
+    }
+
+    public void testSlide() {
+        // 100 and 101 are beyond the window and go into the sparse tree
+        window.add(element(0));
+        window.add(element(101));
+        window.add(element(100));
+        window.add(element(2));
+        window.add(element(-3));
+
+        assertEquals(5, window.size());
+        assertFirstRemoved(-3);
+        assertFirstRemoved(0);
+        assertFirstRemoved(2);
+        assertEquals(2, window.size());
+
+        Element<Integer> e99 = element(99);
+        window.add(e99);
+        assertEquals(e99, window.predecessor(element(100)));
+        assertFirstRemoved(99);
+        // 100 and 101 are now covered by the window
+        assertEquals(101, window.successor(element(100)).getSequenceNumber());
+        assertFirstRemoved(100);
+        assertFirstRemoved(101);
+        assertEquals(0, window.size());
+        assertNull(window.first());
+    }
+
+    private void assertFirstRemoved(int n) {
+        Element<Integer> first = window.first();
+        assertEquals(n, first.getSequenceNumber());
+        assertTrue(window.remove(first));
+    }
+
+    private static Element<Integer> element(int n) {
+        return new Element<Integer>(n, n);
+    }
+
+}
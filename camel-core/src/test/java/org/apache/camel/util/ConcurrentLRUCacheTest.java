@@ -0,0 +1,78 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * @version 
+ */
+public class ConcurrentLRUCacheTest extends TestCase {
+
+    public void testConcurrentLRUCache() {
+        ConcurrentLRUCache<String, String> cache = new ConcurrentLRUCache<String, String>(10);
+
+        assertNull(cache.putIfAbsent("A", "a"));
+        assertEquals("a", cache.putIfAbsent("A", "b"));
+        cache.put("B", "b");
+
+        assertEquals(2, cache.size());
+        assertEquals("a", cache.get("A"));
+        assertTrue(cache.containsKey("B"));
+
+        assertFalse(cache.remove("A", "x"));
+        assertTrue(cache.remove("A", "a"));
+        assertEquals("b", cache.remove("B"));
+        assertTrue(cache.isEmpty());
+    }
+
+    public void testEviction() {
+        final List<String> evicted = new ArrayList<String>();
+        // single segment so eviction order is the exact least recently used order
+        ConcurrentLRUCache<String, String> cache = new ConcurrentLRUCache<String, String>(3, 1) {
+            @Override
+            protected void onEviction(String key, String value) {
+                evicted.add(key);
+            }
+        };
+
+        cache.put("A", "a");
+        cache.put("B", "b");
+        cache.put("C", "c");
+        // touch A so B is the least recently used
+        cache.get("A");
+        cache.put("D", "d");
+
+        assertEquals(3, cache.size());
+        assertEquals(1, evicted.size());
+        assertEquals("B", evicted.get(0));
+        assertFalse(cache.containsKey("B"));
+    }
+
+    public void testBounded() {
+        ConcurrentLRUCache<Integer, Integer> cache = new ConcurrentLRUCache<Integer, Integer>(100);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, i);
+        }
+        assertTrue("Size was " + cache.size(), cache.size() <= 100);
+        assertEquals(100, cache.getMaxCacheSize());
+    }
+
+}
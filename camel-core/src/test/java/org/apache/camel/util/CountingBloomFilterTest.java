@@ -0,0 +1,66 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import junit.framework.TestCase;
+
+/**
+ * @version 
+ */
+public class CountingBloomFilterTest extends TestCase {
+
+    public void testAddAndRemove() {
+        CountingBloomFilter filter = new CountingBloomFilter(100, 0.01);
+        assertFalse(filter.mightContain("A"));
+
+        filter.add("A");
+        filter.add("B");
+        assertTrue(filter.mightContain("A"));
+        assertTrue(filter.mightContain("B"));
+
+        filter.remove("A");
+        assertFalse(filter.mightContain("A"));
+        assertTrue(filter.mightContain("B"));
+
+        filter.clear();
+        assertFalse(filter.mightContain("B"));
+    }
+
+    public void testFalsePositiveProbability() {
+        CountingBloomFilter filter = new CountingBloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.add("key-" + i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filter.mightContain("key-" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        // should be around 1%, allow some slack
+        assertTrue("Too many false positives: " + falsePositives, falsePositives < 300);
+
+        double estimate = filter.getFalsePositiveProbability(1000);
+        assertTrue("Estimate was " + estimate, estimate > 0.005 && estimate < 0.02);
+        assertEquals(0.0, filter.getFalsePositiveProbability(0), 0.0);
+    }
+
+}
@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Simulates a peak where a downstream system can only handle 8 concurrent requests,
+ * followed by a trough, and checks the pool converges in both cases.
+ *
+ * @version 
+ */
+public class AdaptiveThreadPoolExecutorTest extends TestCase {
+
+    private static final transient Logger LOG = LoggerFactory.getLogger(AdaptiveThreadPoolExecutorTest.class);
+    private static final int CAPACITY = 8;
+    private final Semaphore downstream = new Semaphore(CAPACITY);
+    private String lastDecision;
+
+    public void testConvergeOnPeakAndTrough() throws Exception {
+        AdaptiveThreadPoolExecutor pool = new AdaptiveThreadPoolExecutor(1, 32, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), Executors.defaultThreadFactory(), new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.setTuningInterval(100);
+
+        try {
+            // peak: keep a backlog of tasks calling the saturated downstream system
+            long end = System.currentTimeMillis() + 3000;
+            while (System.currentTimeMillis() < end) {
+                while (pool.getQueue().size() < 200) {
+                    pool.execute(new DownstreamTask(5));
+                }
+                Thread.sleep(5);
+                log(pool);
+            }
+            int peak = pool.getCorePoolSize();
+            assertTrue("Should have grown, was: " + peak, pool.getGrowCount() > 0);
+            assertTrue("Should converge near the downstream capacity, was: " + peak, peak >= CAPACITY / 2 && peak <= CAPACITY * 2);
+
+            // trough: tasks arrive slower than a single thread can handle them
+            end = System.currentTimeMillis() + 2500;
+            while (System.currentTimeMillis() < end) {
+                pool.execute(new DownstreamTask(1));
+                Thread.sleep(3);
+                log(pool);
+            }
+            int trough = pool.getCorePoolSize();
+            assertTrue("Should have shrunk, was: " + trough, pool.getShrinkCount() > 0);
+            assertTrue("Should converge near the minimum pool size, was: " + trough, trough <= 2);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public void testShutdownNowReturnsOriginalTasks() throws Exception {
+        AdaptiveThreadPoolExecutor pool = new AdaptiveThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), Executors.defaultThreadFactory(), new ThreadPoolExecutor.CallerRunsPolicy());
+
+        Runnable task = new DownstreamTask(100);
+        pool.execute(task);
+        pool.execute(task);
+        pool.execute(task);
+
+        List<Runnable> tasks = pool.shutdownNow();
+        assertFalse(tasks.isEmpty());
+        for (Runnable runnable : tasks) {
+            assertSame(task, runnable);
+        }
+    }
+
+    public void testInvalidPoolSize() throws Exception {
+        try {
+            new AdaptiveThreadPoolExecutor(4, 2, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                    Executors.defaultThreadFactory(), new ThreadPoolExecutor.CallerRunsPolicy());
+            fail("Should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            assertEquals("MaxPoolSize must be >= minPoolSize, was 2 >= 4", e.getMessage());
+        }
+    }
+
+    private void log(AdaptiveThreadPoolExecutor pool) {
+        String decision = pool.getLastDecision();
+        if (decision != null && !decision.equals(lastDecision)) {
+            lastDecision = decision;
+            LOG.info(decision);
+        }
+    }
+
+    private final class DownstreamTask implements Runnable {
+        private final long delay;
+
+        private DownstreamTask(long delay) {
+            this.delay = delay;
+        }
+
+        public void run() {
+            try {
+                downstream.acquire();
+                try {
+                    Thread.sleep(delay);
+                } finally {
+                    downstream.release();
+                }
+            } catch (InterruptedException e) {
+                // ignore
+            }
+        }
+    }
+}
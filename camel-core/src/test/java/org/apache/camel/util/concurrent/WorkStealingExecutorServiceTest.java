@@ -0,0 +1,244 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * @version 
+ */
+public class WorkStealingExecutorServiceTest extends TestCase {
+
+    private static final transient Logger LOG = LoggerFactory.getLogger(WorkStealingExecutorServiceTest.class);
+
+    public void testCamelThreadName() throws Exception {
+        ExecutorService pool = ExecutorServiceHelper.newWorkStealingThreadPool("Camel Thread ${counter} - ${name}", "foo", 2, -1, null, true);
+
+        final AtomicInteger counter = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(10);
+        for (int i = 0; i < 10; i++) {
+            pool.execute(new Runnable() {
+                public void run() {
+                    if (Thread.currentThread().getName().matches("Camel Thread \\d+ - foo")) {
+                        counter.incrementAndGet();
+                    }
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(10, counter.get());
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(pool.isTerminated());
+    }
+
+    public void testShutdownCompletesPendingTasks() throws Exception {
+        WorkStealingExecutorService pool = new WorkStealingExecutorService(2, -1, new DaemonThreadFactory(), null);
+
+        final AtomicInteger counter = new AtomicInteger();
+        for (int i = 0; i < 100; i++) {
+            pool.execute(new SleepTask(counter, 1));
+        }
+        pool.shutdown();
+        assertTrue(pool.isShutdown());
+
+        try {
+            pool.execute(new SleepTask(counter, 1));
+            fail("Should have thrown an exception");
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(100, counter.get());
+        assertEquals(100, pool.getCompletedTaskCount());
+    }
+
+    public void testShutdownNowReturnsPendingTasks() throws Exception {
+        WorkStealingExecutorService pool = new WorkStealingExecutorService(1, -1, new DaemonThreadFactory(), null);
+
+        AtomicInteger counter = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            pool.execute(new SleepTask(counter, 100));
+        }
+
+        List<Runnable> tasks = pool.shutdownNow();
+        assertTrue("Should return pending tasks", tasks.size() >= 9);
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(0, pool.getQueueSize());
+    }
+
+    public void testShutdownNotStarted() throws Exception {
+        WorkStealingExecutorService pool = new WorkStealingExecutorService(4, -1, new DaemonThreadFactory(), null);
+        pool.shutdown();
+        assertTrue(pool.isTerminated());
+    }
+
+    public void testMaxQueueSizeCallerRuns() throws Exception {
+        WorkStealingExecutorService pool = new WorkStealingExecutorService(1, 2, new DaemonThreadFactory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        final CountDownLatch block = new CountDownLatch(1);
+        final AtomicInteger callerRuns = new AtomicInteger();
+        final Thread caller = Thread.currentThread();
+        for (int i = 0; i < 10; i++) {
+            pool.execute(new Runnable() {
+                public void run() {
+                    if (Thread.currentThread() == caller) {
+                        callerRuns.incrementAndGet();
+                    } else {
+                        try {
+                            block.await(10, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            // ignore
+                        }
+                    }
+                }
+            });
+        }
+        block.countDown();
+
+        // at most 2 tasks queued and 1 in progress, the rest is run by the caller
+        assertTrue("Caller should run tasks, was " + callerRuns.get(), callerRuns.get() >= 7);
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    public void testWorkersStealNestedTasks() throws Exception {
+        final WorkStealingExecutorService pool = new WorkStealingExecutorService(4, -1, new DaemonThreadFactory(), null);
+
+        final CountDownLatch latch = new CountDownLatch(1000);
+        // a single task fans out from a worker, so the other workers can only get work by stealing
+        pool.execute(new Runnable() {
+            public void run() {
+                for (int i = 0; i < 1000; i++) {
+                    pool.execute(new Runnable() {
+                        public void run() {
+                            try {
+                                Thread.sleep(1);
+                            } catch (InterruptedException e) {
+                                // ignore
+                            }
+                            latch.countDown();
+                        }
+                    });
+                }
+            }
+        });
+
+        assertTrue(latch.await(20, TimeUnit.SECONDS));
+        assertTrue("Should steal tasks", pool.getStealCount() > 0);
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Compares fan out of many small tasks using a single shared queue and using work stealing,
+     * for a number of threads up to the number of cores.
+     */
+    public void testFanOutThroughput() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int tasks = 200000;
+
+        for (int threads = 1; threads <= Math.max(2, cores); threads *= 2) {
+            ExecutorService standard = ExecutorServiceHelper.newThreadPool("${name}", "standard", threads, threads, -1);
+            ExecutorService stealing = new WorkStealingExecutorService(threads, -1, new DaemonThreadFactory(), null);
+            try {
+                long standardTime = fanOut(standard, threads, tasks);
+                long stealingTime = fanOut(stealing, threads, tasks);
+                LOG.info("Fan out of " + tasks + " tasks with " + threads + " threads: standard " + throughput(tasks, standardTime)
+                        + " tasks/sec, work stealing " + throughput(tasks, stealingTime) + " tasks/sec");
+            } finally {
+                standard.shutdownNow();
+                stealing.shutdownNow();
+            }
+        }
+    }
+
+    private long fanOut(final ExecutorService pool, int producers, final int tasks) throws Exception {
+        final CountDownLatch latch = new CountDownLatch(tasks);
+        final Runnable task = new Runnable() {
+            public void run() {
+                latch.countDown();
+            }
+        };
+
+        long start = System.nanoTime();
+        // submit from several producers as when many exchanges are split in parallel at the same time
+        Thread[] submitters = new Thread[producers];
+        for (int i = 0; i < producers; i++) {
+            final int count = tasks / producers + (i < tasks % producers ? 1 : 0);
+            submitters[i] = new Thread(new Runnable() {
+                public void run() {
+                    for (int j = 0; j < count; j++) {
+                        pool.execute(task);
+                    }
+                }
+            });
+            submitters[i].start();
+        }
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+        assertTrue(latch.await(60, TimeUnit.SECONDS));
+        return System.nanoTime() - start;
+    }
+
+    private static long throughput(int tasks, long nanos) {
+        return tasks * 1000000000L / Math.max(1, nanos);
+    }
+
+    private static final class SleepTask implements Runnable {
+        private final AtomicInteger counter;
+        private final long delay;
+
+        private SleepTask(AtomicInteger counter, long delay) {
+            this.counter = counter;
+            this.delay = delay;
+        }
+
+        public void run() {
+            try {
+                Thread.sleep(delay);
+                counter.incrementAndGet();
+            } catch (InterruptedException e) {
+                // ignore
+            }
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        public Thread newThread(Runnable runnable) {
+            Thread answer = new Thread(runnable);
+            answer.setDaemon(true);
+            return answer;
+        }
+    }
+}
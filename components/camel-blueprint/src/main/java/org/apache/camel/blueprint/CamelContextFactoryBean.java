@@ -90,6 +90,8 @@ public class CamelContextFactoryBean extends AbstractCamelContextFactoryBean<Blu
     @XmlAttribute(required = false)
     private String useMDCLogging;
     @XmlAttribute(required = false)
+    private String parallelRouteStartup;
+    @XmlAttribute(required = false)
     private ShutdownRoute shutdownRoute;
     @XmlAttribute(required = false)
     private ShutdownRunningTask shutdownRunningTask;
@@ -260,6 +262,14 @@ public class CamelContextFactoryBean extends AbstractCamelContextFactoryBean<Blu
         this.useMDCLogging = useMDCLogging;
     }
 
+    public String getParallelRouteStartup() {
+        return parallelRouteStartup;
+    }
+
+    public void setParallelRouteStartup(String parallelRouteStartup) {
+        this.parallelRouteStartup = parallelRouteStartup;
+    }
+
     public Boolean getLazyLoadTypeConverters() {
         return lazyLoadTypeConverters;
     }
@@ -453,6 +453,8 @@ public abstract class AbstractCamelContextFactoryBean<T extends CamelContext> ex
 
     public abstract String getUseMDCLogging();
 
+    public abstract String getParallelRouteStartup();
+
     public abstract Boolean getLazyLoadTypeConverters();
 
     public abstract CamelJMXAgentDefinition getCamelJMXAgent();
@@ -508,6 +510,9 @@ public abstract class AbstractCamelContextFactoryBean<T extends CamelContext> ex
         if (getUseMDCLogging() != null) {
             ctx.setUseMDCLogging(CamelContextHelper.parseBoolean(getContext(), getUseMDCLogging()));
         }
+        if (getParallelRouteStartup() != null) {
+            ctx.setParallelRouteStartup(CamelContextHelper.parseBoolean(getContext(), getParallelRouteStartup()));
+        }
         if (getShutdownRoute() != null) {
             ctx.setShutdownRoute(getShutdownRoute());
         }
@@ -53,6 +53,15 @@ public class FtpEndpoint<T extends FTPFile> extends RemoteFileEndpoint<FTPFile>
         return "ftp";
     }
 
+    @Override
+    protected void afterPropertiesSet() throws Exception {
+        super.afterPropertiesSet();
+        if (ftpClient != null && isConnectionPooled()) {
+            // a custom client cannot be shared by the pooled connections
+            throw new IllegalArgumentException("You cannot both set a custom ftpClient and connectionPoolSize options");
+        }
+    }
+
     @Override
     protected RemoteFileConsumer<FTPFile> buildConsumer(Processor processor) {
         try {
@@ -17,16 +17,29 @@
 package org.apache.camel.component.file.remote;
 
 import java.io.IOException;
-
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.apache.camel.component.file.GenericFileConsumer;
 import org.apache.camel.component.file.GenericFileOperationFailedException;
+import org.apache.camel.impl.SynchronizationAdapter;
 
 /**
  * Base class for remote file consumers.
+ * <p/>
+ * If the endpoint is configured with a connection pool, the files is listed using the connection
+ * of this consumer, and then retrieved concurrently using connections borrowed from the pool.
  */
 public abstract class RemoteFileConsumer<T> extends GenericFileConsumer<T> {
     protected boolean loggedIn;
+    private ExecutorService retrieverExecutorService;
+    private final List<Future<?>> retrieverTasks = new ArrayList<Future<?>>();
 
     public RemoteFileConsumer(RemoteFileEndpoint<T> endpoint, Processor processor, RemoteFileOperations<T> operations) {
         super(endpoint, processor, operations);
@@ -79,9 +92,97 @@ public abstract class RemoteFileConsumer<T> extends GenericFileConsumer<T> {
         }
     }
 
+    @Override
+    public int processBatch(Queue<Object> exchanges) {
+        int total = super.processBatch(exchanges);
+        if (retrieverExecutorService != null) {
+            // wait for the concurrent retrievals so the poll is complete
+            List<Future<?>> tasks = new ArrayList<Future<?>>(retrieverTasks);
+            retrieverTasks.clear();
+            for (Future<?> task : tasks) {
+                try {
+                    task.get();
+                } catch (InterruptedException e) {
+                    log.debug("Interrupted while waiting for files to be retrieved");
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (ExecutionException e) {
+                    // the task handles its own exceptions so this should not happen
+                    log.warn("Error retrieving file due: " + e.getMessage(), e.getCause());
+                }
+            }
+        }
+        return total;
+    }
+
+    @Override
+    protected void processExchange(final Exchange exchange) {
+        if (retrieverExecutorService == null) {
+            super.processExchange(exchange);
+            return;
+        }
+
+        retrieverTasks.add(retrieverExecutorService.submit(new Runnable() {
+            public void run() {
+                processPooledExchange(exchange);
+            }
+        }));
+    }
+
+    /**
+     * Processes the exchange using a connection borrowed from the pool, which is returned to the pool
+     * when the file has been completed.
+     */
+    protected void processPooledExchange(Exchange exchange) {
+        final RemoteFileOperationsPool<T> pool = getEndpoint().getConnectionPool();
+        final RemoteFileOperations<T> pooled;
+        try {
+            if (pool == null) {
+                throw new IllegalStateException("Connection pool is not available as the endpoint is stopped: " + getEndpoint());
+            }
+            pooled = pool.borrow();
+        } catch (Exception e) {
+            // the file is not in progress anymore so it can be picked up at the next poll
+            endpoint.getInProgressRepository().remove(getExchangeFileProperty(exchange).getAbsoluteFilePath());
+            getExceptionHandler().handleException("Cannot borrow connection to retrieve file from: " + remoteServer(), e);
+            return;
+        }
+
+        processExchange(exchange, pooled, new SynchronizationAdapter() {
+            @Override
+            public void onComplete(Exchange exchange) {
+                pool.release(pooled);
+            }
+
+            @Override
+            public void onFailure(Exchange exchange) {
+                Exception cause = exchange.getException();
+                if (cause instanceof GenericFileOperationFailedException || cause instanceof IOException) {
+                    // the connection may be broken so do not reuse it
+                    pool.invalidate(pooled);
+                } else {
+                    pool.release(pooled);
+                }
+            }
+        });
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        if (getEndpoint().isConnectionPooled() && retrieverExecutorService == null) {
+            retrieverExecutorService = getEndpoint().getCamelContext().getExecutorServiceStrategy()
+                    .newFixedThreadPool(this, "RemoteFileRetriever", getEndpoint().getConnectionPoolSize());
+        }
+    }
+
     @Override
     protected void doStop() throws Exception {
         super.doStop();
+        if (retrieverExecutorService != null) {
+            getEndpoint().getCamelContext().getExecutorServiceStrategy().shutdown(retrieverExecutorService);
+            retrieverExecutorService = null;
+        }
         disconnect();
     }
 
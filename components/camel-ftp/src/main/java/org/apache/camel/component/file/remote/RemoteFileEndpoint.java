@@ -24,15 +24,23 @@ import org.apache.camel.component.file.GenericFileProducer;
 import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.processor.idempotent.MemoryIdempotentRepository;
 import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.ServiceHelper;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
 
 /**
  * Remote file endpoint.
  */
+@ManagedResource(description = "Managed Remote File Endpoint")
 public abstract class RemoteFileEndpoint<T> extends GenericFileEndpoint<T> {
 
     private int maximumReconnectAttempts = 3;
     private long reconnectDelay = 1000;
     private boolean disconnect;
+    private int connectionPoolSize;
+    private long connectionPoolMaxWait = 30000;
+    private long connectionPoolIdleTimeout = 60000;
+    private volatile RemoteFileOperationsPool<T> connectionPool;
 
     public RemoteFileEndpoint() {
         // no args constructor for spring bean endpoint configuration
@@ -99,6 +107,45 @@ public abstract class RemoteFileEndpoint<T> extends GenericFileEndpoint<T> {
         RemoteFileConfiguration config = getConfiguration();
         ObjectHelper.notEmpty(config.getHost(), "host");
         ObjectHelper.notEmpty(config.getProtocol(), "protocol");
+        if (connectionPoolSize < 0) {
+            throw new IllegalArgumentException("ConnectionPoolSize must not be negative, was: " + connectionPoolSize);
+        }
+    }
+
+    /**
+     * Whether the consumer and producer should use a pool of connections
+     */
+    public boolean isConnectionPooled() {
+        return connectionPoolSize > 0;
+    }
+
+    /**
+     * Gets the pool of connections shared by the consumer and producers of this endpoint,
+     * which is created and started on first use.
+     *
+     * @return the pool, or <tt>null</tt> if connection pooling is not enabled or this endpoint is stopped
+     */
+    public synchronized RemoteFileOperationsPool<T> getConnectionPool() {
+        if (connectionPool == null && isConnectionPooled() && !isStopping() && !isStopped()) {
+            connectionPool = new RemoteFileOperationsPool<T>(this);
+            try {
+                ServiceHelper.startService(connectionPool);
+            } catch (Exception e) {
+                throw ObjectHelper.wrapRuntimeCamelException(e);
+            }
+        }
+        return connectionPool;
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        RemoteFileOperationsPool<T> pool;
+        synchronized (this) {
+            pool = connectionPool;
+            connectionPool = null;
+        }
+        ServiceHelper.stopService(pool);
+        super.doStop();
     }
 
     /**
@@ -131,6 +178,12 @@ public abstract class RemoteFileEndpoint<T> extends GenericFileEndpoint<T> {
         return ((RemoteFileConfiguration) configuration).remoteServerInformation();
     }
     
+    @ManagedAttribute(description = "Endpoint Uri")
+    @Override
+    public String getEndpointUri() {
+        return super.getEndpointUri();
+    }
+
     @Override
     public char getFileSeparator() {       
         return '/';
@@ -164,4 +217,78 @@ public abstract class RemoteFileEndpoint<T> extends GenericFileEndpoint<T> {
     public void setDisconnect(boolean disconnect) {
         this.disconnect = disconnect;
     }
+
+    @ManagedAttribute
+    public int getConnectionPoolSize() {
+        return connectionPoolSize;
+    }
+
+    /**
+     * Sets the maximum number of connections in the pool. Setting a value larger than zero enables
+     * connection pooling, which allows the consumer to retrieve files and the producers to upload files concurrently.
+     */
+    public void setConnectionPoolSize(int connectionPoolSize) {
+        this.connectionPoolSize = connectionPoolSize;
+    }
+
+    @ManagedAttribute
+    public long getConnectionPoolMaxWait() {
+        return connectionPoolMaxWait;
+    }
+
+    /**
+     * Sets the maximum time in millis to wait for a connection when the pool is exhausted
+     */
+    public void setConnectionPoolMaxWait(long connectionPoolMaxWait) {
+        this.connectionPoolMaxWait = connectionPoolMaxWait;
+    }
+
+    @ManagedAttribute
+    public long getConnectionPoolIdleTimeout() {
+        return connectionPoolIdleTimeout;
+    }
+
+    /**
+     * Sets the time in millis a connection can be idle in the pool before its disconnected.
+     * Use zero to keep idle connections until the endpoint is stopped.
+     */
+    public void setConnectionPoolIdleTimeout(long connectionPoolIdleTimeout) {
+        this.connectionPoolIdleTimeout = connectionPoolIdleTimeout;
+    }
+
+    @ManagedAttribute
+    public int getConnectionPoolActive() {
+        RemoteFileOperationsPool<T> pool = connectionPool;
+        return pool != null ? pool.getActiveConnections() : 0;
+    }
+
+    @ManagedAttribute
+    public int getConnectionPoolIdle() {
+        RemoteFileOperationsPool<T> pool = connectionPool;
+        return pool != null ? pool.getIdleConnections() : 0;
+    }
+
+    @ManagedAttribute
+    public long getConnectionPoolCreated() {
+        RemoteFileOperationsPool<T> pool = connectionPool;
+        return pool != null ? pool.getCreatedConnections() : 0;
+    }
+
+    @ManagedAttribute
+    public long getConnectionPoolDestroyed() {
+        RemoteFileOperationsPool<T> pool = connectionPool;
+        return pool != null ? pool.getDestroyedConnections() : 0;
+    }
+
+    @ManagedAttribute
+    public long getConnectionPoolBorrowed() {
+        RemoteFileOperationsPool<T> pool = connectionPool;
+        return pool != null ? pool.getBorrowedCount() : 0;
+    }
+
+    @ManagedAttribute
+    public long getConnectionPoolWaited() {
+        RemoteFileOperationsPool<T> pool = connectionPool;
+        return pool != null ? pool.getWaitedCount() : 0;
+    }
 }
@@ -0,0 +1,300 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file.remote;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.component.file.GenericFileOperationFailedException;
+import org.apache.camel.impl.ServiceSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of connected and logged in {@link RemoteFileOperations} for a remote file endpoint,
+ * which allows the consumer and producer to transfer files concurrently using multiple connections.
+ * <p/>
+ * The pool holds at most <tt>connectionPoolSize</tt> connections. Connections which has been idle for a while
+ * is validated using a noop command before being borrowed, and connections which has been idle for more than
+ * <tt>connectionPoolIdleTimeout</tt> millis is disconnected and evicted from the pool.
+ *
+ * @version 
+ */
+public class RemoteFileOperationsPool<T> extends ServiceSupport {
+    /**
+     * Connections idle for less than this is assumed to still be alive and is not validated
+     */
+    private static final long VALIDATE_IDLE_TIME = 1000;
+    private static final transient Logger LOG = LoggerFactory.getLogger(RemoteFileOperationsPool.class);
+
+    private final RemoteFileEndpoint<T> endpoint;
+    private final LinkedList<PooledOperations<T>> idle = new LinkedList<PooledOperations<T>>();
+    private ScheduledExecutorService evictor;
+    private int active;
+    private long created;
+    private long destroyed;
+    private long borrowed;
+    private long waited;
+
+    public RemoteFileOperationsPool(RemoteFileEndpoint<T> endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Borrows a connected operations from the pool, waiting for one to be returned if the pool is exhausted.
+     * <p/>
+     * The operations must be returned using either {@link #release(RemoteFileOperations)}
+     * or {@link #invalidate(RemoteFileOperations)}.
+     *
+     * @return the connected operations
+     * @throws Exception is thrown if cannot connect, or timeout waiting for a connection
+     */
+    public RemoteFileOperations<T> borrow() throws Exception {
+        long deadline = System.currentTimeMillis() + endpoint.getConnectionPoolMaxWait();
+        while (true) {
+            PooledOperations<T> pooled = null;
+            synchronized (this) {
+                if (!isRunAllowed()) {
+                    throw new IllegalStateException("Connection pool is not started for: " + endpoint);
+                }
+                if (!idle.isEmpty()) {
+                    // use the most recently used connection as its most likely still alive
+                    pooled = idle.removeFirst();
+                } else if (active >= endpoint.getConnectionPoolSize()) {
+                    long wait = deadline - System.currentTimeMillis();
+                    if (wait <= 0) {
+                        throw new GenericFileOperationFailedException("Timeout waiting " + endpoint.getConnectionPoolMaxWait()
+                                + " millis for a connection to: " + endpoint.remoteServerInformation());
+                    }
+                    waited++;
+                    wait(wait);
+                    continue;
+                }
+                active++;
+            }
+
+            if (pooled != null) {
+                if (validate(pooled)) {
+                    synchronized (this) {
+                        borrowed++;
+                    }
+                    return pooled.operations;
+                }
+                // the connection is broken so discard it and try again
+                invalidate(pooled.operations);
+                continue;
+            }
+
+            return connect();
+        }
+    }
+
+    /**
+     * Returns the operations to the pool so it can be reused
+     */
+    public void release(RemoteFileOperations<T> operations) {
+        boolean disconnect;
+        synchronized (this) {
+            active--;
+            disconnect = !isRunAllowed();
+            if (!disconnect) {
+                idle.addFirst(new PooledOperations<T>(operations));
+            }
+            notifyAll();
+        }
+        if (disconnect) {
+            disconnect(operations);
+        }
+    }
+
+    /**
+     * Disconnects the operations and removes it from the pool, such as when the connection is broken
+     */
+    public void invalidate(RemoteFileOperations<T> operations) {
+        synchronized (this) {
+            active--;
+            notifyAll();
+        }
+        disconnect(operations);
+    }
+
+    /**
+     * Disconnects and evicts the connections which has been idle for too long
+     */
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        List<PooledOperations<T>> evicted = new ArrayList<PooledOperations<T>>();
+        synchronized (this) {
+            Iterator<PooledOperations<T>> it = idle.iterator();
+            while (it.hasNext()) {
+                PooledOperations<T> pooled = it.next();
+                if (now - pooled.lastUsed >= endpoint.getConnectionPoolIdleTimeout()) {
+                    it.remove();
+                    evicted.add(pooled);
+                }
+            }
+        }
+        for (PooledOperations<T> pooled : evicted) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Evicting idle connection to: " + endpoint.remoteServerInformation());
+            }
+            disconnect(pooled.operations);
+        }
+    }
+
+    /**
+     * Gets the number of connections currently borrowed
+     */
+    public synchronized int getActiveConnections() {
+        return active;
+    }
+
+    /**
+     * Gets the number of idle connections in the pool
+     */
+    public synchronized int getIdleConnections() {
+        return idle.size();
+    }
+
+    /**
+     * Gets the total number of connections created
+     */
+    public synchronized long getCreatedConnections() {
+        return created;
+    }
+
+    /**
+     * Gets the total number of connections which has been disconnected
+     */
+    public synchronized long getDestroyedConnections() {
+        return destroyed;
+    }
+
+    /**
+     * Gets the total number of times a connection was borrowed
+     */
+    public synchronized long getBorrowedCount() {
+        return borrowed;
+    }
+
+    /**
+     * Gets the total number of times a caller had to wait for a connection as the pool was exhausted
+     */
+    public synchronized long getWaitedCount() {
+        return waited;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        long timeout = endpoint.getConnectionPoolIdleTimeout();
+        if (timeout > 0 && evictor == null) {
+            evictor = endpoint.getCamelContext().getExecutorServiceStrategy()
+                    .newScheduledThreadPool(this, "RemoteFileConnectionEvictor", 1);
+            evictor.scheduleWithFixedDelay(new Runnable() {
+                public void run() {
+                    evictIdle();
+                }
+            }, timeout, timeout, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (evictor != null) {
+            endpoint.getCamelContext().getExecutorServiceStrategy().shutdownNow(evictor);
+            evictor = null;
+        }
+
+        List<PooledOperations<T>> list;
+        synchronized (this) {
+            list = new ArrayList<PooledOperations<T>>(idle);
+            idle.clear();
+            // wakeup any waiting callers so they can fail
+            notifyAll();
+        }
+        for (PooledOperations<T> pooled : list) {
+            disconnect(pooled.operations);
+        }
+    }
+
+    private RemoteFileOperations<T> connect() throws Exception {
+        try {
+            RemoteFileOperations<T> operations = endpoint.createRemoteFileOperations();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Creating pooled connection to: " + endpoint.remoteServerInformation());
+            }
+            if (!operations.connect(endpoint.getConfiguration())) {
+                throw new GenericFileOperationFailedException("Cannot connect/login to: " + endpoint.remoteServerInformation());
+            }
+            synchronized (this) {
+                created++;
+                borrowed++;
+            }
+            return operations;
+        } catch (Exception e) {
+            synchronized (this) {
+                active--;
+                notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    private boolean validate(PooledOperations<T> pooled) {
+        if (System.currentTimeMillis() - pooled.lastUsed < VALIDATE_IDLE_TIME) {
+            return true;
+        }
+        try {
+            return pooled.operations.isConnected() && pooled.operations.sendNoop();
+        } catch (Exception e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Pooled connection to: " + endpoint.remoteServerInformation() + " is broken due: " + e.getMessage());
+            }
+            return false;
+        }
+    }
+
+    private void disconnect(RemoteFileOperations<T> operations) {
+        synchronized (this) {
+            destroyed++;
+        }
+        try {
+            if (operations.isConnected()) {
+                operations.disconnect();
+            }
+        } catch (Exception e) {
+            // ignore just log a warning
+            LOG.warn("Error disconnecting from: " + endpoint.remoteServerInformation() + " due: " + e.getMessage());
+        }
+    }
+
+    /**
+     * An idle operations in the pool
+     */
+    private static final class PooledOperations<T> {
+        private final RemoteFileOperations<T> operations;
+        private final long lastUsed = System.currentTimeMillis();
+
+        private PooledOperations(RemoteFileOperations<T> operations) {
+            this.operations = operations;
+        }
+    }
+}
@@ -25,6 +25,9 @@ import org.apache.camel.util.ObjectHelper;
 
 /**
  * Generic remote file producer for all the FTP variations.
+ * <p/>
+ * If the endpoint is configured with a connection pool, a connection is borrowed from the pool
+ * for each file being written, which allows the producers of the endpoint to upload files concurrently.
  */
 public class RemoteFileProducer<T> extends GenericFileProducer<T> implements ServicePoolAware {
 
@@ -51,6 +54,34 @@ public class RemoteFileProducer<T> extends GenericFileProducer<T> implements Ser
         ExchangeHelper.copyResults(exchange, remoteExchange);
     }
 
+    @Override
+    protected void processExchange(Exchange exchange, String target) throws Exception {
+        RemoteFileOperationsPool<T> pool = getEndpoint().getConnectionPool();
+        if (pool == null) {
+            super.processExchange(exchange, target);
+            return;
+        }
+
+        // the pool validates the connection before its borrowed, and the borrowed connection is only
+        // used for this exchange so the operations of this producer is not changed
+        RemoteFileOperations<T> pooled = pool.borrow();
+        if (log.isTraceEnabled()) {
+            log.trace("Borrowed pooled connection to: " + getEndpoint());
+        }
+        boolean release = false;
+        try {
+            writeExchange(exchange, target, pooled);
+            release = !getEndpoint().isDisconnect();
+        } finally {
+            if (release) {
+                pool.release(pooled);
+            } else {
+                // disconnect as configured, or as the pooled connection may be broken
+                pool.invalidate(pooled);
+            }
+        }
+    }
+
     protected RemoteFileOperations getOperations() {
         return (RemoteFileOperations) operations;
     }
@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file.remote;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.builder.NotifyBuilder;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.JndiRegistry;
+import org.apache.commons.net.ftp.FTPClient;
+import org.junit.Test;
+
+/**
+ * Unit test for the connection pool used by concurrent producers and the consumer.
+ *
+ * @version 
+ */
+public class FtpConnectionPoolTest extends FtpServerTestSupport {
+
+    private String getFtpUrl() {
+        return "ftp://admin@localhost:" + getPort() + "/pool?binary=false&password=admin&connectionPoolSize=3";
+    }
+
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry jndi = super.createRegistry();
+        jndi.bind("myClient", new FTPClient());
+        return jndi;
+    }
+
+    @Test
+    public void testConnectionPool() throws Exception {
+        if (!canTest()) {
+            return;
+        }
+
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedMessageCount(10);
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        List<Future<Object>> futures = new ArrayList<Future<Object>>();
+        for (int i = 0; i < 10; i++) {
+            result.expectedFileExists(FTP_ROOT_DIR + "pool/" + i + ".txt");
+
+            final int index = i;
+            futures.add(executor.submit(new Callable<Object>() {
+                public Object call() throws Exception {
+                    sendFile("direct:start", "Hello World", index + ".txt");
+                    return null;
+                }
+            }));
+        }
+        assertMockEndpointsSatisfied();
+        // the connections is returned to the pool when the sends has completed
+        for (Future<Object> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdownNow();
+
+        // the producers should have shared the pooled connections
+        RemoteFileEndpoint<?> producer = context.getEndpoint(getFtpUrl(), RemoteFileEndpoint.class);
+        assertTrue("Should not create more connections than pool size", producer.getConnectionPoolCreated() <= 3);
+        assertEquals(10, producer.getConnectionPoolBorrowed());
+        assertEquals(0, producer.getConnectionPoolActive());
+
+        // then consume the files concurrently using the pool of the consumer
+        MockEndpoint consumed = getMockEndpoint("mock:consumed");
+        consumed.expectedMessageCount(10);
+        // the files is deleted and the connections returned when the exchanges is done
+        NotifyBuilder notify = new NotifyBuilder(context).fromRoute("consumer").whenDone(10).create();
+        context.startRoute("consumer");
+        assertMockEndpointsSatisfied();
+        assertTrue("Should complete 10 files", notify.matches(10, TimeUnit.SECONDS));
+
+        RemoteFileEndpoint<?> consumer = context.getEndpoint(getFtpUrl() + "&delete=true", RemoteFileEndpoint.class);
+        assertTrue("Should not create more connections than pool size", consumer.getConnectionPoolCreated() <= 3);
+        assertTrue("Should borrow a connection per file", consumer.getConnectionPoolBorrowed() >= 10);
+
+        assertEquals(0, consumer.getConnectionPoolActive());
+        for (int i = 0; i < 10; i++) {
+            assertFalse("File should be deleted", new File(FTP_ROOT_DIR + "pool/" + i + ".txt").exists());
+        }
+    }
+
+    @Test
+    public void testConnectionPoolWithCustomClientNotAllowed() throws Exception {
+        if (!canTest()) {
+            return;
+        }
+
+        try {
+            context.getEndpoint(getFtpUrl() + "&ftpClient=#myClient").createProducer();
+            fail("Should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            assertEquals("You cannot both set a custom ftpClient and connectionPoolSize options", e.getMessage());
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").to(getFtpUrl(), "mock:result");
+
+                from(getFtpUrl() + "&delete=true").routeId("consumer").noAutoStartup()
+                    .to("mock:consumed");
+            }
+        };
+    }
+}
@@ -0,0 +1,333 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file.remote;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+
+import com.jcraft.jsch.ChannelSftp;
+import org.apache.camel.Exchange;
+import org.apache.camel.component.file.GenericFileEndpoint;
+import org.apache.camel.component.file.GenericFileOperationFailedException;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.apache.camel.util.ServiceHelper;
+import org.apache.commons.net.ftp.FTPFile;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link RemoteFileOperationsPool} using stub operations, so no FTP server is needed.
+ *
+ * @version 
+ */
+public class RemoteFileOperationsPoolTest extends CamelTestSupport {
+
+    private FtpEndpoint<FTPFile> endpoint;
+    private RemoteFileOperationsPool<FTPFile> pool;
+    private StubOperations<FTPFile> next;
+    private int connects;
+
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        ServiceHelper.stopService(pool);
+        super.tearDown();
+    }
+
+    @Test
+    public void testBorrowAndRelease() throws Exception {
+        pool = createFtpPool(2, 1000, 0);
+
+        RemoteFileOperations<FTPFile> ops = pool.borrow();
+        assertTrue(ops.isConnected());
+        assertEquals(1, pool.getActiveConnections());
+        assertEquals(0, pool.getIdleConnections());
+
+        pool.release(ops);
+        assertEquals(0, pool.getActiveConnections());
+        assertEquals(1, pool.getIdleConnections());
+
+        // the released connection should be reused
+        assertSame(ops, pool.borrow());
+        assertEquals(1, pool.getCreatedConnections());
+        assertEquals(2, pool.getBorrowedCount());
+        assertEquals(0, pool.getDestroyedConnections());
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        pool = createFtpPool(2, 1000, 0);
+
+        StubOperations<FTPFile> ops = (StubOperations<FTPFile>) pool.borrow();
+        pool.invalidate(ops);
+
+        assertEquals(0, pool.getActiveConnections());
+        assertEquals(0, pool.getIdleConnections());
+        assertEquals(1, pool.getDestroyedConnections());
+        assertEquals(1, ops.disconnects);
+
+        // the invalidated connection must not be reused
+        assertNotSame(ops, pool.borrow());
+        assertEquals(2, pool.getCreatedConnections());
+    }
+
+    @Test
+    public void testConnectFailure() throws Exception {
+        pool = createFtpPool(1, 100, 0);
+
+        next = new StubOperations<FTPFile>();
+        next.loginOk = false;
+        try {
+            pool.borrow();
+            fail("Should have thrown an exception");
+        } catch (GenericFileOperationFailedException e) {
+            assertTrue(e.getMessage().startsWith("Cannot connect/login to"));
+        }
+
+        // the failed connection should not be counted as active so the pool is not exhausted
+        assertEquals(0, pool.getActiveConnections());
+        assertNotNull(pool.borrow());
+        assertEquals(2, connects);
+    }
+
+    @Test
+    public void testMaxSize() throws Exception {
+        pool = createFtpPool(2, 100, 0);
+
+        pool.borrow();
+        pool.borrow();
+        try {
+            pool.borrow();
+            fail("Should have thrown an exception");
+        } catch (GenericFileOperationFailedException e) {
+            assertTrue(e.getMessage().startsWith("Timeout waiting 100 millis for a connection"));
+        }
+
+        assertEquals(2, pool.getActiveConnections());
+        assertEquals(2, pool.getCreatedConnections());
+        assertEquals(1, pool.getWaitedCount());
+    }
+
+    @Test
+    public void testWaitForRelease() throws Exception {
+        pool = createFtpPool(1, 10000, 0);
+
+        final RemoteFileOperations<FTPFile> ops = pool.borrow();
+        Thread releaser = new Thread(new Runnable() {
+            public void run() {
+                // release when the borrower is waiting for the connection
+                while (pool.getWaitedCount() == 0) {
+                    Thread.yield();
+                }
+                pool.release(ops);
+            }
+        });
+        releaser.start();
+
+        assertSame(ops, pool.borrow());
+        releaser.join(5000);
+        assertEquals(1, pool.getCreatedConnections());
+        assertEquals(1, pool.getWaitedCount());
+    }
+
+    @Test
+    public void testEvictIdle() throws Exception {
+        pool = createFtpPool(2, 1000, 60000);
+
+        StubOperations<FTPFile> ops = (StubOperations<FTPFile>) pool.borrow();
+        pool.release(ops);
+
+        // the connection has not been idle long enough
+        pool.evictIdle();
+        assertEquals(1, pool.getIdleConnections());
+        assertEquals(0, ops.disconnects);
+
+        endpoint.setConnectionPoolIdleTimeout(1);
+        Thread.sleep(10);
+        pool.evictIdle();
+        assertEquals(0, pool.getIdleConnections());
+        assertEquals(1, pool.getDestroyedConnections());
+        assertEquals(1, ops.disconnects);
+    }
+
+    @Test
+    public void testEvictorThread() throws Exception {
+        pool = createFtpPool(2, 1000, 50);
+
+        StubOperations<FTPFile> ops = (StubOperations<FTPFile>) pool.borrow();
+        pool.release(ops);
+
+        // the evictor should disconnect the idle connection
+        for (int i = 0; i < 50 && ops.disconnects == 0; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(1, ops.disconnects);
+        assertEquals(0, pool.getIdleConnections());
+    }
+
+    @Test
+    public void testStopDisconnectsIdle() throws Exception {
+        pool = createFtpPool(2, 1000, 0);
+
+        StubOperations<FTPFile> idle = (StubOperations<FTPFile>) pool.borrow();
+        StubOperations<FTPFile> busy = (StubOperations<FTPFile>) pool.borrow();
+        pool.release(idle);
+
+        ServiceHelper.stopService(pool);
+        assertEquals(1, idle.disconnects);
+        assertEquals(0, busy.disconnects);
+
+        // a connection released after the pool is stopped should be disconnected
+        pool.release(busy);
+        assertEquals(1, busy.disconnects);
+        assertEquals(0, pool.getIdleConnections());
+    }
+
+    @Test
+    public void testSftpPool() throws Exception {
+        final URI uri = new URI("sftp://localhost/pool");
+        SftpEndpoint endpoint = new SftpEndpoint(uri.toString(), context.getComponent("sftp", SftpComponent.class),
+                new SftpConfiguration(uri)) {
+            @Override
+            public RemoteFileOperations<ChannelSftp.LsEntry> createRemoteFileOperations() {
+                return new StubOperations<ChannelSftp.LsEntry>();
+            }
+        };
+        endpoint.setConnectionPoolSize(1);
+        endpoint.setConnectionPoolMaxWait(100);
+
+        RemoteFileOperationsPool<ChannelSftp.LsEntry> sftpPool = new RemoteFileOperationsPool<ChannelSftp.LsEntry>(endpoint);
+        ServiceHelper.startService(sftpPool);
+        try {
+            StubOperations<ChannelSftp.LsEntry> ops = (StubOperations<ChannelSftp.LsEntry>) sftpPool.borrow();
+            try {
+                sftpPool.borrow();
+                fail("Should have thrown an exception");
+            } catch (GenericFileOperationFailedException e) {
+                assertTrue(e.getMessage().endsWith("sftp://anonymous@localhost:22"));
+            }
+
+            sftpPool.release(ops);
+            assertSame(ops, sftpPool.borrow());
+            assertEquals(1, sftpPool.getCreatedConnections());
+
+            sftpPool.invalidate(ops);
+            assertEquals(1, ops.disconnects);
+            assertEquals(0, sftpPool.getActiveConnections());
+        } finally {
+            ServiceHelper.stopService(sftpPool);
+        }
+    }
+
+    private RemoteFileOperationsPool<FTPFile> createFtpPool(int size, long maxWait, long idleTimeout) throws Exception {
+        final URI uri = new URI("ftp://localhost/pool");
+        endpoint = new FtpEndpoint<FTPFile>(uri.toString(), context.getComponent("ftp", FtpComponent.class),
+                new FtpConfiguration(uri)) {
+            @Override
+            public RemoteFileOperations<FTPFile> createRemoteFileOperations() throws Exception {
+                connects++;
+                StubOperations<FTPFile> answer = next != null ? next : new StubOperations<FTPFile>();
+                next = null;
+                return answer;
+            }
+        };
+        endpoint.setConnectionPoolSize(size);
+        endpoint.setConnectionPoolMaxWait(maxWait);
+        endpoint.setConnectionPoolIdleTimeout(idleTimeout);
+
+        RemoteFileOperationsPool<FTPFile> answer = new RemoteFileOperationsPool<FTPFile>(endpoint);
+        ServiceHelper.startService(answer);
+        return answer;
+    }
+
+    /**
+     * Stub operations which only keeps track of the connection state
+     */
+    private static class StubOperations<T> implements RemoteFileOperations<T> {
+        private volatile boolean connected;
+        private volatile boolean loginOk = true;
+        private volatile int disconnects;
+
+        public boolean connect(RemoteFileConfiguration configuration) {
+            connected = loginOk;
+            return loginOk;
+        }
+
+        public boolean isConnected() {
+            return connected;
+        }
+
+        public void disconnect() {
+            connected = false;
+            disconnects++;
+        }
+
+        public boolean sendNoop() {
+            return connected;
+        }
+
+        public boolean sendSiteCommand(String command) {
+            return true;
+        }
+
+        public void setEndpoint(GenericFileEndpoint<T> endpoint) {
+        }
+
+        public boolean deleteFile(String name) {
+            return true;
+        }
+
+        public boolean existsFile(String name) {
+            return false;
+        }
+
+        public boolean renameFile(String from, String to) {
+            return true;
+        }
+
+        public boolean buildDirectory(String directory, boolean absolute) {
+            return true;
+        }
+
+        public boolean retrieveFile(String name, Exchange exchange) {
+            return true;
+        }
+
+        public boolean storeFile(String name, Exchange exchange) {
+            return true;
+        }
+
+        public String getCurrentDirectory() {
+            return "/";
+        }
+
+        public void changeCurrentDirectory(String path) {
+        }
+
+        public void changeToParentDirectory() {
+        }
+
+        public List<T> listFiles() {
+            return Collections.emptyList();
+        }
+
+        public List<T> listFiles(String path) {
+            return Collections.emptyList();
+        }
+    }
+}
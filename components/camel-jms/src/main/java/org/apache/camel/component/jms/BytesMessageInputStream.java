@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms;
+
+import java.io.IOException;
+import java.io.InputStream;
+import javax.jms.BytesMessage;
+import javax.jms.JMSException;
+import javax.jms.MessageEOFException;
+
+import org.apache.camel.util.IOHelper;
+
+/**
+ * An {@link InputStream} which reads the body of a {@link BytesMessage} directly from the message,
+ * without copying the body into a <tt>byte[]</tt> first.
+ *
+ * @version 
+ */
+public class BytesMessageInputStream extends InputStream {
+
+    private final BytesMessage message;
+    private long remaining;
+
+    public BytesMessageInputStream(BytesMessage message) throws JMSException {
+        this.message = message;
+        this.remaining = message.getBodyLength();
+    }
+
+    /**
+     * Returns the underlying JMS message
+     */
+    public BytesMessage getMessage() {
+        return message;
+    }
+
+    @Override
+    public int read() throws IOException {
+        try {
+            int answer = message.readUnsignedByte();
+            remaining--;
+            return answer;
+        } catch (MessageEOFException e) {
+            return -1;
+        } catch (JMSException e) {
+            throw IOHelper.createIOException(e);
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        try {
+            int answer;
+            if (off == 0) {
+                answer = message.readBytes(b, len);
+            } else {
+                // the message can only read into the start of an array
+                byte[] buffer = new byte[len];
+                answer = message.readBytes(buffer, len);
+                if (answer > 0) {
+                    System.arraycopy(buffer, 0, b, off, answer);
+                }
+            }
+            if (answer > 0) {
+                remaining -= answer;
+            }
+            return answer;
+        } catch (JMSException e) {
+            throw IOHelper.createIOException(e);
+        }
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(Math.max(remaining, 0), Integer.MAX_VALUE);
+    }
+}
@@ -16,6 +16,8 @@
  */
 package org.apache.camel.component.jms;
 
+import java.util.ArrayList;
+import java.util.List;
 import javax.jms.Destination;
 import javax.jms.JMSException;
 import javax.jms.Message;
@@ -64,6 +66,33 @@ public class EndpointMessageListener implements MessageListener {
     }
 
     public void onMessage(final Message message) {
+        processMessage(message, 0, 0);
+    }
+
+    /**
+     * Processes a batch of messages which has been received in the same session.
+     * <p/>
+     * The messages is either processed one by one as individual exchanges with the batch properties set,
+     * or as a single combined exchange if the endpoint is configured with <tt>batchGroupExchanges</tt>.
+     * If any message fails then an exception is thrown to cause the whole batch to be rolled back.
+     *
+     * @param messages the messages of the batch
+     */
+    public void onMessages(final List<Message> messages) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(endpoint + " consumer received batch of " + messages.size() + " JMS messages");
+        }
+
+        if (endpoint.getConfiguration().isBatchGroupExchanges()) {
+            processGroupedMessages(messages);
+        } else {
+            for (int i = 0; i < messages.size(); i++) {
+                processMessage(messages.get(i), i, messages.size());
+            }
+        }
+    }
+
+    protected void processMessage(final Message message, int batchIndex, int batchSize) {
         LOG.trace("onMessage START");
 
         if (LOG.isDebugEnabled()) {
@@ -77,6 +106,9 @@ public class EndpointMessageListener implements MessageListener {
             if (eagerLoadingOfProperties) {
                 exchange.getIn().getHeaders();
             }
+            if (batchSize > 0) {
+                setBatchProperties(exchange, batchIndex, batchSize);
+            }
 
             // process the exchange
             if (LOG.isTraceEnabled()) {
@@ -154,6 +186,46 @@ public class EndpointMessageListener implements MessageListener {
         LOG.trace("onMessage END");
     }
 
+    protected void processGroupedMessages(final List<Message> messages) {
+        RuntimeCamelException rce = null;
+        try {
+            List<Exchange> exchanges = new ArrayList<Exchange>(messages.size());
+            for (int i = 0; i < messages.size(); i++) {
+                Exchange exchange = createExchange(messages.get(i), null);
+                if (eagerLoadingOfProperties) {
+                    exchange.getIn().getHeaders();
+                }
+                setBatchProperties(exchange, i, messages.size());
+                exchanges.add(exchange);
+            }
+
+            // replies is not supported for a batch so the combined exchange is always InOnly
+            Exchange group = new DefaultExchange(endpoint, ExchangePattern.InOnly);
+            group.setProperty(Exchange.GROUPED_EXCHANGE, exchanges);
+            group.setProperty(Exchange.BATCH_SIZE, exchanges.size());
+
+            try {
+                processor.process(group);
+            } catch (Throwable e) {
+                group.setException(e);
+            }
+
+            if (group.getException() != null) {
+                rce = wrapRuntimeCamelException(group.getException());
+            } else if (group.isRollbackOnly()) {
+                // rollback only so wrap an exception so we can rethrow the exception to cause rollback
+                rce = wrapRuntimeCamelException(new RollbackExchangeException(group));
+            }
+        } catch (Exception e) {
+            rce = wrapRuntimeCamelException(e);
+        }
+
+        if (rce != null) {
+            handleException(rce);
+            throw rce;
+        }
+    }
+
     public Exchange createExchange(Message message, Object replyDestination) {
         Exchange exchange = new DefaultExchange(endpoint, endpoint.getExchangePattern());
         JmsBinding binding = getBinding();
@@ -328,6 +400,12 @@ public class EndpointMessageListener implements MessageListener {
         return destination;
     }
 
+    private static void setBatchProperties(Exchange exchange, int index, int size) {
+        exchange.setProperty(Exchange.BATCH_INDEX, index);
+        exchange.setProperty(Exchange.BATCH_SIZE, size);
+        exchange.setProperty(Exchange.BATCH_COMPLETE, index == size - 1);
+    }
+
     /**
      * Handles the given exception using the {@link #getExceptionHandler()}
      *
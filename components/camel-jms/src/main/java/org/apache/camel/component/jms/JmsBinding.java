@@ -21,9 +21,11 @@ import java.io.InputStream;
 import java.io.Reader;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -69,6 +71,9 @@ import static org.apache.camel.component.jms.JmsMessageType.Text;
  */
 public class JmsBinding {
     private static final transient Logger LOG = LoggerFactory.getLogger(JmsBinding.class);
+    private static final List<String> STANDARD_HEADERS = Arrays.asList("JMSCorrelationID", "JMSDeliveryMode",
+        "JMSDestination", "JMSExpiration", "JMSMessageID", "JMSPriority", "JMSRedelivered", "JMSTimestamp",
+        "JMSReplyTo", "JMSType", "JMSXGroupID");
     private final JmsEndpoint endpoint;
     private final HeaderFilterStrategy headerFilterStrategy;
     private final JmsKeyFormatStrategy jmsKeyFormatStrategy;
@@ -147,11 +152,19 @@ public class JmsBinding {
                 if (LOG.isTraceEnabled()) {
                     LOG.trace("Extracting body as a BytesMessage from JMS message: " + message);
                 }
+                if (isStreamMessageBody()) {
+                    // read the body directly from the message when its being used
+                    return new BytesMessageInputStream((BytesMessage)message);
+                }
                 return createByteArrayFromBytesMessage((BytesMessage)message);
             } else if (message instanceof StreamMessage) {
                 if (LOG.isTraceEnabled()) {
                     LOG.trace("Extracting body as a StreamMessage from JMS message: " + message);
                 }
+                if (isStreamMessageBody() && StreamMessageInputStream.isBytesStream((StreamMessage)message)) {
+                    // only a stream of byte[] fields can be read as an input stream
+                    return new StreamMessageInputStream((StreamMessage)message);
+                }
                 return message;
             } else {
                 return null;
@@ -166,30 +179,9 @@ public class JmsBinding {
         if (jmsMessage != null) {
             // lets populate the standard JMS message headers
             try {
-                map.put("JMSCorrelationID", jmsMessage.getJMSCorrelationID());
-                map.put("JMSDeliveryMode", jmsMessage.getJMSDeliveryMode());
-                map.put("JMSDestination", jmsMessage.getJMSDestination());
-                map.put("JMSExpiration", jmsMessage.getJMSExpiration());
-                map.put("JMSMessageID", jmsMessage.getJMSMessageID());
-                map.put("JMSPriority", jmsMessage.getJMSPriority());
-                map.put("JMSRedelivered", jmsMessage.getJMSRedelivered());
-                map.put("JMSTimestamp", jmsMessage.getJMSTimestamp());
-
-                // to work around OracleAQ not supporting the JMSReplyTo header (CAMEL-2909)
-                try {
-                    map.put("JMSReplyTo", jmsMessage.getJMSReplyTo());
-                } catch (JMSException e) {
-                    LOG.trace("Cannot read JMSReplyTo header. Will ignore this exception.", e);
+                for (String name : STANDARD_HEADERS) {
+                    map.put(name, getStandardHeader(jmsMessage, name));
                 }
-                // to work around OracleAQ not supporting the JMSType header (CAMEL-2909)
-                try {
-                    map.put("JMSType", jmsMessage.getJMSType());
-                } catch (JMSException e) {
-                    LOG.trace("Cannot read JMSType header. Will ignore this exception.", e);
-                }
-
-                // this works around a bug in the ActiveMQ property handling
-                map.put("JMSXGroupID", jmsMessage.getStringProperty("JMSXGroupID"));
             } catch (JMSException e) {
                 throw new RuntimeCamelException(e);
             }
@@ -222,6 +214,62 @@ public class JmsBinding {
         return map;
     }
     
+    /**
+     * Whether the name is one of the standard JMS headers, which is extracted from the JMS message
+     * using their getter methods instead of as a property.
+     */
+    public static boolean isStandardHeader(String name) {
+        return STANDARD_HEADERS.contains(name);
+    }
+
+    /**
+     * Gets the value of the given standard JMS header from the JMS message.
+     *
+     * @param jmsMessage the JMS message
+     * @param name       the name of the header, see {@link #isStandardHeader(String)}
+     * @return the value, can be <tt>null</tt>
+     * @throws JMSException can be thrown
+     */
+    public Object getStandardHeader(Message jmsMessage, String name) throws JMSException {
+        if ("JMSCorrelationID".equals(name)) {
+            return jmsMessage.getJMSCorrelationID();
+        } else if ("JMSDeliveryMode".equals(name)) {
+            return jmsMessage.getJMSDeliveryMode();
+        } else if ("JMSDestination".equals(name)) {
+            return jmsMessage.getJMSDestination();
+        } else if ("JMSExpiration".equals(name)) {
+            return jmsMessage.getJMSExpiration();
+        } else if ("JMSMessageID".equals(name)) {
+            return jmsMessage.getJMSMessageID();
+        } else if ("JMSPriority".equals(name)) {
+            return jmsMessage.getJMSPriority();
+        } else if ("JMSRedelivered".equals(name)) {
+            return jmsMessage.getJMSRedelivered();
+        } else if ("JMSTimestamp".equals(name)) {
+            return jmsMessage.getJMSTimestamp();
+        } else if ("JMSReplyTo".equals(name)) {
+            // to work around OracleAQ not supporting the JMSReplyTo header (CAMEL-2909)
+            try {
+                return jmsMessage.getJMSReplyTo();
+            } catch (JMSException e) {
+                LOG.trace("Cannot read JMSReplyTo header. Will ignore this exception.", e);
+                return null;
+            }
+        } else if ("JMSType".equals(name)) {
+            // to work around OracleAQ not supporting the JMSType header (CAMEL-2909)
+            try {
+                return jmsMessage.getJMSType();
+            } catch (JMSException e) {
+                LOG.trace("Cannot read JMSType header. Will ignore this exception.", e);
+                return null;
+            }
+        } else if ("JMSXGroupID".equals(name)) {
+            // this works around a bug in the ActiveMQ property handling
+            return jmsMessage.getStringProperty("JMSXGroupID");
+        }
+        return null;
+    }
+
     public Object getObjectProperty(Message jmsMessage, String name) throws JMSException {
         // try a direct lookup first
         Object answer = jmsMessage.getObjectProperty(name);
@@ -233,6 +281,10 @@ public class JmsBinding {
         return answer;
     }
 
+    protected boolean isStreamMessageBody() {
+        return endpoint != null && endpoint.getConfiguration().isStreamMessageBody();
+    }
+
     protected byte[] createByteArrayFromBytesMessage(BytesMessage message) throws JMSException {
         if (message.getBodyLength() > Integer.MAX_VALUE) {
             LOG.warn("Length of BytesMessage is too long: " + message.getBodyLength());
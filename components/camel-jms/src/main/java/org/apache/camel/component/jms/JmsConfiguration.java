@@ -113,6 +113,14 @@ public class JmsConfiguration implements Cloneable {
     private boolean transferExchange;
     private boolean transferException;
     private boolean testConnectionOnStartup;
+    private int batchSize;
+    private long batchTimeout = 1000;
+    private boolean batchGroupExchanges;
+    private int producerSessionCacheSize;
+    private boolean asyncSend;
+    private int asyncSendMaxInFlight = 1000;
+    private int replyManagerShards = 1;
+    private boolean streamMessageBody;
 
     public JmsConfiguration() {
     }
@@ -300,6 +308,11 @@ public class JmsConfiguration implements Cloneable {
         }
 
         ConnectionFactory factory = getTemplateConnectionFactory();
+        if (endpoint != null && producerSessionCacheSize > 0 && !transacted && transactionManager == null) {
+            // use the sessions and producers cached by the endpoint, which is not used when transacted
+            // as the cached sessions is not bound to the transaction by the transaction manager
+            factory = endpoint.getSessionCachingConnectionFactory();
+        }
         JmsTemplate template = new CamelJmsTemplate(this, factory);
 
         template.setPubSubDomain(pubSubDomain);
@@ -836,6 +849,11 @@ public class JmsConfiguration implements Cloneable {
                 container.setSessionAcknowledgeModeName(acknowledgementModeName);
             }
         }
+        if (batchSize > 1 && !transacted && container.getSessionAcknowledgeMode() != Session.CLIENT_ACKNOWLEDGE) {
+            // otherwise the messages of a batch is acknowledged when received, and lost if an earlier message fails
+            throw new IllegalArgumentException("Property batchSize: " + batchSize
+                    + " requires transacted or CLIENT_ACKNOWLEDGE mode for " + endpoint);
+        }
 
         if (endpoint.getSelector() != null && endpoint.getSelector().length() != 0) {
             container.setMessageSelector(endpoint.getSelector());
@@ -1078,4 +1096,136 @@ public class JmsConfiguration implements Cloneable {
     public void setTestConnectionOnStartup(boolean testConnectionOnStartup) {
         this.testConnectionOnStartup = testConnectionOnStartup;
     }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the maximum number of messages the consumer receives and processes in the same session
+     * before committing, which avoids a commit per message when the consumer is transacted.
+     * <p/>
+     * If any message in the batch fails then the whole batch is rolled back.
+     * Use 0 or 1 to process one message at a time which is the default.
+     * <p/>
+     * Batches requires the consumer to be transacted or to use <tt>CLIENT_ACKNOWLEDGE</tt> mode, where
+     * the session is recovered if a message fails, so all the messages of the batch is redelivered.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    /**
+     * Sets the maximum time in millis to wait for more messages to fill up a batch,
+     * counting from when the first message of the batch was received.
+     */
+    public void setBatchTimeout(long batchTimeout) {
+        this.batchTimeout = batchTimeout;
+    }
+
+    public boolean isBatchGroupExchanges() {
+        return batchGroupExchanges;
+    }
+
+    /**
+     * Whether to process a batch as a single combined exchange holding the exchanges of the messages
+     * in a {@link java.util.List} as an exchange property with the key {@link org.apache.camel.Exchange#GROUPED_EXCHANGE}.
+     * <p/>
+     * By default each message in the batch is processed as an individual exchange.
+     */
+    public void setBatchGroupExchanges(boolean batchGroupExchanges) {
+        this.batchGroupExchanges = batchGroupExchanges;
+    }
+
+    public int getProducerSessionCacheSize() {
+        return producerSessionCacheSize;
+    }
+
+    /**
+     * Sets the number of sessions to cache for sending messages, where each session caches
+     * a producer per destination. This avoids creating and closing a session and producer
+     * for every message sent, without having to configure a pooled connection factory.
+     * <p/>
+     * The sessions is not cached when using transacted or a transaction manager, as the messages
+     * must be sent using the session bound to the transaction.
+     * <p/>
+     * Use 0 to not cache sessions which is the default.
+     */
+    public void setProducerSessionCacheSize(int producerSessionCacheSize) {
+        this.producerSessionCacheSize = producerSessionCacheSize;
+    }
+
+    public boolean isAsyncSend() {
+        return asyncSend;
+    }
+
+    /**
+     * Whether to send InOnly messages asynchronously, so the exchange continues routing
+     * when the message has been sent, without blocking the caller while its being sent.
+     * <p/>
+     * Messages is sent in the same order as they are processed by the producer, by a single sender thread.
+     * When a message has been sent the exchange continues routing using a thread from a thread pool,
+     * and therefore the exchanges may continue routing in another order than sent.
+     * Transacted exchanges is always sent synchronously.
+     */
+    public void setAsyncSend(boolean asyncSend) {
+        this.asyncSend = asyncSend;
+    }
+
+    public int getAsyncSendMaxInFlight() {
+        return asyncSendMaxInFlight;
+    }
+
+    /**
+     * Sets the maximum number of asynchronous sends which can be in flight,
+     * before the caller is blocked until a message has been sent.
+     */
+    public void setAsyncSendMaxInFlight(int asyncSendMaxInFlight) {
+        this.asyncSendMaxInFlight = asyncSendMaxInFlight;
+    }
+
+    public int getReplyManagerShards() {
+        return replyManagerShards;
+    }
+
+    /**
+     * Sets the number of reply managers to shard the replies among when doing request-reply over JMS.
+     * <p/>
+     * Each shard has its own reply queue listener and correlation map, and the shard of a request is selected
+     * by the hash of its correlation id. This can be used to scale request-reply with many concurrent requests.
+     * When using temporary queues each shard uses its own temporary queue, and when using a persistent
+     * reply queue each shard consumes the replies of its own requests from the queue.
+     * <p/>
+     * The default is 1 which does not shard.
+     */
+    public void setReplyManagerShards(int replyManagerShards) {
+        this.replyManagerShards = replyManagerShards;
+    }
+
+    public boolean isStreamMessageBody() {
+        return streamMessageBody;
+    }
+
+    /**
+     * Whether to use an {@link java.io.InputStream} as the body of a {@link javax.jms.BytesMessage}
+     * or {@link javax.jms.StreamMessage}, which reads the body directly from the JMS message.
+     * <p/>
+     * This avoids copying the body of a <tt>BytesMessage</tt> into a <tt>byte[]</tt>, so large messages
+     * can be streamed to stream caching or another endpoint such as a file. As with other streams the body
+     * can only be read once, unless stream caching is enabled.
+     * <p/>
+     * A <tt>StreamMessage</tt> is only streamed when its first field is a <tt>byte[]</tt>, otherwise the body is
+     * the message itself. The fields of a streamed <tt>StreamMessage</tt> must all be <tt>byte[]</tt>, as reading
+     * any other field fails with an {@link java.io.IOException}.
+     * <p/>
+     * By default the body of a <tt>BytesMessage</tt> is a <tt>byte[]</tt>, and the body of a
+     * <tt>StreamMessage</tt> is the message itself.
+     */
+    public void setStreamMessageBody(boolean streamMessageBody) {
+        this.streamMessageBody = streamMessageBody;
+    }
 }
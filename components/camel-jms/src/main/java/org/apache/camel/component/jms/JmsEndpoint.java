@@ -16,7 +16,9 @@
  */
 package org.apache.camel.component.jms;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
@@ -40,6 +42,8 @@ import org.apache.camel.Producer;
 import org.apache.camel.Service;
 import org.apache.camel.component.jms.reply.PersistentQueueReplyManager;
 import org.apache.camel.component.jms.reply.ReplyManager;
+import org.apache.camel.component.jms.reply.ReplyManagerSelector;
+import org.apache.camel.component.jms.reply.ReplyManagerSupport;
 import org.apache.camel.component.jms.reply.TemporaryQueueReplyManager;
 import org.apache.camel.impl.DefaultEndpoint;
 import org.apache.camel.impl.DefaultExchange;
@@ -51,11 +55,13 @@ import org.apache.camel.util.ServiceHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.task.TaskExecutor;
+import org.springframework.jms.connection.CachingConnectionFactory;
 import org.springframework.jms.core.JmsOperations;
 import org.springframework.jms.listener.DefaultMessageListenerContainer;
 import org.springframework.jms.support.converter.MessageConverter;
 import org.springframework.jms.support.destination.DestinationResolver;
 import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
 import org.springframework.jmx.export.annotation.ManagedResource;
 import org.springframework.transaction.PlatformTransactionManager;
 
@@ -74,10 +80,11 @@ public class JmsEndpoint extends DefaultEndpoint implements HeaderFilterStrategy
     private Destination destination;
     private String selector;
     private JmsConfiguration configuration;
-    private final Map<String, ReplyManager> replyToReplyManager = new HashMap<String, ReplyManager>();
-    private ReplyManager replyManager;
+    private final Map<String, ReplyManagerSelector> replyToReplyManager = new HashMap<String, ReplyManagerSelector>();
+    private ReplyManagerSelector replyManager;
     // scheduled executor to check for timeout (reply not received)
     private ScheduledExecutorService replyManagerExecutorService;
+    private CachingConnectionFactory sessionCachingConnectionFactory;
     private final AtomicBoolean running = new AtomicBoolean();
 
     public JmsEndpoint() {
@@ -325,24 +332,20 @@ public class JmsEndpoint extends DefaultEndpoint implements HeaderFilterStrategy
         return true;
     }
 
-    public synchronized ReplyManager getReplyManager() throws Exception {
+    public synchronized ReplyManagerSelector getReplyManager() throws Exception {
         if (replyManager == null) {
             // use a temporary queue
-            replyManager = new TemporaryQueueReplyManager();
-            replyManager.setEndpoint(this);
-            replyManager.setScheduledExecutorService(getReplyManagerExecutorService());
+            replyManager = createReplyManager(false);
             ServiceHelper.startService(replyManager);
         }
         return replyManager;
     }
 
-    public synchronized ReplyManager getReplyManager(String replyTo) throws Exception {
-        ReplyManager answer = replyToReplyManager.get(replyTo);
+    public synchronized ReplyManagerSelector getReplyManager(String replyTo) throws Exception {
+        ReplyManagerSelector answer = replyToReplyManager.get(replyTo);
         if (answer == null) {
             // use a persistent queue
-            answer = new PersistentQueueReplyManager();
-            answer.setEndpoint(this);
-            answer.setScheduledExecutorService(getReplyManagerExecutorService());
+            answer = createReplyManager(true);
             ServiceHelper.startService(answer);
             // remember this manager so we can re-use it
             replyToReplyManager.put(replyTo, answer);
@@ -350,6 +353,28 @@ public class JmsEndpoint extends DefaultEndpoint implements HeaderFilterStrategy
         return answer;
     }
 
+    /**
+     * Creates the reply managers, where the replies is sharded among several reply managers
+     * if the <tt>replyManagerShards</tt> option is greater than 1.
+     *
+     * @param persistent whether to use a persistent reply queue or a temporary queue
+     */
+    protected ReplyManagerSelector createReplyManager(boolean persistent) {
+        int size = Math.max(getReplyManagerShards(), 1);
+        List<ReplyManagerSupport> shards = new ArrayList<ReplyManagerSupport>(size);
+        for (int i = 0; i < size; i++) {
+            ReplyManagerSupport shard = persistent ? new PersistentQueueReplyManager() : new TemporaryQueueReplyManager();
+            if (size > 1) {
+                shard.setShard(i);
+            }
+            shards.add(shard);
+        }
+        ReplyManagerSelector answer = new ReplyManagerSelector(shards);
+        answer.setEndpoint(this);
+        answer.setScheduledExecutorService(getReplyManagerExecutorService());
+        return answer;
+    }
+
     public boolean isPubSubDomain() {
         return pubSubDomain;
     }
@@ -405,6 +430,23 @@ public class JmsEndpoint extends DefaultEndpoint implements HeaderFilterStrategy
         return replyManagerExecutorService;
     }
 
+    /**
+     * Gets the connection factory which caches the sessions and producers used for sending messages
+     * to this endpoint, which is created on first use.
+     */
+    public synchronized ConnectionFactory getSessionCachingConnectionFactory() {
+        if (sessionCachingConnectionFactory == null) {
+            CachingConnectionFactory factory = new CachingConnectionFactory(getConfiguration().getTemplateConnectionFactory());
+            factory.setSessionCacheSize(getConfiguration().getProducerSessionCacheSize());
+            factory.setCacheProducers(true);
+            factory.setCacheConsumers(false);
+            // recover from a broken connection by creating a new connection on next use
+            factory.setReconnectOnException(true);
+            sessionCachingConnectionFactory = factory;
+        }
+        return sessionCachingConnectionFactory;
+    }
+
     /**
      * State whether this endpoint is running (eg started)
      */
@@ -427,11 +469,19 @@ public class JmsEndpoint extends DefaultEndpoint implements HeaderFilterStrategy
         }
 
         if (!replyToReplyManager.isEmpty()) {
-            for (ReplyManager replyManager : replyToReplyManager.values()) {
+            for (ReplyManagerSelector replyManager : replyToReplyManager.values()) {
                 ServiceHelper.stopService(replyManager);
             }
             replyToReplyManager.clear();
         }
+
+        synchronized (this) {
+            if (sessionCachingConnectionFactory != null) {
+                // closes the cached sessions and producers and the shared connection
+                sessionCachingConnectionFactory.destroy();
+                sessionCachingConnectionFactory = null;
+            }
+        }
     }
 
     // Delegated properties from the configuration
@@ -926,6 +976,105 @@ public class JmsEndpoint extends DefaultEndpoint implements HeaderFilterStrategy
         configuration.setTestConnectionOnStartup(testConnectionOnStartup);
     }
 
+    @ManagedAttribute
+    public int getBatchSize() {
+        return getConfiguration().getBatchSize();
+    }
+
+    @ManagedAttribute
+    public void setBatchSize(int batchSize) {
+        getConfiguration().setBatchSize(batchSize);
+    }
+
+    @ManagedAttribute
+    public long getBatchTimeout() {
+        return getConfiguration().getBatchTimeout();
+    }
+
+    @ManagedAttribute
+    public void setBatchTimeout(long batchTimeout) {
+        getConfiguration().setBatchTimeout(batchTimeout);
+    }
+
+    @ManagedAttribute
+    public boolean isBatchGroupExchanges() {
+        return getConfiguration().isBatchGroupExchanges();
+    }
+
+    @ManagedAttribute
+    public void setBatchGroupExchanges(boolean batchGroupExchanges) {
+        getConfiguration().setBatchGroupExchanges(batchGroupExchanges);
+    }
+
+    @ManagedAttribute
+    public int getProducerSessionCacheSize() {
+        return getConfiguration().getProducerSessionCacheSize();
+    }
+
+    @ManagedAttribute
+    public void setProducerSessionCacheSize(int producerSessionCacheSize) {
+        getConfiguration().setProducerSessionCacheSize(producerSessionCacheSize);
+    }
+
+    @ManagedAttribute
+    public boolean isAsyncSend() {
+        return getConfiguration().isAsyncSend();
+    }
+
+    @ManagedAttribute
+    public void setAsyncSend(boolean asyncSend) {
+        getConfiguration().setAsyncSend(asyncSend);
+    }
+
+    @ManagedAttribute
+    public int getAsyncSendMaxInFlight() {
+        return getConfiguration().getAsyncSendMaxInFlight();
+    }
+
+    @ManagedAttribute
+    public void setAsyncSendMaxInFlight(int asyncSendMaxInFlight) {
+        getConfiguration().setAsyncSendMaxInFlight(asyncSendMaxInFlight);
+    }
+
+    @ManagedAttribute
+    public int getReplyManagerShards() {
+        return getConfiguration().getReplyManagerShards();
+    }
+
+    @ManagedAttribute
+    public void setReplyManagerShards(int replyManagerShards) {
+        getConfiguration().setReplyManagerShards(replyManagerShards);
+    }
+
+    @ManagedAttribute
+    public boolean isStreamMessageBody() {
+        return getConfiguration().isStreamMessageBody();
+    }
+
+    @ManagedAttribute
+    public void setStreamMessageBody(boolean streamMessageBody) {
+        getConfiguration().setStreamMessageBody(streamMessageBody);
+    }
+
+    @ManagedOperation(description = "Reply statistics per reply manager shard")
+    public synchronized String[] replyManagerStatistics() {
+        List<ReplyManagerSelector> managers = new ArrayList<ReplyManagerSelector>();
+        if (replyManager != null) {
+            managers.add(replyManager);
+        }
+        managers.addAll(replyToReplyManager.values());
+
+        List<String> answer = new ArrayList<String>();
+        for (ReplyManagerSelector manager : managers) {
+            for (ReplyManager shard : manager.getShards()) {
+                if (shard instanceof ReplyManagerSupport) {
+                    answer.add(((ReplyManagerSupport) shard).getStatistics());
+                }
+            }
+        }
+        return answer.toArray(new String[answer.size()]);
+    }
+
     @ManagedAttribute(description = "Camel id")
     public String getCamelId() {
         return getCamelContext().getName();
@@ -39,6 +39,7 @@ public class JmsMessage extends DefaultMessage {
     private static final transient Logger LOG = LoggerFactory.getLogger(JmsMessage.class);
     private Message jmsMessage;
     private JmsBinding binding;
+    private boolean copied;
 
     public JmsMessage(Message jmsMessage, JmsBinding binding) {
         setJmsMessage(jmsMessage);
@@ -56,6 +57,21 @@ public class JmsMessage extends DefaultMessage {
 
     @Override
     public void copyFrom(org.apache.camel.Message that) {
+        if (that instanceof JmsMessage && !hasPopulatedHeaders()) {
+            JmsMessage thatMessage = (JmsMessage) that;
+            if (thatMessage.jmsMessage != null && !thatMessage.hasPopulatedHeaders()) {
+                // the headers has not been extracted yet, so share the JMS message and extract them lazily
+                // when they are used, instead of extracting all the headers to copy them
+                this.jmsMessage = thatMessage.jmsMessage;
+                this.binding = thatMessage.binding;
+                // but as a copy the body may be changed so a new JMS message must be created when sending
+                this.copied = true;
+                setBody(that.getBody());
+                getAttachments().putAll(that.getAttachments());
+                return;
+            }
+        }
+
         // must initialize headers before we set the JmsMessage to avoid Camel
         // populating it before we do the copy
         getHeaders().clear();
@@ -112,6 +128,15 @@ public class JmsMessage extends DefaultMessage {
 
         // we will exclude using JMS-prefixed headers here to avoid strangeness with some JMS providers
         // e.g. ActiveMQ returns the String not the Destination type for "JMSReplyTo"!
+        // the standard JMS headers can be looked up directly as well
+        if (jmsMessage != null && !hasPopulatedHeaders() && JmsBinding.isStandardHeader(name)) {
+            try {
+                return getBinding().getStandardHeader(jmsMessage, name);
+            } catch (JMSException e) {
+                throw new RuntimeExchangeException("Unable to retrieve header from JMS Message: " + name, getExchange(), e);
+            }
+        }
+
         // only look in jms message directly if we have not populated headers
         if (jmsMessage != null && !hasPopulatedHeaders() && !name.startsWith("JMS")) {
             try {
@@ -162,7 +187,7 @@ public class JmsMessage extends DefaultMessage {
      * Returns true if a new JMS message instance should be created to send to the next component
      */
     public boolean shouldCreateNewMessage() {
-        return super.hasPopulatedHeaders();
+        return copied || super.hasPopulatedHeaders();
     }
 
     /**
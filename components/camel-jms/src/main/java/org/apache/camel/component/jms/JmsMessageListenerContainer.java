@@ -16,6 +16,14 @@
  */
 package org.apache.camel.component.jms;
 
+import java.util.ArrayList;
+import java.util.List;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageListener;
+import javax.jms.Session;
+
 import org.springframework.jms.listener.DefaultMessageListenerContainer;
 
 /**
@@ -24,12 +32,19 @@ import org.springframework.jms.listener.DefaultMessageListenerContainer;
  * <p/>
  * This implementation extends Springs {@link DefaultMessageListenerContainer} supporting
  * automatic recovery and throttling.
+ * <p/>
+ * If the endpoint is configured with a <tt>batchSize</tt> then up to that number of messages is received
+ * in the same session and processed as a batch, which is committed (or rolled back) as a whole.
+ * When using <tt>CLIENT_ACKNOWLEDGE</tt> mode the session is recovered if the batch fails, so the batch is redelivered.
  *
  * @version 
  */
 public class JmsMessageListenerContainer extends DefaultMessageListenerContainer {
 
     private final JmsEndpoint endpoint;
+    // the consumer the current message was received from, as each invoker runs in its own thread
+    private final ThreadLocal<MessageConsumer> consumer = new ThreadLocal<MessageConsumer>();
+    private final ThreadLocal<List<Message>> batch = new ThreadLocal<List<Message>>();
 
     public JmsMessageListenerContainer(JmsEndpoint endpoint) {
         this.endpoint = endpoint;
@@ -40,4 +55,102 @@ public class JmsMessageListenerContainer extends DefaultMessageListenerContainer
         // do not run if we have been stopped
         return endpoint.isRunning();
     }
+
+    @Override
+    protected Message receiveMessage(MessageConsumer consumerToUse) throws JMSException {
+        if (!isBatching()) {
+            return super.receiveMessage(consumerToUse);
+        }
+
+        consumer.set(consumerToUse);
+        Message message = null;
+        try {
+            message = super.receiveMessage(consumerToUse);
+        } finally {
+            if (message == null) {
+                // no message so doExecuteListener is not invoked, and the consumer must not linger
+                // on the invoker thread as it may be closed and replaced on the next receive
+                consumer.remove();
+            }
+        }
+        return message;
+    }
+
+    @Override
+    protected void doExecuteListener(Session session, Message message) throws JMSException {
+        MessageConsumer consumerToUse = consumer.get();
+        if (consumerToUse == null || !isBatching()) {
+            super.doExecuteListener(session, message);
+            return;
+        }
+
+        consumer.remove();
+        batch.set(receiveBatch(consumerToUse, message));
+        try {
+            // the listener is invoked once with the whole batch, and the session is committed once afterwards
+            super.doExecuteListener(session, message);
+        } finally {
+            batch.remove();
+        }
+    }
+
+    @Override
+    protected void doInvokeListener(MessageListener listener, Message message) throws JMSException {
+        List<Message> messages = batch.get();
+        if (messages != null && listener instanceof EndpointMessageListener) {
+            ((EndpointMessageListener) listener).onMessages(messages);
+        } else {
+            super.doInvokeListener(listener, message);
+        }
+    }
+
+    @Override
+    protected void rollbackOnExceptionIfNecessary(Session session, Throwable ex) throws JMSException {
+        super.rollbackOnExceptionIfNecessary(session, ex);
+        if (batch.get() != null && !session.getTransacted() && isClientAcknowledge(session)) {
+            // the messages of the batch which has not been processed is not acknowledged either,
+            // so recover the session to have the whole batch redelivered
+            if (logger.isDebugEnabled()) {
+                logger.debug("Recovering session to redeliver batch due to: " + ex);
+            }
+            session.recover();
+        }
+    }
+
+    /**
+     * Receives more messages in the same session to fill up the batch, until the batch size
+     * has been reached or the batch timeout has elapsed.
+     *
+     * @param consumerToUse the consumer to receive from
+     * @param first         the first message of the batch which has already been received
+     * @return the messages of the batch
+     * @throws JMSException can be thrown
+     */
+    protected List<Message> receiveBatch(MessageConsumer consumerToUse, Message first) throws JMSException {
+        int size = endpoint.getConfiguration().getBatchSize();
+        long deadline = System.currentTimeMillis() + endpoint.getConfiguration().getBatchTimeout();
+
+        List<Message> messages = new ArrayList<Message>(size);
+        messages.add(first);
+        while (messages.size() < size && isRunning()) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                break;
+            }
+            Message message = consumerToUse.receive(remaining);
+            if (message == null) {
+                break;
+            }
+            messages.add(message);
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Received batch of " + messages.size() + " messages from " + endpoint);
+        }
+        return messages;
+    }
+
+    private boolean isBatching() {
+        return endpoint.getConfiguration().getBatchSize() > 1;
+    }
 }
@@ -16,7 +16,10 @@
  */
 package org.apache.camel.component.jms;
 
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.jms.Destination;
 import javax.jms.JMSException;
@@ -29,6 +32,7 @@ import org.apache.camel.FailedToCreateProducerException;
 import org.apache.camel.RuntimeExchangeException;
 import org.apache.camel.component.jms.JmsConfiguration.CamelJmsTemplate;
 import org.apache.camel.component.jms.reply.ReplyManager;
+import org.apache.camel.component.jms.reply.ReplyManagerSelector;
 import org.apache.camel.component.jms.reply.UseMessageIdAsCorrelationIdMessageSentCallback;
 import org.apache.camel.impl.DefaultAsyncProducer;
 import org.apache.camel.spi.UuidGenerator;
@@ -46,12 +50,17 @@ import static org.apache.camel.component.jms.JmsMessageHelper.normalizeDestinati
  */
 public class JmsProducer extends DefaultAsyncProducer {
     private static final transient Logger LOG = LoggerFactory.getLogger(JmsProducer.class);
+    private static final long ASYNC_SEND_STOP_LOG_INTERVAL = 10000;
     private final JmsEndpoint endpoint;
     private final AtomicBoolean started = new AtomicBoolean(false);
     private JmsOperations inOnlyTemplate;
     private JmsOperations inOutTemplate;
     private UuidGenerator uuidGenerator;
-    private ReplyManager replyManager;
+    private ReplyManagerSelector replyManager;
+    private volatile ExecutorService asyncSendExecutorService;
+    private volatile ExecutorService asyncSendCallbackExecutorService;
+    private volatile Semaphore asyncSendWindow;
+    private volatile Thread asyncSendThread;
 
     public JmsProducer(JmsEndpoint endpoint) {
         super(endpoint);
@@ -130,7 +139,9 @@ public class JmsProducer extends DefaultAsyncProducer {
         final String provisionalCorrelationId = msgIdAsCorrId ? getUuidGenerator().generateUuid() : null;
         MessageSentCallback messageSentCallback = null;
         if (msgIdAsCorrId) {
-            messageSentCallback = new UseMessageIdAsCorrelationIdMessageSentCallback(replyManager, provisionalCorrelationId, endpoint.getRequestTimeout());
+            // the correlation id must be updated on the shard which registered the reply
+            ReplyManager manager = replyManager.select(provisionalCorrelationId);
+            messageSentCallback = new UseMessageIdAsCorrelationIdMessageSentCallback(manager, provisionalCorrelationId, endpoint.getRequestTimeout());
         }
         final ValueHolder<MessageSentCallback> sentCallback = new ValueHolder<MessageSentCallback>(messageSentCallback);
 
@@ -143,16 +154,19 @@ public class JmsProducer extends DefaultAsyncProducer {
             public Message createMessage(Session session) throws JMSException {
                 Message message = endpoint.getBinding().makeJmsMessage(exchange, in, session, null);
 
+                // the replies may be sharded among several reply managers by the correlation id
+                String correlationId = determineCorrelationId(message, provisionalCorrelationId);
+                ReplyManager manager = replyManager.select(correlationId);
+
                 // get the reply to destination to be used from the reply manager
-                Destination replyTo = replyManager.getReplyTo();
+                Destination replyTo = manager.getReplyTo();
                 if (replyTo == null) {
                     throw new RuntimeExchangeException("Failed to resolve replyTo destination", exchange);
                 }
                 message.setJMSReplyTo(replyTo);
-                replyManager.setReplyToSelectorHeader(in, message);
+                manager.setReplyToSelectorHeader(in, message);
 
-                String correlationId = determineCorrelationId(message, provisionalCorrelationId);
-                replyManager.registerReply(replyManager, exchange, callback, originalCorrelationId, correlationId, endpoint.getRequestTimeout());
+                manager.registerReply(manager, exchange, callback, originalCorrelationId, correlationId, endpoint.getRequestTimeout());
 
                 return message;
             }
@@ -306,6 +320,14 @@ public class JmsProducer extends DefaultAsyncProducer {
             }
         };
 
+        // transacted exchanges must be sent by this thread to be part of the transaction,
+        // and the sender thread itself must send synchronously as it cannot wait for itself
+        ExecutorService sender = asyncSendExecutorService;
+        Semaphore window = asyncSendWindow;
+        if (sender != null && window != null && !exchange.isTransacted() && Thread.currentThread() != asyncSendThread) {
+            return processAsyncInOnly(exchange, callback, destinationName, destination, messageCreator, sender, window);
+        }
+
         doSend(false, destinationName, destination, messageCreator, null);
 
         // after sending then set the OUT message id to the JMSMessageID so its identical
@@ -316,6 +338,82 @@ public class JmsProducer extends DefaultAsyncProducer {
         return true;
     }
 
+    /**
+     * Sends the InOnly message asynchronously, where the callback is invoked when the message has been sent,
+     * which for a persistent message is when the broker has acknowledged the message.
+     * <p/>
+     * The messages is sent one by one by a single thread so they are sent in the same order as processed.
+     * If the maximum number of sends is already in flight then the caller blocks until a message has been sent.
+     * <p/>
+     * The exchange continues routing on a thread from a separate thread pool, and not on the sender thread,
+     * as otherwise the single sender thread would process the rest of the route for every exchange.
+     * Notice the exchanges may therefore continue routing in another order than the messages was sent.
+     * <p/>
+     * When the producer is stopped the messages in flight is still sent, and their exchanges continue routing.
+     */
+    protected boolean processAsyncInOnly(final Exchange exchange, final AsyncCallback callback, final String destinationName,
+                                         final Destination destination, final MessageCreator messageCreator,
+                                         final ExecutorService sender, final Semaphore window) {
+        try {
+            window.acquire();
+        } catch (InterruptedException e) {
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+
+        try {
+            sender.submit(new Runnable() {
+                public void run() {
+                    asyncSendThread = Thread.currentThread();
+                    try {
+                        doSend(false, destinationName, destination, messageCreator, null);
+                        // after sending then set the OUT message id to the JMSMessageID so its identical
+                        setMessageId(exchange);
+                    } catch (Throwable e) {
+                        exchange.setException(e);
+                    } finally {
+                        window.release();
+                    }
+                    if (LOG.isTraceEnabled()) {
+                        LOG.trace("Asynchronous send done for exchangeId: " + exchange.getExchangeId() + " continue routing asynchronously");
+                    }
+                    continueRouting(exchange, callback);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // we are stopping so the message cannot be sent
+            window.release();
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+
+        // continue routing asynchronously (when the message has been sent)
+        return false;
+    }
+
+    private void continueRouting(final Exchange exchange, final AsyncCallback callback) {
+        // hand over the exchange so the sender thread is free to send the next message
+        ExecutorService executor = asyncSendCallbackExecutorService;
+        if (executor != null) {
+            try {
+                executor.submit(new Runnable() {
+                    public void run() {
+                        callback.done(false);
+                    }
+                });
+                return;
+            } catch (Throwable e) {
+                // we are stopping so continue routing using the sender thread
+                LOG.debug("Cannot continue routing exchangeId: " + exchange.getExchangeId() + " using thread pool due: "
+                        + e.getMessage() + ", will use the sender thread");
+            }
+        }
+        // the callback must always be invoked, as otherwise the exchange would be in flight forever
+        callback.done(false);
+    }
+
     /**
      * Sends the message using the JmsTemplate.
      *
@@ -410,9 +508,36 @@ public class JmsProducer extends DefaultAsyncProducer {
             // use the generator configured on the camel context
             uuidGenerator = getEndpoint().getCamelContext().getUuidGenerator();
         }
+        if (endpoint.getConfiguration().isAsyncSend() && asyncSendExecutorService == null) {
+            // use a single thread so the messages is sent in order
+            asyncSendExecutorService = getEndpoint().getCamelContext().getExecutorServiceStrategy()
+                    .newSingleThreadExecutor(this, "JmsAsyncSender[" + endpoint.getEndpointConfiguredDestinationName() + "]");
+            asyncSendWindow = new Semaphore(endpoint.getConfiguration().getAsyncSendMaxInFlight());
+            // and continue routing the exchanges in parallel when they have been sent
+            asyncSendCallbackExecutorService = getEndpoint().getCamelContext().getExecutorServiceStrategy()
+                    .newDefaultThreadPool(this, "JmsAsyncSendCallback[" + endpoint.getEndpointConfiguredDestinationName() + "]");
+        }
     }
 
     protected void doStop() throws Exception {
+        ExecutorService sender = asyncSendExecutorService;
+        if (sender != null) {
+            // new messages is sent synchronously from now on
+            asyncSendExecutorService = null;
+            // the messages in flight will still be sent before the thread terminates,
+            // so wait for them to be sent before we shutdown the thread pool they continue routing with
+            getEndpoint().getCamelContext().getExecutorServiceStrategy().shutdown(sender);
+            while (!sender.awaitTermination(ASYNC_SEND_STOP_LOG_INTERVAL, TimeUnit.MILLISECONDS)) {
+                LOG.info("Waiting for messages in flight to be sent before stopping producer for: " + endpoint);
+            }
+        }
+        ExecutorService callbacks = asyncSendCallbackExecutorService;
+        if (callbacks != null) {
+            // the exchanges already handed over still continue routing
+            getEndpoint().getCamelContext().getExecutorServiceStrategy().shutdown(callbacks);
+            asyncSendCallbackExecutorService = null;
+        }
+        asyncSendWindow = null;
         super.doStop();
     }
 }
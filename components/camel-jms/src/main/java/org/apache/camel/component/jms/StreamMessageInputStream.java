@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms;
+
+import java.io.IOException;
+import java.io.InputStream;
+import javax.jms.JMSException;
+import javax.jms.MessageEOFException;
+import javax.jms.StreamMessage;
+
+import org.apache.camel.util.IOHelper;
+
+/**
+ * An {@link InputStream} which reads the <tt>byte[]</tt> fields of a {@link StreamMessage}
+ * directly from the message, as one continuous stream of bytes.
+ * <p/>
+ * Reading a field which is not a <tt>byte[]</tt> fails with an {@link IOException},
+ * so use {@link #isBytesStream(StreamMessage)} to check the message before it is read as a stream.
+ *
+ * @version 
+ */
+public class StreamMessageInputStream extends InputStream {
+
+    private final StreamMessage message;
+    private boolean eof;
+
+    public StreamMessageInputStream(StreamMessage message) {
+        this.message = message;
+    }
+
+    /**
+     * Returns the underlying JMS message
+     */
+    public StreamMessage getMessage() {
+        return message;
+    }
+
+    /**
+     * Whether the first field of the message is a <tt>byte[]</tt>, which means the message is expected to be
+     * a stream of bytes. Only the first field is checked, as the fields cannot be checked without reading them.
+     * <p/>
+     * The message is reset so it can be read from the beginning afterwards.
+     *
+     * @param message the message
+     * @return <tt>true</tt> if the message is empty or the first field is a <tt>byte[]</tt>
+     * @throws JMSException is thrown if the message cannot be read
+     */
+    public static boolean isBytesStream(StreamMessage message) throws JMSException {
+        try {
+            Object field = message.readObject();
+            return field == null || field instanceof byte[];
+        } catch (MessageEOFException e) {
+            // an empty message
+            return true;
+        } finally {
+            message.reset();
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int answer = read(b, 0, 1);
+        return answer == -1 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        byte[] buffer = off == 0 && len == b.length ? b : new byte[len];
+        while (!eof) {
+            try {
+                // -1 is returned at the end of each field, so continue with the next field
+                int answer = message.readBytes(buffer);
+                if (answer > 0) {
+                    if (buffer != b) {
+                        System.arraycopy(buffer, 0, b, off, answer);
+                    }
+                    return answer;
+                }
+            } catch (MessageEOFException e) {
+                eof = true;
+            } catch (JMSException e) {
+                throw IOHelper.createIOException(e);
+            }
+        }
+        return -1;
+    }
+}
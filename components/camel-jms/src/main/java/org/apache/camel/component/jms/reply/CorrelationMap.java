@@ -16,17 +16,50 @@
  */
 package org.apache.camel.component.jms.reply;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.camel.util.DefaultTimeoutMap;
+import org.apache.camel.impl.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.TimeoutMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
+ * A {@link TimeoutMap} of the {@link ReplyHandler}s waiting for a reply by their correlation id.
+ * <p/>
+ * The entries is kept in time buckets by when they expire, with a bucket per purge poll interval,
+ * so a purge only visits the expired buckets instead of scanning all the entries in the map.
+ * There is no global lock, as the map is accessed concurrently by the producers registering replies
+ * and the listener receiving the replies.
+ * <p/>
+ * Timeouts are accurate within the purge poll interval, and unlike
+ * {@link org.apache.camel.util.DefaultTimeoutMap} looking up an entry does not extend its timeout.
+ *
  * @version 
  */
-public class CorrelationMap extends DefaultTimeoutMap<String, ReplyHandler> {
+public class CorrelationMap extends ServiceSupport implements TimeoutMap<String, ReplyHandler> {
+
+    private static final transient Logger LOG = LoggerFactory.getLogger(CorrelationMap.class);
+    private final ConcurrentMap<String, CorrelationEntry> map = new ConcurrentHashMap<String, CorrelationEntry>();
+    private final ConcurrentSkipListMap<Long, Bucket> buckets = new ConcurrentSkipListMap<Long, Bucket>();
+    private final ScheduledExecutorService executor;
+    private final long purgePollTime;
+    private volatile ScheduledFuture<?> future;
 
     public CorrelationMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
-        super(executor, requestMapPollTimeMillis);
+        ObjectHelper.notNull(executor, "ScheduledExecutorService");
+        this.executor = executor;
+        this.purgePollTime = requestMapPollTimeMillis;
     }
 
     public boolean onEviction(String key, ReplyHandler value) {
@@ -36,13 +69,181 @@ public class CorrelationMap extends DefaultTimeoutMap<String, ReplyHandler> {
         return true;
     }
 
-    @Override
+    public ReplyHandler get(String key) {
+        CorrelationEntry entry = map.get(key);
+        return entry != null ? entry.value : null;
+    }
+
     public void put(String key, ReplyHandler value, long timeoutMillis) {
-        if (timeoutMillis <= 0) {
-            // no timeout (must use Integer.MAX_VALUE)
-            super.put(key, value, Integer.MAX_VALUE);
-        } else {
-            super.put(key, value, timeoutMillis);
+        // no timeout if zero or negative
+        CorrelationEntry entry = new CorrelationEntry(key, value, timeoutMillis);
+        CorrelationEntry old = map.put(key, entry);
+        if (old != null) {
+            unschedule(old);
+        }
+        if (timeoutMillis > 0) {
+            schedule(entry, currentTime() + timeoutMillis);
+        }
+    }
+
+    public ReplyHandler remove(String key) {
+        CorrelationEntry entry = map.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        unschedule(entry);
+        return entry.value;
+    }
+
+    public Object[] getKeys() {
+        return map.keySet().toArray();
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Gets the number of time buckets with entries waiting to expire
+     */
+    public int getBucketCount() {
+        return buckets.size();
+    }
+
+    public long getPurgePollTime() {
+        return purgePollTime;
+    }
+
+    /**
+     * The timer task which purges the expired entries
+     */
+    public void run() {
+        // only run if allowed
+        if (!isRunAllowed()) {
+            LOG.trace("Purge task not allowed to run");
+            return;
+        }
+
+        try {
+            purge();
+        } catch (Throwable t) {
+            // must catch and log exception otherwise the executor will now schedule next run
+            LOG.warn("Exception occurred during purge task. This exception will be ignored.", t);
+        }
+    }
+
+    public void purge() {
+        long now = currentTime();
+        long tick = now / purgePollTime;
+
+        // the buckets is sorted by their time so we only need to visit the expired buckets from the head
+        Map.Entry<Long, Bucket> head;
+        while ((head = buckets.firstEntry()) != null && head.getKey() <= tick) {
+            if (!buckets.remove(head.getKey(), head.getValue())) {
+                continue;
+            }
+            for (CorrelationEntry entry : head.getValue().expire()) {
+                // an entry which has been removed or replaced meanwhile is not expired
+                if (!map.remove(entry.key, entry)) {
+                    continue;
+                }
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Evicting inactive correlationID: " + entry.key);
+                }
+                boolean evict = onEviction(entry.key, entry.value);
+                if (!evict && map.putIfAbsent(entry.key, entry) == null) {
+                    // eviction was vetoed so keep the entry for another timeout period
+                    schedule(entry, now + entry.timeout);
+                }
+            }
+        }
+    }
+
+    protected long currentTime() {
+        return System.currentTimeMillis();
+    }
+
+    private void schedule(CorrelationEntry entry, long expireTime) {
+        // round up so the entry is not expired before its timeout
+        long tick = (expireTime + purgePollTime - 1) / purgePollTime;
+        while (true) {
+            Bucket bucket = buckets.get(tick);
+            if (bucket == null) {
+                Bucket created = new Bucket();
+                bucket = buckets.putIfAbsent(tick, created);
+                if (bucket == null) {
+                    bucket = created;
+                }
+            }
+            // the bucket may just have been expired, if so try again with a new bucket
+            if (bucket.add(entry)) {
+                entry.bucket = bucket;
+                return;
+            }
+        }
+    }
+
+    private void unschedule(CorrelationEntry entry) {
+        Bucket bucket = entry.bucket;
+        if (bucket != null) {
+            bucket.remove(entry);
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (executor.isShutdown()) {
+            throw new IllegalStateException("The ScheduledExecutorService is shutdown");
+        }
+        future = executor.scheduleWithFixedDelay(this, purgePollTime, purgePollTime, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+        // clear map if we stop
+        map.clear();
+        buckets.clear();
+    }
+
+    private static final class CorrelationEntry {
+        private final String key;
+        private final ReplyHandler value;
+        private final long timeout;
+        private volatile Bucket bucket;
+
+        private CorrelationEntry(String key, ReplyHandler value, long timeout) {
+            this.key = key;
+            this.value = value;
+            this.timeout = timeout;
+        }
+    }
+
+    /**
+     * The entries which expire within the same purge poll interval
+     */
+    private static final class Bucket {
+        private final Set<CorrelationEntry> entries = new HashSet<CorrelationEntry>();
+        private boolean expired;
+
+        synchronized boolean add(CorrelationEntry entry) {
+            if (expired) {
+                return false;
+            }
+            entries.add(entry);
+            return true;
+        }
+
+        synchronized void remove(CorrelationEntry entry) {
+            entries.remove(entry);
+        }
+
+        synchronized List<CorrelationEntry> expire() {
+            expired = true;
+            return new ArrayList<CorrelationEntry>(entries);
         }
     }
 }
@@ -73,7 +73,8 @@ public class PersistentQueueReplyManager extends ReplyManagerSupport {
     }
 
     protected void handleReplyMessage(String correlationID, Message message) {
-        ReplyHandler handler = correlation.get(correlationID);
+        // remove the handler so the reply is not also processed as a timeout
+        ReplyHandler handler = correlation.remove(correlationID);
         if (handler == null && endpoint.isUseMessageIDAsCorrelationID()) {
             handler = waitForProvisionCorrelationToBeUpdated(correlationID, message);
         }
@@ -86,7 +87,6 @@ public class PersistentQueueReplyManager extends ReplyManagerSupport {
                     // also remember to keep the dynamic selector updated with the new correlation id
                     dynamicMessageSelector.removeCorrelationID(correlationID);
                 }
-                correlation.remove(correlationID);
             }
         } else {
             // we could not correlate the received reply message to a matching request and therefore
@@ -182,9 +182,8 @@ public class PersistentQueueReplyManager extends ReplyManagerSupport {
         answer.setSubscriptionDurable(false);
         answer.setConcurrentConsumers(1);
         answer.setConnectionFactory(endpoint.getConnectionFactory());
-        String clientId = endpoint.getClientId();
+        String clientId = getReplyManagerClientId();
         if (clientId != null) {
-            clientId += ".CamelReplyManager";
             answer.setClientId(clientId);
         }
         // must use cache level session
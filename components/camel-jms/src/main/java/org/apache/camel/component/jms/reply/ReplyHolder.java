@@ -34,6 +34,7 @@ public class ReplyHolder {
     private final Message message;
     private final String originalCorrelationId;
     private long timeout;
+    private long elapsed;
 
     /**
      * Constructor to use when a reply message was received
@@ -45,6 +46,14 @@ public class ReplyHolder {
         this.message = message;
     }
 
+    /**
+     * Constructor to use when a reply message was received
+     */
+    public ReplyHolder(Exchange exchange, AsyncCallback callback, String originalCorrelationId, Message message, long elapsed) {
+        this(exchange, callback, originalCorrelationId, message);
+        this.elapsed = elapsed;
+    }
+
     /**
      * Constructor to use when a timeout occurred
      */
@@ -97,4 +106,11 @@ public class ReplyHolder {
     public long getRequestTimeout() {
         return timeout;
     }
+
+    /**
+     * The time in millis from the request was registered until the reply was received
+     */
+    public long getElapsed() {
+        return elapsed;
+    }
 }
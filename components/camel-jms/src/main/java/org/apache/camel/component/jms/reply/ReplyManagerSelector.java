@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms.reply;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.apache.camel.component.jms.JmsEndpoint;
+import org.apache.camel.impl.ServiceSupport;
+import org.apache.camel.util.ServiceHelper;
+
+/**
+ * Selects the {@link ReplyManager} to use for a request, when the replies is sharded among several
+ * reply managers to scale request-reply over JMS with many concurrent requests.
+ * <p/>
+ * Each shard is a {@link ReplyManager} with its own reply listener and correlation map, so the shards
+ * do not share any state. The shard for a request is selected by the hash of its correlation id,
+ * and the selected shard must be used for the reply to destination, the selector header, registering
+ * the reply and updating the correlation id of the request. When using a persistent reply queue each
+ * shard only selects the replies of its own requests, which keeps the message selectors small.
+ *
+ * @version 
+ */
+public class ReplyManagerSelector extends ServiceSupport {
+
+    private final List<ReplyManager> shards;
+
+    public ReplyManagerSelector(List<? extends ReplyManager> shards) {
+        if (shards == null || shards.isEmpty()) {
+            throw new IllegalArgumentException("There must be at least one shard");
+        }
+        this.shards = new ArrayList<ReplyManager>(shards);
+    }
+
+    /**
+     * Gets the reply managers of the shards
+     */
+    public List<ReplyManager> getShards() {
+        return Collections.unmodifiableList(shards);
+    }
+
+    public void setEndpoint(JmsEndpoint endpoint) {
+        for (ReplyManager shard : shards) {
+            shard.setEndpoint(endpoint);
+        }
+    }
+
+    public void setScheduledExecutorService(ScheduledExecutorService executorService) {
+        for (ReplyManager shard : shards) {
+            shard.setScheduledExecutorService(executorService);
+        }
+    }
+
+    /**
+     * Selects the reply manager to use for the request with the given correlation id.
+     *
+     * @param correlationId  the correlation id of the request
+     * @return the reply manager to use
+     */
+    public ReplyManager select(String correlationId) {
+        if (correlationId == null || shards.size() == 1) {
+            return shards.get(0);
+        }
+        int index = (correlationId.hashCode() & Integer.MAX_VALUE) % shards.size();
+        return shards.get(index);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ServiceHelper.startServices(shards);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        ServiceHelper.stopServices(shards);
+    }
+
+    @Override
+    public String toString() {
+        if (shards.size() == 1) {
+            return shards.get(0).toString();
+        }
+        return "ReplyManagerSelector[" + shards.size() + " shards]";
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.camel.component.jms.reply;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.jms.Destination;
 import javax.jms.JMSException;
 import javax.jms.Message;
@@ -51,6 +52,11 @@ public abstract class ReplyManagerSupport extends ServiceSupport implements Repl
     protected final CountDownLatch replyToLatch = new CountDownLatch(1);
     protected final long replyToTimeout = 10000;
     protected CorrelationMap correlation;
+    private final AtomicLong replyCounter = new AtomicLong();
+    private final AtomicLong timeoutCounter = new AtomicLong();
+    private final AtomicLong totalReplyTime = new AtomicLong();
+    private final AtomicLong maxReplyTime = new AtomicLong();
+    private int shard = -1;
 
     public void setScheduledExecutorService(ScheduledExecutorService executorService) {
         this.executorService = executorService;
@@ -69,6 +75,63 @@ public abstract class ReplyManagerSupport extends ServiceSupport implements Repl
         replyToLatch.countDown();
     }
 
+    /**
+     * Gets the index of this reply manager when the replies is sharded among several reply managers,
+     * or <tt>-1</tt> if not sharded.
+     */
+    public int getShard() {
+        return shard;
+    }
+
+    public void setShard(int shard) {
+        this.shard = shard;
+    }
+
+    /**
+     * Gets the number of requests waiting for a reply
+     */
+    public int getPendingReplies() {
+        return correlation != null ? correlation.size() : 0;
+    }
+
+    /**
+     * Gets the number of replies received
+     */
+    public long getReplyCount() {
+        return replyCounter.get();
+    }
+
+    /**
+     * Gets the number of requests which timed out waiting for a reply
+     */
+    public long getTimeoutCount() {
+        return timeoutCounter.get();
+    }
+
+    /**
+     * Gets the mean time in millis from a request was sent until its reply was received
+     */
+    public long getMeanReplyTime() {
+        long count = replyCounter.get();
+        return count > 0 ? totalReplyTime.get() / count : 0;
+    }
+
+    /**
+     * Gets the maximum time in millis from a request was sent until its reply was received
+     */
+    public long getMaxReplyTime() {
+        return maxReplyTime.get();
+    }
+
+    /**
+     * Gets the reply statistics as a single line of text
+     */
+    public String getStatistics() {
+        return "shard=" + shard + ", replyTo=" + replyTo + ", pending=" + getPendingReplies()
+                + ", replies=" + getReplyCount() + ", timeouts=" + getTimeoutCount()
+                + ", meanReplyTime=" + getMeanReplyTime() + ", maxReplyTime=" + getMaxReplyTime();
+    }
+
     public Destination getReplyTo() {
         if (replyTo != null) {
             return replyTo;
@@ -116,6 +179,7 @@ public abstract class ReplyManagerSupport extends ServiceSupport implements Repl
             Message message = holder.getMessage();
 
             boolean timeout = holder.isTimeout();
+            updateStatistics(holder);
             if (timeout) {
                 // no response, so lets set a timed out exception
                 exchange.setException(new ExchangeTimedOutException(exchange, holder.getRequestTimeout()));
@@ -151,6 +215,37 @@ public abstract class ReplyManagerSupport extends ServiceSupport implements Repl
         }
     }
 
+    protected void updateStatistics(ReplyHolder holder) {
+        if (holder.isTimeout()) {
+            timeoutCounter.incrementAndGet();
+            return;
+        }
+
+        long elapsed = holder.getElapsed();
+        replyCounter.incrementAndGet();
+        totalReplyTime.addAndGet(elapsed);
+        long max = maxReplyTime.get();
+        while (elapsed > max && !maxReplyTime.compareAndSet(max, elapsed)) {
+            max = maxReplyTime.get();
+        }
+    }
+
+    /**
+     * Gets the client id to use for the reply listener container, which must be unique
+     * for each shard as each shard uses its own connection.
+     */
+    protected String getReplyManagerClientId() {
+        String clientId = endpoint.getClientId();
+        if (clientId == null) {
+            return null;
+        }
+        clientId += ".CamelReplyManager";
+        if (shard >= 0) {
+            clientId += "-" + shard;
+        }
+        return clientId;
+    }
+
     protected abstract void handleReplyMessage(String correlationID, Message message);
 
     protected abstract AbstractMessageListenerContainer createListenerContainer() throws Exception;
@@ -186,7 +281,7 @@ public abstract class ReplyManagerSupport extends ServiceSupport implements Repl
             }
 
             // try again
-            answer = correlation.get(correlationID);
+            answer = correlation.remove(correlationID);
             done = answer != null;
 
             if (answer != null) {
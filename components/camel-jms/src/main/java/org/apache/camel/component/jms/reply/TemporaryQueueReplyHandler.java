@@ -35,6 +35,7 @@ public class TemporaryQueueReplyHandler implements ReplyHandler {
     // remember the original correlation id, in case the server returns back a reply with a messed up correlation id
     protected final String originalCorrelationId;
     protected final long timeout;
+    protected final long created = System.currentTimeMillis();
 
     public TemporaryQueueReplyHandler(ReplyManager replyManager, Exchange exchange, AsyncCallback callback,
                                       String originalCorrelationId, long timeout) {
@@ -47,7 +48,7 @@ public class TemporaryQueueReplyHandler implements ReplyHandler {
 
     public void onReply(String correlationId, Message reply) {
         // create holder object with the the reply
-        ReplyHolder holder = new ReplyHolder(exchange, callback, originalCorrelationId, reply);
+        ReplyHolder holder = new ReplyHolder(exchange, callback, originalCorrelationId, reply, System.currentTimeMillis() - created);
         // process the reply
         replyManager.processReply(holder);
     }
@@ -54,17 +54,14 @@ public class TemporaryQueueReplyManager extends ReplyManagerSupport {
 
     @Override
     protected void handleReplyMessage(String correlationID, Message message) {
-        ReplyHandler handler = correlation.get(correlationID);
+        // remove the handler so the reply is not also processed as a timeout
+        ReplyHandler handler = correlation.remove(correlationID);
         if (handler == null && endpoint.isUseMessageIDAsCorrelationID()) {
             handler = waitForProvisionCorrelationToBeUpdated(correlationID, message);
         }
 
         if (handler != null) {
-            try {
-                handler.onReply(correlationID, message);
-            } finally {
-                correlation.remove(correlationID);
-            }
+            handler.onReply(correlationID, message);
         } else {
             // we could not correlate the received reply message to a matching request and therefore
             // we cannot continue routing the unknown message
@@ -99,9 +96,8 @@ public class TemporaryQueueReplyManager extends ReplyManagerSupport {
         answer.setSubscriptionDurable(false);
         answer.setConcurrentConsumers(1);
         answer.setConnectionFactory(endpoint.getConnectionFactory());
-        String clientId = endpoint.getClientId();
+        String clientId = getReplyManagerClientId();
         if (clientId != null) {
-            clientId += ".CamelReplyManager";
             answer.setClientId(clientId);
         }
 
@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+
+import org.apache.activemq.command.ActiveMQBytesMessage;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit test for {@link BytesMessageInputStream} using an in memory message, so no broker is needed.
+ *
+ * @version 
+ */
+public class BytesMessageInputStreamTest {
+
+    @Test
+    public void testReadSingleBytes() throws Exception {
+        InputStream is = new BytesMessageInputStream(createMessage("ABC"));
+        assertEquals(3, is.available());
+        assertEquals('A', is.read());
+        assertEquals('B', is.read());
+        assertEquals(1, is.available());
+        assertEquals('C', is.read());
+        assertEquals(-1, is.read());
+        assertEquals(0, is.available());
+    }
+
+    @Test
+    public void testReadUnsigned() throws Exception {
+        ActiveMQBytesMessage message = new ActiveMQBytesMessage();
+        message.writeBytes(new byte[]{(byte) 0xff, 0x01});
+        message.reset();
+
+        InputStream is = new BytesMessageInputStream(message);
+        assertEquals(255, is.read());
+        assertEquals(1, is.read());
+        assertEquals(-1, is.read());
+    }
+
+    @Test
+    public void testPartialReads() throws Exception {
+        InputStream is = new BytesMessageInputStream(createMessage("Hello World"));
+
+        byte[] buffer = new byte[4];
+        assertEquals(4, is.read(buffer, 0, 4));
+        assertEquals("Hell", new String(buffer));
+        assertEquals(7, is.available());
+
+        // only the remaining bytes is read at the end of the message
+        assertEquals(4, is.read(buffer, 0, 4));
+        assertEquals(3, is.read(buffer, 0, 4));
+        assertEquals("rld", new String(buffer, 0, 3));
+        assertEquals(-1, is.read(buffer, 0, 4));
+        assertEquals(0, is.read(buffer, 0, 0));
+    }
+
+    @Test
+    public void testReadWithOffset() throws Exception {
+        InputStream is = new BytesMessageInputStream(createMessage("Hello World"));
+
+        byte[] buffer = "**********".getBytes();
+        assertEquals(5, is.read(buffer, 3, 5));
+        assertEquals("***Hello**", new String(buffer));
+
+        assertEquals(" World", readAll(is, 4));
+    }
+
+    @Test
+    public void testReadLargeBody() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            sb.append(i % 10);
+        }
+        InputStream is = new BytesMessageInputStream(createMessage(sb.toString()));
+        assertEquals(10000, is.available());
+        assertEquals(sb.toString(), readAll(is, 333));
+    }
+
+    private static ActiveMQBytesMessage createMessage(String body) throws Exception {
+        ActiveMQBytesMessage message = new ActiveMQBytesMessage();
+        message.writeBytes(body.getBytes());
+        // make the message readable as if it was received
+        message.reset();
+        return message;
+    }
+
+    /**
+     * Reads the stream in chunks of the given size into an array at an offset
+     */
+    static String readAll(InputStream is, int chunk) throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        byte[] buffer = new byte[chunk + 2];
+        int len;
+        while ((len = is.read(buffer, 2, chunk)) != -1) {
+            bos.write(buffer, 2, len);
+        }
+        return bos.toString();
+    }
+}
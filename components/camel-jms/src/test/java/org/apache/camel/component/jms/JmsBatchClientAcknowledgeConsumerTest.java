@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms;
+
+import javax.jms.ConnectionFactory;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.Test;
+
+import static org.apache.camel.component.jms.JmsComponent.jmsComponentAutoAcknowledge;
+import static org.apache.camel.component.jms.JmsComponent.jmsComponentClientAcknowledge;
+
+/**
+ * Unit test for consuming messages in batches using CLIENT_ACKNOWLEDGE mode.
+ *
+ * @version 
+ */
+public class JmsBatchClientAcknowledgeConsumerTest extends CamelTestSupport {
+
+    @Test
+    public void testFailureInTheMiddleOfBatch() throws Exception {
+        // the messages after the failed message must not be lost, as the whole batch is redelivered
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("A", "Kabom", "A", "Kabom", "C");
+
+        template.sendBody("activemq:queue:batch", "A");
+        template.sendBody("activemq:queue:batch", "Kabom");
+        template.sendBody("activemq:queue:batch", "C");
+        context.startRoute("batch");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testBatchRequiresAcknowledgeOnCommit() throws Exception {
+        try {
+            context.getEndpoint("auto:queue:auto?batchSize=5").createConsumer(new Processor() {
+                public void process(Exchange exchange) throws Exception {
+                    // noop
+                }
+            });
+            fail("Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Property batchSize: 5 requires transacted or CLIENT_ACKNOWLEDGE mode"));
+        }
+    }
+
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext camelContext = super.createCamelContext();
+
+        ConnectionFactory connectionFactory = CamelJmsTestHelper.createConnectionFactory();
+        camelContext.addComponent("activemq", jmsComponentClientAcknowledge(connectionFactory));
+        camelContext.addComponent("auto", jmsComponentAutoAcknowledge(connectionFactory));
+        return camelContext;
+    }
+
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from("activemq:queue:batch?batchSize=3&batchTimeout=2000").routeId("batch").noAutoStartup()
+                    .to("mock:result")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            // fail the first time only
+                            boolean redelivered = exchange.getIn().getHeader("JMSRedelivered", Boolean.class);
+                            if ("Kabom".equals(exchange.getIn().getBody()) && !redelivered) {
+                                throw new IllegalArgumentException("Damn");
+                            }
+                        }
+                    });
+            }
+        };
+    }
+}
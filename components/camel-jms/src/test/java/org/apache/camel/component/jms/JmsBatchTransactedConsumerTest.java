@@ -0,0 +1,112 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms;
+
+import java.util.List;
+import javax.jms.ConnectionFactory;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.Test;
+
+import static org.apache.camel.component.jms.JmsComponent.jmsComponentTransacted;
+
+/**
+ * Unit test for consuming messages in transacted batches.
+ *
+ * @version 
+ */
+public class JmsBatchTransactedConsumerTest extends CamelTestSupport {
+
+    @Test
+    public void testBatch() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(10);
+        mock.message(0).property(Exchange.BATCH_INDEX).isEqualTo(0);
+        mock.message(0).property(Exchange.BATCH_SIZE).isEqualTo(5);
+        mock.message(4).property(Exchange.BATCH_COMPLETE).isEqualTo(true);
+        mock.message(9).property(Exchange.BATCH_INDEX).isEqualTo(4);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("activemq:queue:batch", "Message " + i);
+        }
+        context.startRoute("batch");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testBatchRollback() throws Exception {
+        // the batch is rolled back as a whole so A is redelivered even though it was processed
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMinimumMessageCount(2);
+        mock.allMessages().body().isEqualTo("A");
+
+        template.sendBody("activemq:queue:rollback", "A");
+        template.sendBody("activemq:queue:rollback", "Kabom");
+        template.sendBody("activemq:queue:rollback", "C");
+        context.startRoute("rollback");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testBatchGroupExchanges() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:group");
+        mock.expectedMessageCount(2);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("activemq:queue:group", "Message " + i);
+        }
+        context.startRoute("group");
+
+        assertMockEndpointsSatisfied();
+
+        List<?> grouped = mock.getReceivedExchanges().get(0).getProperty(Exchange.GROUPED_EXCHANGE, List.class);
+        assertEquals(5, grouped.size());
+        assertEquals("Message 0", ((Exchange) grouped.get(0)).getIn().getBody(String.class));
+    }
+
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext camelContext = super.createCamelContext();
+
+        ConnectionFactory connectionFactory = CamelJmsTestHelper.createConnectionFactory();
+        camelContext.addComponent("activemq", jmsComponentTransacted(connectionFactory));
+        return camelContext;
+    }
+
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from("activemq:queue:batch?batchSize=5&batchTimeout=2000").routeId("batch").noAutoStartup()
+                    .to("mock:result");
+
+                from("activemq:queue:rollback?batchSize=3&batchTimeout=2000").routeId("rollback").noAutoStartup()
+                    .filter(body().isEqualTo("Kabom"))
+                        .throwException(new IllegalArgumentException("Damn"))
+                    .end()
+                    .to("mock:result");
+
+                from("activemq:queue:group?batchSize=5&batchTimeout=2000&batchGroupExchanges=true").routeId("group").noAutoStartup()
+                    .to("mock:group");
+            }
+        };
+    }
+}
@@ -17,9 +17,13 @@
 package org.apache.camel.component.jms;
 
 import org.apache.activemq.command.ActiveMQBlobMessage;
+import org.apache.activemq.command.ActiveMQBytesMessage;
+import org.apache.activemq.command.ActiveMQStreamMessage;
 import org.junit.Test;
 
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @version 
@@ -31,4 +35,28 @@ public class JmsBindingTest {
         JmsBinding underTest = new JmsBinding();
         assertNull(underTest.extractBodyFromJms(null, new ActiveMQBlobMessage()));
     }
+
+    @Test
+    public void testStreamMessageBody() throws Exception {
+        JmsEndpoint endpoint = new JmsEndpoint("jms:queue:foo", "foo", false);
+        endpoint.setStreamMessageBody(true);
+        JmsBinding underTest = endpoint.getBinding();
+
+        ActiveMQBytesMessage bytes = new ActiveMQBytesMessage();
+        bytes.writeBytes("Hello World".getBytes());
+        bytes.reset();
+        assertTrue(underTest.extractBodyFromJms(null, bytes) instanceof BytesMessageInputStream);
+
+        ActiveMQStreamMessage stream = new ActiveMQStreamMessage();
+        stream.writeBytes("Hello World".getBytes());
+        stream.reset();
+        assertTrue(underTest.extractBodyFromJms(null, stream) instanceof StreamMessageInputStream);
+
+        // a stream message which is not a stream of bytes should be the body as is
+        ActiveMQStreamMessage mixed = new ActiveMQStreamMessage();
+        mixed.writeString("Hello");
+        mixed.writeBytes("World".getBytes());
+        mixed.reset();
+        assertSame(mixed, underTest.extractBodyFromJms(null, mixed));
+    }
 }
@@ -0,0 +1,168 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.jms.ConnectionFactory;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.apache.camel.util.ServiceHelper;
+import org.apache.camel.util.StopWatch;
+import org.junit.Test;
+import org.springframework.jms.core.JmsTemplate;
+
+import static org.apache.camel.component.jms.JmsComponent.jmsComponentAutoAcknowledge;
+
+/**
+ * Unit test for sending using cached sessions and asynchronous InOnly sends.
+ *
+ * @version 
+ */
+public class JmsProducerSessionCacheAndAsyncSendTest extends CamelTestSupport {
+
+    private static final int SIZE = 200;
+
+    @Test
+    public void testProducerSessionCache() throws Exception {
+        List<String> bodies = createBodies();
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived(bodies);
+
+        StopWatch watch = new StopWatch();
+        for (String body : bodies) {
+            template.sendBody("activemq:queue:cached?producerSessionCacheSize=5", body);
+        }
+        log.info("Sending " + SIZE + " messages using cached sessions took " + watch.stop() + " millis");
+
+        assertMockEndpointsSatisfied();
+
+        JmsEndpoint endpoint = context.getEndpoint("activemq:queue:cached?producerSessionCacheSize=5", JmsEndpoint.class);
+        assertNotNull(endpoint.getSessionCachingConnectionFactory());
+    }
+
+    @Test
+    public void testProducerSessionCacheNotUsedWhenTransacted() throws Exception {
+        JmsEndpoint endpoint = context.getEndpoint("activemq:queue:cached?producerSessionCacheSize=5&transacted=true", JmsEndpoint.class);
+
+        // the cached sessions is not bound to the transaction so they must not be used
+        JmsTemplate template = (JmsTemplate) endpoint.getConfiguration().createInOnlyTemplate(endpoint, false, "cached");
+        assertNotSame(endpoint.getSessionCachingConnectionFactory(), template.getConnectionFactory());
+    }
+
+    @Test
+    public void testAsyncSend() throws Exception {
+        List<String> bodies = createBodies();
+
+        // the messages should be sent and received in the same order
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived(bodies);
+
+        // and continue routing using the callback thread pool when the message has been sent
+        MockEndpoint sent = getMockEndpoint("mock:sent");
+        sent.expectedMessageCount(SIZE);
+        sent.allMessages().property("sentBy").contains("JmsAsyncSendCallback");
+
+        StopWatch watch = new StopWatch();
+        for (String body : bodies) {
+            template.sendBody("seda:start", body);
+        }
+
+        assertMockEndpointsSatisfied();
+        log.info("Sending " + SIZE + " messages asynchronously took " + watch.stop() + " millis");
+    }
+
+    @Test
+    public void testStopWhileSending() throws Exception {
+        List<String> bodies = createBodies();
+
+        MockEndpoint mock = getMockEndpoint("mock:stopped");
+        mock.expectedBodiesReceived(bodies);
+
+        JmsEndpoint endpoint = context.getEndpoint("activemq:queue:stop?asyncSend=true&asyncSendMaxInFlight=" + SIZE, JmsEndpoint.class);
+        JmsProducer producer = (JmsProducer) endpoint.createProducer();
+        ServiceHelper.startService(producer);
+
+        final CountDownLatch latch = new CountDownLatch(SIZE);
+        final List<Exchange> exchanges = new ArrayList<Exchange>(SIZE);
+        for (String body : bodies) {
+            Exchange exchange = endpoint.createExchange();
+            exchange.getIn().setBody(body);
+            exchanges.add(exchange);
+            producer.process(exchange, new AsyncCallback() {
+                public void done(boolean doneSync) {
+                    latch.countDown();
+                }
+            });
+        }
+
+        // stop while the messages is still being sent, which should send the messages in flight
+        ServiceHelper.stopService(producer);
+
+        assertTrue("Every exchange should continue routing", latch.await(20, TimeUnit.SECONDS));
+        for (Exchange exchange : exchanges) {
+            assertNull("Should not fail: " + exchange, exchange.getException());
+        }
+        assertMockEndpointsSatisfied();
+    }
+
+    private static List<String> createBodies() {
+        List<String> bodies = new ArrayList<String>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            bodies.add("Message " + i);
+        }
+        return bodies;
+    }
+
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext camelContext = super.createCamelContext();
+
+        ConnectionFactory connectionFactory = CamelJmsTestHelper.createConnectionFactory();
+        camelContext.addComponent("activemq", jmsComponentAutoAcknowledge(connectionFactory));
+        return camelContext;
+    }
+
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from("seda:start")
+                    .to("activemq:queue:async?asyncSend=true&asyncSendMaxInFlight=50&producerSessionCacheSize=1")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            exchange.setProperty("sentBy", Thread.currentThread().getName());
+                        }
+                    })
+                    .to("mock:sent");
+
+                from("activemq:queue:cached").to("mock:result");
+
+                from("activemq:queue:async").to("mock:result");
+
+                from("activemq:queue:stop").to("mock:stopped");
+            }
+        };
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.jms.ConnectionFactory;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.jms.reply.ReplyManager;
+import org.apache.camel.component.jms.reply.ReplyManagerSelector;
+import org.apache.camel.component.jms.reply.ReplyManagerSupport;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.Test;
+
+import static org.apache.camel.component.jms.JmsComponent.jmsComponentAutoAcknowledge;
+
+/**
+ * Unit test for request-reply over JMS with the replies sharded among several reply managers.
+ *
+ * @version 
+ */
+public class JmsRequestReplyShardedTest extends CamelTestSupport {
+
+    private static final int SIZE = 200;
+
+    @Test
+    public void testShardedTemporaryQueue() throws Exception {
+        doSendMessages("direct:temporary");
+
+        JmsEndpoint endpoint = context.getEndpoint("activemq:queue:foo?replyManagerShards=4", JmsEndpoint.class);
+        assertShards(endpoint.getReplyManager());
+    }
+
+    @Test
+    public void testShardedPersistentQueue() throws Exception {
+        doSendMessages("direct:persistent");
+
+        JmsEndpoint endpoint = context.getEndpoint("activemq:queue:foo?replyTo=bar&replyManagerShards=4", JmsEndpoint.class);
+        assertShards(endpoint.getReplyManager("bar"));
+    }
+
+    @Test
+    public void testShardedMessageIdAsCorrelationId() throws Exception {
+        doSendMessages("direct:messageId");
+
+        // the correlation id is updated on the shard which registered the reply
+        JmsEndpoint endpoint = context.getEndpoint("activemq:queue:foo?replyManagerShards=4&useMessageIDAsCorrelationID=true", JmsEndpoint.class);
+        assertShards(endpoint.getReplyManager());
+    }
+
+    private void doSendMessages(final String uri) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        List<Future<String>> futures = new ArrayList<Future<String>>();
+        for (int i = 0; i < SIZE; i++) {
+            final int index = i;
+            futures.add(executor.submit(new Callable<String>() {
+                public String call() throws Exception {
+                    return template.requestBody(uri, "Message " + index, String.class);
+                }
+            }));
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals("Bye Message " + i, futures.get(i).get());
+        }
+        executor.shutdownNow();
+    }
+
+    private void assertShards(ReplyManagerSelector selector) {
+        assertEquals(4, selector.getShards().size());
+
+        long total = 0;
+        for (ReplyManager shard : selector.getShards()) {
+            ReplyManagerSupport support = (ReplyManagerSupport) shard;
+            log.info("Reply statistics: " + support.getStatistics());
+            // the replies should be spread among the shards
+            assertTrue("Shard should have received replies", support.getReplyCount() > 0);
+            assertEquals(0, support.getTimeoutCount());
+            assertEquals(0, support.getPendingReplies());
+            total += support.getReplyCount();
+        }
+        assertEquals(SIZE, total);
+    }
+
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext camelContext = super.createCamelContext();
+
+        ConnectionFactory connectionFactory = CamelJmsTestHelper.createConnectionFactory();
+        camelContext.addComponent("activemq", jmsComponentAutoAcknowledge(connectionFactory));
+        return camelContext;
+    }
+
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from("direct:temporary").to("activemq:queue:foo?replyManagerShards=4");
+
+                from("direct:persistent").to("activemq:queue:foo?replyTo=bar&replyManagerShards=4");
+
+                from("direct:messageId").to("activemq:queue:foo?replyManagerShards=4&useMessageIDAsCorrelationID=true");
+
+                from("activemq:queue:foo?concurrentConsumers=5").transform(body().prepend("Bye "));
+            }
+        };
+    }
+}
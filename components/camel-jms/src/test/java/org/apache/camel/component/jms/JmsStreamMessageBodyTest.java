@@ -0,0 +1,116 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms;
+
+import java.io.File;
+import java.io.InputStream;
+import javax.jms.ConnectionFactory;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.apache.camel.component.jms.JmsComponent.jmsComponentAutoAcknowledge;
+
+/**
+ * Unit test for streaming the body of a BytesMessage and extracting the headers lazily.
+ *
+ * @version 
+ */
+public class JmsStreamMessageBodyTest extends CamelTestSupport {
+
+    private static final int SIZE = 1024 * 1024;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        deleteDirectory("target/stream");
+        super.setUp();
+    }
+
+    @Test
+    public void testStreamBytesMessageToFile() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+        mock.message(0).property("bodyType").isEqualTo(BytesMessageInputStream.class.getName());
+
+        byte[] data = new byte[SIZE];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        template.sendBody("activemq:queue:stream", data);
+
+        assertMockEndpointsSatisfied();
+
+        File file = new File("target/stream/data.bin").getAbsoluteFile();
+        assertTrue("File should exist", file.exists());
+        assertEquals(SIZE, file.length());
+    }
+
+    @Test
+    public void testLazyHeaders() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:lazy");
+        mock.expectedBodiesReceived("Hello World");
+        mock.message(0).property("populated").isEqualTo(Boolean.FALSE);
+
+        template.sendBodyAndHeader("activemq:queue:lazy", "Hello World", "foo", "123");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext camelContext = super.createCamelContext();
+
+        ConnectionFactory connectionFactory = CamelJmsTestHelper.createConnectionFactory();
+        camelContext.addComponent("activemq", jmsComponentAutoAcknowledge(connectionFactory));
+        return camelContext;
+    }
+
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from("activemq:queue:stream?streamMessageBody=true")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            InputStream is = exchange.getIn().getBody(InputStream.class);
+                            exchange.setProperty("bodyType", is.getClass().getName());
+                        }
+                    })
+                    .to("file:target/stream?fileName=data.bin")
+                    .to("mock:result");
+
+                from("activemq:queue:lazy")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            JmsMessage in = exchange.getIn(JmsMessage.class);
+                            // looking up single headers should not extract all the headers
+                            assertEquals("123", in.getHeader("foo"));
+                            assertNotNull(in.getHeader("JMSMessageID"));
+                            assertNotNull(in.getHeader("JMSDestination"));
+                            exchange.setProperty("populated", in.shouldCreateNewMessage());
+                        }
+                    })
+                    .to("mock:lazy");
+            }
+        };
+    }
+}
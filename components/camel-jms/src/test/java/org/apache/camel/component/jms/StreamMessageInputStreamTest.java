@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.activemq.command.ActiveMQStreamMessage;
+import org.junit.Test;
+
+import static org.apache.camel.component.jms.BytesMessageInputStreamTest.readAll;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit test for {@link StreamMessageInputStream} using an in memory message, so no broker is needed.
+ *
+ * @version 
+ */
+public class StreamMessageInputStreamTest {
+
+    @Test
+    public void testReadSingleBytes() throws Exception {
+        ActiveMQStreamMessage message = new ActiveMQStreamMessage();
+        message.writeBytes("AB".getBytes());
+        message.writeBytes(new byte[]{(byte) 0xff});
+        message.reset();
+
+        InputStream is = new StreamMessageInputStream(message);
+        assertEquals('A', is.read());
+        assertEquals('B', is.read());
+        assertEquals(255, is.read());
+        assertEquals(-1, is.read());
+        assertEquals(-1, is.read());
+    }
+
+    @Test
+    public void testMultipleFields() throws Exception {
+        ActiveMQStreamMessage message = new ActiveMQStreamMessage();
+        message.writeBytes("Hello ".getBytes());
+        message.writeBytes("Camel ".getBytes());
+        message.writeBytes(new byte[0]);
+        message.writeBytes("World".getBytes());
+        message.reset();
+
+        // the fields is read as one continuous stream
+        assertEquals("Hello Camel World", readAll(new StreamMessageInputStream(message), 4));
+    }
+
+    @Test
+    public void testPartialReads() throws Exception {
+        ActiveMQStreamMessage message = new ActiveMQStreamMessage();
+        message.writeBytes("Hello".getBytes());
+        message.writeBytes("World".getBytes());
+        message.reset();
+
+        InputStream is = new StreamMessageInputStream(message);
+        byte[] buffer = new byte[4];
+        assertEquals(4, is.read(buffer, 0, 4));
+        assertEquals("Hell", new String(buffer));
+
+        // a read does not span fields
+        assertEquals(1, is.read(buffer, 0, 4));
+        assertEquals('o', buffer[0]);
+        assertEquals(4, is.read(buffer, 0, 4));
+        assertEquals("Worl", new String(buffer));
+        assertEquals(1, is.read(buffer, 0, 4));
+        assertEquals('d', buffer[0]);
+        assertEquals(-1, is.read(buffer, 0, 4));
+        assertEquals(0, is.read(buffer, 0, 0));
+    }
+
+    @Test
+    public void testReadWithOffset() throws Exception {
+        ActiveMQStreamMessage message = new ActiveMQStreamMessage();
+        message.writeBytes("Hello".getBytes());
+        message.writeBytes(" World".getBytes());
+        message.reset();
+
+        InputStream is = new StreamMessageInputStream(message);
+        byte[] buffer = "**********".getBytes();
+        assertEquals(3, is.read(buffer, 6, 3));
+        assertEquals("******Hel*", new String(buffer));
+
+        assertEquals("lo World", readAll(is, 3));
+    }
+
+    @Test
+    public void testNotBytesFieldFails() throws Exception {
+        ActiveMQStreamMessage message = new ActiveMQStreamMessage();
+        message.writeBytes("Hello".getBytes());
+        message.writeString("World");
+        message.reset();
+
+        InputStream is = new StreamMessageInputStream(message);
+        assertEquals(5, is.read(new byte[10], 0, 10));
+        try {
+            is.read(new byte[10], 0, 10);
+            fail("Should have thrown an exception");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testIsBytesStream() throws Exception {
+        ActiveMQStreamMessage message = new ActiveMQStreamMessage();
+        message.writeBytes("Hello".getBytes());
+        message.writeBytes("World".getBytes());
+        message.reset();
+
+        assertTrue(StreamMessageInputStream.isBytesStream(message));
+        // the message should be reset so it can be read from the beginning
+        assertEquals("HelloWorld", readAll(new StreamMessageInputStream(message), 10));
+
+        ActiveMQStreamMessage empty = new ActiveMQStreamMessage();
+        empty.reset();
+        assertTrue(StreamMessageInputStream.isBytesStream(empty));
+    }
+
+    @Test
+    public void testIsNotBytesStream() throws Exception {
+        ActiveMQStreamMessage message = new ActiveMQStreamMessage();
+        message.writeString("Hello");
+        message.writeBytes("World".getBytes());
+        message.reset();
+
+        assertFalse(StreamMessageInputStream.isBytesStream(message));
+        assertEquals("Hello", message.readString());
+    }
+}
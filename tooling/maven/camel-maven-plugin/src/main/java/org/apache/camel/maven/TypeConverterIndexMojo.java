@@ -0,0 +1,130 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.maven;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringTokenizer;
+
+import org.apache.camel.impl.DefaultPackageScanClassResolver;
+import org.apache.camel.impl.converter.AnnotationTypeConverterLoader;
+import org.apache.camel.impl.converter.IndexingTypeConverterLoader;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Generates an index of the type converters in the project, so Camel can register
+ * the type converters on startup without scanning the packages for <tt>@Converter</tt> classes.
+ * <p/>
+ * The packages to index is read from the <tt>META-INF/services/org/apache/camel/TypeConverter</tt> file
+ * in the project, and the index is written next to that file.
+ * <p/>
+ * This goal cannot be used by camel-core as this plugin depends on camel-core,
+ * so the type converters of camel-core is still found by scanning its packages.
+ *
+ * @goal type-converter-index
+ * @requiresDependencyResolution compile
+ * @phase process-classes
+ */
+public class TypeConverterIndexMojo extends AbstractMojo {
+
+    /**
+     * The output directory with the compiled classes of the project.
+     *
+     * @parameter expression="${project.build.outputDirectory}"
+     * @required
+     */
+    private File outputDirectory;
+
+    /**
+     * Reference to Maven 2 Project.
+     *
+     * @parameter expression="${project}"
+     * @required
+     * @readonly
+     */
+    private MavenProject project;
+
+    public void execute() throws MojoExecutionException {
+        File services = new File(outputDirectory, AnnotationTypeConverterLoader.META_INF_SERVICES);
+        if (!services.exists()) {
+            getLog().info("No " + AnnotationTypeConverterLoader.META_INF_SERVICES + " file in project so no type converter index to generate");
+            return;
+        }
+
+        ClassLoader oldClassLoader = Thread.currentThread().getContextClassLoader();
+        try {
+            String[] packageNames = readPackageNames(services);
+
+            List<?> list = project.getCompileClasspathElements();
+            EmbeddedMojo mojo = new EmbeddedMojo();
+            mojo.setClasspathElements(list);
+            ClassLoader newClassLoader = mojo.createClassLoader(oldClassLoader);
+            Thread.currentThread().setContextClassLoader(newClassLoader);
+
+            IndexingTypeConverterLoader loader = new IndexingTypeConverterLoader(new DefaultPackageScanClassResolver(), packageNames);
+            // the converters is only recorded so we do not need a registry
+            loader.load(null);
+
+            File index = new File(outputDirectory, AnnotationTypeConverterLoader.META_INF_SERVICES_INDEX);
+            Writer writer = new OutputStreamWriter(new FileOutputStream(index), "UTF-8");
+            try {
+                loader.writeIndex(writer);
+            } finally {
+                writer.close();
+            }
+            getLog().info("Generated type converter index with " + loader.getEntries().size() + " converters to " + index);
+        } catch (Exception e) {
+            throw new MojoExecutionException("Failed to generate type converter index", e);
+        } finally {
+            Thread.currentThread().setContextClassLoader(oldClassLoader);
+        }
+    }
+
+    private String[] readPackageNames(File file) throws IOException {
+        Set<String> packages = new LinkedHashSet<String>();
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.startsWith("#") || line.length() == 0) {
+                    continue;
+                }
+                StringTokenizer iter = new StringTokenizer(line, ",");
+                while (iter.hasMoreTokens()) {
+                    String name = iter.nextToken().trim();
+                    if (name.length() > 0) {
+                        packages.add(name);
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return packages.toArray(new String[packages.size()]);
+    }
+}